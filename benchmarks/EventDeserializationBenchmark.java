@@ -0,0 +1,79 @@
+// Benchmark for the Kafka value deserialization path (CoreEventDeserializer).
+//
+// Deserializes the same ticket-created payloads through the former path (JsonDeserializer
+// to Object, i.e. a LinkedHashMap, then ObjectMapper.convertValue to the record, as the
+// listeners did) and through CoreEventDeserializer, and reports ns/event and bytes
+// allocated per event on the benchmark thread after a warm-up.
+//
+//   ./mvnw -q compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp "target/classes:$(cat target/cp.txt)" benchmarks/EventDeserializationBenchmark.java
+//
+// Compare the two lines: the typed reader skips the intermediate map and the second
+// conversion pass, so both ns/event and B/event should drop; run a few times and look
+// at the spread before drawing conclusions from small differences.
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.CoreEventDeserializer;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Function;
+
+public class EventDeserializationBenchmark {
+
+    private static final int PAYLOADS = 1_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    public static void main(String[] args) {
+        var objectMapper = new ObjectMapper().findAndRegisterModules();
+        var payloads = payloads();
+
+        var generic = new JsonDeserializer<Object>(Object.class, objectMapper.copy(), false);
+        Function<byte[], Object> before = data -> objectMapper.convertValue(
+            generic.deserialize(AppConstants.TOPIC_TICKET_CREATED, data), TicketCreatedEvent.class);
+
+        Deserializer<Object> typed = new CoreEventDeserializer(objectMapper);
+        Function<byte[], Object> after = data -> typed.deserialize(AppConstants.TOPIC_TICKET_CREATED, data);
+
+        run("JsonDeserializer + convertValue", before, payloads);
+        run("CoreEventDeserializer", after, payloads);
+    }
+
+    private static void run(String name, Function<byte[], Object> path, byte[][] payloads) {
+        Object sink = null;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (var payload : payloads) sink = path.apply(payload);
+        }
+
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (var payload : payloads) sink = path.apply(payload);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+
+        long events = (long) PAYLOADS * MEASURED_ROUNDS;
+        System.out.printf("%-34s %8.0f ns/event %8d B/event%s%n",
+            name, (double) elapsed / events, allocated / events, sink == null ? " (no result)" : "");
+    }
+
+    private static byte[][] payloads() {
+        var payloads = new byte[PAYLOADS][];
+        for (int i = 0; i < PAYLOADS; i++) {
+            payloads[i] = ("{\"tenantId\":\"" + UUID.randomUUID() + "\",\"ticketId\":\"" + UUID.randomUUID()
+                + "\",\"workstreamId\":\"" + UUID.randomUUID() + "\",\"type\":\"BUG\",\"severity\":\"HIGH\","
+                + "\"reportedById\":\"" + UUID.randomUUID() + "\",\"timestamp\":\"2026-01-15T10:00:00Z\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,97 @@
+-- Benchmark for the decision_cycle_log aggregates (migration V3).
+--
+-- Loads synthetic data into a scratch schema twice, once as the former plain table with
+-- (tenant_id, resolved_at) and (stakeholder_id) indexes and once partitioned with the
+-- covering indexes, then runs the dashboard/insights/digest aggregates against both.
+--
+--   docker compose up -d postgres
+--   (start the service once, or run Flyway, so analytics.decision_cycle_log exists)
+--   psql -h localhost -U zevaro -d zevaro -f benchmarks/decision-cycle-log-aggregates.sql
+--
+-- Compare "Execution Time" and the plan nodes: the partitioned variant should show
+-- "Index Only Scan ... Heap Fetches: 0" on a single decision_cycle_log_hNN partition,
+-- the plain variant a Bitmap Heap Scan over the whole table.
+--
+-- Results on PostgreSQL 16.15, shared_buffers 128MB, 1 vCPU, schema at V12, 200 tenants x
+-- 5000 rows (1M rows; each query reads one tenant's 5000 rows). First run, then the median
+-- of two repeats in the same session with warm buffers:
+--
+--   query                            variant       plan                     buffers           first     warm
+--   avg cycle time by stakeholder    plain         Bitmap Heap Scan         read 5028         23.1 ms   5.2 ms
+--                                    partitioned   Index Only Scan (h09)    read 50 / hit 51   1.4 ms   1.7 ms
+--   avg cycle time + escalated       plain         Bitmap Heap Scan         hit 5028           5.5 ms   4.6 ms
+--                                    partitioned   Index Only Scan (h09)    read 38 / hit 39   1.2 ms   1.5 ms
+--
+-- Heap Fetches: 0 on both partitioned scans. The plain table visits one heap page per row
+-- (Heap Blocks: exact=4999), so a cold stakeholder query costs ~5000 reads against ~50.
+
+\set tenants 200
+\set rows_per_tenant 5000
+
+DROP SCHEMA IF EXISTS bench_cycle CASCADE;
+CREATE SCHEMA bench_cycle;
+
+CREATE TABLE bench_cycle.plain (LIKE analytics.decision_cycle_log INCLUDING DEFAULTS);
+CREATE TABLE bench_cycle.partitioned (LIKE analytics.decision_cycle_log INCLUDING DEFAULTS)
+    PARTITION BY HASH (tenant_id);
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE bench_cycle.partitioned_h%s PARTITION OF bench_cycle.partitioned '
+            'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+CREATE TEMP TABLE bench_tenants AS
+    SELECT gen_random_uuid() AS tenant_id FROM generate_series(1, :tenants);
+CREATE TEMP TABLE bench_stakeholders AS
+    SELECT t.tenant_id, s AS slot, gen_random_uuid() AS stakeholder_id
+    FROM bench_tenants t, generate_series(0, 24) s;
+
+INSERT INTO bench_cycle.plain
+SELECT gen_random_uuid(), t.tenant_id, NULL, gen_random_uuid(),
+       now() - (r * interval '5 minutes') - interval '2 days',
+       now() - (r * interval '5 minutes'),
+       round((random() * 96)::numeric, 2), 'HIGH', 'STRATEGIC', random() < 0.1, s.stakeholder_id
+FROM bench_tenants t
+CROSS JOIN generate_series(1, :rows_per_tenant) r
+JOIN bench_stakeholders s ON s.tenant_id = t.tenant_id AND s.slot = r % 25;
+
+INSERT INTO bench_cycle.partitioned SELECT * FROM bench_cycle.plain;
+
+CREATE INDEX ON bench_cycle.plain (tenant_id, resolved_at);
+CREATE INDEX ON bench_cycle.plain (stakeholder_id);
+CREATE INDEX ON bench_cycle.partitioned (tenant_id, resolved_at)
+    INCLUDE (stakeholder_id, cycle_time_hours, was_escalated, project_id);
+CREATE INDEX ON bench_cycle.partitioned (tenant_id, project_id, resolved_at)
+    INCLUDE (cycle_time_hours, was_escalated);
+
+-- Index-only scans need an up-to-date visibility map
+VACUUM ANALYZE bench_cycle.plain;
+VACUUM ANALYZE bench_cycle.partitioned;
+
+SELECT tenant_id AS bench_tenant FROM bench_tenants LIMIT 1 \gset
+
+\echo '== findAvgCycleTimeByStakeholder (plain) =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT stakeholder_id, avg(cycle_time_hours) FROM bench_cycle.plain
+WHERE tenant_id = :'bench_tenant' AND resolved_at >= now() - interval '30 days'
+GROUP BY stakeholder_id ORDER BY avg(cycle_time_hours);
+
+\echo '== findAvgCycleTimeByStakeholder (partitioned, covering) =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT stakeholder_id, avg(cycle_time_hours) FROM bench_cycle.partitioned
+WHERE tenant_id = :'bench_tenant' AND resolved_at >= now() - interval '30 days'
+GROUP BY stakeholder_id ORDER BY avg(cycle_time_hours);
+
+\echo '== findAvgCycleTimeSince + countEscalatedSince (plain) =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT avg(cycle_time_hours), count(*) FILTER (WHERE was_escalated) FROM bench_cycle.plain
+WHERE tenant_id = :'bench_tenant' AND resolved_at >= now() - interval '30 days';
+
+\echo '== findAvgCycleTimeSince + countEscalatedSince (partitioned, covering) =='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT avg(cycle_time_hours), count(*) FILTER (WHERE was_escalated) FROM bench_cycle.partitioned
+WHERE tenant_id = :'bench_tenant' AND resolved_at >= now() - interval '30 days';
+
+DROP SCHEMA bench_cycle CASCADE;
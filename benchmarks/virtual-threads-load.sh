@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Load test comparing platform threads with virtual threads (spring.threads.virtual.enabled).
+#
+# Starts the packaged service once per mode against the docker compose stack, drives the
+# REST endpoints with `hey` at a fixed concurrency, then reports request throughput and
+# latency, live threads, heap and resident memory. In virtual mode the service runs with
+# -Djdk.tracePinnedThreads=short and a JFR recording, and the pinned-thread events are
+# summarised per stack so synchronized blocks in our code and dependencies show up.
+#
+#   docker compose up -d postgres redis kafka
+#   ./mvnw -q package -DskipTests
+#   benchmarks/virtual-threads-load.sh
+#
+# Tunables: CONCURRENCY (default 400), DURATION (60s), TENANT_ID, CORE_SERVICE_URL.
+# Point CORE_SERVICE_URL at a slow stub to measure how each mode copes with blocking
+# on Core; the stakeholder-response endpoint calls it for every uncached leaderboard.
+#
+# Compare "Requests/sec" and the latency distribution between the two modes, and the
+# memory lines: with virtual threads, live threads should stay flat as CONCURRENCY grows
+# instead of tracking the Tomcat pool (200), and RSS should not grow with it.
+
+set -euo pipefail
+
+JAR=$(ls target/zevaro-analytics-*.jar | head -n 1)
+PORT=8081
+BASE="http://localhost:${PORT}"
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-60s}
+TENANT_ID=${TENANT_ID:-$(uuidgen)}
+OUT=target/virtual-threads-load
+mkdir -p "$OUT"
+
+command -v hey >/dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest" >&2; exit 1; }
+
+metric() {
+    curl -s "${BASE}/actuator/metrics/$1${2:+?tag=$2}" | sed -E 's/.*"value":([0-9.E+-]+).*/\1/'
+}
+
+run() {
+    local mode=$1 virtual=$2
+    local jvm_opts=(-Xmx512m)
+    if [[ "$virtual" == "true" ]]; then
+        jvm_opts+=(-Djdk.tracePinnedThreads=short
+            "-XX:StartFlightRecording=filename=${OUT}/${mode}.jfr,settings=profile")
+    fi
+
+    VIRTUAL_THREADS_ENABLED=$virtual java "${jvm_opts[@]}" -jar "$JAR" > "${OUT}/${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -sf "${BASE}/actuator/health" >/dev/null; do sleep 1; done
+
+    echo "== ${mode} threads: ${CONCURRENCY} concurrent clients for ${DURATION}"
+    for path in /api/v1/dashboard /api/v1/metrics/stakeholder-response /api/v1/metrics/decision-velocity; do
+        hey -z "$DURATION" -c "$CONCURRENCY" -H "X-Tenant-Id: ${TENANT_ID}" "${BASE}${path}" \
+            > "${OUT}/${mode}$(echo "$path" | tr / -).txt"
+        echo "${path}: $(grep 'Requests/sec' "${OUT}/${mode}$(echo "$path" | tr / -).txt")," \
+            "p99 $(grep '99% in' "${OUT}/${mode}$(echo "$path" | tr / -).txt" | awk '{print $3 $4}')"
+    done
+
+    echo "live threads: $(metric jvm.threads.live), peak: $(metric jvm.threads.peak)"
+    echo "heap used (bytes): $(metric jvm.memory.used area:heap)"
+    echo "RSS: $(grep VmRSS /proc/${pid}/status | awk '{print $2 " " $3}')"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+
+    if [[ "$virtual" == "true" ]]; then
+        echo "pinned virtual threads (from JFR, by top frames):"
+        jfr print --events jdk.VirtualThreadPinned "${OUT}/${mode}.jfr" \
+            | grep -A4 'stackTrace = \[' | grep -v 'stackTrace' | sort | uniq -c | sort -rn | head -n 20 || true
+        echo "pinning traces logged by -Djdk.tracePinnedThreads: $(grep -c '<== monitors' "${OUT}/${mode}.log" || true)"
+    fi
+    echo
+}
+
+run platform false
+run virtual true
@@ -0,0 +1,236 @@
+package ai.zevaro.analytics.cache;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Evicts exactly the cached views an ingested event can change.
+ *
+ * Each event type maps to a set of {@link CacheScope}s, i.e. a cache name plus a
+ * tenant-scoped key prefix (dashboards and metrics are cached per project and period,
+ * so a single key cannot be derived from the event). Scopes requested inside a
+ * transaction are collected per transaction and only queued after commit; queued
+ * scopes are coalesced per tenant and evicted every analytics.cache.invalidation.window-ms,
+ * so an ingestion burst costs one prefix eviction per tenant and scope per window.
+ */
+@Component
+@Slf4j
+public class CacheInvalidator {
+
+    private static final Map<Class<?>, Set<CacheScope>> SCOPES_BY_EVENT = Map.ofEntries(
+        Map.entry(DecisionResolvedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.DASHBOARD_SUMMARY, CacheScope.DECISION_VELOCITY,
+            CacheScope.STAKEHOLDER_RESPONSE, CacheScope.CYCLE_TIME_PERCENTILES, CacheScope.INSIGHTS,
+            CacheScope.WEEKLY_DIGEST)),
+        Map.entry(OutcomeValidatedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.OUTCOME_VELOCITY, CacheScope.INSIGHTS, CacheScope.WEEKLY_DIGEST)),
+        Map.entry(OutcomeInvalidatedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.OUTCOME_VELOCITY, CacheScope.INSIGHTS, CacheScope.WEEKLY_DIGEST)),
+        Map.entry(HypothesisConcludedEvent.class, EnumSet.of(
+            CacheScope.HYPOTHESIS_THROUGHPUT, CacheScope.WEEKLY_DIGEST)),
+        Map.entry(WorkstreamCreatedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.AI_VS_HUMAN)),
+        Map.entry(WorkstreamStatusChangedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD)),
+        Map.entry(SpecificationCreatedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.SPECIFICATION_VELOCITY)),
+        Map.entry(SpecificationStatusChangedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.SPECIFICATION_VELOCITY)),
+        Map.entry(SpecificationApprovedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.SPECIFICATION_VELOCITY)),
+        Map.entry(TicketCreatedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.TICKET_VELOCITY, CacheScope.TICKET_RESOLUTION, CacheScope.AI_VS_HUMAN)),
+        Map.entry(TicketResolvedEvent.class, EnumSet.of(
+            CacheScope.DASHBOARD, CacheScope.TICKET_VELOCITY, CacheScope.TICKET_RESOLUTION, CacheScope.AI_VS_HUMAN,
+            CacheScope.CYCLE_TIME_PERCENTILES)));
+
+    private final CacheManager cacheManager;
+
+    private final ConcurrentHashMap<UUID, Set<CacheScope>> pending = new ConcurrentHashMap<>();
+    // A lock rather than synchronized: evictions call Redis, which would pin a virtual thread
+    private final Lock flushLock = new ReentrantLock();
+
+    public CacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Schedules eviction of every view the given event type feeds for the tenant.
+     * Event types no cached view depends on (program events, ticket assignment) are ignored.
+     */
+    public void invalidate(UUID tenantId, Class<?> eventType) {
+        var scopes = SCOPES_BY_EVENT.get(eventType);
+        if (tenantId == null || scopes == null) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(tenantId, scopes);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        var scopesInTransaction = (Map<UUID, Set<CacheScope>>) TransactionSynchronizationManager.getResource(this);
+        if (scopesInTransaction == null) {
+            scopesInTransaction = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, scopesInTransaction);
+            TransactionSynchronizationManager.registerSynchronization(new AfterCommit(scopesInTransaction));
+        }
+        scopesInTransaction.computeIfAbsent(tenantId, k -> EnumSet.noneOf(CacheScope.class)).addAll(scopes);
+    }
+
+    /**
+     * Evicts everything queued since the previous run.
+     */
+    @Scheduled(fixedDelayString = "${analytics.cache.invalidation.window-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            evictPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void evictPending() {
+        if (pending.isEmpty()) return;
+
+        int tenants = 0;
+        int evictions = 0;
+        for (var tenantId : pending.keySet()) {
+            // remove() is atomic with enqueue's compute(), so no scope queued for this tenant is lost
+            var scopes = pending.remove(tenantId);
+            if (scopes == null) continue;
+            tenants++;
+            for (var scope : scopes) {
+                try {
+                    evict(scope, tenantId);
+                    evictions++;
+                } catch (RuntimeException e) {
+                    // Entries expire on their own TTL; a failed eviction only prolongs staleness
+                    log.warn("Failed to evict {} for tenant {}: {}", scope, tenantId, e.getMessage());
+                }
+            }
+        }
+        log.debug("Evicted {} cache scopes for {} tenants", evictions, tenants);
+    }
+
+    private void enqueue(UUID tenantId, Set<CacheScope> scopes) {
+        pending.compute(tenantId, (k, queued) -> {
+            var merged = queued == null ? EnumSet.noneOf(CacheScope.class) : queued;
+            merged.addAll(scopes);
+            return merged;
+        });
+    }
+
+    private void evict(CacheScope scope, UUID tenantId) {
+        var cache = cacheManager.getCache(scope.cacheName());
+        if (cache != null) {
+            evictByPrefix(cache, scope.keyPrefix(tenantId));
+        }
+    }
+
+    /**
+     * Removes all entries whose key starts with the prefix. Two-tier caches clean both
+     * tiers on every node; Redis caches are cleaned with a key pattern (SCAN-based, see
+     * CacheConfig); caches backed by a local map are filtered in place; anything else
+     * is cleared entirely.
+     */
+    static void evictByPrefix(Cache cache, String keyPrefix) {
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.evictByPrefix(keyPrefix);
+        } else if (cache instanceof RedisCache redisCache) {
+            var pattern = redisCache.getCacheConfiguration().getKeyPrefixFor(redisCache.getName()) + keyPrefix + "*";
+            redisCache.getNativeCache().clean(redisCache.getName(), pattern.getBytes(StandardCharsets.UTF_8));
+        } else if (cache.getNativeCache() instanceof ConcurrentMap<?, ?> map) {
+            map.keySet().removeIf(key -> key.toString().startsWith(keyPrefix));
+        } else {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Queues a transaction's scopes once it commits; rolled back work evicts nothing.
+     */
+    private final class AfterCommit implements TransactionSynchronization {
+
+        private final Map<UUID, Set<CacheScope>> scopes;
+
+        AfterCommit(Map<UUID, Set<CacheScope>> scopes) {
+            this.scopes = scopes;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CacheInvalidator.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CacheInvalidator.this, scopes);
+        }
+
+        @Override
+        public void afterCommit() {
+            scopes.forEach(CacheInvalidator.this::enqueue);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidator.this);
+        }
+    }
+
+    /**
+     * A tenant's slice of one cache, matching the key layout of the {@code @Cacheable}
+     * declarations in DashboardService, MetricsController, InsightsService and ReportService.
+     */
+    public enum CacheScope {
+        DASHBOARD(AppConstants.CACHE_DASHBOARD, ""),
+        DASHBOARD_SUMMARY(AppConstants.CACHE_DASHBOARD, "summary:"),
+        DECISION_VELOCITY(AppConstants.CACHE_METRICS, "dv:"),
+        STAKEHOLDER_RESPONSE(AppConstants.CACHE_METRICS, "sr:"),
+        OUTCOME_VELOCITY(AppConstants.CACHE_METRICS, "ov:"),
+        HYPOTHESIS_THROUGHPUT(AppConstants.CACHE_METRICS, "ht:"),
+        SPECIFICATION_VELOCITY(AppConstants.CACHE_METRICS, "sv:"),
+        TICKET_VELOCITY(AppConstants.CACHE_METRICS, "tv:"),
+        TICKET_RESOLUTION(AppConstants.CACHE_METRICS, "trb:"),
+        AI_VS_HUMAN(AppConstants.CACHE_METRICS, "avh:"),
+        CYCLE_TIME_PERCENTILES(AppConstants.CACHE_METRICS, "ctp:"),
+        INSIGHTS(AppConstants.CACHE_METRICS, "insights:"),
+        WEEKLY_DIGEST(AppConstants.CACHE_REPORTS, "weekly:");
+
+        private final String cacheName;
+        private final String keyPrefix;
+
+        CacheScope(String cacheName, String keyPrefix) {
+            this.cacheName = cacheName;
+            this.keyPrefix = keyPrefix;
+        }
+
+        public String cacheName() {
+            return cacheName;
+        }
+
+        public String keyPrefix(UUID tenantId) {
+            return keyPrefix + tenantId + ":";
+        }
+    }
+}
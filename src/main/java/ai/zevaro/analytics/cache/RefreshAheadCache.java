@@ -0,0 +1,233 @@
+package ai.zevaro.analytics.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Read-through access to expensive cache entries with single-flight loading and
+ * refresh-ahead.
+ *
+ * On a miss only one thread per node computes a key; concurrent callers wait for its
+ * result. Across nodes the loader takes a short-lived Redis lock (SET NX PX); nodes that
+ * lose the race poll the cache for up to wait-timeout before computing themselves.
+ * Entries are stored as {@link Stamped} values. Once an entry is older than
+ * refresh-after (which should be below the cache TTL), it is still served but
+ * recomputed in the background, so readers of busy keys never hit an expired entry.
+ * Redis lock errors fail open: the value is computed locally. Values the caller marks as
+ * not cacheable (partial results) are returned to the waiting callers but never stored.
+ */
+@Component
+@Slf4j
+public class RefreshAheadCache implements DisposableBean {
+
+    private static final String LOCK_PREFIX = "lock:";
+    private static final long POLL_INTERVAL_MS = 50;
+
+    // Deletes the lock only if this caller still owns it
+    private static final RedisScript<Long> RELEASE_LOCK = RedisScript.of(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration refreshAfter;
+    private final Duration lockTimeout;
+    private final Duration waitTimeout;
+    private final ExecutorService refreshExecutor;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public RefreshAheadCache(
+            CacheManager cacheManager,
+            StringRedisTemplate redisTemplate,
+            @Value("${analytics.cache.refresh-ahead.refresh-after:45s}") Duration refreshAfter,
+            @Value("${analytics.cache.refresh-ahead.lock-timeout:30s}") Duration lockTimeout,
+            @Value("${analytics.cache.refresh-ahead.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${analytics.cache.refresh-ahead.threads:2}") int refreshThreads) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.refreshAfter = refreshAfter;
+        this.lockTimeout = lockTimeout;
+        this.waitTimeout = waitTimeout;
+        // Refreshes are best effort: when the queue is full the entry simply expires
+        this.refreshExecutor = new ThreadPoolExecutor(
+            refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(100),
+            Thread.ofPlatform().name("cache-refresh-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Returns the cached value for the key, computing it with the loader on a miss.
+     * The loader must be safe to call again later from a background thread.
+     */
+    public <T> T get(String cacheName, String key, Supplier<T> loader) {
+        return get(cacheName, key, loader, value -> true);
+    }
+
+    /**
+     * As {@link #get(String, String, Supplier)}, but a computed value is only stored when
+     * {@code cacheable} accepts it. A rejected refresh leaves the previous entry in place.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, String key, Supplier<T> loader, Predicate<? super T> cacheable) {
+        var cache = cacheManager.getCache(cacheName);
+        if (cache == null) return loader.get();
+
+        Predicate<Object> storable = value -> cacheable.test((T) value);
+        var stamped = read(cache, key);
+        if (stamped != null) {
+            if (stamped.age().compareTo(refreshAfter) >= 0) {
+                refreshAsync(cache, key, loader, storable);
+            }
+            return (T) stamped.value();
+        }
+        return (T) load(cache, key, loader, storable, false);
+    }
+
+    private void refreshAsync(Cache cache, String key, Supplier<?> loader, Predicate<Object> cacheable) {
+        if (inFlight.containsKey(flightKey(cache, key))) return;
+        refreshExecutor.execute(() -> {
+            try {
+                load(cache, key, loader, cacheable, true);
+            } catch (RuntimeException e) {
+                log.warn("Refresh-ahead of {} in cache {} failed: {}", key, cache.getName(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Computes the key once per node. For a refresh, a load already in progress here
+     * or on another node makes this call a no-op instead of waiting for it.
+     */
+    private Object load(Cache cache, String key, Supplier<?> loader, Predicate<Object> cacheable, boolean refresh) {
+        var flightKey = flightKey(cache, key);
+        var flight = new CompletableFuture<Object>();
+        var existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            return refresh ? null : join(existing);
+        }
+
+        try {
+            var value = loadAcrossNodes(cache, key, loader, cacheable, refresh);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private Object loadAcrossNodes(
+            Cache cache, String key, Supplier<?> loader, Predicate<Object> cacheable, boolean refresh) {
+        var lockKey = LOCK_PREFIX + flightKey(cache, key);
+        var token = UUID.randomUUID().toString();
+        var locked = tryLock(lockKey, token);
+
+        if (!locked) {
+            if (refresh) return null;
+            var loaded = awaitOtherNode(cache, key);
+            if (loaded != null) return loaded.value();
+        }
+
+        try {
+            var value = loader.get();
+            if (cacheable.test(value)) {
+                cache.put(key, new Stamped(value, System.currentTimeMillis()));
+            } else {
+                log.debug("Not caching partial value of {} in cache {}", key, cache.getName());
+            }
+            return value;
+        } finally {
+            if (locked) unlock(lockKey, token);
+        }
+    }
+
+    private Stamped awaitOtherNode(Cache cache, String key) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            var stamped = read(cache, key);
+            if (stamped != null) return stamped;
+        }
+        log.debug("Timed out waiting for another node to load {} in cache {}", key, cache.getName());
+        return null;
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTimeout));
+        } catch (RuntimeException e) {
+            log.debug("Cache load lock unavailable, loading locally: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        } catch (RuntimeException e) {
+            // The lock expires after lock-timeout anyway
+            log.debug("Failed to release cache load lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+
+    private static Stamped read(Cache cache, String key) {
+        var wrapper = cache.get(key);
+        return wrapper != null && wrapper.get() instanceof Stamped stamped ? stamped : null;
+    }
+
+    private static String flightKey(Cache cache, String key) {
+        return cache.getName() + "::" + key;
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * A cached value with the time it was computed.
+     */
+    public record Stamped(Object value, long loadedAtMillis) {
+        Duration age() {
+            return Duration.ofMillis(System.currentTimeMillis() - loadedAtMillis);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ai.zevaro.analytics.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cache whose entries live in a shared remote cache (Redis) and are mirrored in a
+ * bounded in-process Caffeine cache with a short TTL.
+ *
+ * Reads try the local tier first and fill it from the remote tier on a miss. Writes
+ * and evictions go to both tiers and are broadcast through the {@link Publisher} so
+ * other nodes drop their local copy. Local keys are the string form of the cache key,
+ * which is also what the remote tier stores.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Publisher publisher;
+
+    private final Timer localHits;
+    private final Timer localMisses;
+    private final Timer remoteHits;
+    private final Timer remoteMisses;
+
+    public TwoTierCache(
+            String name,
+            Cache remote,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            Publisher publisher,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.publisher = publisher;
+        this.localHits = timer(meterRegistry, name, "local", "hit");
+        this.localMisses = timer(meterRegistry, name, "local", "miss");
+        this.remoteHits = timer(meterRegistry, name, "remote", "hit");
+        this.remoteMisses = timer(meterRegistry, name, "remote", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var id = key.toString();
+
+        long start = System.nanoTime();
+        var cached = local.getIfPresent(id);
+        (cached != null ? localHits : localMisses).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (cached != null) {
+            return new SimpleValueWrapper(fromStore(cached));
+        }
+
+        start = System.nanoTime();
+        var wrapper = remote.get(key);
+        (wrapper != null ? remoteHits : remoteMisses).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (wrapper != null) {
+            local.put(id, toStore(wrapper.get()));
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        var id = key.toString();
+        remote.put(key, value);
+        local.put(id, toStore(value));
+        publisher.publish(name, Invalidation.EVICT, id);
+    }
+
+    @Override
+    public void evict(Object key) {
+        var id = key.toString();
+        remote.evict(key);
+        local.invalidate(id);
+        publisher.publish(name, Invalidation.EVICT, id);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publish(name, Invalidation.CLEAR, "");
+    }
+
+    /**
+     * Removes every entry whose key starts with the prefix from both tiers and
+     * from the local tier of every other node.
+     */
+    public void evictByPrefix(String keyPrefix) {
+        CacheInvalidator.evictByPrefix(remote, keyPrefix);
+        evictLocal(Invalidation.PREFIX, keyPrefix);
+        publisher.publish(name, Invalidation.PREFIX, keyPrefix);
+    }
+
+    /**
+     * Applies an invalidation received from another node to the local tier only.
+     */
+    void evictLocal(Invalidation invalidation, String argument) {
+        switch (invalidation) {
+            case EVICT -> local.invalidate(argument);
+            case PREFIX -> local.asMap().keySet().removeIf(key -> key.startsWith(argument));
+            case CLEAR -> local.invalidateAll();
+        }
+    }
+
+    private static Object toStore(Object value) {
+        return value != null ? value : NullValue.INSTANCE;
+    }
+
+    private static Object fromStore(Object value) {
+        return value == NullValue.INSTANCE ? null : value;
+    }
+
+    private static Timer timer(MeterRegistry registry, String cacheName, String tier, String result) {
+        return Timer.builder("analytics.cache.gets")
+            .description("Cache lookups per tier")
+            .tag("cache", cacheName)
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    public enum Invalidation { EVICT, PREFIX, CLEAR }
+
+    /**
+     * Broadcasts a local-tier invalidation to the other nodes.
+     */
+    @FunctionalInterface
+    public interface Publisher {
+        void publish(String cacheName, Invalidation invalidation, String argument);
+    }
+}
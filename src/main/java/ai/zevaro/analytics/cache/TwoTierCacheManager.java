@@ -0,0 +1,107 @@
+package ai.zevaro.analytics.cache;
+
+import ai.zevaro.analytics.cache.TwoTierCache.Invalidation;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Layers a {@link TwoTierCache} over every cache of the remote (Redis) cache manager.
+ *
+ * Each local tier is a Caffeine cache bounded by entry count and expiring after a short
+ * TTL. Entries are not weighed by size, which would mean serializing every value again on
+ * each local put, including fills after a Redis hit. Local invalidations are published on a Redis
+ * channel as {@code nodeId|cacheName|invalidation|argument}; this manager is also the
+ * listener for that channel and applies messages from other nodes to its local tiers.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxEntries;
+    private final Duration localTtl;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            CacheManager remote,
+            StringRedisTemplate redisTemplate,
+            String channel,
+            MeterRegistry meterRegistry,
+            long localMaxEntries,
+            Duration localTtl) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.meterRegistry = meterRegistry;
+        this.localMaxEntries = localMaxEntries;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    private TwoTierCache createCache(String name) {
+        var remoteCache = remote.getCache(name);
+        if (remoteCache == null) return null;
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+            .maximumSize(localMaxEntries)
+            .expireAfterWrite(localTtl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, "tier", "local");
+
+        return new TwoTierCache(name, remoteCache, local, this::publish, meterRegistry);
+    }
+
+    // ── Cross-node invalidation ──────────────────────────────────────
+
+    private void publish(String cacheName, Invalidation invalidation, String argument) {
+        try {
+            redisTemplate.convertAndSend(channel, String.join("|", nodeId, cacheName, invalidation.name(), argument));
+        } catch (RuntimeException e) {
+            // Other nodes fall back to their local TTL
+            log.warn("Failed to publish {} of {} in cache {}: {}", invalidation, argument, cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length != 4 || nodeId.equals(parts[0])) return;
+
+        var cache = caches.get(parts[1]);
+        if (cache == null) return;
+
+        try {
+            cache.evictLocal(Invalidation.valueOf(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring unknown cache invalidation: {}", parts[2]);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ai.zevaro.analytics.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs Core requests off the caller's thread behind a circuit breaker and per-endpoint
+ * bulkheads, recording a latency histogram per endpoint and outcome.
+ *
+ * After failure-threshold consecutive failures the breaker opens and every call
+ * returns its fallback immediately for open-duration. The first call after that is a
+ * trial: success closes the breaker, failure re-opens it. Each endpoint admits at most
+ * max-concurrent in-flight requests; calls beyond that are rejected with the fallback
+ * instead of queueing behind a slow Core.
+ */
+@Component
+@Slf4j
+public class CoreCallGuard implements DisposableBean {
+
+    static final String TIMER_NAME = "analytics.core.calls";
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrent;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final ExecutorService executor;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    // Breaker state, guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+
+    @Autowired
+    public CoreCallGuard(
+            MeterRegistry meterRegistry,
+            @Value("${services.core.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${services.core.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${services.core.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        this(meterRegistry, maxConcurrent, failureThreshold, openDuration,
+            Executors.newVirtualThreadPerTaskExecutor(), Clock.systemUTC());
+    }
+
+    CoreCallGuard(MeterRegistry meterRegistry, int maxConcurrent, int failureThreshold,
+                  Duration openDuration, ExecutorService executor, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs the request asynchronously. The future never completes exceptionally: a failed,
+     * rejected or short-circuited call completes with the fallback.
+     */
+    public <T> CompletableFuture<T> call(String endpoint, Supplier<T> request, T fallback) {
+        if (!allowRequest()) {
+            record(endpoint, "short_circuited", 0);
+            return CompletableFuture.completedFuture(fallback);
+        }
+        var bulkhead = bulkheads.computeIfAbsent(endpoint, e -> new Semaphore(maxConcurrent));
+        if (!bulkhead.tryAcquire()) {
+            // Not a Core failure, so the breaker is left alone; release a half-open trial slot
+            releaseTrial();
+            record(endpoint, "rejected", 0);
+            return CompletableFuture.completedFuture(fallback);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                var result = request.get();
+                onSuccess();
+                record(endpoint, "success", System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException e) {
+                onFailure();
+                record(endpoint, "failure", System.nanoTime() - start);
+                return fallback;
+            } finally {
+                bulkhead.release();
+            }
+        }, executor);
+    }
+
+    synchronized State state() {
+        if (state == State.OPEN && openElapsed()) return State.HALF_OPEN;
+        return state;
+    }
+
+    private synchronized boolean allowRequest() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;  // a trial request is already in flight
+            case OPEN -> {
+                if (!openElapsed()) yield false;
+                state = State.HALF_OPEN;
+                yield true;
+            }
+        };
+    }
+
+    private synchronized void releaseTrial() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Core circuit breaker closed");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            if (state == State.CLOSED) {
+                log.warn("Core circuit breaker opened after {} consecutive failures; short-circuiting for {}",
+                    consecutiveFailures, openDuration);
+            }
+            state = State.OPEN;
+            openedAtMillis = clock.millis();
+        }
+    }
+
+    private boolean openElapsed() {
+        return clock.millis() - openedAtMillis >= openDuration.toMillis();
+    }
+
+    private void record(String endpoint, String outcome, long nanos) {
+        Timer.builder(TIMER_NAME)
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(Duration.ofNanos(nanos));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
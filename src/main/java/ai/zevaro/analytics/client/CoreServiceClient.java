@@ -14,10 +14,14 @@ import org.springframework.web.client.RestTemplate;
 import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * REST client for Zevaro Core service.
@@ -28,6 +32,10 @@ import java.util.concurrent.atomic.AtomicReference;
  * then suppresses further warnings for 5 minutes to prevent log storms.
  * A dashboard request can trigger 5-7 Core calls — without rate limiting,
  * a Core outage + user traffic produces thousands of log.warn per minute.
+ *
+ * Every call has an async variant returning a CompletableFuture that never fails; the
+ * blocking methods join it. Calls run through {@link CoreCallGuard}, which bounds
+ * concurrency per endpoint and stops calling Core while its circuit breaker is open.
  */
 @Component
 @Slf4j
@@ -35,6 +43,7 @@ public class CoreServiceClient {
 
     private final RestTemplate restTemplate;
     private final String coreServiceUrl;
+    private final CoreCallGuard callGuard;
 
     // Rate-limited logging state — prevents log storms when Core is down
     private final AtomicReference<Instant> lastErrorLog = new AtomicReference<>(Instant.EPOCH);
@@ -44,9 +53,11 @@ public class CoreServiceClient {
 
     public CoreServiceClient(
             RestTemplate restTemplate,
-            @Value("${services.core.url}") String coreServiceUrl) {
+            @Value("${services.core.url}") String coreServiceUrl,
+            CoreCallGuard callGuard) {
         this.restTemplate = restTemplate;
         this.coreServiceUrl = coreServiceUrl;
+        this.callGuard = callGuard;
     }
 
     /**
@@ -96,125 +107,136 @@ public class CoreServiceClient {
     /**
      * Get count of decisions with status NEEDS_INPUT or UNDER_DISCUSSION.
      */
+    public CompletableFuture<Integer> getPendingDecisionCountAsync(UUID tenantId) {
+        return call("getPendingDecisionCount",
+            () -> fetchCount(tenantId, "/api/v1/decisions?status=NEEDS_INPUT,UNDER_DISCUSSION&size=0"), 0);
+    }
+
     public int getPendingDecisionCount(UUID tenantId) {
-        try {
-            var uri = URI.create(coreServiceUrl + "/api/v1/decisions?status=NEEDS_INPUT,UNDER_DISCUSSION&size=0");
-            var headers = buildHeaders(tenantId);
-            var request = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            var response = restTemplate.exchange(request, new ParameterizedTypeReference<CorePageResponse>() {});
-            var body = response.getBody();
-            logCoreRecovery();
-            return body != null ? body.totalElements() : 0;
-        } catch (RestClientException e) {
-            logCoreFailure("getPendingDecisionCount", e.getMessage());
-            return 0;
-        }
+        return getPendingDecisionCountAsync(tenantId).join();
     }
 
     /**
      * Get urgent decisions (BLOCKING priority, NEEDS_INPUT status).
      */
+    public CompletableFuture<List<CoreDecisionSummary>> getUrgentDecisionsAsync(UUID tenantId) {
+        return call("getUrgentDecisions", () -> {
+            var body = exchange(tenantId, "/api/v1/decisions?priority=BLOCKING&status=NEEDS_INPUT",
+                new ParameterizedTypeReference<CoreListResponse<CoreDecisionSummary>>() {});
+            return body != null ? body.content() : List.<CoreDecisionSummary>of();
+        }, List.of());
+    }
+
     public List<CoreDecisionSummary> getUrgentDecisions(UUID tenantId) {
-        try {
-            var uri = URI.create(coreServiceUrl + "/api/v1/decisions?priority=BLOCKING&status=NEEDS_INPUT");
-            var headers = buildHeaders(tenantId);
-            var request = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            var response = restTemplate.exchange(request, new ParameterizedTypeReference<CoreListResponse<CoreDecisionSummary>>() {});
-            var body = response.getBody();
-            logCoreRecovery();
-            return body != null ? body.content() : List.of();
-        } catch (RestClientException e) {
-            logCoreFailure("getUrgentDecisions", e.getMessage());
-            return List.of();
-        }
+        return getUrgentDecisionsAsync(tenantId).join();
     }
 
     /**
      * Get stakeholder details by ID.
      */
+    public CompletableFuture<CoreStakeholderInfo> getStakeholderAsync(UUID tenantId, UUID stakeholderId) {
+        return call("getStakeholder",
+            () -> exchange(tenantId, "/api/v1/stakeholders/" + stakeholderId, CoreStakeholderInfo.class), null);
+    }
+
     public CoreStakeholderInfo getStakeholder(UUID tenantId, UUID stakeholderId) {
-        try {
-            var uri = URI.create(coreServiceUrl + "/api/v1/stakeholders/" + stakeholderId);
-            var headers = buildHeaders(tenantId);
-            var request = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            var response = restTemplate.exchange(request, CoreStakeholderInfo.class);
-            logCoreRecovery();
-            return response.getBody();
-        } catch (RestClientException e) {
-            logCoreFailure("getStakeholder(" + stakeholderId + ")", e.getMessage());
-            return null;
-        }
+        return getStakeholderAsync(tenantId, stakeholderId).join();
+    }
+
+    /**
+     * Get details for several stakeholders in one request. Unknown ids are omitted.
+     */
+    public CompletableFuture<List<CoreStakeholderInfo>> getStakeholdersAsync(UUID tenantId, Collection<UUID> stakeholderIds) {
+        if (stakeholderIds.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        var ids = stakeholderIds.stream().map(UUID::toString).collect(Collectors.joining(","));
+        var path = "/api/v1/stakeholders?ids=" + ids + "&size=" + stakeholderIds.size();
+        return call("getStakeholders", () -> {
+            var body = exchange(tenantId, path,
+                new ParameterizedTypeReference<CoreListResponse<CoreStakeholderInfo>>() {});
+            return body != null && body.content() != null ? body.content() : List.<CoreStakeholderInfo>of();
+        }, List.of());
+    }
+
+    public List<CoreStakeholderInfo> getStakeholders(UUID tenantId, Collection<UUID> stakeholderIds) {
+        return getStakeholdersAsync(tenantId, stakeholderIds).join();
     }
 
     /**
      * Get outcome details by ID.
      */
+    public CompletableFuture<CoreOutcomeInfo> getOutcomeAsync(UUID tenantId, UUID outcomeId) {
+        return call("getOutcome",
+            () -> exchange(tenantId, "/api/v1/outcomes/" + outcomeId, CoreOutcomeInfo.class), null);
+    }
+
     public CoreOutcomeInfo getOutcome(UUID tenantId, UUID outcomeId) {
-        try {
-            var uri = URI.create(coreServiceUrl + "/api/v1/outcomes/" + outcomeId);
-            var headers = buildHeaders(tenantId);
-            var request = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            var response = restTemplate.exchange(request, CoreOutcomeInfo.class);
-            logCoreRecovery();
-            return response.getBody();
-        } catch (RestClientException e) {
-            logCoreFailure("getOutcome(" + outcomeId + ")", e.getMessage());
-            return null;
-        }
+        return getOutcomeAsync(tenantId, outcomeId).join();
     }
 
     /**
      * Get count of hypotheses in BUILDING or DEPLOYED or MEASURING status.
      */
+    public CompletableFuture<Integer> getActiveHypothesisCountAsync(UUID tenantId) {
+        return call("getActiveHypothesisCount",
+            () -> fetchCount(tenantId, "/api/v1/hypotheses?status=BUILDING,DEPLOYED,MEASURING&size=0"), 0);
+    }
+
     public int getActiveHypothesisCount(UUID tenantId) {
-        try {
-            var uri = URI.create(coreServiceUrl + "/api/v1/hypotheses?status=BUILDING,DEPLOYED,MEASURING&size=0");
-            var headers = buildHeaders(tenantId);
-            var request = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            var response = restTemplate.exchange(request, new ParameterizedTypeReference<CorePageResponse>() {});
-            var body = response.getBody();
-            logCoreRecovery();
-            return body != null ? body.totalElements() : 0;
-        } catch (RestClientException e) {
-            logCoreFailure("getActiveHypothesisCount", e.getMessage());
-            return 0;
-        }
+        return getActiveHypothesisCountAsync(tenantId).join();
     }
 
     /**
      * Get count of hypotheses concluded this week.
      */
+    public CompletableFuture<Integer> getHypothesesTestedThisWeekAsync(UUID tenantId) {
+        return call("getHypothesesTestedThisWeek",
+            () -> fetchCount(tenantId, "/api/v1/hypotheses?status=VALIDATED,INVALIDATED&size=0"), 0);
+    }
+
     public int getHypothesesTestedThisWeek(UUID tenantId) {
-        try {
-            var uri = URI.create(coreServiceUrl + "/api/v1/hypotheses?status=VALIDATED,INVALIDATED&size=0");
-            var headers = buildHeaders(tenantId);
-            var request = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            var response = restTemplate.exchange(request, new ParameterizedTypeReference<CorePageResponse>() {});
-            var body = response.getBody();
-            logCoreRecovery();
-            return body != null ? body.totalElements() : 0;
-        } catch (RestClientException e) {
-            logCoreFailure("getHypothesesTestedThisWeek", e.getMessage());
-            return 0;
-        }
+        return getHypothesesTestedThisWeekAsync(tenantId).join();
     }
 
     /**
      * Get decisions created count for a tenant.
      */
+    public CompletableFuture<Integer> getDecisionsCreatedCountAsync(UUID tenantId) {
+        return call("getDecisionsCreatedCount", () -> fetchCount(tenantId, "/api/v1/decisions?size=0"), 0);
+    }
+
     public int getDecisionsCreatedCount(UUID tenantId) {
-        try {
-            var uri = URI.create(coreServiceUrl + "/api/v1/decisions?size=0");
-            var headers = buildHeaders(tenantId);
-            var request = new RequestEntity<>(headers, HttpMethod.GET, uri);
-            var response = restTemplate.exchange(request, new ParameterizedTypeReference<CorePageResponse>() {});
-            var body = response.getBody();
-            logCoreRecovery();
-            return body != null ? body.totalElements() : 0;
-        } catch (RestClientException e) {
-            logCoreFailure("getDecisionsCreatedCount", e.getMessage());
-            return 0;
-        }
+        return getDecisionsCreatedCountAsync(tenantId).join();
+    }
+
+    /**
+     * Runs a request through the guard, keeping the rate-limited failure/recovery logging.
+     */
+    private <T> CompletableFuture<T> call(String operation, Supplier<T> request, T fallback) {
+        return callGuard.call(operation, () -> {
+            try {
+                var result = request.get();
+                logCoreRecovery();
+                return result;
+            } catch (RestClientException e) {
+                logCoreFailure(operation, e.getMessage());
+                throw e;
+            }
+        }, fallback);
+    }
+
+    private int fetchCount(UUID tenantId, String path) {
+        var body = exchange(tenantId, path, new ParameterizedTypeReference<CorePageResponse>() {});
+        return body != null ? body.totalElements() : 0;
+    }
+
+    private <T> T exchange(UUID tenantId, String path, Class<T> responseType) {
+        var request = new RequestEntity<>(buildHeaders(tenantId), HttpMethod.GET, URI.create(coreServiceUrl + path));
+        return restTemplate.exchange(request, responseType).getBody();
+    }
+
+    private <T> T exchange(UUID tenantId, String path, ParameterizedTypeReference<T> responseType) {
+        var request = new RequestEntity<>(buildHeaders(tenantId), HttpMethod.GET, URI.create(coreServiceUrl + path));
+        return restTemplate.exchange(request, responseType).getBody();
     }
 
     private HttpHeaders buildHeaders(UUID tenantId) {
@@ -0,0 +1,130 @@
+package ai.zevaro.analytics.client;
+
+import ai.zevaro.analytics.client.dto.CoreStakeholderInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-node directory of Core stakeholder details used to enrich leaderboards and digests.
+ *
+ * Lookups are served from a bounded, TTL-limited local cache; misses for a whole row set
+ * are fetched with one bulk Core request instead of one request per stakeholder.
+ * Stakeholders seen on decision events are queued for warming, and a periodic refresh
+ * re-fetches everything cached (well within the TTL), so enrichment of known
+ * stakeholders normally needs no synchronous Core call.
+ */
+@Component
+@Slf4j
+public class StakeholderDirectory {
+
+    private final CoreServiceClient coreServiceClient;
+    private final int batchSize;
+    private final Cache<TenantStakeholder, CoreStakeholderInfo> cache;
+
+    // Stakeholders seen on events but not yet fetched, by tenant
+    private final ConcurrentMap<UUID, Set<UUID>> pendingWarmUp = new ConcurrentHashMap<>();
+
+    public StakeholderDirectory(
+            CoreServiceClient coreServiceClient,
+            @Value("${analytics.stakeholders.ttl:30m}") Duration ttl,
+            @Value("${analytics.stakeholders.max-entries:50000}") long maxEntries,
+            @Value("${analytics.stakeholders.batch-size:100}") int batchSize) {
+        this.coreServiceClient = coreServiceClient;
+        this.batchSize = batchSize;
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxEntries)
+            .build();
+    }
+
+    /**
+     * Returns the known stakeholders among the given ids. Missing entries are loaded
+     * with bulk Core requests; ids Core does not know (or an unreachable Core) are
+     * simply absent from the result.
+     */
+    public Map<UUID, CoreStakeholderInfo> lookup(UUID tenantId, Collection<UUID> stakeholderIds) {
+        var result = new HashMap<UUID, CoreStakeholderInfo>();
+        var missing = new LinkedHashSet<UUID>();
+        for (var stakeholderId : stakeholderIds) {
+            var info = cache.getIfPresent(new TenantStakeholder(tenantId, stakeholderId));
+            if (info != null) {
+                result.put(stakeholderId, info);
+            } else {
+                missing.add(stakeholderId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(fetch(tenantId, missing));
+        }
+        return result;
+    }
+
+    /**
+     * Queues a stakeholder for loading on the next refresh if it is not cached yet.
+     * Never calls Core on the caller's thread.
+     */
+    public void warm(UUID tenantId, UUID stakeholderId) {
+        if (tenantId == null || stakeholderId == null) return;
+        if (cache.getIfPresent(new TenantStakeholder(tenantId, stakeholderId)) != null) return;
+        pendingWarmUp.computeIfAbsent(tenantId, t -> ConcurrentHashMap.newKeySet()).add(stakeholderId);
+    }
+
+    /**
+     * Loads queued stakeholders and re-fetches cached ones so their entries are renewed
+     * before they expire.
+     */
+    @Scheduled(fixedDelayString = "${analytics.stakeholders.refresh-interval-ms:300000}")
+    public void refresh() {
+        var byTenant = new HashMap<UUID, Set<UUID>>();
+        for (var key : cache.asMap().keySet()) {
+            byTenant.computeIfAbsent(key.tenantId(), t -> new HashSet<>()).add(key.stakeholderId());
+        }
+        for (var tenantId : List.copyOf(pendingWarmUp.keySet())) {
+            var pending = pendingWarmUp.remove(tenantId);
+            if (pending != null) {
+                byTenant.computeIfAbsent(tenantId, t -> new HashSet<>()).addAll(pending);
+            }
+        }
+
+        int refreshed = 0;
+        for (var entry : byTenant.entrySet()) {
+            refreshed += fetch(entry.getKey(), entry.getValue()).size();
+        }
+        if (refreshed > 0) {
+            log.debug("Refreshed {} stakeholder directory entries across {} tenants", refreshed, byTenant.size());
+        }
+    }
+
+    private Map<UUID, CoreStakeholderInfo> fetch(UUID tenantId, Collection<UUID> stakeholderIds) {
+        var fetched = new HashMap<UUID, CoreStakeholderInfo>();
+        var ids = new ArrayList<>(stakeholderIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            var batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            for (var info : coreServiceClient.getStakeholders(tenantId, batch)) {
+                if (info == null || info.id() == null) continue;
+                cache.put(new TenantStakeholder(tenantId, info.id()), info);
+                fetched.put(info.id(), info);
+            }
+        }
+        return fetched;
+    }
+
+    private record TenantStakeholder(UUID tenantId, UUID stakeholderId) {}
+}
@@ -35,6 +35,16 @@ public final class AppConstants {
     // Comment topics
     public static final String TOPIC_COMMENT_CREATED = "zevaro.core.comment.created";
 
+    // Every Core topic, for the multiplexed consumer (analytics.kafka.multiplexed.enabled).
+    // Core topics are zevaro.core.<entity>.<event>; the extra segment keeps dead-letter topics out.
+    public static final String TOPIC_PATTERN = "zevaro\\.core\\.[^.]+\\.[^.]+";
+    // Per-topic listeners stand down while the multiplexed consumer dispatches to them
+    public static final String PER_TOPIC_LISTENER_AUTO_STARTUP = "#{!${analytics.kafka.multiplexed.enabled:false}}";
+
+    // Dead-letter topics: records that failed after retries go to <topic>.DLT, then to the parking lot
+    public static final String DLT_SUFFIX = ".DLT";
+    public static final String DLT_TOPIC_PATTERN = "zevaro\\.core\\..*\\.DLT";
+
     // Cache names
     public static final String CACHE_DASHBOARD = "dashboard";
     public static final String CACHE_METRICS = "metrics";
@@ -49,6 +59,8 @@ public final class AppConstants {
     public static final String METRIC_TICKET_VELOCITY = "TICKET_VELOCITY";
     public static final String METRIC_PROGRAM_HEALTH = "PROGRAM_HEALTH";
     public static final String METRIC_WORKSTREAM_HEALTH = "WORKSTREAM_HEALTH";
+    public static final String METRIC_DECISION_CYCLE_TIME = "DECISION_CYCLE_TIME";
+    public static final String METRIC_TICKET_RESOLUTION_TIME = "TICKET_RESOLUTION_TIME";
 
     // Analytics event types
     public static final String EVENT_PROGRAM_CREATED = "PROGRAM_CREATED";
@@ -1,23 +1,51 @@
 package ai.zevaro.analytics.config;
 
+import ai.zevaro.analytics.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
 
+/**
+ * Redis-backed caches, optionally fronted by a per-node Caffeine tier
+ * (analytics.cache.local.enabled) that is invalidated across nodes via Redis pub/sub.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${analytics.cache.local.enabled:true}")
+    private boolean localEnabled;
+
+    @Value("${analytics.cache.local.max-entries:10000}")
+    private long localMaxEntries;
+
+    @Value("${analytics.cache.local.ttl:15s}")
+    private Duration localTtl;
+
+    @Value("${analytics.cache.local.channel:zevaro-analytics:cache-invalidation}")
+    private String invalidationChannel;
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
         var jsonSerializer = new GenericJackson2JsonRedisSerializer();
 
         var defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
@@ -26,7 +54,11 @@ public class CacheConfig {
                 RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer)
             );
 
-        return RedisCacheManager.builder(connectionFactory)
+        // SCAN instead of KEYS for the prefix evictions issued by CacheInvalidator
+        var cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+            connectionFactory, BatchStrategies.scan(1000));
+
+        var redisCacheManager = RedisCacheManager.builder(cacheWriter)
             .cacheDefaults(defaultConfig)
             .withCacheConfiguration(AppConstants.CACHE_DASHBOARD,
                 defaultConfig.entryTtl(Duration.ofMinutes(1)))
@@ -35,5 +67,26 @@ public class CacheConfig {
             .withCacheConfiguration(AppConstants.CACHE_REPORTS,
                 defaultConfig.entryTtl(Duration.ofHours(1)))
             .build();
+
+        if (!localEnabled) {
+            return redisCacheManager;
+        }
+
+        // Not a bean of its own, so the configured caches have to be initialized here
+        redisCacheManager.afterPropertiesSet();
+        return new TwoTierCacheManager(
+            redisCacheManager, redisTemplate, invalidationChannel, meterRegistry,
+            localMaxEntries, localTtl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "analytics.cache.local.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            CacheManager cacheManager) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((TwoTierCacheManager) cacheManager, new ChannelTopic(invalidationChannel));
+        return container;
     }
 }
@@ -1,25 +1,49 @@
 package ai.zevaro.analytics.config;
 
+import ai.zevaro.analytics.consumer.CoreEventDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
+import org.apache.kafka.clients.consumer.RangeAssignor;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.util.backoff.FixedBackOff;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,9 +51,21 @@ import java.util.Map;
  *
  * Key features:
  * - Exponential backoff on failures (1s initial, 60s max)
- * - Reduced concurrency (1 thread per listener vs 3)
+ * - Values read straight into each topic's event record by {@link CoreEventDeserializer},
+ *   wrapped in ErrorHandlingDeserializer so an unreadable payload fails only its own record
+ * - Consumer threads per listener container from analytics.kafka.concurrency (default 1);
+ *   each thread owns a share of the partitions and runs its own retry loop
  * - Circuit breaker pattern via error handler
+ * - Records that still fail after retries are published to their dead-letter topic
+ *   ({@code <topic>.DLT}) and parked in the database by {@code DeadLetterConsumer},
+ *   instead of being dropped
  * - Conditional on KAFKA_ENABLED property
+ * - Optional batch listener mode (analytics.kafka.batch.enabled) for replays and bursts,
+ *   with key-ordered parallel lanes inside each poll (analytics.kafka.batch.lanes)
+ * - Optional multiplexed mode (analytics.kafka.multiplexed.enabled): one pattern-subscribed
+ *   container for every Core topic instead of one container per topic
+ * - Listener threads are virtual when spring.threads.virtual.enabled=true; Boot only applies
+ *   that to the factory it configures itself, so the factories here set it explicitly
  */
 @Configuration
 @EnableKafka
@@ -43,13 +79,36 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${analytics.kafka.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${analytics.kafka.concurrency:1}")
+    private int concurrency;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
+        log.info("Kafka consumer configured with defensive settings: bootstrap={}, groupId={}",
+            bootstrapServers, groupId);
+
+        return consumerFactory(consumerProps());
+    }
+
+    private ConsumerFactory<String, Object> consumerFactory(Map<String, Object> props) {
+        var eventDeserializer = new CoreEventDeserializer(objectMapper);
+        return new DefaultKafkaConsumerFactory<>(props,
+            StringDeserializer::new, () -> new ErrorHandlingDeserializer<>(eventDeserializer));
+    }
+
+    private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
 
         // DEFENSIVE: Prevent log flooding on connection failures
@@ -60,15 +119,7 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, 40000);
         props.put(ConsumerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
 
-        // JSON deserialization
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "ai.zevaro.*");
-        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, Object.class.getName());
-
-        log.info("Kafka consumer configured with defensive settings: bootstrap={}, groupId={}",
-            bootstrapServers, groupId);
-
-        return new DefaultKafkaConsumerFactory<>(props);
+        return props;
     }
 
     @Bean
@@ -77,8 +128,10 @@ public class KafkaConsumerConfig {
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
 
-        // REDUCED from 3 to 1 - prevents 9 concurrent retry loops (3 listeners × 3 threads)
-        factory.setConcurrency(1);
+        // Defaults to 1: every consumer thread retries on its own, so listeners × threads
+        // retry loops run at once during an outage. Threads beyond the partition count idle.
+        factory.setConcurrency(concurrency);
+        useVirtualThreads(factory);
 
         // Error handler with exponential backoff
         factory.setCommonErrorHandler(kafkaErrorHandler());
@@ -86,13 +139,173 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    /**
+     * Manual-ack container factory for listeners whose writes are buffered by
+     * SnapshotCounterAggregator. Acknowledgments are released by the aggregator
+     * after each flush, so offsets are committed only once the data is durable.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> manualAckKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        useVirtualThreads(factory);
+        factory.setCommonErrorHandler(kafkaErrorHandler());
+        return factory;
+    }
+
+    /**
+     * Batch container factory used by {@code BatchEventConsumer} when
+     * analytics.kafka.batch.enabled=true. Each poll (up to max-poll-records)
+     * is delivered as one list; the listener reports a failing record via
+     * BatchListenerFailedException so the error handler commits everything
+     * before it and retries from there.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "analytics.kafka.batch.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        useVirtualThreads(factory);
+        factory.setCommonErrorHandler(kafkaErrorHandler());
+
+        log.info("Kafka batch listener mode enabled: maxPollRecords={}, concurrency={}",
+            batchMaxPollRecords, concurrency);
+
+        return factory;
+    }
+
+    /**
+     * Container factory for {@code MultiplexedEventConsumer} when
+     * analytics.kafka.multiplexed.enabled=true. Manual acks, because the dispatcher
+     * forwards to handlers that acknowledge after the snapshot write-behind flush.
+     * Assignment is cooperative, so a consumer joining or leaving only moves the
+     * partitions that change owner instead of revoking every topic at once.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "analytics.kafka.multiplexed.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, Object> multiplexedKafkaListenerContainerFactory() {
+        Map<String, Object> props = consumerProps();
+        // RangeAssignor stays listed so members still on per-topic listeners can share the group during a rollout
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG,
+            List.of(CooperativeStickyAssignor.class, RangeAssignor.class));
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory(props));
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        useVirtualThreads(factory);
+        factory.setCommonErrorHandler(kafkaErrorHandler());
+
+        log.info("Kafka multiplexed listener mode enabled: pattern={}, concurrency={}",
+            AppConstants.TOPIC_PATTERN, concurrency);
+
+        return factory;
+    }
+
+    private void useVirtualThreads(ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+        if (!virtualThreads) return;
+        var executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
+
+    /**
+     * Container factory for {@code DeadLetterConsumer}. Payloads are read as raw bytes, so
+     * records that could not be deserialized the first time are parked as they arrived. The
+     * group is separate so dead-letter traffic never rebalances the main listeners. Parking
+     * retries without limit: a dead letter is only committed once it is in the database.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> deadLetterKafkaListenerContainerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-dead-letters");
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props,
+            new StringDeserializer(), new ByteArrayDeserializer()));
+        useVirtualThreads(factory);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(30000L, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        return factory;
+    }
+
+    /**
+     * Dead-letter topics for every consumed Core topic, created on startup if missing.
+     * Partition count and replication come from the broker defaults.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics deadLetterTopics() {
+        return new KafkaAdmin.NewTopics(CoreEventDeserializer.EVENT_TYPES.keySet().stream()
+            .sorted()
+            .map(topic -> TopicBuilder.name(topic + AppConstants.DLT_SUFFIX).build())
+            .toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> deadLetterKafkaTemplate() {
+        return deadLetterTemplate(bootstrapServers, objectMapper);
+    }
+
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterRecoverer() {
+        return deadLetterRecoverer(deadLetterKafkaTemplate());
+    }
+
+    /**
+     * Producer for dead letters. Payloads that failed deserialization are published as the
+     * original bytes; records that failed in a listener carry their event record, which is
+     * written back as JSON.
+     */
+    static KafkaTemplate<String, Object> deadLetterTemplate(String bootstrapServers, ObjectMapper objectMapper) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        // DEFENSIVE: Prevent log flooding on connection failures
+        props.put(ProducerConfig.RECONNECT_BACKOFF_MS_CONFIG, 1000);
+        props.put(ProducerConfig.RECONNECT_BACKOFF_MAX_MS_CONFIG, 60000);
+        props.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
+
+        // Checked in order, so raw bytes win over the catch-all JSON serializer
+        Map<Class<?>, Serializer<?>> serializers = new LinkedHashMap<>();
+        serializers.put(byte[].class, new ByteArraySerializer());
+        serializers.put(Object.class, new JsonSerializer<>(objectMapper).noTypeInfo());
+
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props,
+            new StringSerializer(), new DelegatingByTypeSerializer(serializers, true)));
+    }
+
+    /**
+     * Publishes a failed record to {@code <topic>.DLT} with the original topic, partition,
+     * offset and the exception in the headers. Kafka picks the partition from the record
+     * key, so dead-letter topics need not match the source partition count. A failed send
+     * fails the recovery, and the error handler retries the record instead of dropping it.
+     */
+    static DeadLetterPublishingRecoverer deadLetterRecoverer(KafkaOperations<String, Object> template) {
+        return new DeadLetterPublishingRecoverer(template,
+            (record, exception) -> new TopicPartition(record.topic() + AppConstants.DLT_SUFFIX, -1));
+    }
+
     @Bean
     public CommonErrorHandler kafkaErrorHandler() {
-        // Fixed backoff: 3 retries with 5 second intervals, then give up
+        // Fixed backoff: 3 retries with 5 second intervals, then dead-letter
         FixedBackOff backOff = new FixedBackOff(5000L, 3L);
 
+        DeadLetterPublishingRecoverer recoverer = deadLetterRecoverer();
         DefaultErrorHandler errorHandler = new DefaultErrorHandler((record, exception) -> {
-            log.error("Kafka message DROPPED after retries. Topic: {}, Partition: {}, Offset: {}. Error: {}",
+            recoverer.accept(record, exception);
+            log.error("Kafka message DEAD-LETTERED after retries. Topic: {}, Partition: {}, Offset: {}. Error: {}",
                 record.topic(), record.partition(), record.offset(), exception.getMessage());
         }, backOff);
 
@@ -0,0 +1,96 @@
+package ai.zevaro.analytics.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads pinned to their carrier, active when spring.threads.virtual.enabled=true.
+ *
+ * Listens to the JDK's jdk.VirtualThreadPinned event (blocking inside synchronized or a
+ * native frame for longer than analytics.virtual-threads.pinned-threshold) in-process, so
+ * pinning in dependencies is caught as well as in our own code. Every event increments
+ * analytics.virtual_threads.pinned tagged with the pinning site, the first application or
+ * library frame below the JDK; the first event per site is logged with its stack.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    static final String COUNTER_NAME = "analytics.virtual_threads.pinned";
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${analytics.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recording = new RecordingStream();
+        recording.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT_NAME, this::onPinned);
+        recording.startAsync();
+        log.info("Reporting virtual threads pinned for more than {}", threshold);
+    }
+
+    @Override
+    public void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var frames = event.getStackTrace() == null
+            ? List.<String>of()
+            : event.getStackTrace().getFrames().stream().map(VirtualThreadPinningMonitor::describe).toList();
+        record(frames, event.getDuration());
+    }
+
+    void record(List<String> frames, Duration pinnedFor) {
+        var site = site(frames);
+        meterRegistry.counter(COUNTER_NAME, "site", site).increment();
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {}ms at {}; further pinning there is only counted in {}:\n\t{}",
+                pinnedFor.toMillis(), site, COUNTER_NAME, String.join("\n\t", frames));
+        }
+    }
+
+    /**
+     * First frame outside the JDK, i.e. the synchronized block or native call that pinned.
+     */
+    static String site(List<String> frames) {
+        return frames.stream()
+            .filter(frame -> JDK_PACKAGES.stream().noneMatch(frame::startsWith))
+            .findFirst()
+            .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,254 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.metrics.MetricsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Single batch listener for every Core topic, active when analytics.kafka.batch.enabled=true
+ * (the per-topic consumers are disabled in that mode).
+ *
+ * Each poll is converted to typed events and handed to {@link MetricsService#recordBatch}
+ * in one transaction. If the bulk write fails at the database, the poll is replayed one
+ * event per transaction. The first record that still fails, cannot be read or is rejected
+ * by the mapping is reported via {@link BatchListenerFailedException}, once the records
+ * before it are applied. The error handler commits everything before it, dead-letters it
+ * (unreadable payloads at once, others after the retries) and redelivers the rest, which
+ * skips any record the transaction already applied by its natural key.
+ *
+ * With analytics.kafka.batch.bulk-load=true (for re-seeding from an offset reset) polls
+ * go to {@link MetricsService#loadBatch}, which writes through COPY instead of per-row
+ * inserts, and the ingest rate is logged periodically while the replay runs.
+ *
+ * With analytics.kafka.batch.lanes above 1 a poll is split into lanes by tenant, and the lanes
+ * are processed concurrently, each in its own transaction. A tenant's events always share a
+ * lane, so they are applied in poll order; the listener waits for every lane before the next
+ * poll, which bounds the work in flight to one poll. A failing lane stops at its failing
+ * record, and the earliest failing record of the poll is reported. Records after it that
+ * other lanes already committed are redelivered, and {@link MetricsService#recordBatch}
+ * skips them by natural key: analytics rows and decision cycles by their unique keys
+ * (migration V10), outcome and hypothesis events, which only move snapshot counters, by
+ * their key in snapshot_event_keys (V12).
+ */
+@Component
+@ConditionalOnProperty(name = "analytics.kafka.batch.enabled", havingValue = "true")
+@Slf4j
+public class BatchEventConsumer implements DisposableBean {
+
+    private final MetricsService metricsService;
+    private final ObjectMapper objectMapper;
+    private final boolean bulkLoad;
+    private final ThroughputLog throughputLog;
+    private final int lanes;
+    private final ExecutorService laneExecutor;
+
+    private static final LogAccessor HEADER_LOG = new LogAccessor(BatchEventConsumer.class);
+
+    private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
+
+    public BatchEventConsumer(
+            MetricsService metricsService,
+            ObjectMapper objectMapper,
+            @Value("${analytics.kafka.batch.bulk-load:false}") boolean bulkLoad,
+            @Value("${analytics.kafka.batch.throughput-log-interval:10s}") Duration throughputLogInterval,
+            @Value("${analytics.kafka.batch.lanes:1}") int lanes) {
+        this.metricsService = metricsService;
+        this.objectMapper = objectMapper;
+        this.bulkLoad = bulkLoad;
+        this.throughputLog = new ThroughputLog(throughputLogInterval);
+        this.lanes = Math.max(1, lanes);
+        // Lanes block on the database, so they get dedicated threads rather than a shared pool
+        this.laneExecutor = this.lanes > 1
+            ? Executors.newFixedThreadPool(this.lanes, Thread.ofPlatform().name("kafka-lane-", 0).factory())
+            : null;
+        if (bulkLoad) {
+            log.info("Kafka batch consumer in bulk-load mode: events are written with COPY");
+        }
+        if (laneExecutor != null) {
+            log.info("Kafka batch consumer processing each poll in {} tenant-ordered lanes", this.lanes);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (laneExecutor != null) {
+            laneExecutor.shutdownNow();
+        }
+    }
+
+    @KafkaListener(
+        topics = {
+            AppConstants.TOPIC_DECISION_RESOLVED,
+            AppConstants.TOPIC_OUTCOME_VALIDATED,
+            AppConstants.TOPIC_OUTCOME_INVALIDATED,
+            AppConstants.TOPIC_HYPOTHESIS_CONCLUDED,
+            AppConstants.TOPIC_PROGRAM_CREATED,
+            AppConstants.TOPIC_PROGRAM_STATUS_CHANGED,
+            AppConstants.TOPIC_WORKSTREAM_CREATED,
+            AppConstants.TOPIC_WORKSTREAM_STATUS_CHANGED,
+            AppConstants.TOPIC_SPECIFICATION_CREATED,
+            AppConstants.TOPIC_SPECIFICATION_STATUS_CHANGED,
+            AppConstants.TOPIC_SPECIFICATION_APPROVED,
+            AppConstants.TOPIC_TICKET_CREATED,
+            AppConstants.TOPIC_TICKET_RESOLVED,
+            AppConstants.TOPIC_TICKET_ASSIGNED
+        },
+        containerFactory = "batchKafkaListenerContainerFactory")
+    public void onBatch(List<ConsumerRecord<String, Object>> records) {
+        log.debug("Processing batch of {} records", records.size());
+
+        // Positions in `records` of each converted event, for error reporting
+        var events = new ArrayList<Object>(records.size());
+        var positions = new ArrayList<Integer>(records.size());
+        BatchListenerFailedException unreadable = null;
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                events.add(convert(records.get(i)));
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                // Everything before it is applied first, as the error handler commits up to it
+                unreadable = new BatchListenerFailedException(
+                    "Unprocessable " + records.get(i).topic() + " record", e, i);
+                break;
+            }
+        }
+
+        if (!events.isEmpty()) {
+            if (laneExecutor == null) {
+                process(records, events, positions);
+            } else {
+                processInLanes(records, events, positions);
+            }
+        }
+        if (unreadable != null) {
+            throw unreadable;
+        }
+    }
+
+    private void process(List<ConsumerRecord<String, Object>> records, List<Object> events, List<Integer> positions) {
+        MetricsService.BatchResult result;
+        try {
+            result = bulkLoad ? metricsService.loadBatch(events) : metricsService.recordBatch(events);
+        } catch (DataAccessException e) {
+            dbErrorLogger.errorRateLimited(log,
+                "Bulk write failed, falling back to per-event ingestion. Latest offset: {}. ({} suppressed in last interval)",
+                records.get(records.size() - 1).offset());
+            recordIndividually(records, events, positions);
+            return;
+        }
+        log.debug("Successfully processed batch: {} recorded, {} rejected",
+            result.recorded(), result.rejected().size());
+        if (bulkLoad) {
+            throughputLog.record(log, "Bulk load", result.recorded());
+        }
+        if (!result.rejected().isEmpty()) {
+            // Rejected keys are in event order, so the first one is the earliest record
+            var first = result.rejected().entrySet().iterator().next();
+            throw rejected(records, positions.get(first.getKey()), first.getValue());
+        }
+    }
+
+    private void processInLanes(
+            List<ConsumerRecord<String, Object>> records, List<Object> events, List<Integer> positions) {
+        var laneEvents = new ArrayList<List<Object>>(lanes);
+        var lanePositions = new ArrayList<List<Integer>>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            laneEvents.add(new ArrayList<>());
+            lanePositions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < events.size(); i++) {
+            int lane = Math.floorMod(Objects.hashCode(MetricsService.tenantIdOf(events.get(i))), lanes);
+            laneEvents.get(lane).add(events.get(i));
+            lanePositions.get(lane).add(positions.get(i));
+        }
+
+        var running = new LinkedHashMap<Integer, Future<?>>();
+        for (int lane = 0; lane < lanes; lane++) {
+            if (laneEvents.get(lane).isEmpty()) continue;
+            var laneEventList = laneEvents.get(lane);
+            var lanePositionList = lanePositions.get(lane);
+            running.put(lane, laneExecutor.submit(() -> process(records, laneEventList, lanePositionList)));
+        }
+
+        // Every lane is awaited, so the earliest failure is known before anything is reported
+        BatchListenerFailedException failure = null;
+        for (var entry : running.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (ExecutionException e) {
+                var laneFailure = e.getCause() instanceof BatchListenerFailedException failed
+                    ? failed
+                    : new BatchListenerFailedException("Failed to process lane " + entry.getKey(),
+                        e.getCause(), lanePositions.get(entry.getKey()).get(0));
+                if (failure == null || laneFailure.getIndex() < failure.getIndex()) {
+                    failure = laneFailure;
+                }
+            } catch (InterruptedException e) {
+                running.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new BatchListenerFailedException("Interrupted while processing lanes", e, positions.get(0));
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void recordIndividually(
+            List<ConsumerRecord<String, Object>> records, List<Object> events, List<Integer> positions) {
+        for (int i = 0; i < events.size(); i++) {
+            var record = records.get(positions.get(i));
+            MetricsService.BatchResult result;
+            try {
+                result = metricsService.recordBatch(List.of(events.get(i)));
+            } catch (Exception e) {
+                throw new BatchListenerFailedException(
+                    "Failed to process " + record.topic() + " event", e, positions.get(i));
+            }
+            if (!result.rejected().isEmpty()) {
+                throw rejected(records, positions.get(i), result.rejected().get(0));
+            }
+        }
+    }
+
+    private static BatchListenerFailedException rejected(
+            List<ConsumerRecord<String, Object>> records, int position, RuntimeException e) {
+        return new BatchListenerFailedException("Rejected " + records.get(position).topic() + " event", e, position);
+    }
+
+    private Object convert(ConsumerRecord<String, Object> record) {
+        var type = CoreEventDeserializer.EVENT_TYPES.get(record.topic());
+        if (type == null) {
+            throw new IllegalArgumentException("No event type registered for topic " + record.topic());
+        }
+        if (record.value() == null) {
+            // ErrorHandlingDeserializer leaves the value empty and the failure in a header
+            var failure = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, HEADER_LOG);
+            throw new IllegalArgumentException("Payload could not be deserialized", failure);
+        }
+        // Values arrive typed from CoreEventDeserializer; maps are converted as before
+        return type.isInstance(record.value()) ? record.value() : objectMapper.convertValue(record.value(), type);
+    }
+}
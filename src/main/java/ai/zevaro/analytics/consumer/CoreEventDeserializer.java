@@ -0,0 +1,68 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.*;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka value deserializer that reads each Core topic straight into its event record.
+ *
+ * Replaces JsonDeserializer with an Object target, which built a LinkedHashMap per record
+ * that listeners then converted to the record type in a second pass. Here one ObjectReader
+ * is bound per topic up front, so a record costs a map lookup and a single streaming parse,
+ * and Blackbird replaces reflective member access with generated lambdas. Topics without a
+ * registered type (documents, comments) are still read as a map.
+ *
+ * Thread-safe: readers are immutable, so one instance is shared by every consumer.
+ */
+public class CoreEventDeserializer implements Deserializer<Object> {
+
+    public static final Map<String, Class<?>> EVENT_TYPES = Map.ofEntries(
+        Map.entry(AppConstants.TOPIC_DECISION_RESOLVED, DecisionResolvedEvent.class),
+        Map.entry(AppConstants.TOPIC_OUTCOME_VALIDATED, OutcomeValidatedEvent.class),
+        Map.entry(AppConstants.TOPIC_OUTCOME_INVALIDATED, OutcomeInvalidatedEvent.class),
+        Map.entry(AppConstants.TOPIC_HYPOTHESIS_CONCLUDED, HypothesisConcludedEvent.class),
+        Map.entry(AppConstants.TOPIC_PROGRAM_CREATED, ProgramCreatedEvent.class),
+        Map.entry(AppConstants.TOPIC_PROGRAM_STATUS_CHANGED, ProgramStatusChangedEvent.class),
+        Map.entry(AppConstants.TOPIC_WORKSTREAM_CREATED, WorkstreamCreatedEvent.class),
+        Map.entry(AppConstants.TOPIC_WORKSTREAM_STATUS_CHANGED, WorkstreamStatusChangedEvent.class),
+        Map.entry(AppConstants.TOPIC_SPECIFICATION_CREATED, SpecificationCreatedEvent.class),
+        Map.entry(AppConstants.TOPIC_SPECIFICATION_STATUS_CHANGED, SpecificationStatusChangedEvent.class),
+        Map.entry(AppConstants.TOPIC_SPECIFICATION_APPROVED, SpecificationApprovedEvent.class),
+        Map.entry(AppConstants.TOPIC_TICKET_CREATED, TicketCreatedEvent.class),
+        Map.entry(AppConstants.TOPIC_TICKET_RESOLVED, TicketResolvedEvent.class),
+        Map.entry(AppConstants.TOPIC_TICKET_ASSIGNED, TicketAssignedEvent.class)
+    );
+
+    private final Map<String, ObjectReader> readers;
+    private final ObjectReader untyped;
+
+    public CoreEventDeserializer(ObjectMapper objectMapper) {
+        var mapper = objectMapper.copy()
+            .registerModule(new BlackbirdModule())
+            // Core may add fields before this service knows them
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.readers = EVENT_TYPES.entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> mapper.readerFor(e.getValue())));
+        this.untyped = mapper.readerFor(Map.class);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) return null;
+        try {
+            return readers.getOrDefault(topic, untyped).readValue(data);
+        } catch (IOException e) {
+            throw new SerializationException("Can't deserialize " + topic + " event: " + e.getMessage(), e);
+        }
+    }
+}
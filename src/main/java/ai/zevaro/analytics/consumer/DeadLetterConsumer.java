@@ -0,0 +1,74 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.repository.KafkaParkingLot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parks records from the Core dead-letter topics in {@link KafkaParkingLot}.
+ *
+ * The error handler publishes a record to {@code <topic>.DLT} once its retries are spent,
+ * with the original position and the exception in the DLT headers. This listener reads
+ * the payload as raw bytes and stores it with those headers, so failed records can be
+ * replayed in bulk from the internal metrics API. If the database is down, the container
+ * keeps retrying the dead letter: it stays in Kafka until it has been parked.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.kafka.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterConsumer {
+
+    private final KafkaParkingLot parkingLot;
+
+    private final RateLimitedConsumerLogger parkedLogger = new RateLimitedConsumerLogger();
+
+    @KafkaListener(
+        topicPattern = AppConstants.DLT_TOPIC_PATTERN,
+        containerFactory = "deadLetterKafkaListenerContainerFactory")
+    public void onDeadLetter(ConsumerRecord<String, byte[]> record) {
+        var topic = text(record, KafkaHeaders.DLT_ORIGINAL_TOPIC);
+        if (topic == null) {
+            topic = record.topic().substring(0, record.topic().length() - AppConstants.DLT_SUFFIX.length());
+        }
+        var partitionHeader = header(record, KafkaHeaders.DLT_ORIGINAL_PARTITION);
+        var offsetHeader = header(record, KafkaHeaders.DLT_ORIGINAL_OFFSET);
+        int partition = partitionHeader != null ? ByteBuffer.wrap(partitionHeader).getInt() : record.partition();
+        long offset = offsetHeader != null ? ByteBuffer.wrap(offsetHeader).getLong() : record.offset();
+
+        // Listener failures arrive wrapped; the cause names the actual error
+        var errorClass = text(record, KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN);
+        if (errorClass == null) {
+            errorClass = text(record, KafkaHeaders.DLT_EXCEPTION_FQCN);
+        }
+
+        boolean parked = parkingLot.park(topic, partition, offset, record.key(), record.value(), errorClass,
+            text(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE), text(record, KafkaHeaders.DLT_EXCEPTION_STACKTRACE));
+
+        if (parked) {
+            parkedLogger.warnRateLimited(log,
+                "Kafka message(s) parked for replay. Latest: {}. ({} suppressed in last interval)",
+                topic + "@" + partition + ":" + offset + " - " + errorClass);
+        }
+    }
+
+    private static byte[] header(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? header.value() : null;
+    }
+
+    private static String text(ConsumerRecord<?, ?> record, String name) {
+        var value = header(record, name);
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+}
@@ -5,12 +5,13 @@ import ai.zevaro.analytics.consumer.events.DecisionResolvedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "analytics.kafka.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class DecisionEventConsumer {
@@ -19,9 +20,9 @@ public class DecisionEventConsumer {
 
     // Rate-limited loggers — prevent log storms during DB outages or event replays
     private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
-    private final RateLimitedConsumerLogger duplicateLogger = new RateLimitedConsumerLogger();
 
-    @KafkaListener(topics = AppConstants.TOPIC_DECISION_RESOLVED)
+    @KafkaListener(topics = AppConstants.TOPIC_DECISION_RESOLVED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onDecisionResolved(DecisionResolvedEvent event) {
         try {
             log.debug("Processing decision resolved event: {} for tenant {}",
@@ -41,10 +42,6 @@ public class DecisionEventConsumer {
 
             log.debug("Successfully processed decision: {}", event.decisionId());
 
-        } catch (DataIntegrityViolationException e) {
-            // Duplicate event — rate-limited to prevent flood during rebalance/replay
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate decision event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.decisionId());
         } catch (DataAccessException e) {
             // Database error — rate-limited to prevent flood during DB outage
             dbErrorLogger.errorRateLimited(log,
@@ -3,25 +3,33 @@ package ai.zevaro.analytics.consumer;
 import ai.zevaro.analytics.config.AppConstants;
 import ai.zevaro.analytics.consumer.events.HypothesisConcludedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+/**
+ * Snapshot counters from this listener are written behind by {@link SnapshotCounterAggregator};
+ * offsets are acknowledged manually, only after the aggregator has flushed them.
+ */
 @Component
+@ConditionalOnExpression("${spring.kafka.enabled:true} and !${analytics.kafka.batch.enabled:false}")
 @RequiredArgsConstructor
 @Slf4j
 public class HypothesisEventConsumer {
 
     private final MetricsService metricsService;
+    private final SnapshotCounterAggregator snapshotAggregator;
 
     private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
-    private final RateLimitedConsumerLogger duplicateLogger = new RateLimitedConsumerLogger();
 
-    @KafkaListener(topics = AppConstants.TOPIC_HYPOTHESIS_CONCLUDED)
-    public void onHypothesisConcluded(HypothesisConcludedEvent event) {
+    @KafkaListener(topics = AppConstants.TOPIC_HYPOTHESIS_CONCLUDED, containerFactory = "manualAckKafkaListenerContainerFactory",
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
+    public void onHypothesisConcluded(HypothesisConcludedEvent event, Acknowledgment ack) {
         try {
             log.debug("Processing hypothesis concluded event: {} for tenant {} - result: {}",
                 event.hypothesisId(), event.tenantId(), event.result());
@@ -36,11 +44,10 @@ public class HypothesisEventConsumer {
                 event.concludedAt()
             );
 
+            snapshotAggregator.acknowledgeAfterFlush(ack);
+
             log.debug("Successfully processed hypothesis: {}", event.hypothesisId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate hypothesis event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.hypothesisId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing hypothesis event(s). Latest: {}. ({} suppressed in last interval)", event.hypothesisId());
@@ -0,0 +1,149 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Single listener for every Core topic, active when analytics.kafka.multiplexed.enabled=true
+ * (and batch mode is off). One pattern subscription replaces the fourteen per-topic
+ * containers, so the service runs analytics.kafka.concurrency consumers in total rather
+ * than per topic, with as many poll loops, heartbeats and fetch sessions.
+ *
+ * Each record is converted to the topic's event type and handed to the per-topic consumer
+ * that would otherwise have received it; their listeners are not started in this mode.
+ * Handlers that write behind acknowledge after the flush, the rest as soon as they return.
+ * Topics matching the pattern without a handler (documents, comments) are acknowledged and
+ * skipped. Records that cannot be converted are rethrown unacknowledged, so the error handler
+ * publishes them to the dead-letter topic. Every record is timed in analytics.kafka.events, tagged by topic and outcome.
+ */
+@Component
+@ConditionalOnExpression("${spring.kafka.enabled:true} and ${analytics.kafka.multiplexed.enabled:false} "
+    + "and !${analytics.kafka.batch.enabled:false}")
+@Slf4j
+public class MultiplexedEventConsumer {
+
+    static final String TIMER_NAME = "analytics.kafka.events";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Route<?>> routes;
+
+    private final RateLimitedConsumerLogger unhandledLogger = new RateLimitedConsumerLogger();
+
+    public MultiplexedEventConsumer(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            DecisionEventConsumer decisions,
+            OutcomeEventConsumer outcomes,
+            OutcomeInvalidatedEventConsumer outcomeInvalidations,
+            HypothesisEventConsumer hypotheses,
+            ProgramEventConsumer programs,
+            WorkstreamEventConsumer workstreams,
+            SpecificationEventConsumer specifications,
+            TicketEventConsumer tickets) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.routes = Map.ofEntries(
+            route(AppConstants.TOPIC_DECISION_RESOLVED, DecisionResolvedEvent.class,
+                acknowledging(decisions::onDecisionResolved)),
+            route(AppConstants.TOPIC_OUTCOME_VALIDATED, OutcomeValidatedEvent.class,
+                outcomes::onOutcomeValidated),
+            route(AppConstants.TOPIC_OUTCOME_INVALIDATED, OutcomeInvalidatedEvent.class,
+                outcomeInvalidations::onOutcomeInvalidated),
+            route(AppConstants.TOPIC_HYPOTHESIS_CONCLUDED, HypothesisConcludedEvent.class,
+                hypotheses::onHypothesisConcluded),
+            route(AppConstants.TOPIC_PROGRAM_CREATED, ProgramCreatedEvent.class,
+                acknowledging(programs::onProgramCreated)),
+            route(AppConstants.TOPIC_PROGRAM_STATUS_CHANGED, ProgramStatusChangedEvent.class,
+                acknowledging(programs::onProgramStatusChanged)),
+            route(AppConstants.TOPIC_WORKSTREAM_CREATED, WorkstreamCreatedEvent.class,
+                acknowledging(workstreams::onWorkstreamCreated)),
+            route(AppConstants.TOPIC_WORKSTREAM_STATUS_CHANGED, WorkstreamStatusChangedEvent.class,
+                acknowledging(workstreams::onWorkstreamStatusChanged)),
+            route(AppConstants.TOPIC_SPECIFICATION_CREATED, SpecificationCreatedEvent.class,
+                acknowledging(specifications::onSpecificationCreated)),
+            route(AppConstants.TOPIC_SPECIFICATION_STATUS_CHANGED, SpecificationStatusChangedEvent.class,
+                acknowledging(specifications::onSpecificationStatusChanged)),
+            route(AppConstants.TOPIC_SPECIFICATION_APPROVED, SpecificationApprovedEvent.class,
+                acknowledging(specifications::onSpecificationApproved)),
+            route(AppConstants.TOPIC_TICKET_CREATED, TicketCreatedEvent.class,
+                acknowledging(tickets::onTicketCreated)),
+            route(AppConstants.TOPIC_TICKET_RESOLVED, TicketResolvedEvent.class,
+                acknowledging(tickets::onTicketResolved)),
+            route(AppConstants.TOPIC_TICKET_ASSIGNED, TicketAssignedEvent.class,
+                acknowledging(tickets::onTicketAssigned))
+        );
+    }
+
+    @KafkaListener(
+        topicPattern = AppConstants.TOPIC_PATTERN,
+        containerFactory = "multiplexedKafkaListenerContainerFactory")
+    public void onEvent(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        long start = System.nanoTime();
+        var route = routes.get(record.topic());
+        if (route == null) {
+            unhandledLogger.warnRateLimited(log,
+                "Kafka message(s) on topics without a handler skipped. Latest: {}. ({} suppressed in last interval)",
+                record.topic() + "@" + record.offset());
+            ack.acknowledge();
+            time(record.topic(), "unhandled", start);
+            return;
+        }
+
+        Object event;
+        try {
+            event = route.type().isInstance(record.value())
+                ? record.value()
+                : objectMapper.convertValue(record.value(), route.type());
+        } catch (IllegalArgumentException e) {
+            // Unacknowledged, so the error handler dead-letters it like the per-topic listeners do
+            time(record.topic(), "rejected", start);
+            throw e;
+        }
+
+        try {
+            route.handle(event, ack);
+        } catch (RuntimeException e) {
+            time(record.topic(), "failure", start);
+            throw e;
+        }
+        time(record.topic(), "success", start);
+    }
+
+    private void time(String topic, String outcome, long start) {
+        meterRegistry.timer(TIMER_NAME, "topic", topic, "outcome", outcome)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static <E> Map.Entry<String, Route<?>> route(
+            String topic, Class<E> type, BiConsumer<E, Acknowledgment> handler) {
+        return Map.entry(topic, new Route<>(type, handler));
+    }
+
+    private static <E> BiConsumer<E, Acknowledgment> acknowledging(Consumer<E> handler) {
+        return (event, ack) -> {
+            handler.accept(event);
+            ack.acknowledge();
+        };
+    }
+
+    private record Route<E>(Class<E> type, BiConsumer<E, Acknowledgment> handler) {
+
+        void handle(Object event, Acknowledgment ack) {
+            handler.accept(type.cast(event), ack);
+        }
+    }
+}
@@ -3,25 +3,33 @@ package ai.zevaro.analytics.consumer;
 import ai.zevaro.analytics.config.AppConstants;
 import ai.zevaro.analytics.consumer.events.OutcomeInvalidatedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+/**
+ * Snapshot counters from this listener are written behind by {@link SnapshotCounterAggregator};
+ * offsets are acknowledged manually, only after the aggregator has flushed them.
+ */
 @Component
+@ConditionalOnExpression("${spring.kafka.enabled:true} and !${analytics.kafka.batch.enabled:false}")
 @RequiredArgsConstructor
 @Slf4j
 public class OutcomeInvalidatedEventConsumer {
 
     private final MetricsService metricsService;
+    private final SnapshotCounterAggregator snapshotAggregator;
 
     private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
-    private final RateLimitedConsumerLogger duplicateLogger = new RateLimitedConsumerLogger();
 
-    @KafkaListener(topics = AppConstants.TOPIC_OUTCOME_INVALIDATED)
-    public void onOutcomeInvalidated(OutcomeInvalidatedEvent event) {
+    @KafkaListener(topics = AppConstants.TOPIC_OUTCOME_INVALIDATED, containerFactory = "manualAckKafkaListenerContainerFactory",
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
+    public void onOutcomeInvalidated(OutcomeInvalidatedEvent event, Acknowledgment ack) {
         try {
             log.debug("Processing outcome invalidated event: {} for tenant {}",
                 event.outcomeId(), event.tenantId());
@@ -34,11 +42,10 @@ public class OutcomeInvalidatedEventConsumer {
                 event.invalidatedAt()
             );
 
+            snapshotAggregator.acknowledgeAfterFlush(ack);
+
             log.debug("Successfully processed outcome invalidation: {}", event.outcomeId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate outcome invalidated event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.outcomeId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing outcome invalidated event(s). Latest: {}. ({} suppressed in last interval)", event.outcomeId());
@@ -0,0 +1,140 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.metrics.MetricsService;
+import ai.zevaro.analytics.repository.KafkaParkingLot;
+import ai.zevaro.analytics.repository.KafkaParkingLot.ParkedRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Replays records parked by {@link DeadLetterConsumer} through the same ingest path as a
+ * Kafka poll, so repairing a gap touches only the failed records instead of re-consuming
+ * whole topics from earliest.
+ *
+ * Parked records are read oldest first in chunks, deserialized with {@link CoreEventDeserializer}
+ * and applied with {@link MetricsService#recordBatch}. The applied records are marked
+ * replayed in the same transaction as the ingest, so a crash or a failed mark rolls back
+ * both and a record is never applied without leaving the parking lot. Records that still
+ * cannot be read or applied stay parked with the replay error and an incremented attempt
+ * count.
+ */
+@Component
+@Slf4j
+public class ParkedRecordReplayer {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final KafkaParkingLot parkingLot;
+    private final MetricsService metricsService;
+    private final CoreEventDeserializer deserializer;
+    private final TransactionTemplate transactionTemplate;
+
+    public ParkedRecordReplayer(
+            KafkaParkingLot parkingLot,
+            MetricsService metricsService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.parkingLot = parkingLot;
+        this.metricsService = metricsService;
+        this.deserializer = new CoreEventDeserializer(objectMapper);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Replays up to {@code limit} parked records, optionally for one topic only.
+     */
+    public ReplayResult replay(String topic, int limit) {
+        var parked = parkingLot.pending(topic, limit);
+        int replayed = 0;
+        int failed = 0;
+        for (int from = 0; from < parked.size(); from += CHUNK_SIZE) {
+            var chunk = replayChunk(parked.subList(from, Math.min(from + CHUNK_SIZE, parked.size())));
+            replayed += chunk.replayed();
+            failed += chunk.failed();
+        }
+        if (!parked.isEmpty()) {
+            log.info("Replayed parked Kafka records{}: {} replayed, {} still failing",
+                topic != null ? " for " + topic : "", replayed, failed);
+        }
+        return new ReplayResult(replayed, failed);
+    }
+
+    private ReplayResult replayChunk(List<ParkedRecord> parked) {
+        var events = new ArrayList<Object>(parked.size());
+        var sources = new ArrayList<ParkedRecord>(parked.size());
+        int failed = 0;
+        for (var record : parked) {
+            try {
+                var event = deserializer.deserialize(record.topic(), record.payload());
+                if (event == null) {
+                    throw new IllegalArgumentException("Parked record has no payload");
+                }
+                events.add(event);
+                sources.add(record);
+            } catch (RuntimeException e) {
+                parkingLot.markFailed(record.id(), e.getMessage());
+                failed++;
+            }
+        }
+        if (events.isEmpty()) return new ReplayResult(0, failed);
+
+        var replayedIds = new ArrayList<UUID>(events.size());
+        try {
+            // recordBatch joins this transaction, so the marks commit or roll back with the ingest
+            var result = transactionTemplate.execute(status -> {
+                var batch = metricsService.recordBatch(events);
+                var applied = new ArrayList<UUID>(sources.size());
+                for (int i = 0; i < sources.size(); i++) {
+                    if (!batch.rejected().containsKey(i)) {
+                        applied.add(sources.get(i).id());
+                    }
+                }
+                parkingLot.markReplayed(applied);
+                return batch;
+            });
+            for (int i = 0; i < sources.size(); i++) {
+                var rejected = result.rejected().get(i);
+                if (rejected == null) {
+                    replayedIds.add(sources.get(i).id());
+                } else {
+                    parkingLot.markFailed(sources.get(i).id(), rejected.getMessage());
+                    failed++;
+                }
+            }
+        } catch (DataAccessException e) {
+            // Isolate the records the database still refuses, as the batch consumer does
+            for (int i = 0; i < sources.size(); i++) {
+                var event = events.get(i);
+                var id = sources.get(i).id();
+                try {
+                    var result = transactionTemplate.execute(status -> {
+                        var single = metricsService.recordBatch(List.of(event));
+                        if (single.rejected().isEmpty()) {
+                            parkingLot.markReplayed(List.of(id));
+                        }
+                        return single;
+                    });
+                    if (result.rejected().isEmpty()) {
+                        replayedIds.add(id);
+                        continue;
+                    }
+                    parkingLot.markFailed(id, result.rejected().get(0).getMessage());
+                } catch (DataAccessException recordFailure) {
+                    parkingLot.markFailed(id, recordFailure.getMessage());
+                }
+                failed++;
+            }
+        }
+        return new ReplayResult(replayedIds.size(), failed);
+    }
+
+    public record ReplayResult(int replayed, int failed) {}
+}
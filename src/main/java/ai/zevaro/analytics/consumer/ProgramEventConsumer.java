@@ -6,12 +6,13 @@ import ai.zevaro.analytics.consumer.events.ProgramStatusChangedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "analytics.kafka.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class ProgramEventConsumer {
@@ -19,9 +20,9 @@ public class ProgramEventConsumer {
     private final MetricsService metricsService;
 
     private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
-    private final RateLimitedConsumerLogger duplicateLogger = new RateLimitedConsumerLogger();
 
-    @KafkaListener(topics = AppConstants.TOPIC_PROGRAM_CREATED)
+    @KafkaListener(topics = AppConstants.TOPIC_PROGRAM_CREATED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onProgramCreated(ProgramCreatedEvent event) {
         try {
             log.debug("Processing program created event: {} for tenant {}",
@@ -31,9 +32,6 @@ public class ProgramEventConsumer {
 
             log.debug("Successfully processed program created: {}", event.programId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate program created event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.programId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing program created event(s). Latest: {}. ({} suppressed in last interval)", event.programId());
@@ -45,7 +43,8 @@ public class ProgramEventConsumer {
         }
     }
 
-    @KafkaListener(topics = AppConstants.TOPIC_PROGRAM_STATUS_CHANGED)
+    @KafkaListener(topics = AppConstants.TOPIC_PROGRAM_STATUS_CHANGED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onProgramStatusChanged(ProgramStatusChangedEvent event) {
         try {
             log.debug("Processing program status changed event: {} for tenant {}",
@@ -55,9 +54,6 @@ public class ProgramEventConsumer {
 
             log.debug("Successfully processed program status changed: {}", event.programId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate program status changed event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.programId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing program status changed event(s). Latest: {}. ({} suppressed in last interval)", event.programId());
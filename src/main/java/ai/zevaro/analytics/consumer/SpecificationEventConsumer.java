@@ -7,12 +7,13 @@ import ai.zevaro.analytics.consumer.events.SpecificationStatusChangedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "analytics.kafka.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class SpecificationEventConsumer {
@@ -20,9 +21,9 @@ public class SpecificationEventConsumer {
     private final MetricsService metricsService;
 
     private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
-    private final RateLimitedConsumerLogger duplicateLogger = new RateLimitedConsumerLogger();
 
-    @KafkaListener(topics = AppConstants.TOPIC_SPECIFICATION_CREATED)
+    @KafkaListener(topics = AppConstants.TOPIC_SPECIFICATION_CREATED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onSpecificationCreated(SpecificationCreatedEvent event) {
         try {
             log.debug("Processing specification created event: {} for tenant {}",
@@ -32,9 +33,6 @@ public class SpecificationEventConsumer {
 
             log.debug("Successfully processed specification created: {}", event.specificationId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate specification created event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.specificationId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing specification created event(s). Latest: {}. ({} suppressed in last interval)", event.specificationId());
@@ -46,7 +44,8 @@ public class SpecificationEventConsumer {
         }
     }
 
-    @KafkaListener(topics = AppConstants.TOPIC_SPECIFICATION_STATUS_CHANGED)
+    @KafkaListener(topics = AppConstants.TOPIC_SPECIFICATION_STATUS_CHANGED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onSpecificationStatusChanged(SpecificationStatusChangedEvent event) {
         try {
             log.debug("Processing specification status changed event: {} for tenant {}",
@@ -56,9 +55,6 @@ public class SpecificationEventConsumer {
 
             log.debug("Successfully processed specification status changed: {}", event.specificationId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate specification status changed event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.specificationId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing specification status changed event(s). Latest: {}. ({} suppressed in last interval)", event.specificationId());
@@ -70,7 +66,8 @@ public class SpecificationEventConsumer {
         }
     }
 
-    @KafkaListener(topics = AppConstants.TOPIC_SPECIFICATION_APPROVED)
+    @KafkaListener(topics = AppConstants.TOPIC_SPECIFICATION_APPROVED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onSpecificationApproved(SpecificationApprovedEvent event) {
         try {
             log.debug("Processing specification approved event: {} for tenant {}",
@@ -80,9 +77,6 @@ public class SpecificationEventConsumer {
 
             log.debug("Successfully processed specification approved: {}", event.specificationId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate specification approved event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.specificationId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing specification approved event(s). Latest: {}. ({} suppressed in last interval)", event.specificationId());
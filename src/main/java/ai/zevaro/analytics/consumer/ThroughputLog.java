@@ -0,0 +1,55 @@
+package ai.zevaro.analytics.consumer;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Periodic progress line for long-running ingestion such as a replay from an offset
+ * reset: counts recorded events and, at most once per interval, logs the rate over the
+ * last interval and the running total.
+ *
+ * Thread-safe via atomics (no locks).
+ */
+public class ThroughputLog {
+
+    private final Duration interval;
+    private final LongSupplier nanoClock;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong windowCount = new AtomicLong();
+    private final AtomicLong windowStart;
+
+    public ThroughputLog(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    ThroughputLog(Duration interval, LongSupplier nanoClock) {
+        this.interval = interval;
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Adds {@code count} recorded events and logs the rate if the interval has elapsed.
+     */
+    public void record(Logger logger, String label, int count) {
+        total.addAndGet(count);
+        windowCount.addAndGet(count);
+
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        long elapsed = now - start;
+        if (elapsed < interval.toNanos() || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        long events = windowCount.getAndSet(0);
+        logger.info("{}: {} events/s over the last {}s, {} total",
+            label, Math.round(events * 1e9 / elapsed), Duration.ofNanos(elapsed).toSeconds(), total.get());
+    }
+
+    public long total() {
+        return total.get();
+    }
+}
@@ -7,12 +7,13 @@ import ai.zevaro.analytics.consumer.events.TicketResolvedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "analytics.kafka.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class TicketEventConsumer {
@@ -20,9 +21,9 @@ public class TicketEventConsumer {
     private final MetricsService metricsService;
 
     private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
-    private final RateLimitedConsumerLogger duplicateLogger = new RateLimitedConsumerLogger();
 
-    @KafkaListener(topics = AppConstants.TOPIC_TICKET_CREATED)
+    @KafkaListener(topics = AppConstants.TOPIC_TICKET_CREATED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onTicketCreated(TicketCreatedEvent event) {
         try {
             log.debug("Processing ticket created event: {} for tenant {}",
@@ -32,9 +33,6 @@ public class TicketEventConsumer {
 
             log.debug("Successfully processed ticket created: {}", event.ticketId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate ticket created event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.ticketId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing ticket created event(s). Latest: {}. ({} suppressed in last interval)", event.ticketId());
@@ -46,7 +44,8 @@ public class TicketEventConsumer {
         }
     }
 
-    @KafkaListener(topics = AppConstants.TOPIC_TICKET_RESOLVED)
+    @KafkaListener(topics = AppConstants.TOPIC_TICKET_RESOLVED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onTicketResolved(TicketResolvedEvent event) {
         try {
             log.debug("Processing ticket resolved event: {} for tenant {}",
@@ -56,9 +55,6 @@ public class TicketEventConsumer {
 
             log.debug("Successfully processed ticket resolved: {}", event.ticketId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate ticket resolved event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.ticketId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing ticket resolved event(s). Latest: {}. ({} suppressed in last interval)", event.ticketId());
@@ -70,7 +66,8 @@ public class TicketEventConsumer {
         }
     }
 
-    @KafkaListener(topics = AppConstants.TOPIC_TICKET_ASSIGNED)
+    @KafkaListener(topics = AppConstants.TOPIC_TICKET_ASSIGNED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onTicketAssigned(TicketAssignedEvent event) {
         try {
             log.debug("Processing ticket assigned event: {} for tenant {}",
@@ -80,9 +77,6 @@ public class TicketEventConsumer {
 
             log.debug("Successfully processed ticket assigned: {}", event.ticketId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate ticket assigned event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.ticketId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing ticket assigned event(s). Latest: {}. ({} suppressed in last interval)", event.ticketId());
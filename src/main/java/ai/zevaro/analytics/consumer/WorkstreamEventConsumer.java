@@ -6,12 +6,13 @@ import ai.zevaro.analytics.consumer.events.WorkstreamStatusChangedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "analytics.kafka.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class WorkstreamEventConsumer {
@@ -19,9 +20,9 @@ public class WorkstreamEventConsumer {
     private final MetricsService metricsService;
 
     private final RateLimitedConsumerLogger dbErrorLogger = new RateLimitedConsumerLogger();
-    private final RateLimitedConsumerLogger duplicateLogger = new RateLimitedConsumerLogger();
 
-    @KafkaListener(topics = AppConstants.TOPIC_WORKSTREAM_CREATED)
+    @KafkaListener(topics = AppConstants.TOPIC_WORKSTREAM_CREATED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onWorkstreamCreated(WorkstreamCreatedEvent event) {
         try {
             log.debug("Processing workstream created event: {} for tenant {}",
@@ -31,9 +32,6 @@ public class WorkstreamEventConsumer {
 
             log.debug("Successfully processed workstream created: {}", event.workstreamId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate workstream created event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.workstreamId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing workstream created event(s). Latest: {}. ({} suppressed in last interval)", event.workstreamId());
@@ -45,7 +43,8 @@ public class WorkstreamEventConsumer {
         }
     }
 
-    @KafkaListener(topics = AppConstants.TOPIC_WORKSTREAM_STATUS_CHANGED)
+    @KafkaListener(topics = AppConstants.TOPIC_WORKSTREAM_STATUS_CHANGED,
+        autoStartup = AppConstants.PER_TOPIC_LISTENER_AUTO_STARTUP)
     public void onWorkstreamStatusChanged(WorkstreamStatusChangedEvent event) {
         try {
             log.debug("Processing workstream status changed event: {} for tenant {}",
@@ -55,9 +54,6 @@ public class WorkstreamEventConsumer {
 
             log.debug("Successfully processed workstream status changed: {}", event.workstreamId());
 
-        } catch (DataIntegrityViolationException e) {
-            duplicateLogger.warnRateLimited(log,
-                "Duplicate workstream status changed event(s) ignored. Latest: {}. ({} suppressed in last interval)", event.workstreamId());
         } catch (DataAccessException e) {
             dbErrorLogger.errorRateLimited(log,
                 "Database error processing workstream status changed event(s). Latest: {}. ({} suppressed in last interval)", event.workstreamId());
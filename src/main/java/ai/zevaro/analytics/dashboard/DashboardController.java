@@ -30,4 +30,11 @@ public class DashboardController {
             @RequestParam(required = false) @Nullable UUID projectId) {
         return ResponseEntity.ok(dashboardService.getDashboardSummary(tenantId, projectId));
     }
+
+    @GetMapping("/workstreams/status")
+    public ResponseEntity<Map<String, Integer>> getWorkstreamStatusCounts(
+            @RequestHeader("X-Tenant-Id") UUID tenantId,
+            @RequestParam(required = false) @Nullable UUID programId) {
+        return ResponseEntity.ok(dashboardService.getWorkstreamStatusCounts(tenantId, programId));
+    }
 }
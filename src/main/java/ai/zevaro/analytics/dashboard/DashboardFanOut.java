@@ -0,0 +1,156 @@
+package ai.zevaro.analytics.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent parts of a dashboard computation concurrently on virtual threads.
+ *
+ * Branches forked from one {@link Scope} share a deadline (analytics.dashboard.deadline).
+ * A branch that fails or is still running when its result is needed after the deadline
+ * is cancelled and replaced by its fallback, so a slow dependency degrades one figure
+ * instead of delaying the whole dashboard. The scope then reports itself degraded, so
+ * callers can keep the partial result out of caches.
+ *
+ * Branches forked with {@link Scope#forkQuery} hold a database connection while they run.
+ * They share analytics.dashboard.max-concurrent-queries permits across all requests, so
+ * concurrent cache misses queue for permits instead of draining the connection pool that
+ * ingestion also needs. A query branch that gets no permit before the deadline falls back.
+ */
+@Component
+@Slf4j
+public class DashboardFanOut implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final Duration deadline;
+    private final Semaphore queryPermits;
+
+    @Autowired
+    public DashboardFanOut(
+            @Value("${analytics.dashboard.deadline:5s}") Duration deadline,
+            @Value("${analytics.dashboard.max-concurrent-queries:4}") int maxConcurrentQueries) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), deadline, maxConcurrentQueries);
+    }
+
+    DashboardFanOut(ExecutorService executor, Duration deadline, int maxConcurrentQueries) {
+        this.executor = executor;
+        this.deadline = deadline;
+        this.queryPermits = new Semaphore(Math.max(1, maxConcurrentQueries), true);
+    }
+
+    public Scope open() {
+        return new Scope(System.nanoTime() + deadline.toNanos());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope {
+
+        private final long deadlineNanos;
+        private final AtomicBoolean degraded = new AtomicBoolean();
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Forks a branch that does not touch the database, such as a Core call.
+         */
+        public <T> Branch<T> fork(String name, Supplier<T> task, T fallback) {
+            return submit(name, task::get, fallback);
+        }
+
+        /**
+         * Forks a branch that runs database queries; it waits for a query permit first.
+         */
+        public <T> Branch<T> forkQuery(String name, Supplier<T> task, T fallback) {
+            return submit(name, () -> {
+                if (!queryPermits.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("no query permit before the deadline");
+                }
+                try {
+                    return task.get();
+                } finally {
+                    queryPermits.release();
+                }
+            }, fallback);
+        }
+
+        /**
+         * Whether any joined branch fell back after a failure or missed deadline.
+         */
+        public boolean degraded() {
+            return degraded.get();
+        }
+
+        private <T> Branch<T> submit(String name, Callable<T> task, T fallback) {
+            return new Branch<>(name, executor.submit(task), fallback, deadlineNanos, degraded);
+        }
+    }
+
+    public static final class Branch<T> {
+
+        private final String name;
+        private final Future<T> future;
+        private final T fallback;
+        private final long deadlineNanos;
+        private final AtomicBoolean scopeDegraded;
+        private boolean degraded;
+
+        private Branch(String name, Future<T> future, T fallback, long deadlineNanos, AtomicBoolean scopeDegraded) {
+            this.name = name;
+            this.future = future;
+            this.fallback = fallback;
+            this.deadlineNanos = deadlineNanos;
+            this.scopeDegraded = scopeDegraded;
+        }
+
+        /**
+         * Waits for the branch until the scope's deadline, returning the fallback if it
+         * failed or did not finish in time. A null result also maps to the fallback, but
+         * is not a degradation.
+         */
+        public T join() {
+            try {
+                var result = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                return result != null ? result : fallback;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Dashboard branch {} missed the deadline; using fallback", name);
+            } catch (ExecutionException e) {
+                log.warn("Dashboard branch {} failed; using fallback: {}", name, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            degraded = true;
+            scopeDegraded.set(true);
+            return fallback;
+        }
+
+        /**
+         * Whether {@link #join} returned the fallback after a failure or missed deadline.
+         */
+        public boolean degraded() {
+            return degraded;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package ai.zevaro.analytics.dashboard;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.repository.AnalyticsEvent;
+import ai.zevaro.analytics.repository.AnalyticsEventRepository;
+import ai.zevaro.analytics.repository.DashboardCounter;
+import ai.zevaro.analytics.repository.DashboardCounterRepository;
+import ai.zevaro.analytics.repository.SpecificationLifecycleRepository;
+import ai.zevaro.analytics.repository.TicketLifecycleRepository;
+import ai.zevaro.analytics.repository.WorkstreamStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Per-tenant dashboard counters maintained incrementally as events are ingested,
+ * so rendering the dashboard never has to replay the tenant's event history.
+ * Callers are expected to invoke the {@code onXxx} methods inside the same
+ * transaction that persists the corresponding {@link AnalyticsEvent}.
+ *
+ * Workstream statuses, specifications pending review and resolved tickets are
+ * counted from the workstream state, specification lifecycle and ticket lifecycle
+ * tables rather than derived from counters, since all of them can change state any
+ * number of times and their events may arrive out of order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardProjectionService {
+
+    static final String WORKSTREAMS_BY_MODE = "workstreams.byMode";
+    static final String WORKSTREAMS_BY_EXECUTION_MODE = "workstreams.byExecutionMode";
+    static final String SPECS_TOTAL = "specs.total";
+    static final String TICKETS_TOTAL = "tickets.total";
+    static final String TICKETS_BY_SEVERITY = "tickets.bySeverity";
+
+    private static final String NO_BUCKET = "";
+    private static final Set<String> TERMINAL_WORKSTREAM_STATUSES = Set.of("COMPLETED", "ARCHIVED");
+
+    private final DashboardCounterRepository counterRepository;
+    private final AnalyticsEventRepository analyticsEventRepository;
+    private final SpecificationLifecycleRepository specificationLifecycleRepository;
+    private final TicketLifecycleRepository ticketLifecycleRepository;
+    private final WorkstreamStateRepository workstreamStateRepository;
+
+    // ── Workstream events ────────────────────────────────────────────
+
+    @Transactional
+    public void onWorkstreamCreated(UUID tenantId, String mode, String executionMode) {
+        if (mode != null) increment(tenantId, WORKSTREAMS_BY_MODE, mode, 1);
+        if (executionMode != null) increment(tenantId, WORKSTREAMS_BY_EXECUTION_MODE, executionMode, 1);
+    }
+
+    // ── Specification events ─────────────────────────────────────────
+
+    @Transactional
+    public void onSpecificationCreated(UUID tenantId) {
+        increment(tenantId, SPECS_TOTAL, NO_BUCKET, 1);
+    }
+
+    // ── Ticket events ────────────────────────────────────────────────
+
+    @Transactional
+    public void onTicketCreated(UUID tenantId, String severity) {
+        increment(tenantId, TICKETS_TOTAL, NO_BUCKET, 1);
+        if (severity != null) increment(tenantId, TICKETS_BY_SEVERITY, severity, 1);
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public DashboardCounts load(UUID tenantId) {
+        var scalars = new HashMap<String, Long>();
+        var byMode = new HashMap<String, Integer>();
+        var byExecutionMode = new HashMap<String, Integer>();
+        var bySeverity = new HashMap<String, Integer>();
+
+        for (var counter : counterRepository.findByTenantId(tenantId)) {
+            switch (counter.getCounterName()) {
+                case WORKSTREAMS_BY_MODE -> putPositive(byMode, counter);
+                case WORKSTREAMS_BY_EXECUTION_MODE -> putPositive(byExecutionMode, counter);
+                case TICKETS_BY_SEVERITY -> putPositive(bySeverity, counter);
+                default -> scalars.merge(counter.getCounterName(), counter.getValue(), Long::sum);
+            }
+        }
+
+        var workstreamsByStatus = workstreamsByStatus(tenantId, null);
+        int totalWorkstreams = workstreamsByStatus.values().stream().mapToInt(Integer::intValue).sum();
+        int activeWorkstreams = workstreamsByStatus.entrySet().stream()
+            .filter(e -> !TERMINAL_WORKSTREAM_STATUSES.contains(e.getKey()))
+            .mapToInt(Map.Entry::getValue)
+            .sum();
+        int totalSpecs = scalar(scalars, SPECS_TOTAL);
+        int totalTickets = scalar(scalars, TICKETS_TOTAL);
+        int resolvedTickets = (int) ticketLifecycleRepository.countResolved(tenantId);
+
+        return new DashboardCounts(
+            totalWorkstreams,
+            activeWorkstreams,
+            byMode,
+            byExecutionMode,
+            totalSpecs,
+            (int) specificationLifecycleRepository.countPendingReview(tenantId),
+            totalTickets,
+            totalTickets - resolvedTickets,
+            resolvedTickets,
+            bySeverity
+        );
+    }
+
+    /**
+     * Current number of workstreams in each status, for the tenant or one of its
+     * programs.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Integer> workstreamsByStatus(UUID tenantId, @Nullable UUID programId) {
+        var rows = programId != null
+            ? workstreamStateRepository.countByStatusForProgram(tenantId, programId)
+            : workstreamStateRepository.countByStatus(tenantId);
+        var byStatus = new TreeMap<String, Integer>();
+        for (var row : rows) {
+            byStatus.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return byStatus;
+    }
+
+    // ── Rebuild ──────────────────────────────────────────────────────
+
+    /**
+     * Recomputes a tenant's counters from the full event history. This is the
+     * expensive path the projection exists to avoid — use it for backfills and
+     * repairs only. The counts are aggregated in SQL over the typed event columns;
+     * workstream, specification and ticket state tables are maintained at ingest and
+     * not touched here.
+     */
+    @Transactional
+    public DashboardCounts rebuild(UUID tenantId) {
+        counterRepository.deleteByTenantId(tenantId);
+
+        // Workstreams
+        incrementAll(tenantId, WORKSTREAMS_BY_MODE,
+            analyticsEventRepository.countByMode(tenantId, AppConstants.EVENT_WORKSTREAM_CREATED));
+        incrementAll(tenantId, WORKSTREAMS_BY_EXECUTION_MODE,
+            analyticsEventRepository.countByExecutionMode(tenantId, AppConstants.EVENT_WORKSTREAM_CREATED));
+
+        // Specifications
+        increment(tenantId, SPECS_TOTAL, NO_BUCKET, count(tenantId, AppConstants.EVENT_SPEC_CREATED));
+
+        // Tickets
+        var ticketsCreated = count(tenantId, AppConstants.EVENT_TICKET_CREATED);
+        increment(tenantId, TICKETS_TOTAL, NO_BUCKET, ticketsCreated);
+        incrementAll(tenantId, TICKETS_BY_SEVERITY,
+            analyticsEventRepository.countBySeverity(tenantId, AppConstants.EVENT_TICKET_CREATED));
+
+        log.info("Rebuilt dashboard projection for tenant {}: {} tickets", tenantId, ticketsCreated);
+        return load(tenantId);
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────
+
+    private void increment(UUID tenantId, String counterName, String bucket, long delta) {
+        if (delta == 0) return;
+        counterRepository.increment(tenantId, counterName, bucket, delta);
+    }
+
+    /** Increments one bucket per [bucket, count] row. */
+    private void incrementAll(UUID tenantId, String counterName, List<Object[]> buckets) {
+        for (var row : buckets) {
+            increment(tenantId, counterName, (String) row[0], ((Number) row[1]).longValue());
+        }
+    }
+
+    private long count(UUID tenantId, String eventType) {
+        return analyticsEventRepository.countByTenantIdAndEventTypeAndEventTimestampAfter(
+            tenantId, eventType, Instant.EPOCH);
+    }
+
+    private static void putPositive(Map<String, Integer> target, DashboardCounter counter) {
+        if (counter.getValue() > 0) {
+            target.put(counter.getBucket(), (int) counter.getValue());
+        }
+    }
+
+    private static int scalar(Map<String, Long> scalars, String name) {
+        return (int) Math.max(0L, scalars.getOrDefault(name, 0L));
+    }
+
+    public record DashboardCounts(
+        int totalWorkstreams,
+        int activeWorkstreams,
+        Map<String, Integer> workstreamsByMode,
+        Map<String, Integer> workstreamsByExecutionMode,
+        int totalSpecifications,
+        int specificationsPendingReview,
+        int totalTickets,
+        int openTickets,
+        int resolvedTickets,
+        Map<String, Integer> ticketsBySeverity
+    ) {
+        public static final DashboardCounts EMPTY =
+            new DashboardCounts(0, 0, Map.of(), Map.of(), 0, 0, 0, 0, 0, Map.of());
+    }
+}
@@ -1,12 +1,14 @@
 package ai.zevaro.analytics.dashboard;
 
+import ai.zevaro.analytics.cache.RefreshAheadCache;
 import ai.zevaro.analytics.client.CoreServiceClient;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.dashboard.DashboardProjectionService.DashboardCounts;
 import ai.zevaro.analytics.dashboard.dto.*;
 import ai.zevaro.analytics.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
@@ -15,7 +17,6 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,126 +26,110 @@ public class DashboardService {
     private final MetricSnapshotRepository snapshotRepository;
     private final DecisionCycleLogRepository cycleLogRepository;
     private final CoreServiceClient coreServiceClient;
-    private final AnalyticsEventRepository analyticsEventRepository;
-
-    @Cacheable(value = AppConstants.CACHE_DASHBOARD, key = "#tenantId + ':' + #projectId")
+    private final StakeholderDirectory stakeholderDirectory;
+    private final SpecificationLifecycleRepository specificationLifecycleRepository;
+    private final DashboardProjectionService projectionService;
+    private final RefreshAheadCache dashboardCache;
+    private final DashboardFanOut fanOut;
+
+    /**
+     * Cached per tenant and project; concurrent misses are computed once and busy
+     * entries are refreshed in the background before they expire. Degraded results
+     * are served but not cached, so the next request tries again.
+     */
     public DashboardData getDashboard(UUID tenantId, @Nullable UUID projectId) {
+        return dashboardCache.get(AppConstants.CACHE_DASHBOARD, tenantId + ":" + projectId,
+            () -> computeDashboard(tenantId, projectId), data -> !data.degraded());
+    }
+
+    public Map<String, Object> getDashboardSummary(UUID tenantId, @Nullable UUID projectId) {
+        return dashboardCache.get(AppConstants.CACHE_DASHBOARD, "summary:" + tenantId + ":" + projectId,
+            () -> computeDashboardSummary(tenantId, projectId));
+    }
+
+    /**
+     * Current workstream count per status for the tenant or one of its programs. Read
+     * straight from the workstream state table, so it is not cached.
+     */
+    public Map<String, Integer> getWorkstreamStatusCounts(UUID tenantId, @Nullable UUID programId) {
+        return projectionService.workstreamsByStatus(tenantId, programId);
+    }
+
+    /**
+     * Fans the independent queries and Core calls out on virtual threads; a branch that
+     * fails or misses the request deadline contributes an empty value instead, and the
+     * result is flagged degraded. Database branches are bounded by the fan-out's query
+     * permits.
+     */
+    private DashboardData computeDashboard(UUID tenantId, @Nullable UUID projectId) {
         var now = Instant.now();
         var thirtyDaysAgo = now.minus(30, ChronoUnit.DAYS);
+        var oneWeekAgo = now.minus(7, ChronoUnit.DAYS);
+        var weekStart = LocalDate.now().minusDays(7);
+        var weekEnd = LocalDate.now();
+        var scope = fanOut.open();
 
-        // Get velocity trends
-        var decisionTrend = getDecisionVelocityTrend(tenantId, projectId, 30);
-        var outcomeTrend = getOutcomeVelocityTrend(tenantId, projectId, 30);
+        // Velocity trends
+        var decisionTrendBranch = scope.forkQuery("decisionTrend",
+            () -> getDecisionVelocityTrend(tenantId, projectId, 30), List.<DataPoint>of());
+        var outcomeTrendBranch = scope.forkQuery("outcomeTrend",
+            () -> getOutcomeVelocityTrend(tenantId, projectId, 30), List.<DataPoint>of());
 
-        // Calculate averages
-        var avgCycleTime = projectId != null
+        // Averages
+        var avgCycleTimeBranch = scope.forkQuery("avgCycleTime", () -> projectId != null
             ? cycleLogRepository.findAvgCycleTimeSinceByProject(tenantId, projectId, thirtyDaysAgo)
-            : cycleLogRepository.findAvgCycleTimeSince(tenantId, thirtyDaysAgo);
-        var escalatedCount = projectId != null
+            : cycleLogRepository.findAvgCycleTimeSince(tenantId, thirtyDaysAgo), (Double) null);
+        var escalatedCountBranch = scope.forkQuery("escalatedCount", () -> projectId != null
             ? cycleLogRepository.countEscalatedSinceByProject(tenantId, projectId, thirtyDaysAgo)
-            : cycleLogRepository.countEscalatedSince(tenantId, thirtyDaysAgo);
+            : cycleLogRepository.countEscalatedSince(tenantId, thirtyDaysAgo), 0L);
 
         // Outcomes this week
-        var weekStart = LocalDate.now().minusDays(7);
-        var weekEnd = LocalDate.now();
-        var weekOutcomes = snapshotRepository
+        var outcomesThisWeekBranch = scope.forkQuery("outcomesThisWeek", () -> snapshotRepository
             .findByTenantIdAndMetricTypeAndMetricDateBetweenOrderByMetricDateAsc(
-                tenantId, AppConstants.METRIC_OUTCOME_VELOCITY, weekStart, weekEnd);
-        var outcomesThisWeek = weekOutcomes.stream()
+                tenantId, AppConstants.METRIC_OUTCOME_VELOCITY, weekStart, weekEnd)
+            .stream()
             .mapToInt(s -> s.getValue().intValue())
-            .sum();
+            .sum(), 0);
 
         // Stakeholder leaderboard — enriched with Core data
-        var stakeholderData = cycleLogRepository.findAvgCycleTimeByStakeholder(tenantId, thirtyDaysAgo);
-        var leaderboard = buildLeaderboard(tenantId, stakeholderData);
-
-        // Decision health
-        var healthStatus = calculateHealthStatus(avgCycleTime, escalatedCount);
+        var leaderboardBranch = scope.forkQuery("leaderboard", () -> buildLeaderboard(tenantId,
+            cycleLogRepository.findAvgCycleTimeByStakeholder(tenantId, thirtyDaysAgo)),
+            List.<StakeholderScore>of());
 
         // Live data from Core service
-        var pendingDecisionCount = coreServiceClient.getPendingDecisionCount(tenantId);
-        var hypothesesTestedThisWeek = coreServiceClient.getHypothesesTestedThisWeek(tenantId);
-        var activeExperiments = coreServiceClient.getActiveHypothesisCount(tenantId);
-        var urgentDecisions = buildUrgentDecisionSummaries(tenantId);
-
-        // v2: Workstream counts from analytics events
-        var workstreamCreatedEvents = safeList(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_WORKSTREAM_CREATED, Instant.EPOCH));
-        int totalWorkstreams = workstreamCreatedEvents.size();
-
-        var workstreamsByMode = new HashMap<String, Integer>();
-        var workstreamsByExecutionMode = new HashMap<String, Integer>();
-        for (var ws : workstreamCreatedEvents) {
-            var mode = getStringMeta(ws, "mode");
-            if (mode != null) workstreamsByMode.merge(mode, 1, Integer::sum);
-            var execMode = getStringMeta(ws, "executionMode");
-            if (execMode != null) workstreamsByExecutionMode.merge(execMode, 1, Integer::sum);
-        }
-
-        var workstreamStatusEvents = safeList(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_WORKSTREAM_STATUS_CHANGED, Instant.EPOCH));
-        var terminalWorkstreams = new HashSet<UUID>();
-        var terminalStatuses = Set.of("COMPLETED", "ARCHIVED");
-        for (var event : workstreamStatusEvents) {
-            if (terminalStatuses.contains(getStringMeta(event, "newStatus"))) {
-                terminalWorkstreams.add(event.getEntityId());
-            } else {
-                terminalWorkstreams.remove(event.getEntityId());
-            }
-        }
-        int activeWorkstreams = totalWorkstreams - terminalWorkstreams.size();
-
-        // v2: Specification counts
-        var specCreatedEvents = safeList(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_SPEC_CREATED, Instant.EPOCH));
-        int totalSpecifications = specCreatedEvents.size();
-
-        var specApprovedEvents = safeList(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_SPEC_APPROVED, Instant.EPOCH));
-        var approvedSpecIds = specApprovedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .collect(Collectors.toSet());
-
-        var specStatusEvents = safeList(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_SPEC_STATUS_CHANGED, Instant.EPOCH));
-        var rejectedSpecIds = specStatusEvents.stream()
-            .filter(e -> "REJECTED".equals(getStringMeta(e, "newStatus")))
-            .map(AnalyticsEvent::getEntityId)
-            .collect(Collectors.toSet());
-
-        int specificationsPendingReview = (int) specCreatedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .filter(id -> !approvedSpecIds.contains(id) && !rejectedSpecIds.contains(id))
-            .count();
-
-        var oneWeekAgo = now.minus(7, ChronoUnit.DAYS);
-        int specificationsApprovedThisWeek = (int) specApprovedEvents.stream()
-            .filter(e -> e.getEventTimestamp().isAfter(oneWeekAgo))
-            .count();
-
-        // v2: Ticket counts
-        var ticketCreatedEvents = safeList(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_TICKET_CREATED, Instant.EPOCH));
-        int totalTickets = ticketCreatedEvents.size();
-
-        var ticketResolvedEvents = safeList(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_TICKET_RESOLVED, Instant.EPOCH));
-        var resolvedTicketIds = ticketResolvedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .collect(Collectors.toSet());
-
-        int openTickets = (int) ticketCreatedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .filter(id -> !resolvedTicketIds.contains(id))
-            .count();
-
-        var ticketsByStatus = Map.of("OPEN", openTickets, "RESOLVED", resolvedTicketIds.size());
-
-        var ticketsBySeverity = new HashMap<String, Integer>();
-        for (var t : ticketCreatedEvents) {
-            var severity = getStringMeta(t, "severity");
-            if (severity != null) ticketsBySeverity.merge(severity, 1, Integer::sum);
-        }
+        var pendingDecisionCountBranch = scope.fork("pendingDecisionCount",
+            () -> coreServiceClient.getPendingDecisionCount(tenantId), 0);
+        var hypothesesTestedBranch = scope.fork("hypothesesTestedThisWeek",
+            () -> coreServiceClient.getHypothesesTestedThisWeek(tenantId), 0);
+        var activeExperimentsBranch = scope.fork("activeExperiments",
+            () -> coreServiceClient.getActiveHypothesisCount(tenantId), 0);
+        var urgentDecisionsBranch = scope.fork("urgentDecisions",
+            () -> buildUrgentDecisionSummaries(tenantId), List.<DecisionSummary>of());
+
+        // v2: Workstream, specification and ticket counts from the incremental projection
+        var countsBranch = scope.forkQuery("counts",
+            () -> projectionService.load(tenantId), DashboardCounts.EMPTY);
+        var specsApprovedBranch = scope.forkQuery("specificationsApprovedThisWeek",
+            () -> (int) specificationLifecycleRepository.countApprovedSince(tenantId, oneWeekAgo), 0);
+
+        var decisionTrend = decisionTrendBranch.join();
+        var outcomeTrend = outcomeTrendBranch.join();
+        var avgCycleTime = avgCycleTimeBranch.join();
+        var escalatedCount = escalatedCountBranch.join();
+        int outcomesThisWeek = outcomesThisWeekBranch.join();
+        var leaderboard = leaderboardBranch.join();
+        int pendingDecisionCount = pendingDecisionCountBranch.join();
+        int hypothesesTestedThisWeek = hypothesesTestedBranch.join();
+        int activeExperiments = activeExperimentsBranch.join();
+        var urgentDecisions = urgentDecisionsBranch.join();
+        var counts = countsBranch.join();
+        int specificationsApprovedThisWeek = specsApprovedBranch.join();
+
+        // Decision health; unknown rather than GREEN when its inputs fell back
+        var healthStatus = avgCycleTimeBranch.degraded() || escalatedCountBranch.degraded()
+            ? "UNKNOWN"
+            : calculateHealthStatus(avgCycleTime, escalatedCount);
+        var ticketsByStatus = Map.of("OPEN", counts.openTickets(), "RESOLVED", counts.resolvedTickets());
 
         return new DashboardData(
             pendingDecisionCount,
@@ -160,24 +145,24 @@ public class DashboardService {
             "IDLE",  // pipelineStatus - requires Elaro integration (ZI-009)
             null,    // lastDeployment - requires Elaro integration (ZI-009)
             0,       // idleTimeMinutes - requires Elaro integration (ZI-009)
-            totalWorkstreams,
-            activeWorkstreams,
-            workstreamsByMode,
-            workstreamsByExecutionMode,
-            totalSpecifications,
-            specificationsPendingReview,
+            counts.totalWorkstreams(),
+            counts.activeWorkstreams(),
+            counts.workstreamsByMode(),
+            counts.workstreamsByExecutionMode(),
+            counts.totalSpecifications(),
+            counts.specificationsPendingReview(),
             specificationsApprovedThisWeek,
-            totalTickets,
-            openTickets,
+            counts.totalTickets(),
+            counts.openTickets(),
             ticketsByStatus,
-            ticketsBySeverity,
+            counts.ticketsBySeverity(),
             0,   // totalDocuments - requires document consumer (ZI-TBD)
-            0    // publishedDocuments - requires document consumer (ZI-TBD)
+            0,   // publishedDocuments - requires document consumer (ZI-TBD)
+            scope.degraded()
         );
     }
 
-    @Cacheable(value = AppConstants.CACHE_DASHBOARD, key = "'summary:' + #tenantId + ':' + #projectId")
-    public Map<String, Object> getDashboardSummary(UUID tenantId, @Nullable UUID projectId) {
+    private Map<String, Object> computeDashboardSummary(UUID tenantId, @Nullable UUID projectId) {
         var thirtyDaysAgo = Instant.now().minus(30, ChronoUnit.DAYS);
         var avgCycleTime = projectId != null
             ? cycleLogRepository.findAvgCycleTimeSinceByProject(tenantId, projectId, thirtyDaysAgo)
@@ -239,16 +224,19 @@ public class DashboardService {
         var scores = new ArrayList<StakeholderScore>();
         int rank = 1;
 
+        // Enrich with stakeholder name and stats from the Core stakeholder directory
+        var stakeholders = stakeholderDirectory.lookup(tenantId,
+            data.stream().map(row -> (UUID) row[0]).toList());
+
         for (var row : data) {
             var stakeholderId = (UUID) row[0];
             var avgTime = ((Number) row[1]).doubleValue();
 
-            // Enrich with stakeholder name and stats from Core
             String name = null;
             int decisionsCompleted = 0;
             double slaComplianceRate = 0.0;
 
-            var stakeholderInfo = coreServiceClient.getStakeholder(tenantId, stakeholderId);
+            var stakeholderInfo = stakeholders.get(stakeholderId);
             if (stakeholderInfo != null) {
                 name = stakeholderInfo.name();
                 decisionsCompleted = stakeholderInfo.decisionsCompleted();
@@ -279,13 +267,4 @@ public class DashboardService {
         if (avgCycleTime > 72) return "RED";
         return "YELLOW";
     }
-
-    private String getStringMeta(AnalyticsEvent event, String key) {
-        if (event.getMetadata() == null || !event.getMetadata().containsKey(key)) return null;
-        return event.getMetadata().get(key).toString();
-    }
-
-    private <T> List<T> safeList(List<T> list) {
-        return list != null ? list : List.of();
-    }
 }
@@ -13,7 +13,7 @@ public record DashboardData(
     int experimentsRunning,
 
     // Decision health
-    String decisionHealthStatus,  // GREEN, YELLOW, RED
+    String decisionHealthStatus,  // GREEN, YELLOW, RED; UNKNOWN when degraded
     List<DecisionSummary> urgentDecisions,
 
     // Charts data
@@ -45,5 +45,8 @@ public record DashboardData(
 
     // v2: Documents
     int totalDocuments,
-    int publishedDocuments
+    int publishedDocuments,
+
+    // Some figures fell back to empty values after a failure or timeout; never cached
+    boolean degraded
 ) {}
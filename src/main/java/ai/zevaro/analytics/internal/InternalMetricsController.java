@@ -1,9 +1,15 @@
 package ai.zevaro.analytics.internal;
 
 import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.ParkedRecordReplayer;
+import ai.zevaro.analytics.dashboard.DashboardProjectionService;
+import ai.zevaro.analytics.metrics.EventRollupService;
 import ai.zevaro.analytics.metrics.MetricsService;
+import ai.zevaro.analytics.repository.AnalyticsEventColumnBackfill;
+import ai.zevaro.analytics.repository.KafkaParkingLot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
@@ -19,6 +25,11 @@ import java.util.UUID;
 public class InternalMetricsController {
 
     private final MetricsService metricsService;
+    private final DashboardProjectionService projectionService;
+    private final EventRollupService rollupService;
+    private final AnalyticsEventColumnBackfill columnBackfill;
+    private final KafkaParkingLot parkingLot;
+    private final ParkedRecordReplayer parkedRecordReplayer;
 
     @PostMapping("/decision-resolved")
     public ResponseEntity<Map<String, String>> recordDecisionResolved(
@@ -71,6 +82,53 @@ public class InternalMetricsController {
         return ResponseEntity.ok(Map.of("status", "recorded"));
     }
 
+    /**
+     * Recomputes the tenant's dashboard counters from the raw event history.
+     * Intended for backfills after the projection was introduced, or repairs.
+     */
+    @PostMapping("/projections/dashboard/rebuild")
+    public ResponseEntity<DashboardProjectionService.DashboardCounts> rebuildDashboardProjection(
+            @RequestHeader("X-Tenant-Id") UUID tenantId) {
+        return ResponseEntity.ok(projectionService.rebuild(tenantId));
+    }
+
+    /**
+     * Recomputes the tenant's hourly and daily event rollups from the raw event history.
+     */
+    @PostMapping("/projections/rollups/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildEventRollups(
+            @RequestHeader("X-Tenant-Id") UUID tenantId) {
+        return ResponseEntity.ok(Map.of("buckets", rollupService.rebuild(tenantId)));
+    }
+
+    /**
+     * Moves hot metadata keys of pre-V9 events into their typed columns, month by month.
+     * Safe to re-run; already migrated rows are skipped.
+     */
+    @PostMapping("/events/backfill-columns")
+    public ResponseEntity<Map<String, Integer>> backfillEventColumns() {
+        return ResponseEntity.ok(Map.of("rows", columnBackfill.run()));
+    }
+
+    /**
+     * Kafka records parked after failing their retries and not replayed yet, by topic.
+     */
+    @GetMapping("/parking-lot")
+    public ResponseEntity<Map<String, Long>> parkedRecords() {
+        return ResponseEntity.ok(parkingLot.pendingCounts());
+    }
+
+    /**
+     * Re-ingests parked Kafka records, oldest first, optionally for one topic.
+     * Safe to re-run; records already ingested are skipped as duplicates.
+     */
+    @PostMapping("/parking-lot/replay")
+    public ResponseEntity<ParkedRecordReplayer.ReplayResult> replayParkedRecords(
+            @RequestParam(required = false) @Nullable String topic,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(parkedRecordReplayer.replay(topic, limit));
+    }
+
     // Request DTOs
     public record DecisionResolvedRequest(
         UUID tenantId,
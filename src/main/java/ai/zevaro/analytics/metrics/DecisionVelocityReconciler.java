@@ -0,0 +1,194 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.repository.DecisionCycleLogRepository;
+import ai.zevaro.analytics.repository.MetricSnapshot;
+import ai.zevaro.analytics.repository.MetricSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repairs drift in the DECISION_VELOCITY snapshots that
+ * {@link MetricsService#recordDecisionResolved} maintains incrementally.
+ *
+ * Every analytics.snapshots.reconcile-interval-ms it compares the running totals
+ * of the last reconcile-lookback-days days against one grouped aggregate over
+ * decision_cycle_log. Only days whose totals disagree are recomputed, each in its
+ * own transaction with the snapshot row locked so concurrent increments are not lost.
+ */
+@Component
+@Slf4j
+public class DecisionVelocityReconciler {
+
+    private final MetricSnapshotRepository snapshotRepository;
+    private final DecisionCycleLogRepository cycleLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int lookbackDays;
+    private final Clock clock;
+
+    @Autowired
+    public DecisionVelocityReconciler(
+            MetricSnapshotRepository snapshotRepository,
+            DecisionCycleLogRepository cycleLogRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.snapshots.reconcile-lookback-days:2}") int lookbackDays) {
+        this(snapshotRepository, cycleLogRepository, transactionManager, lookbackDays, Clock.systemUTC());
+    }
+
+    DecisionVelocityReconciler(
+            MetricSnapshotRepository snapshotRepository,
+            DecisionCycleLogRepository cycleLogRepository,
+            PlatformTransactionManager transactionManager,
+            int lookbackDays,
+            Clock clock) {
+        this.snapshotRepository = snapshotRepository;
+        this.cycleLogRepository = cycleLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lookbackDays = lookbackDays;
+        this.clock = clock;
+    }
+
+    /**
+     * Compares the window and repairs drifted days. Returns the number of days repaired.
+     */
+    @Scheduled(
+        initialDelayString = "${analytics.snapshots.reconcile-interval-ms:900000}",
+        fixedDelayString = "${analytics.snapshots.reconcile-interval-ms:900000}")
+    public int reconcile() {
+        var today = LocalDate.now(clock);
+        var since = today.minusDays(lookbackDays);
+
+        var expected = new HashMap<DayKey, Totals>();
+        for (Object[] row : cycleLogRepository.aggregateDailyCycleTimesSince(
+                since.atStartOfDay().toInstant(ZoneOffset.UTC))) {
+            expected.put(
+                new DayKey((UUID) row[0], toLocalDate(row[1])),
+                new Totals(toLong(row[2]), toBigDecimal(row[3]), toLong(row[4])));
+        }
+
+        var actual = new HashMap<DayKey, Totals>();
+        for (var snapshot : snapshotRepository.findByMetricTypeAndMetricDateBetween(
+                AppConstants.METRIC_DECISION_VELOCITY, since, today)) {
+            actual.put(new DayKey(snapshot.getTenantId(), snapshot.getMetricDate()), Totals.of(snapshot));
+        }
+
+        var days = new HashSet<DayKey>(expected.keySet());
+        days.addAll(actual.keySet());
+
+        int repaired = 0;
+        for (var day : days) {
+            var want = expected.getOrDefault(day, Totals.EMPTY);
+            if (want.matches(actual.getOrDefault(day, Totals.EMPTY))) continue;
+            try {
+                transactionTemplate.executeWithoutResult(status -> repair(day.tenantId(), day.date()));
+                repaired++;
+            } catch (RuntimeException e) {
+                log.error("Failed to reconcile decision velocity for tenant {} on {}", day.tenantId(), day.date(), e);
+            }
+        }
+
+        if (repaired > 0) {
+            log.warn("Reconciled {} drifted decision velocity snapshots since {}", repaired, since);
+        }
+        return repaired;
+    }
+
+    /**
+     * Recomputes one day from the cycle logs while holding the snapshot row lock.
+     * Must run inside a transaction.
+     */
+    void repair(UUID tenantId, LocalDate date) {
+        var existing = snapshotRepository.lockByTenantIdAndMetricTypeAndMetricDate(
+            tenantId, AppConstants.METRIC_DECISION_VELOCITY, date);
+
+        var rows = cycleLogRepository.aggregateCycleTimesBetween(
+            tenantId,
+            date.atStartOfDay().toInstant(ZoneOffset.UTC),
+            date.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+        var totals = rows.isEmpty()
+            ? Totals.EMPTY
+            : new Totals(toLong(rows.get(0)[0]), toBigDecimal(rows.get(0)[1]), toLong(rows.get(0)[2]));
+
+        var snapshot = existing.orElse(MetricSnapshot.builder()
+            .tenantId(tenantId)
+            .metricType(AppConstants.METRIC_DECISION_VELOCITY)
+            .metricDate(date)
+            .build());
+
+        var dimensions = new HashMap<String, Object>();
+        if (snapshot.getDimensions() != null) dimensions.putAll(snapshot.getDimensions());
+        dimensions.put("cycleTimeSum", totals.cycleTimeSum());
+        dimensions.put("decisionsResolved", totals.decisions());
+        dimensions.put("escalatedCount", totals.escalated());
+        dimensions.put("escalationRate",
+            totals.decisions() == 0 ? 0 : (double) totals.escalated() / totals.decisions());
+
+        snapshot.setValue(totals.average());
+        snapshot.setDimensions(dimensions);
+        snapshotRepository.save(snapshot);
+
+        log.debug("Repaired decision velocity for tenant {} on {}: {}", tenantId, date, totals);
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) return BigDecimal.ZERO;
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    record DayKey(UUID tenantId, LocalDate date) {}
+
+    record Totals(long decisions, BigDecimal cycleTimeSum, long escalated) {
+        static final Totals EMPTY = new Totals(0, BigDecimal.ZERO, 0);
+
+        /**
+         * Reads the running totals from a snapshot. Rows written before cycleTimeSum
+         * was tracked fall back to value * decisionsResolved.
+         */
+        static Totals of(MetricSnapshot snapshot) {
+            var dimensions = snapshot.getDimensions() == null ? Map.<String, Object>of() : snapshot.getDimensions();
+            long decisions = toLong(dimensions.get("decisionsResolved"));
+            var sum = dimensions.containsKey("cycleTimeSum")
+                ? toBigDecimal(dimensions.get("cycleTimeSum"))
+                : snapshot.getValue().multiply(BigDecimal.valueOf(decisions));
+            return new Totals(decisions, sum, toLong(dimensions.get("escalatedCount")));
+        }
+
+        boolean matches(Totals other) {
+            return decisions == other.decisions
+                && escalated == other.escalated
+                && cycleTimeSum.compareTo(other.cycleTimeSum) == 0;
+        }
+
+        BigDecimal average() {
+            return decisions == 0
+                ? BigDecimal.ZERO
+                : cycleTimeSum.divide(BigDecimal.valueOf(decisions), 2, RoundingMode.HALF_UP);
+        }
+    }
+}
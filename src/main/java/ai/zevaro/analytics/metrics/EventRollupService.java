@@ -0,0 +1,467 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.repository.AnalyticsEvent;
+import ai.zevaro.analytics.repository.AnalyticsEventRepository;
+import ai.zevaro.analytics.repository.EventRollup;
+import ai.zevaro.analytics.repository.EventRollupRepository;
+import ai.zevaro.analytics.repository.SpecificationLifecycle;
+import ai.zevaro.analytics.repository.SpecificationLifecycleRepository;
+import ai.zevaro.analytics.repository.TicketLifecycle;
+import ai.zevaro.analytics.repository.TicketLifecycleRepository;
+import ai.zevaro.analytics.repository.WorkstreamState;
+import ai.zevaro.analytics.repository.WorkstreamStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Hourly and daily rollups of ticket and specification events per tenant, program and
+ * workstream, maintained as events are ingested so the velocity and breakdown metrics
+ * never aggregate raw {@link AnalyticsEvent} rows per request.
+ *
+ * Callers are expected to invoke {@link #record} (or {@link #collect} and {@link #write}
+ * for a batch) inside the transaction that persists the event, after the workstream,
+ * specification and ticket state has been updated. Resolution and cycle times are
+ * paired with the entity's creation at ingest; events whose creation is unknown are
+ * counted without a duration or breakdown.
+ */
+@Service
+@Slf4j
+public class EventRollupService {
+
+    public static final String TICKETS_OPEN = "tickets.open";
+    public static final String TICKETS_RESOLVED = "tickets.resolved";
+    public static final String SPECS_APPROVED = "specs.approved";
+    public static final String SPECS_REJECTED = "specs.rejected";
+
+    public static final String TOTAL = "";
+    public static final String BY_RESOLUTION = "resolution";
+    public static final String BY_TYPE = "type";
+    public static final String BY_SEVERITY = "severity";
+    public static final String BY_EXECUTION_MODE = "executionMode";
+
+    static final String HOUR = "HOUR";
+    static final String DAY = "DAY";
+    static final String SCOPE_TENANT = "TENANT";
+    static final String SCOPE_PROGRAM = "PROGRAM";
+    static final String SCOPE_WORKSTREAM = "WORKSTREAM";
+
+    private static final String SPEC_REJECTED = "REJECTED";
+
+    private final EventRollupRepository rollupRepository;
+    private final AnalyticsEventRepository analyticsEventRepository;
+    private final TicketLifecycleRepository ticketLifecycleRepository;
+    private final SpecificationLifecycleRepository specificationLifecycleRepository;
+    private final WorkstreamStateRepository workstreamStateRepository;
+    private final LatencySketchService latencySketches;
+    private final Clock clock;
+
+    @Autowired
+    public EventRollupService(EventRollupRepository rollupRepository,
+                              AnalyticsEventRepository analyticsEventRepository,
+                              TicketLifecycleRepository ticketLifecycleRepository,
+                              SpecificationLifecycleRepository specificationLifecycleRepository,
+                              WorkstreamStateRepository workstreamStateRepository,
+                              LatencySketchService latencySketches) {
+        this(rollupRepository, analyticsEventRepository, ticketLifecycleRepository,
+            specificationLifecycleRepository, workstreamStateRepository, latencySketches, Clock.systemUTC());
+    }
+
+    EventRollupService(EventRollupRepository rollupRepository,
+                       AnalyticsEventRepository analyticsEventRepository,
+                       TicketLifecycleRepository ticketLifecycleRepository,
+                       SpecificationLifecycleRepository specificationLifecycleRepository,
+                       WorkstreamStateRepository workstreamStateRepository,
+                       LatencySketchService latencySketches,
+                       Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.analyticsEventRepository = analyticsEventRepository;
+        this.ticketLifecycleRepository = ticketLifecycleRepository;
+        this.specificationLifecycleRepository = specificationLifecycleRepository;
+        this.workstreamStateRepository = workstreamStateRepository;
+        this.latencySketches = latencySketches;
+        this.clock = clock;
+    }
+
+    // ── Ingest ───────────────────────────────────────────────────────
+
+    @Transactional
+    public void record(AnalyticsEvent event) {
+        var deltas = new Deltas();
+        collect(event, deltas);
+        write(deltas);
+    }
+
+    /**
+     * Adds the event's contributions to the given bucket and sketch deltas without
+     * writing them. Events that are not rolled up are ignored.
+     */
+    public void collect(AnalyticsEvent event, Deltas deltas) {
+        collect(event, deltas, new Lookup() {
+            @Override
+            public WorkstreamState workstream(UUID workstreamId) {
+                return workstreamStateRepository.findById(workstreamId).orElse(null);
+            }
+
+            @Override
+            public TicketLifecycle ticket(UUID ticketId) {
+                return ticketLifecycleRepository.findById(ticketId).orElse(null);
+            }
+
+            @Override
+            public SpecificationLifecycle specification(UUID specificationId) {
+                return specificationLifecycleRepository.findById(specificationId).orElse(null);
+            }
+        });
+    }
+
+    @Transactional
+    public void write(Deltas deltas) {
+        deltas.buckets().forEach((key, delta) -> {
+            if (delta.equals(Totals.ZERO)) return;
+            rollupRepository.add(key.tenantId(), key.scopeType(), key.scopeId(), key.granularity(),
+                key.metric(), key.bucketStart(), key.dimension(), key.dimensionValue(),
+                delta.count(), delta.hoursSum(), delta.hoursCount());
+        });
+        latencySketches.write(deltas.sketchBins());
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────
+
+    /**
+     * Loads the buckets covering the last {@code window} (to the hour) for the tenant,
+     * or for one of its programs. Complete days come from daily buckets and the
+     * leading partial day from hourly ones; the current day's bucket is kept up to
+     * date at ingest, so no raw events are read.
+     */
+    @Transactional(readOnly = true)
+    public Rollups read(UUID tenantId, @Nullable UUID programId, Duration window, String... metrics) {
+        var now = Instant.now(clock);
+        var from = now.minus(window).truncatedTo(ChronoUnit.HOURS);
+        var firstFullDay = from.truncatedTo(ChronoUnit.DAYS);
+        if (firstFullDay.isBefore(from)) {
+            firstFullDay = firstFullDay.plus(1, ChronoUnit.DAYS);
+        }
+        var to = now.truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+
+        var scope = programId != null ? new Scope(SCOPE_PROGRAM, programId) : new Scope(SCOPE_TENANT, tenantId);
+        var metricList = List.of(metrics);
+        var buckets = new ArrayList<EventRollup>();
+        if (from.isBefore(firstFullDay)) {
+            buckets.addAll(rollupRepository.findBuckets(
+                tenantId, scope.type(), scope.id(), HOUR, metricList, from, firstFullDay));
+        }
+        if (firstFullDay.isBefore(to)) {
+            buckets.addAll(rollupRepository.findBuckets(
+                tenantId, scope.type(), scope.id(), DAY, metricList, firstFullDay, to));
+        }
+        return new Rollups(buckets);
+    }
+
+    // ── Rebuild ──────────────────────────────────────────────────────
+
+    /**
+     * Recomputes a tenant's rollups and ticket resolution sketches from the full event
+     * history, for backfills and repairs. Creation events are loaded once up front
+     * and stand in for the state tables, which reflect the present rather than the
+     * time of each replayed event.
+     *
+     * @return the number of buckets written
+     */
+    @Transactional
+    public int rebuild(UUID tenantId) {
+        rollupRepository.deleteByTenantId(tenantId);
+        latencySketches.delete(tenantId, AppConstants.METRIC_TICKET_RESOLUTION_TIME);
+
+        var history = new HashMap<String, Map<UUID, AnalyticsEvent>>();
+        for (var eventType : List.of(AppConstants.EVENT_WORKSTREAM_CREATED,
+                AppConstants.EVENT_SPEC_CREATED, AppConstants.EVENT_TICKET_CREATED)) {
+            var byEntity = new HashMap<UUID, AnalyticsEvent>();
+            events(tenantId, eventType).forEach(e -> byEntity.putIfAbsent(e.getEntityId(), e));
+            history.put(eventType, byEntity);
+        }
+
+        var deltas = new Deltas();
+        var lookup = new Lookup() {
+            @Override
+            public WorkstreamState workstream(UUID workstreamId) {
+                var created = history.get(AppConstants.EVENT_WORKSTREAM_CREATED).get(workstreamId);
+                return created != null ? WorkstreamState.builder()
+                    .workstreamId(workstreamId)
+                    .tenantId(created.getTenantId())
+                    .programId(created.getParentId())
+                    .mode(created.getMode())
+                    .executionMode(created.getExecutionMode())
+                    .createdAt(created.getEventTimestamp())
+                    .build() : null;
+            }
+
+            @Override
+            public TicketLifecycle ticket(UUID ticketId) {
+                var created = history.get(AppConstants.EVENT_TICKET_CREATED).get(ticketId);
+                return created != null ? TicketLifecycle.builder()
+                    .ticketId(ticketId)
+                    .tenantId(created.getTenantId())
+                    .workstreamId(created.getWorkstreamId())
+                    .type(created.getTicketType())
+                    .severity(created.getSeverity())
+                    .createdAt(created.getEventTimestamp())
+                    .build() : null;
+            }
+
+            @Override
+            public SpecificationLifecycle specification(UUID specificationId) {
+                var created = history.get(AppConstants.EVENT_SPEC_CREATED).get(specificationId);
+                return created != null ? SpecificationLifecycle.builder()
+                    .specificationId(specificationId)
+                    .tenantId(created.getTenantId())
+                    .programId(created.getParentId())
+                    .workstreamId(created.getWorkstreamId())
+                    .createdAt(created.getEventTimestamp())
+                    .build() : null;
+            }
+        };
+        history.get(AppConstants.EVENT_TICKET_CREATED).values().forEach(e -> collect(e, deltas, lookup));
+        for (var eventType : List.of(AppConstants.EVENT_TICKET_RESOLVED, AppConstants.EVENT_SPEC_APPROVED)) {
+            events(tenantId, eventType).forEach(e -> collect(e, deltas, lookup));
+        }
+        // Only rejections are rolled up, so the status filter runs in SQL
+        analyticsEventRepository.findByTenantIdAndEventTypeAndNewStatus(
+                tenantId, AppConstants.EVENT_SPEC_STATUS_CHANGED, SPEC_REJECTED)
+            .forEach(e -> collect(e, deltas, lookup));
+        write(deltas);
+
+        log.info("Rebuilt event rollups for tenant {}: {} buckets", tenantId, deltas.buckets().size());
+        return deltas.buckets().size();
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────
+
+    private void collect(AnalyticsEvent event, Deltas deltas, Lookup lookup) {
+        switch (event.getEventType()) {
+            case AppConstants.EVENT_TICKET_CREATED -> {
+                var workstreamId = event.getWorkstreamId();
+                var workstream = workstream(workstreamId, event, lookup);
+                var scopes = scopes(event.getTenantId(), programId(workstream), workstreamId);
+                add(deltas, scopes, event.getEventTimestamp(), TICKETS_OPEN, TOTAL, TOTAL, Totals.ONE);
+            }
+            case AppConstants.EVENT_TICKET_RESOLVED -> collectTicketResolved(event, deltas, lookup);
+            case AppConstants.EVENT_SPEC_APPROVED -> {
+                var specification = specification(event, lookup);
+                add(deltas, specificationScopes(event, specification), event.getEventTimestamp(),
+                    SPECS_APPROVED, TOTAL, TOTAL, specification != null
+                        ? timed(specification.getCreatedAt(), event.getEventTimestamp()) : Totals.ONE);
+            }
+            case AppConstants.EVENT_SPEC_STATUS_CHANGED -> {
+                if (!SPEC_REJECTED.equals(event.getNewStatus())) return;
+                add(deltas, specificationScopes(event, specification(event, lookup)), event.getEventTimestamp(),
+                    SPECS_REJECTED, TOTAL, TOTAL, Totals.ONE);
+            }
+            default -> { }
+        }
+    }
+
+    private void collectTicketResolved(AnalyticsEvent event, Deltas deltas, Lookup lookup) {
+        var at = event.getEventTimestamp();
+        var resolution = event.getResolution();
+        var ticket = lookup.ticket(event.getEntityId());
+        if (ticket == null || ticket.getCreatedAt() == null || !ticket.getTenantId().equals(event.getTenantId())) {
+            var scopes = scopes(event.getTenantId(), null, null);
+            add(deltas, scopes, at, TICKETS_RESOLVED, TOTAL, TOTAL, Totals.ONE);
+            add(deltas, scopes, at, TICKETS_RESOLVED, BY_RESOLUTION, resolution, Totals.ONE);
+            return;
+        }
+
+        var workstreamId = ticket.getWorkstreamId();
+        var workstream = workstream(workstreamId, event, lookup);
+        var scopes = scopes(event.getTenantId(), programId(workstream), workstreamId);
+        var timed = timed(ticket.getCreatedAt(), at);
+        var type = ticket.getType();
+        var severity = ticket.getSeverity();
+        var executionMode = workstream != null ? workstream.getExecutionMode() : null;
+
+        add(deltas, scopes, at, TICKETS_RESOLVED, TOTAL, TOTAL, timed);
+        add(deltas, scopes, at, TICKETS_RESOLVED, BY_RESOLUTION, resolution, Totals.ONE);
+        add(deltas, scopes, at, TICKETS_RESOLVED, BY_TYPE, type, Totals.ONE);
+        add(deltas, scopes, at, TICKETS_RESOLVED, BY_SEVERITY, severity, timed);
+        add(deltas, scopes, at, TICKETS_RESOLVED, BY_EXECUTION_MODE, executionMode, timed);
+
+        latencySketches.collect(event.getTenantId(), AppConstants.METRIC_TICKET_RESOLUTION_TIME, at,
+            timed.hoursSum(), LatencySketchService.dimensions(
+                BY_TYPE, type, BY_SEVERITY, severity, BY_EXECUTION_MODE, executionMode),
+            deltas.sketchBins());
+
+        // The ticket is no longer open in the bucket it was created in
+        add(deltas, scopes, ticket.getCreatedAt(), TICKETS_OPEN, TOTAL, TOTAL, Totals.ONE.negate());
+    }
+
+    private static void add(Deltas deltas, List<Scope> scopes, Instant at,
+                            String metric, String dimension, @Nullable String dimensionValue, Totals delta) {
+        if (dimensionValue == null) return;
+        var tenantId = scopes.get(0).id();
+        for (var scope : scopes) {
+            deltas.buckets().merge(new RollupKey(tenantId, scope.type(), scope.id(), HOUR, metric,
+                at.truncatedTo(ChronoUnit.HOURS), dimension, dimensionValue), delta, Totals::plus);
+            deltas.buckets().merge(new RollupKey(tenantId, scope.type(), scope.id(), DAY, metric,
+                at.truncatedTo(ChronoUnit.DAYS), dimension, dimensionValue), delta, Totals::plus);
+        }
+    }
+
+    /** Tenant scope first, then the program and workstream scopes that are known. */
+    private static List<Scope> scopes(UUID tenantId, @Nullable UUID programId, @Nullable UUID workstreamId) {
+        var scopes = new ArrayList<Scope>(3);
+        scopes.add(new Scope(SCOPE_TENANT, tenantId));
+        if (programId != null) scopes.add(new Scope(SCOPE_PROGRAM, programId));
+        if (workstreamId != null) scopes.add(new Scope(SCOPE_WORKSTREAM, workstreamId));
+        return scopes;
+    }
+
+    /** The specification's lifecycle, or null when its creation has not been ingested. */
+    private static SpecificationLifecycle specification(AnalyticsEvent event, Lookup lookup) {
+        var specification = lookup.specification(event.getEntityId());
+        if (specification == null || specification.getCreatedAt() == null
+                || !specification.getTenantId().equals(event.getTenantId())) {
+            return null;
+        }
+        return specification;
+    }
+
+    private static List<Scope> specificationScopes(AnalyticsEvent event,
+                                                   @Nullable SpecificationLifecycle specification) {
+        return specification != null
+            ? scopes(event.getTenantId(), specification.getProgramId(), specification.getWorkstreamId())
+            : scopes(event.getTenantId(), null, null);
+    }
+
+    private static Totals timed(Instant start, Instant end) {
+        var hours = Duration.between(start, end).toMinutes() / 60.0;
+        return new Totals(1, hours, 1);
+    }
+
+    private List<AnalyticsEvent> events(UUID tenantId, String eventType) {
+        var events = analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
+            tenantId, eventType, Instant.EPOCH);
+        return events != null ? events : List.of();
+    }
+
+    /** The workstream's state, or null when its creation has not been ingested. */
+    private static WorkstreamState workstream(@Nullable UUID workstreamId, AnalyticsEvent event, Lookup lookup) {
+        if (workstreamId == null) return null;
+        var workstream = lookup.workstream(workstreamId);
+        if (workstream == null || workstream.getCreatedAt() == null
+                || !workstream.getTenantId().equals(event.getTenantId())) {
+            return null;
+        }
+        return workstream;
+    }
+
+    private static UUID programId(@Nullable WorkstreamState workstream) {
+        return workstream != null ? workstream.getProgramId() : null;
+    }
+
+    /**
+     * Where the details of related entities come from: the state tables at ingest, the
+     * preloaded creation events during a rebuild.
+     */
+    private interface Lookup {
+        WorkstreamState workstream(UUID workstreamId);
+
+        TicketLifecycle ticket(UUID ticketId);
+
+        SpecificationLifecycle specification(UUID specificationId);
+    }
+
+    private record Scope(String type, UUID id) {}
+
+    /**
+     * Pending rollup bucket and cycle-time sketch updates, summed per key.
+     */
+    public record Deltas(Map<RollupKey, Totals> buckets, Map<LatencySketchService.BinKey, Long> sketchBins) {
+
+        public Deltas() {
+            this(new HashMap<>(), new HashMap<>());
+        }
+    }
+
+    public record RollupKey(
+        UUID tenantId,
+        String scopeType,
+        UUID scopeId,
+        String granularity,
+        String metric,
+        Instant bucketStart,
+        String dimension,
+        String dimensionValue
+    ) {}
+
+    /**
+     * Additive bucket contents: an event count plus the sum and count of the durations
+     * known for those events.
+     */
+    public record Totals(long count, double hoursSum, long hoursCount) {
+
+        public static final Totals ZERO = new Totals(0, 0.0, 0);
+        public static final Totals ONE = new Totals(1, 0.0, 0);
+
+        public Totals plus(Totals other) {
+            return new Totals(count + other.count, hoursSum + other.hoursSum, hoursCount + other.hoursCount);
+        }
+
+        public Totals negate() {
+            return new Totals(-count, -hoursSum, -hoursCount);
+        }
+
+        public double averageHours() {
+            return hoursCount > 0 ? hoursSum / hoursCount : 0.0;
+        }
+
+        static Totals of(EventRollup bucket) {
+            return new Totals(bucket.getEventCount(), bucket.getDurationHoursSum(), bucket.getDurationCount());
+        }
+    }
+
+    /**
+     * The buckets loaded for one metrics request, summed on demand.
+     */
+    public record Rollups(List<EventRollup> buckets) {
+
+        public Totals totals(String metric) {
+            return by(metric, TOTAL).getOrDefault(TOTAL, Totals.ZERO);
+        }
+
+        public Map<String, Totals> by(String metric, String dimension) {
+            var result = new HashMap<String, Totals>();
+            for (var bucket : buckets) {
+                if (bucket.getMetric().equals(metric) && bucket.getDimension().equals(dimension)) {
+                    result.merge(bucket.getDimensionValue(), Totals.of(bucket), Totals::plus);
+                }
+            }
+            return result;
+        }
+
+        /** Event counts of a metric's totals by bucket start, in time order. */
+        public Map<Instant, Long> countsByBucket(String metric) {
+            var result = new TreeMap<Instant, Long>();
+            for (var bucket : buckets) {
+                if (bucket.getMetric().equals(metric) && bucket.getDimension().equals(TOTAL)) {
+                    result.merge(bucket.getBucketStart(), bucket.getEventCount(), Long::sum);
+                }
+            }
+            return result;
+        }
+    }
+}
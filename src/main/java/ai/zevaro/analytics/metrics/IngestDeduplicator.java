@@ -0,0 +1,74 @@
+package ai.zevaro.analytics.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded cache of the natural keys of recently ingested events, checked before the
+ * insert so a redelivered event (consumer rebalance, producer retry, offset reset) is
+ * dropped without a database round trip.
+ *
+ * It is only a shortcut in front of the unique keys on analytics_events and
+ * decision_cycle_log: a key that was evicted, or was ingested by another node, still
+ * reaches the database and is skipped there. Keys are remembered once the transaction
+ * that wrote them commits, so rolled back work is retried in full.
+ */
+@Component
+public class IngestDeduplicator {
+
+    private final Cache<Key, Boolean> recent;
+
+    public IngestDeduplicator(
+            @Value("${analytics.ingest.dedup.max-keys:200000}") long maxKeys,
+            @Value("${analytics.ingest.dedup.ttl:1h}") Duration ttl) {
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    public boolean seen(Key key) {
+        return recent.getIfPresent(key) != null;
+    }
+
+    /**
+     * Remembers the keys once the current transaction commits, or immediately outside one.
+     */
+    public void remember(Collection<Key> keys) {
+        if (keys.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            keys.forEach(key -> recent.put(key, Boolean.TRUE));
+            return;
+        }
+        var committed = List.copyOf(keys);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.forEach(key -> recent.put(key, Boolean.TRUE));
+            }
+        });
+    }
+
+    /**
+     * Natural key of an ingested event. {@code at} is null for entities that occur once,
+     * such as a resolved decision.
+     */
+    public record Key(UUID tenantId, String type, UUID entityId, Instant at) {
+
+        public static Key of(UUID tenantId, String type, UUID entityId, Instant at) {
+            // Matches the microsecond precision the database key is compared at
+            return new Key(tenantId, type, entityId, at != null ? at.truncatedTo(ChronoUnit.MICROS) : null);
+        }
+    }
+}
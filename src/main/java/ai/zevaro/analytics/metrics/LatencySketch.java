@@ -0,0 +1,76 @@
+package ai.zevaro.analytics.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch for durations in hours, in the style of DDSketch.
+ *
+ * Values are counted in logarithmic bins whose width grows with the value, so any
+ * quantile is answered with at most {@link #RELATIVE_ACCURACY} relative error. A bin is
+ * a plain counter: sketches merge by adding counts per bin, which is what lets the bins
+ * be stored per tenant and day and summed in SQL for an arbitrary date range. The
+ * number of bins is bounded by the value range (about 700 from one second to a year),
+ * not by the number of values recorded.
+ */
+public final class LatencySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    /** Bin for durations too small to distinguish from zero (under one second). */
+    public static final int ZERO_BIN = Integer.MIN_VALUE;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final double MIN_HOURS = 1.0 / 3600;
+
+    private final TreeMap<Integer, Long> bins = new TreeMap<>();
+    private long count;
+
+    public static int binOf(double hours) {
+        if (hours < MIN_HOURS) return ZERO_BIN;
+        return (int) Math.ceil(Math.log(hours) / LOG_GAMMA);
+    }
+
+    /** The value a bin stands for, within the relative accuracy of every value in it. */
+    public static double valueOf(int bin) {
+        if (bin == ZERO_BIN) return 0.0;
+        return 2 * Math.pow(GAMMA, bin) / (GAMMA + 1);
+    }
+
+    public LatencySketch add(double hours) {
+        return add(binOf(hours), 1);
+    }
+
+    public LatencySketch add(int bin, long binCount) {
+        if (binCount <= 0) return this;
+        bins.merge(bin, binCount, Long::sum);
+        count += binCount;
+        return this;
+    }
+
+    public LatencySketch merge(LatencySketch other) {
+        other.bins.forEach(this::add);
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the q-quantile (0 &le; q &le; 1), or 0 for an empty sketch.
+     */
+    public double quantile(double q) {
+        if (count == 0) return 0.0;
+        double rank = Math.max(0, Math.min(1, q)) * (count - 1);
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bin : bins.entrySet()) {
+            seen += bin.getValue();
+            if (seen > rank) {
+                return valueOf(bin.getKey());
+            }
+        }
+        return valueOf(bins.lastKey());
+    }
+}
@@ -0,0 +1,98 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.repository.LatencySketchBinRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Daily cycle-time sketches per tenant and dimension value, updated as durations are
+ * ingested and merged at query time, so percentiles over any date range cost one
+ * grouped read of at most a few hundred bins.
+ *
+ * Like the other projections, updates are expected to run inside the transaction that
+ * persists the underlying event.
+ */
+@Service
+@RequiredArgsConstructor
+public class LatencySketchService {
+
+    public static final String TOTAL = "";
+
+    private final LatencySketchBinRepository binRepository;
+
+    @Transactional
+    public void record(UUID tenantId, String metric, Instant at, double hours, Map<String, String> dimensions) {
+        var deltas = new HashMap<BinKey, Long>();
+        collect(tenantId, metric, at, hours, dimensions, deltas);
+        write(deltas);
+    }
+
+    /**
+     * Adds the duration to the tenant-wide sketch and to one sketch per dimension,
+     * without writing.
+     */
+    public void collect(UUID tenantId, String metric, Instant at, double hours,
+                        Map<String, String> dimensions, Map<BinKey, Long> deltas) {
+        var date = at.atZone(ZoneOffset.UTC).toLocalDate();
+        int bin = LatencySketch.binOf(hours);
+        deltas.merge(new BinKey(tenantId, metric, TOTAL, TOTAL, date, bin), 1L, Long::sum);
+        dimensions.forEach((dimension, value) ->
+            deltas.merge(new BinKey(tenantId, metric, dimension, value, date, bin), 1L, Long::sum));
+    }
+
+    @Transactional
+    public void write(Map<BinKey, Long> deltas) {
+        deltas.forEach((key, delta) -> binRepository.increment(
+            key.tenantId(), key.metric(), key.dimension(), key.dimensionValue(), key.date(), key.bin(), delta));
+    }
+
+    /**
+     * Merges the daily sketches from {@code from} to {@code to} inclusive. Pass
+     * {@link #TOTAL} for both dimension arguments for the tenant-wide sketch.
+     */
+    @Transactional(readOnly = true)
+    public LatencySketch load(UUID tenantId, String metric, String dimension, String dimensionValue,
+                              LocalDate from, LocalDate to) {
+        var sketch = new LatencySketch();
+        for (var row : binRepository.sumBins(tenantId, metric, dimension, dimensionValue, from, to)) {
+            sketch.add(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return sketch;
+    }
+
+    @Transactional
+    public void delete(UUID tenantId, String metric) {
+        binRepository.deleteByTenantIdAndMetric(tenantId, metric);
+    }
+
+    /**
+     * Builds a dimension map from name/value pairs, skipping null values.
+     */
+    public static Map<String, String> dimensions(String... namesAndValues) {
+        var dimensions = new LinkedHashMap<String, String>();
+        for (int i = 0; i + 1 < namesAndValues.length; i += 2) {
+            if (namesAndValues[i + 1] != null) {
+                dimensions.put(namesAndValues[i], namesAndValues[i + 1]);
+            }
+        }
+        return dimensions;
+    }
+
+    public record BinKey(
+        UUID tenantId,
+        String metric,
+        String dimension,
+        String dimensionValue,
+        LocalDate date,
+        int bin
+    ) {}
+}
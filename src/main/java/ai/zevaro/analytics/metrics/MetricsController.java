@@ -1,10 +1,9 @@
 package ai.zevaro.analytics.metrics;
 
 import ai.zevaro.analytics.client.CoreServiceClient;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.config.AppConstants;
 import ai.zevaro.analytics.metrics.dto.*;
-import ai.zevaro.analytics.repository.AnalyticsEvent;
-import ai.zevaro.analytics.repository.AnalyticsEventRepository;
 import ai.zevaro.analytics.repository.DecisionCycleLogRepository;
 import ai.zevaro.analytics.repository.MetricSnapshotRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +18,6 @@ import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.temporal.IsoFields;
 import java.util.*;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -29,8 +27,10 @@ public class MetricsController {
 
     private final MetricSnapshotRepository snapshotRepository;
     private final DecisionCycleLogRepository cycleLogRepository;
-    private final AnalyticsEventRepository analyticsEventRepository;
+    private final EventRollupService rollupService;
+    private final LatencySketchService latencySketches;
     private final CoreServiceClient coreServiceClient;
+    private final StakeholderDirectory stakeholderDirectory;
 
     @GetMapping("/decision-velocity")
     @Cacheable(value = AppConstants.CACHE_METRICS, key = "'dv:' + #tenantId + ':' + #projectId + ':' + #days")
@@ -73,18 +73,20 @@ public class MetricsController {
 
         var since = Instant.now().minus(java.time.Duration.ofDays(days));
         var results = cycleLogRepository.findAvgCycleTimeByStakeholder(tenantId, since);
+        var stakeholders = stakeholderDirectory.lookup(tenantId,
+            results.stream().map(row -> (UUID) row[0]).toList());
 
         var metrics = results.stream()
             .map(row -> {
                 var stakeholderId = (UUID) row[0];
                 var avgResponseTime = ((Number) row[1]).doubleValue();
 
-                // Enrich with stakeholder data from Core
+                // Enrich with stakeholder data from the Core stakeholder directory
                 String name = null;
                 int pending = 0;
                 int completed = 0;
 
-                var info = coreServiceClient.getStakeholder(tenantId, stakeholderId);
+                var info = stakeholders.get(stakeholderId);
                 if (info != null) {
                     name = info.name();
                     pending = info.decisionsPending();
@@ -111,6 +113,43 @@ public class MetricsController {
         return ResponseEntity.ok(metrics);
     }
 
+    /**
+     * Cycle-time percentiles over the last {@code days} days, merged from the daily
+     * sketches. Without a dimension the tenant-wide distribution is returned; otherwise
+     * e.g. {@code dimension=priority&value=HIGH} or {@code dimension=severity&value=CRITICAL}.
+     */
+    @GetMapping("/cycle-time-percentiles")
+    @Cacheable(value = AppConstants.CACHE_METRICS,
+        key = "'ctp:' + #tenantId + ':' + #metric + ':' + #dimension + ':' + #value + ':' + #days")
+    public ResponseEntity<CycleTimePercentiles> getCycleTimePercentiles(
+            @RequestHeader("X-Tenant-Id") UUID tenantId,
+            @RequestParam(defaultValue = AppConstants.METRIC_DECISION_CYCLE_TIME) String metric,
+            @RequestParam(required = false) @Nullable String dimension,
+            @RequestParam(required = false) @Nullable String value,
+            @RequestParam(defaultValue = "30") int days) {
+
+        var endDate = LocalDate.now(ZoneOffset.UTC);
+        var startDate = endDate.minusDays(days);
+        var byDimension = dimension != null && value != null;
+
+        var sketch = latencySketches.load(tenantId, metric,
+            byDimension ? dimension : LatencySketchService.TOTAL,
+            byDimension ? value : LatencySketchService.TOTAL,
+            startDate, endDate);
+
+        return ResponseEntity.ok(new CycleTimePercentiles(
+            metric,
+            byDimension ? dimension : null,
+            byDimension ? value : null,
+            startDate,
+            endDate,
+            sketch.count(),
+            round(sketch.quantile(0.50)),
+            round(sketch.quantile(0.90)),
+            round(sketch.quantile(0.99))
+        ));
+    }
+
     @GetMapping("/outcome-velocity")
     @Cacheable(value = AppConstants.CACHE_METRICS, key = "'ov:' + #tenantId + ':' + #projectId + ':' + #days")
     public ResponseEntity<Map<String, Object>> getOutcomeVelocity(
@@ -212,73 +251,28 @@ public class MetricsController {
             @RequestParam(required = false) @Nullable UUID programId,
             @RequestParam(defaultValue = "30") int days) {
 
-        var since = Instant.now().minus(Duration.ofDays(days));
-
-        // Fetch approved events within the period
-        var approvedEvents = programId != null
-            ? analyticsEventRepository.findByTenantIdAndEventTypeAndParentIdAndEventTimestampAfter(
-                tenantId, AppConstants.EVENT_SPEC_APPROVED, programId, since)
-            : analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-                tenantId, AppConstants.EVENT_SPEC_APPROVED, since);
-
-        // Fetch rejected (status changed to REJECTED) within the period
-        var statusEvents = programId != null
-            ? analyticsEventRepository.findByTenantIdAndEventTypeAndParentIdAndEventTimestampAfter(
-                tenantId, AppConstants.EVENT_SPEC_STATUS_CHANGED, programId, since)
-            : analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-                tenantId, AppConstants.EVENT_SPEC_STATUS_CHANGED, since);
-
-        int totalRejected = (int) statusEvents.stream()
-            .filter(e -> "REJECTED".equals(getStringMeta(e, "newStatus")))
-            .count();
-
-        // Cross-reference with creation events for cycle time
-        var approvedEntityIds = approvedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .toList();
+        var rollups = rollupService.read(tenantId, programId, Duration.ofDays(days),
+            EventRollupService.SPECS_APPROVED, EventRollupService.SPECS_REJECTED);
+        var approved = rollups.totals(EventRollupService.SPECS_APPROVED);
 
-        var createdEvents = approvedEntityIds.isEmpty()
-            ? List.<AnalyticsEvent>of()
-            : analyticsEventRepository.findByEntityIdInAndEventType(
-                approvedEntityIds, AppConstants.EVENT_SPEC_CREATED);
-
-        var createdByEntityId = createdEvents.stream()
-            .collect(Collectors.toMap(AnalyticsEvent::getEntityId, Function.identity(), (a, b) -> a));
-
-        // Calculate cycle times
-        var cycleTimes = new ArrayList<Double>();
-        for (var approved : approvedEvents) {
-            var created = createdByEntityId.get(approved.getEntityId());
-            if (created != null) {
-                var hours = Duration.between(created.getEventTimestamp(), approved.getEventTimestamp()).toMinutes() / 60.0;
-                cycleTimes.add(hours);
-            }
-        }
-
-        double avgCycleHours = cycleTimes.isEmpty() ? 0.0
-            : cycleTimes.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-
-        // Weekly trend
-        var oneWeekAgo = Instant.now().minus(Duration.ofDays(7));
-        int approvedThisWeek = (int) approvedEvents.stream()
-            .filter(e -> e.getEventTimestamp().isAfter(oneWeekAgo))
-            .count();
-
-        var weeklyTrend = approvedEvents.stream()
+        var approvedThisWeek = rollupService.read(tenantId, programId, Duration.ofDays(Math.min(days, 7)),
+            EventRollupService.SPECS_APPROVED).totals(EventRollupService.SPECS_APPROVED).count();
+
+        var weeklyTrend = rollups.countsByBucket(EventRollupService.SPECS_APPROVED).entrySet().stream()
             .collect(Collectors.groupingBy(
-                e -> e.getEventTimestamp().atZone(ZoneOffset.UTC).get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)
-                    + "-" + e.getEventTimestamp().atZone(ZoneOffset.UTC).getYear(),
-                Collectors.counting()))
+                e -> e.getKey().atZone(ZoneOffset.UTC).get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)
+                    + "-" + e.getKey().atZone(ZoneOffset.UTC).getYear(),
+                Collectors.summingLong(Map.Entry::getValue)))
             .entrySet().stream()
             .map(entry -> new WeeklyCount(entry.getKey(), entry.getValue().intValue()))
             .sorted(Comparator.comparing(WeeklyCount::week))
             .toList();
 
         var metric = new SpecificationVelocityMetric(
-            Math.round(avgCycleHours * 100.0) / 100.0,
-            approvedEvents.size(),
-            totalRejected,
-            approvedThisWeek,
+            round(approved.averageHours()),
+            (int) approved.count(),
+            (int) rollups.totals(EventRollupService.SPECS_REJECTED).count(),
+            (int) approvedThisWeek,
             weeklyTrend
         );
 
@@ -292,71 +286,23 @@ public class MetricsController {
             @RequestParam(required = false) @Nullable UUID programId,
             @RequestParam(defaultValue = "30") int days) {
 
-        var since = Instant.now().minus(Duration.ofDays(days));
-
-        // Fetch resolved events
-        var resolvedEvents = analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_TICKET_RESOLVED, since);
-
-        // Fetch created events for cross-reference
-        var createdEvents = analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_TICKET_CREATED, since);
-
-        // Also get all-time created events for open count and severity lookup
-        var resolvedEntityIds = resolvedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .collect(Collectors.toSet());
-
-        var allCreatedByEntityId = new HashMap<UUID, AnalyticsEvent>();
-        if (!resolvedEntityIds.isEmpty()) {
-            analyticsEventRepository.findByEntityIdInAndEventType(
-                new ArrayList<>(resolvedEntityIds), AppConstants.EVENT_TICKET_CREATED)
-                .forEach(e -> allCreatedByEntityId.put(e.getEntityId(), e));
-        }
-        // Also include recently created events
-        createdEvents.forEach(e -> allCreatedByEntityId.putIfAbsent(e.getEntityId(), e));
-
-        // Filter by programId if needed (via workstream's parent program)
-        // For now, filtering is based on available data
-
-        // Count open tickets (created but not resolved in period)
-        var createdEntityIds = createdEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .collect(Collectors.toSet());
-        int totalOpen = (int) createdEntityIds.stream()
-            .filter(id -> !resolvedEntityIds.contains(id))
-            .count();
-
-        // Calculate resolution times by severity
-        var resolutionBySeverity = new HashMap<String, List<Double>>();
-        var allResolutionHours = new ArrayList<Double>();
-
-        for (var resolved : resolvedEvents) {
-            var created = allCreatedByEntityId.get(resolved.getEntityId());
-            if (created != null) {
-                var hours = Duration.between(created.getEventTimestamp(), resolved.getEventTimestamp()).toMinutes() / 60.0;
-                allResolutionHours.add(hours);
-
-                var severity = getStringMeta(created, "severity");
-                if (severity != null) {
-                    resolutionBySeverity.computeIfAbsent(severity, k -> new ArrayList<>()).add(hours);
-                }
-            }
-        }
+        var rollups = rollupService.read(tenantId, programId, Duration.ofDays(days),
+            EventRollupService.TICKETS_RESOLVED, EventRollupService.TICKETS_OPEN);
+        var resolved = rollups.totals(EventRollupService.TICKETS_RESOLVED);
 
-        double avgResolution = allResolutionHours.isEmpty() ? 0.0
-            : allResolutionHours.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        // Tickets created in the period that are still open (resolutions are subtracted
+        // from the bucket the ticket was created in)
+        var totalOpen = Math.max(0L, rollups.totals(EventRollupService.TICKETS_OPEN).count());
 
-        var avgBySeverity = resolutionBySeverity.entrySet().stream()
-            .collect(Collectors.toMap(
-                Map.Entry::getKey,
-                e -> Math.round(e.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0) * 100.0) / 100.0
-            ));
+        var avgBySeverity = rollups.by(EventRollupService.TICKETS_RESOLVED, EventRollupService.BY_SEVERITY)
+            .entrySet().stream()
+            .filter(e -> e.getValue().hoursCount() > 0)
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> round(e.getValue().averageHours())));
 
         var metric = new TicketVelocityMetric(
-            Math.round(avgResolution * 100.0) / 100.0,
-            resolvedEvents.size(),
-            totalOpen,
+            round(resolved.averageHours()),
+            (int) resolved.count(),
+            (int) totalOpen,
             avgBySeverity
         );
 
@@ -370,45 +316,13 @@ public class MetricsController {
             @RequestParam(required = false) @Nullable UUID programId,
             @RequestParam(defaultValue = "30") int days) {
 
-        var since = Instant.now().minus(Duration.ofDays(days));
-
-        var resolvedEvents = analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_TICKET_RESOLVED, since);
-
-        // By resolution type
-        var byResolution = new HashMap<String, Integer>();
-        for (var event : resolvedEvents) {
-            var resolution = getStringMeta(event, "resolution");
-            if (resolution != null) {
-                byResolution.merge(resolution, 1, Integer::sum);
-            }
-        }
-
-        // Get created events for type and severity
-        var resolvedEntityIds = resolvedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .toList();
+        var rollups = rollupService.read(tenantId, programId, Duration.ofDays(days),
+            EventRollupService.TICKETS_RESOLVED);
 
-        var createdEvents = resolvedEntityIds.isEmpty()
-            ? List.<AnalyticsEvent>of()
-            : analyticsEventRepository.findByEntityIdInAndEventType(
-                resolvedEntityIds, AppConstants.EVENT_TICKET_CREATED);
-
-        var byType = new HashMap<String, Integer>();
-        var bySeverity = new HashMap<String, Integer>();
-
-        for (var created : createdEvents) {
-            var type = getStringMeta(created, "type");
-            if (type != null) {
-                byType.merge(type, 1, Integer::sum);
-            }
-            var severity = getStringMeta(created, "severity");
-            if (severity != null) {
-                bySeverity.merge(severity, 1, Integer::sum);
-            }
-        }
-
-        return ResponseEntity.ok(new TicketResolutionBreakdown(byResolution, byType, bySeverity));
+        return ResponseEntity.ok(new TicketResolutionBreakdown(
+            counts(rollups.by(EventRollupService.TICKETS_RESOLVED, EventRollupService.BY_RESOLUTION)),
+            counts(rollups.by(EventRollupService.TICKETS_RESOLVED, EventRollupService.BY_TYPE)),
+            counts(rollups.by(EventRollupService.TICKETS_RESOLVED, EventRollupService.BY_SEVERITY))));
     }
 
     @GetMapping("/ai-vs-human-resolution")
@@ -417,75 +331,26 @@ public class MetricsController {
             @RequestHeader("X-Tenant-Id") UUID tenantId,
             @RequestParam(defaultValue = "30") int days) {
 
-        var since = Instant.now().minus(Duration.ofDays(days));
+        var byExecutionMode = rollupService.read(tenantId, null, Duration.ofDays(days),
+                EventRollupService.TICKETS_RESOLVED)
+            .by(EventRollupService.TICKETS_RESOLVED, EventRollupService.BY_EXECUTION_MODE);
 
-        // Fetch resolved tickets
-        var resolvedEvents = analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_TICKET_RESOLVED, since);
-
-        // Fetch created tickets for workstreamId
-        var resolvedEntityIds = resolvedEvents.stream()
-            .map(AnalyticsEvent::getEntityId)
-            .toList();
-
-        var createdByEntityId = resolvedEntityIds.isEmpty()
-            ? Map.<UUID, AnalyticsEvent>of()
-            : analyticsEventRepository.findByEntityIdInAndEventType(
-                resolvedEntityIds, AppConstants.EVENT_TICKET_CREATED).stream()
-                .collect(Collectors.toMap(AnalyticsEvent::getEntityId, Function.identity(), (a, b) -> a));
-
-        // Fetch all workstream created events for execution mode lookup
-        var workstreamEvents = analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            tenantId, AppConstants.EVENT_WORKSTREAM_CREATED, Instant.EPOCH);
-
-        var executionModeByWorkstream = workstreamEvents.stream()
-            .collect(Collectors.toMap(
-                AnalyticsEvent::getEntityId,
-                e -> getStringMeta(e, "executionMode"),
-                (a, b) -> b));
-
-        // Group resolution times by execution mode
-        var aiFirstHours = new ArrayList<Double>();
-        var traditionalHours = new ArrayList<Double>();
-        var hybridHours = new ArrayList<Double>();
-
-        for (var resolved : resolvedEvents) {
-            var created = createdByEntityId.get(resolved.getEntityId());
-            if (created == null) continue;
-
-            var workstreamIdStr = getStringMeta(created, "workstreamId");
-            if (workstreamIdStr == null) continue;
-
-            var workstreamId = UUID.fromString(workstreamIdStr);
-            var executionMode = executionModeByWorkstream.get(workstreamId);
-            if (executionMode == null) continue;
-
-            var hours = Duration.between(created.getEventTimestamp(), resolved.getEventTimestamp()).toMinutes() / 60.0;
-
-            switch (executionMode) {
-                case "AI_FIRST" -> aiFirstHours.add(hours);
-                case "TRADITIONAL" -> traditionalHours.add(hours);
-                case "HYBRID" -> hybridHours.add(hours);
-            }
-        }
-
-        double aiAvg = aiFirstHours.isEmpty() ? 0.0
-            : aiFirstHours.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double tradAvg = traditionalHours.isEmpty() ? 0.0
-            : traditionalHours.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double hybridAvg = hybridHours.isEmpty() ? 0.0
-            : hybridHours.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+        var aiFirst = byExecutionMode.getOrDefault("AI_FIRST", EventRollupService.Totals.ZERO);
+        var traditional = byExecutionMode.getOrDefault("TRADITIONAL", EventRollupService.Totals.ZERO);
+        var hybrid = byExecutionMode.getOrDefault("HYBRID", EventRollupService.Totals.ZERO);
 
+        double aiAvg = aiFirst.averageHours();
+        double tradAvg = traditional.averageHours();
         double speedup = (aiAvg > 0 && tradAvg > 0) ? tradAvg / aiAvg : 0.0;
 
         var metric = new AiVsHumanMetric(
-            Math.round(aiAvg * 100.0) / 100.0,
-            Math.round(tradAvg * 100.0) / 100.0,
-            Math.round(hybridAvg * 100.0) / 100.0,
-            aiFirstHours.size(),
-            traditionalHours.size(),
-            hybridHours.size(),
-            Math.round(speedup * 100.0) / 100.0
+            round(aiAvg),
+            round(tradAvg),
+            round(hybrid.averageHours()),
+            (int) aiFirst.hoursCount(),
+            (int) traditional.hoursCount(),
+            (int) hybrid.hoursCount(),
+            round(speedup)
         );
 
         return ResponseEntity.ok(metric);
@@ -493,9 +358,14 @@ public class MetricsController {
 
     // ── Helper methods ───────────────────────────────────────────────
 
-    private String getStringMeta(AnalyticsEvent event, String key) {
-        if (event.getMetadata() == null || !event.getMetadata().containsKey(key)) return null;
-        return event.getMetadata().get(key).toString();
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static Map<String, Integer> counts(Map<String, EventRollupService.Totals> totals) {
+        var counts = new HashMap<String, Integer>();
+        totals.forEach((value, t) -> counts.put(value, (int) t.count()));
+        return counts;
     }
 
     private int getIntDimension(Map<String, Object> dimensions, String key) {
@@ -1,11 +1,16 @@
 package ai.zevaro.analytics.metrics;
 
+import ai.zevaro.analytics.cache.CacheInvalidator;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.config.AppConstants;
 import ai.zevaro.analytics.consumer.events.*;
+import ai.zevaro.analytics.dashboard.DashboardProjectionService;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator.Delta;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator.SnapshotKey;
 import ai.zevaro.analytics.repository.*;
+import ai.zevaro.analytics.repository.BulkEventWriter.SnapshotEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,9 +18,13 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -25,11 +34,19 @@ import java.util.UUID;
 public class MetricsService {
 
     private final MetricSnapshotRepository snapshotRepository;
-    private final DecisionCycleLogRepository cycleLogRepository;
-    private final AnalyticsEventRepository analyticsEventRepository;
+    private final DashboardProjectionService projectionService;
+    private final SnapshotCounterAggregator snapshotAggregator;
+    private final CacheInvalidator cacheInvalidator;
+    private final StakeholderDirectory stakeholderDirectory;
+    private final TicketLifecycleRepository ticketLifecycleRepository;
+    private final SpecificationLifecycleRepository specificationLifecycleRepository;
+    private final WorkstreamStateRepository workstreamStateRepository;
+    private final EventRollupService rollupService;
+    private final LatencySketchService latencySketches;
+    private final BulkEventWriter bulkEventWriter;
+    private final IngestDeduplicator deduplicator;
 
     @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#tenantId")
     public void recordDecisionResolved(
             UUID tenantId,
             UUID projectId,
@@ -42,32 +59,34 @@ public class MetricsService {
             UUID stakeholderId) {
 
         // Calculate cycle time
-        var cycleTimeHours = Duration.between(createdAt, resolvedAt).toMinutes() / 60.0;
+        var cycleTimeHours = cycleTimeHours(createdAt, resolvedAt);
 
         // Log the individual decision
-        var cycleLog = DecisionCycleLog.builder()
-            .tenantId(tenantId)
-            .projectId(projectId)
-            .decisionId(decisionId)
-            .createdAt(createdAt)
-            .resolvedAt(resolvedAt)
-            .cycleTimeHours(BigDecimal.valueOf(cycleTimeHours).setScale(2, RoundingMode.HALF_UP))
-            .priority(priority)
-            .decisionType(decisionType)
-            .wasEscalated(wasEscalated)
-            .stakeholderId(stakeholderId)
-            .build();
+        var cycleLog = toCycleLog(tenantId, projectId, decisionId, createdAt, resolvedAt, cycleTimeHours,
+            priority, decisionType, wasEscalated, stakeholderId);
+
+        if (insertNewDecisions(List.of(cycleLog), false).isEmpty()) {
+            log.debug("Skipped duplicate decision {}", decisionId);
+            return;
+        }
+        stakeholderDirectory.warm(tenantId, stakeholderId);
+        latencySketches.record(tenantId, AppConstants.METRIC_DECISION_CYCLE_TIME, resolvedAt, cycleTimeHours,
+            decisionDimensions(priority, decisionType));
 
-        cycleLogRepository.save(cycleLog);
+        // Fold into the daily snapshot's running totals (DecisionVelocityReconciler repairs drift)
+        snapshotRepository.addDecisionResolved(
+            tenantId,
+            projectId,
+            resolvedAt.atZone(ZoneOffset.UTC).toLocalDate(),
+            cycleLog.getCycleTimeHours(),
+            wasEscalated ? 1 : 0);
 
-        // Update daily snapshot
-        updateDailySnapshot(tenantId, projectId, resolvedAt.atZone(ZoneOffset.UTC).toLocalDate());
+        cacheInvalidator.invalidate(tenantId, DecisionResolvedEvent.class);
 
         log.debug("Recorded decision cycle: {}h for decision {}", cycleTimeHours, decisionId);
     }
 
     @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#tenantId")
     public void recordOutcomeValidated(
             UUID tenantId,
             UUID projectId,
@@ -75,32 +94,17 @@ public class MetricsService {
             Instant createdAt,
             Instant validatedAt) {
 
-        // Update outcome velocity metric
-        var today = validatedAt.atZone(ZoneOffset.UTC).toLocalDate();
-        var existing = snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            tenantId, AppConstants.METRIC_OUTCOME_VELOCITY, today);
-
-        if (existing.isPresent()) {
-            var snapshot = existing.get();
-            snapshot.setValue(snapshot.getValue().add(BigDecimal.ONE));
-            snapshotRepository.save(snapshot);
-        } else {
-            var snapshot = MetricSnapshot.builder()
-                .tenantId(tenantId)
-                .projectId(projectId)
-                .metricType(AppConstants.METRIC_OUTCOME_VELOCITY)
-                .metricDate(today)
-                .value(BigDecimal.ONE)
-                .dimensions(Map.of())
-                .build();
-            snapshotRepository.save(snapshot);
-        }
+        // Update outcome velocity metric (write-behind, see SnapshotCounterAggregator)
+        var snapshotEvent = snapshotEvent(tenantId, OUTCOME_VALIDATED_EVENT, outcomeId, validatedAt);
+        var key = snapshotKey(tenantId, AppConstants.METRIC_OUTCOME_VELOCITY, validatedAt);
+        if (!recordSnapshotEvent(snapshotEvent, key, outcomeValidatedDelta(projectId))) return;
+
+        cacheInvalidator.invalidate(tenantId, OutcomeValidatedEvent.class);
 
         log.debug("Recorded outcome validation: {}", outcomeId);
     }
 
     @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#tenantId")
     public void recordHypothesisConcluded(
             UUID tenantId,
             UUID projectId,
@@ -110,51 +114,16 @@ public class MetricsService {
             Instant createdAt,
             Instant concludedAt) {
 
-        var today = concludedAt.atZone(ZoneOffset.UTC).toLocalDate();
-        var existing = snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            tenantId, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, today);
-
-        if (existing.isPresent()) {
-            var snapshot = existing.get();
-            snapshot.setValue(snapshot.getValue().add(BigDecimal.ONE));
-
-            // Update dimensions
-            var dims = snapshot.getDimensions() != null
-                ? new HashMap<>(snapshot.getDimensions())
-                : new HashMap<String, Object>();
-
-            int validated = ((Number) dims.getOrDefault("validated", 0)).intValue();
-            int invalidated = ((Number) dims.getOrDefault("invalidated", 0)).intValue();
+        var snapshotEvent = snapshotEvent(tenantId, HYPOTHESIS_CONCLUDED_EVENT, hypothesisId, concludedAt);
+        var key = snapshotKey(tenantId, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, concludedAt);
+        if (!recordSnapshotEvent(snapshotEvent, key, hypothesisDelta(projectId, result))) return;
 
-            if ("VALIDATED".equals(result)) {
-                dims.put("validated", validated + 1);
-            } else {
-                dims.put("invalidated", invalidated + 1);
-            }
-
-            snapshot.setDimensions(dims);
-            snapshotRepository.save(snapshot);
-        } else {
-            var dims = new HashMap<String, Object>();
-            dims.put("validated", "VALIDATED".equals(result) ? 1 : 0);
-            dims.put("invalidated", "INVALIDATED".equals(result) ? 1 : 0);
-
-            var snapshot = MetricSnapshot.builder()
-                .tenantId(tenantId)
-                .projectId(projectId)
-                .metricType(AppConstants.METRIC_HYPOTHESIS_THROUGHPUT)
-                .metricDate(today)
-                .value(BigDecimal.ONE)
-                .dimensions(dims)
-                .build();
-            snapshotRepository.save(snapshot);
-        }
+        cacheInvalidator.invalidate(tenantId, HypothesisConcludedEvent.class);
 
         log.debug("Recorded hypothesis conclusion: {} - {}", hypothesisId, result);
     }
 
     @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#tenantId")
     public void recordOutcomeInvalidated(
             UUID tenantId,
             UUID projectId,
@@ -162,34 +131,11 @@ public class MetricsService {
             Instant createdAt,
             Instant invalidatedAt) {
 
-        var today = invalidatedAt.atZone(ZoneOffset.UTC).toLocalDate();
-        var existing = snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            tenantId, AppConstants.METRIC_OUTCOME_VELOCITY, today);
-
-        if (existing.isPresent()) {
-            var snapshot = existing.get();
-            var dims = snapshot.getDimensions() != null
-                ? new HashMap<>(snapshot.getDimensions())
-                : new HashMap<String, Object>();
-            int invalidated = ((Number) dims.getOrDefault("invalidated", 0)).intValue();
-            dims.put("invalidated", invalidated + 1);
-            snapshot.setDimensions(dims);
-            snapshotRepository.save(snapshot);
-        } else {
-            var dims = new HashMap<String, Object>();
-            dims.put("invalidated", 1);
-            dims.put("validated", 0);
-
-            var snapshot = MetricSnapshot.builder()
-                .tenantId(tenantId)
-                .projectId(projectId)
-                .metricType(AppConstants.METRIC_OUTCOME_VELOCITY)
-                .metricDate(today)
-                .value(BigDecimal.ZERO)
-                .dimensions(dims)
-                .build();
-            snapshotRepository.save(snapshot);
-        }
+        var snapshotEvent = snapshotEvent(tenantId, OUTCOME_INVALIDATED_EVENT, outcomeId, invalidatedAt);
+        var key = snapshotKey(tenantId, AppConstants.METRIC_OUTCOME_VELOCITY, invalidatedAt);
+        if (!recordSnapshotEvent(snapshotEvent, key, outcomeInvalidatedDelta(projectId))) return;
+
+        cacheInvalidator.invalidate(tenantId, OutcomeInvalidatedEvent.class);
 
         log.debug("Recorded outcome invalidation: {}", outcomeId);
     }
@@ -197,9 +143,344 @@ public class MetricsService {
     // ── Program events ────────────────────────────────────────────────
 
     @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
     public void recordProgramCreated(ProgramCreatedEvent event) {
-        var ae = AnalyticsEvent.builder()
+        if (!insertIfNew(toAnalyticsEvent(event))) return;
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded program created: {}", event.programId());
+    }
+
+    @Transactional
+    public void recordProgramStatusChanged(ProgramStatusChangedEvent event) {
+        if (!insertIfNew(toAnalyticsEvent(event))) return;
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded program status changed: {} {} -> {}",
+            event.programId(), event.oldStatus(), event.newStatus());
+    }
+
+    // ── Workstream events ────────────────────────────────────────────
+
+    @Transactional
+    public void recordWorkstreamCreated(WorkstreamCreatedEvent event) {
+        if (!insertIfNew(toAnalyticsEvent(event))) return;
+        project(event);
+        trackLifecycle(event);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded workstream created: {}", event.workstreamId());
+    }
+
+    @Transactional
+    public void recordWorkstreamStatusChanged(WorkstreamStatusChangedEvent event) {
+        if (!insertIfNew(toAnalyticsEvent(event))) return;
+        trackLifecycle(event);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded workstream status changed: {} {} -> {}",
+            event.workstreamId(), event.oldStatus(), event.newStatus());
+    }
+
+    // ── Specification events ─────────────────────────────────────────
+
+    @Transactional
+    public void recordSpecificationCreated(SpecificationCreatedEvent event) {
+        if (!insertIfNew(toAnalyticsEvent(event))) return;
+        project(event);
+        trackLifecycle(event);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded specification created: {}", event.specificationId());
+    }
+
+    @Transactional
+    public void recordSpecificationStatusChanged(SpecificationStatusChangedEvent event) {
+        var row = toAnalyticsEvent(event);
+        if (!insertIfNew(row)) return;
+        project(event);
+        trackLifecycle(event);
+        rollupService.record(row);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded specification status changed: {} {} -> {}",
+            event.specificationId(), event.oldStatus(), event.newStatus());
+    }
+
+    @Transactional
+    public void recordSpecificationApproved(SpecificationApprovedEvent event) {
+        var row = toAnalyticsEvent(event);
+        if (!insertIfNew(row)) return;
+        project(event);
+        trackLifecycle(event);
+        rollupService.record(row);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded specification approved: {}", event.specificationId());
+    }
+
+    // ── Ticket events ────────────────────────────────────────────────
+
+    @Transactional
+    public void recordTicketCreated(TicketCreatedEvent event) {
+        var row = toAnalyticsEvent(event);
+        if (!insertIfNew(row)) return;
+        project(event);
+        trackLifecycle(event);
+        rollupService.record(row);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded ticket created: {}", event.ticketId());
+    }
+
+    @Transactional
+    public void recordTicketResolved(TicketResolvedEvent event) {
+        var row = toAnalyticsEvent(event);
+        if (!insertIfNew(row)) return;
+        project(event);
+        trackLifecycle(event);
+        rollupService.record(row);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded ticket resolved: {}", event.ticketId());
+    }
+
+    @Transactional
+    public void recordTicketAssigned(TicketAssignedEvent event) {
+        if (!insertIfNew(toAnalyticsEvent(event))) return;
+        trackLifecycle(event);
+        cacheInvalidator.invalidate(event.tenantId(), event.getClass());
+        log.debug("Recorded ticket assigned: {}", event.ticketId());
+    }
+
+    // ── Bulk ingestion ───────────────────────────────────────────────
+
+    /**
+     * Records a whole Kafka poll in a single transaction. All {@link AnalyticsEvent}
+     * rows are inserted in one JDBC batch, together with the snapshot event keys of
+     * outcome and hypothesis events, which have no row of their own. Events that were
+     * already ingested are skipped.
+     *
+     * Only the new events update state. Workstream, specification and ticket state is
+     * updated first, then rollup deltas are summed per bucket, and projection and
+     * snapshot updates follow in arrival order.
+     *
+     * Events that cannot be mapped (missing required fields, unknown type) are
+     * rejected individually and reported in the result instead of failing the
+     * batch. A {@link org.springframework.dao.DataAccessException} still rolls
+     * back the whole batch — callers are expected to fall back to per-event
+     * ingestion to isolate the offending record.
+     */
+    @Transactional
+    public BatchResult recordBatch(List<?> events) {
+        return record(events, false);
+    }
+
+    /**
+     * Replay variant of {@link #recordBatch} for re-seeding from an offset reset.
+     * Analytics rows and decision cycle logs are streamed through
+     * {@link BulkEventWriter} (COPY into staging, then one set-wise merge per table),
+     * and decision snapshots and sketches are summed per key before they are written.
+     * Lifecycle, rollup and projection updates are the same as for a regular batch.
+     */
+    @Transactional
+    public BatchResult loadBatch(List<?> events) {
+        return record(events, true);
+    }
+
+    private BatchResult record(List<?> events, boolean bulkLoad) {
+        var rows = new ArrayList<AnalyticsEvent>(events.size());
+        var rowOf = new IdentityHashMap<Object, AnalyticsEvent>();
+        var snapshotEvents = new ArrayList<SnapshotEvent>();
+        var snapshotEventOf = new IdentityHashMap<Object, SnapshotEvent>();
+        var mapped = new ArrayList<Object>(events.size());
+        var rejected = new LinkedHashMap<Integer, RuntimeException>();
+
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                var row = toAnalyticsEvent(events.get(i));
+                if (row != null) {
+                    rows.add(row);
+                    rowOf.put(events.get(i), row);
+                }
+                var snapshotEvent = toSnapshotEvent(events.get(i));
+                if (snapshotEvent != null) {
+                    snapshotEvents.add(snapshotEvent);
+                    snapshotEventOf.put(events.get(i), snapshotEvent);
+                }
+                mapped.add(events.get(i));
+            } catch (RuntimeException e) {
+                rejected.put(i, e);
+            }
+        }
+
+        // Redelivered events are dropped here, before any state or counter sees them
+        var newRows = insertNew(rows, bulkLoad);
+        var written = Collections.newSetFromMap(new IdentityHashMap<AnalyticsEvent, Boolean>());
+        written.addAll(newRows);
+        var counted = Collections.newSetFromMap(new IdentityHashMap<SnapshotEvent, Boolean>());
+        counted.addAll(insertNewSnapshotEvents(snapshotEvents));
+        var accepted = mapped.stream()
+            .filter(event -> !rowOf.containsKey(event) || written.contains(rowOf.get(event)))
+            .filter(event -> !snapshotEventOf.containsKey(event) || counted.contains(snapshotEventOf.get(event)))
+            .toList();
+        accepted.forEach(this::trackLifecycle);
+
+        var rollupDeltas = new EventRollupService.Deltas();
+        newRows.forEach(row -> rollupService.collect(row, rollupDeltas));
+        rollupService.write(rollupDeltas);
+
+        // Snapshot counters are summed per key and written in this transaction,
+        // so the poll's offsets are only committed once they are durable
+        var snapshotDeltas = new HashMap<SnapshotKey, Delta>();
+        var cycleLogs = new ArrayList<DecisionCycleLog>();
+        var sketchDeltas = new HashMap<LatencySketchService.BinKey, Long>();
+        for (var event : accepted) {
+            switch (event) {
+                case DecisionResolvedEvent e when bulkLoad -> cycleLogs.add(toCycleLog(
+                    e.tenantId(), e.projectId(), e.decisionId(), e.createdAt(), e.resolvedAt(),
+                    cycleTimeHours(e.createdAt(), e.resolvedAt()), e.priority(), e.decisionType(),
+                    e.wasEscalated(), e.stakeholderId()));
+                case DecisionResolvedEvent e -> recordDecisionResolved(
+                    e.tenantId(), e.projectId(), e.decisionId(), e.createdAt(), e.resolvedAt(),
+                    e.priority(), e.decisionType(), e.wasEscalated(), e.stakeholderId());
+                case OutcomeValidatedEvent e -> snapshotDeltas.merge(
+                    snapshotKey(e.tenantId(), AppConstants.METRIC_OUTCOME_VELOCITY, e.validatedAt()),
+                    outcomeValidatedDelta(e.projectId()), Delta::plus);
+                case OutcomeInvalidatedEvent e -> snapshotDeltas.merge(
+                    snapshotKey(e.tenantId(), AppConstants.METRIC_OUTCOME_VELOCITY, e.invalidatedAt()),
+                    outcomeInvalidatedDelta(e.projectId()), Delta::plus);
+                case HypothesisConcludedEvent e -> snapshotDeltas.merge(
+                    snapshotKey(e.tenantId(), AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, e.concludedAt()),
+                    hypothesisDelta(e.projectId(), e.result()), Delta::plus);
+                default -> project(event);
+            }
+            if (bulkLoad || !(event instanceof DecisionResolvedEvent)) {
+                cacheInvalidator.invalidate(tenantIdOf(event), event.getClass());
+            }
+        }
+        snapshotAggregator.write(snapshotDeltas);
+        for (var cycleLog : insertNewDecisions(cycleLogs, true)) {
+            stakeholderDirectory.warm(cycleLog.getTenantId(), cycleLog.getStakeholderId());
+            latencySketches.collect(cycleLog.getTenantId(), AppConstants.METRIC_DECISION_CYCLE_TIME,
+                cycleLog.getResolvedAt(), cycleTimeHours(cycleLog.getCreatedAt(), cycleLog.getResolvedAt()),
+                decisionDimensions(cycleLog.getPriority(), cycleLog.getDecisionType()), sketchDeltas);
+        }
+        latencySketches.write(sketchDeltas);
+
+        log.debug("Recorded batch: {} events, {} new analytics rows, {} duplicates, {} rejected",
+            events.size(), newRows.size(), mapped.size() - accepted.size(), rejected.size());
+        return new BatchResult(accepted.size(), rejected);
+    }
+
+    public record BatchResult(int recorded, Map<Integer, RuntimeException> rejected) {}
+
+    // ── Idempotent writes ────────────────────────────────────────────
+
+    /**
+     * Writes the rows not ingested before and returns them in input order. Duplicates
+     * are dropped by {@link IngestDeduplicator} without a round trip when recently seen,
+     * and by the unique natural key otherwise.
+     */
+    private List<AnalyticsEvent> insertNew(List<AnalyticsEvent> rows, boolean bulkLoad) {
+        var candidates = new ArrayList<AnalyticsEvent>(rows.size());
+        var keys = new ArrayList<IngestDeduplicator.Key>(rows.size());
+        for (var row : rows) {
+            var key = IngestDeduplicator.Key.of(
+                row.getTenantId(), row.getEventType(), row.getEntityId(), row.getEventTimestamp());
+            if (!deduplicator.seen(key)) {
+                candidates.add(row);
+                keys.add(key);
+            }
+        }
+        var inserted = bulkLoad ? bulkEventWriter.writeEvents(candidates) : bulkEventWriter.insertEvents(candidates);
+        deduplicator.remember(keys);
+        return inserted;
+    }
+
+    private boolean insertIfNew(AnalyticsEvent row) {
+        if (insertNew(List.of(row), false).isEmpty()) {
+            log.debug("Skipped duplicate {} event for {}", row.getEventType(), row.getEntityId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records the keys of the snapshot-only events not counted before and returns them in
+     * input order, the same way as {@link #insertNew}.
+     */
+    private List<SnapshotEvent> insertNewSnapshotEvents(List<SnapshotEvent> snapshotEvents) {
+        var candidates = new ArrayList<SnapshotEvent>(snapshotEvents.size());
+        var keys = new ArrayList<IngestDeduplicator.Key>(snapshotEvents.size());
+        for (var snapshotEvent : snapshotEvents) {
+            var key = IngestDeduplicator.Key.of(snapshotEvent.tenantId(), snapshotEvent.eventType(),
+                snapshotEvent.entityId(), snapshotEvent.occurredAt());
+            if (!deduplicator.seen(key)) {
+                candidates.add(snapshotEvent);
+                keys.add(key);
+            }
+        }
+        var inserted = bulkEventWriter.insertSnapshotEvents(candidates);
+        deduplicator.remember(keys);
+        return inserted;
+    }
+
+    /**
+     * Hands a snapshot-only event to the write-behind aggregator unless it was counted
+     * recently. The aggregator claims the key in snapshot_event_keys when it flushes the
+     * delta, so the key commits together with the counter and an event counted before,
+     * on another node or before an eviction, is dropped there.
+     */
+    private boolean recordSnapshotEvent(SnapshotEvent snapshotEvent, SnapshotKey key, Delta delta) {
+        var dedupKey = IngestDeduplicator.Key.of(snapshotEvent.tenantId(), snapshotEvent.eventType(),
+            snapshotEvent.entityId(), snapshotEvent.occurredAt());
+        if (deduplicator.seen(dedupKey)) {
+            log.debug("Skipped duplicate {} event for {}", snapshotEvent.eventType(), snapshotEvent.entityId());
+            return false;
+        }
+        snapshotAggregator.record(key, delta, snapshotEvent);
+        deduplicator.remember(List.of(dedupKey));
+        return true;
+    }
+
+    private List<DecisionCycleLog> insertNewDecisions(List<DecisionCycleLog> cycleLogs, boolean bulkLoad) {
+        var candidates = new ArrayList<DecisionCycleLog>(cycleLogs.size());
+        var keys = new ArrayList<IngestDeduplicator.Key>(cycleLogs.size());
+        for (var cycleLog : cycleLogs) {
+            var key = IngestDeduplicator.Key.of(
+                cycleLog.getTenantId(), DECISION_RESOLVED, cycleLog.getDecisionId(), null);
+            if (!deduplicator.seen(key)) {
+                candidates.add(cycleLog);
+                keys.add(key);
+            }
+        }
+        var inserted = bulkLoad
+            ? bulkEventWriter.writeDecisionCycles(candidates)
+            : bulkEventWriter.insertDecisionCycles(candidates);
+        deduplicator.remember(keys);
+        return inserted;
+    }
+
+    // ── Analytics event mapping ──────────────────────────────────────
+
+    /**
+     * Maps a Core event to its {@link AnalyticsEvent} row, or {@code null} for events
+     * that only feed snapshots and cycle logs.
+     */
+    private AnalyticsEvent toAnalyticsEvent(Object event) {
+        return switch (event) {
+            case ProgramCreatedEvent e -> toAnalyticsEvent(e);
+            case ProgramStatusChangedEvent e -> toAnalyticsEvent(e);
+            case WorkstreamCreatedEvent e -> toAnalyticsEvent(e);
+            case WorkstreamStatusChangedEvent e -> toAnalyticsEvent(e);
+            case SpecificationCreatedEvent e -> toAnalyticsEvent(e);
+            case SpecificationStatusChangedEvent e -> toAnalyticsEvent(e);
+            case SpecificationApprovedEvent e -> toAnalyticsEvent(e);
+            case TicketCreatedEvent e -> toAnalyticsEvent(e);
+            case TicketResolvedEvent e -> toAnalyticsEvent(e);
+            case TicketAssignedEvent e -> toAnalyticsEvent(e);
+            case DecisionResolvedEvent e -> null;
+            case OutcomeValidatedEvent e -> null;
+            case OutcomeInvalidatedEvent e -> null;
+            case HypothesisConcludedEvent e -> null;
+            default -> throw new IllegalArgumentException(
+                "Unsupported event type: " + event.getClass().getSimpleName());
+        };
+    }
+
+    private AnalyticsEvent toAnalyticsEvent(ProgramCreatedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_PROGRAM_CREATED)
             .entityId(event.programId())
@@ -209,109 +490,78 @@ public class MetricsService {
                 "status", event.status(),
                 "createdById", event.createdById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded program created: {}", event.programId());
     }
 
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordProgramStatusChanged(ProgramStatusChangedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(ProgramStatusChangedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_PROGRAM_STATUS_CHANGED)
             .entityId(event.programId())
             .eventTimestamp(event.timestamp())
+            .newStatus(event.newStatus())
             .metadata(Map.of(
                 "oldStatus", event.oldStatus(),
-                "newStatus", event.newStatus(),
                 "changedById", event.changedById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded program status changed: {} {} -> {}",
-            event.programId(), event.oldStatus(), event.newStatus());
     }
 
-    // ── Workstream events ────────────────────────────────────────────
-
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordWorkstreamCreated(WorkstreamCreatedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(WorkstreamCreatedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_WORKSTREAM_CREATED)
             .entityId(event.workstreamId())
             .parentId(event.programId())
             .eventTimestamp(event.timestamp())
+            .mode(event.mode())
+            .executionMode(event.executionMode())
             .metadata(Map.of(
                 "name", event.name(),
-                "mode", event.mode(),
-                "executionMode", event.executionMode(),
                 "createdById", event.createdById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded workstream created: {}", event.workstreamId());
     }
 
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordWorkstreamStatusChanged(WorkstreamStatusChangedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(WorkstreamStatusChangedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_WORKSTREAM_STATUS_CHANGED)
             .entityId(event.workstreamId())
             .eventTimestamp(event.timestamp())
+            .newStatus(event.newStatus())
             .metadata(Map.of(
                 "oldStatus", event.oldStatus(),
-                "newStatus", event.newStatus(),
                 "changedById", event.changedById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded workstream status changed: {} {} -> {}",
-            event.workstreamId(), event.oldStatus(), event.newStatus());
     }
 
-    // ── Specification events ─────────────────────────────────────────
-
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordSpecificationCreated(SpecificationCreatedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(SpecificationCreatedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_SPEC_CREATED)
             .entityId(event.specificationId())
             .parentId(event.programId())
+            .workstreamId(event.workstreamId())
             .eventTimestamp(event.timestamp())
             .metadata(Map.of(
                 "name", event.name(),
-                "workstreamId", event.workstreamId().toString(),
                 "authorId", event.authorId().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded specification created: {}", event.specificationId());
     }
 
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordSpecificationStatusChanged(SpecificationStatusChangedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(SpecificationStatusChangedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_SPEC_STATUS_CHANGED)
             .entityId(event.specificationId())
             .eventTimestamp(event.timestamp())
+            .newStatus(event.newStatus())
             .metadata(Map.of(
                 "oldStatus", event.oldStatus(),
-                "newStatus", event.newStatus(),
                 "changedById", event.changedById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded specification status changed: {} {} -> {}",
-            event.specificationId(), event.oldStatus(), event.newStatus());
     }
 
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordSpecificationApproved(SpecificationApprovedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(SpecificationApprovedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_SPEC_APPROVED)
             .entityId(event.specificationId())
@@ -319,50 +569,36 @@ public class MetricsService {
             .metadata(Map.of(
                 "approvedById", event.approvedById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded specification approved: {}", event.specificationId());
     }
 
-    // ── Ticket events ────────────────────────────────────────────────
-
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordTicketCreated(TicketCreatedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(TicketCreatedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_TICKET_CREATED)
             .entityId(event.ticketId())
+            .workstreamId(event.workstreamId())
             .eventTimestamp(event.timestamp())
+            .ticketType(event.type())
+            .severity(event.severity())
             .metadata(Map.of(
-                "workstreamId", event.workstreamId().toString(),
-                "type", event.type(),
-                "severity", event.severity(),
                 "reportedById", event.reportedById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded ticket created: {}", event.ticketId());
     }
 
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordTicketResolved(TicketResolvedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(TicketResolvedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_TICKET_RESOLVED)
             .entityId(event.ticketId())
             .eventTimestamp(event.timestamp())
+            .resolution(event.resolution())
             .metadata(Map.of(
-                "resolution", event.resolution(),
                 "resolvedById", event.resolvedById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded ticket resolved: {}", event.ticketId());
     }
 
-    @Transactional
-    @CacheEvict(value = AppConstants.CACHE_DASHBOARD, key = "#event.tenantId()")
-    public void recordTicketAssigned(TicketAssignedEvent event) {
-        var ae = AnalyticsEvent.builder()
+    private AnalyticsEvent toAnalyticsEvent(TicketAssignedEvent event) {
+        return AnalyticsEvent.builder()
             .tenantId(event.tenantId())
             .eventType(AppConstants.EVENT_TICKET_ASSIGNED)
             .entityId(event.ticketId())
@@ -371,46 +607,143 @@ public class MetricsService {
                 "assignedToId", event.assignedToId().toString(),
                 "assignedById", event.assignedById().toString()))
             .build();
-        analyticsEventRepository.save(ae);
-        log.debug("Recorded ticket assigned: {}", event.ticketId());
     }
 
-    // ── Existing private methods ─────────────────────────────────────
-
-    private void updateDailySnapshot(UUID tenantId, UUID projectId, LocalDate date) {
-        var startOfDay = date.atStartOfDay().toInstant(ZoneOffset.UTC);
-        var endOfDay = date.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    /**
+     * Keeps the workstream, specification and ticket state rows current; rollups
+     * read them to pair and scope events, so this must run before the event is
+     * folded into them.
+     */
+    private void trackLifecycle(Object event) {
+        switch (event) {
+            case WorkstreamCreatedEvent e -> workstreamStateRepository.recordCreated(
+                e.tenantId(), e.workstreamId(), e.programId(), e.mode(), e.executionMode(), e.timestamp());
+            case WorkstreamStatusChangedEvent e -> workstreamStateRepository.recordStatusChanged(
+                e.tenantId(), e.workstreamId(), e.newStatus(), e.timestamp());
+            case SpecificationCreatedEvent e -> specificationLifecycleRepository.recordCreated(
+                e.tenantId(), e.specificationId(), e.programId(), e.workstreamId(), e.timestamp());
+            case SpecificationStatusChangedEvent e -> specificationLifecycleRepository.recordStatusChanged(
+                e.tenantId(), e.specificationId(), e.newStatus(), e.timestamp());
+            case SpecificationApprovedEvent e -> specificationLifecycleRepository.recordApproved(
+                e.tenantId(), e.specificationId(), e.timestamp());
+            case TicketCreatedEvent e -> ticketLifecycleRepository.recordCreated(
+                e.tenantId(), e.ticketId(), e.workstreamId(), e.type(), e.severity(), e.timestamp());
+            case TicketAssignedEvent e -> ticketLifecycleRepository.recordAssigned(
+                e.tenantId(), e.ticketId(), e.assignedToId(), e.timestamp());
+            case TicketResolvedEvent e -> ticketLifecycleRepository.recordResolved(
+                e.tenantId(), e.ticketId(), e.resolution(), e.resolvedById(), e.timestamp());
+            default -> { }
+        }
+    }
 
-        // Calculate average cycle time for the day
-        var logs = cycleLogRepository.findByTenantIdAndResolvedAtBetween(
-            tenantId, startOfDay, endOfDay);
+    /**
+     * Tenant of a typed Core event, or null for types this service does not ingest.
+     */
+    public static UUID tenantIdOf(Object event) {
+        return switch (event) {
+            case ProgramCreatedEvent e -> e.tenantId();
+            case ProgramStatusChangedEvent e -> e.tenantId();
+            case WorkstreamCreatedEvent e -> e.tenantId();
+            case WorkstreamStatusChangedEvent e -> e.tenantId();
+            case SpecificationCreatedEvent e -> e.tenantId();
+            case SpecificationStatusChangedEvent e -> e.tenantId();
+            case SpecificationApprovedEvent e -> e.tenantId();
+            case TicketCreatedEvent e -> e.tenantId();
+            case TicketResolvedEvent e -> e.tenantId();
+            case TicketAssignedEvent e -> e.tenantId();
+            case DecisionResolvedEvent e -> e.tenantId();
+            case OutcomeValidatedEvent e -> e.tenantId();
+            case OutcomeInvalidatedEvent e -> e.tenantId();
+            case HypothesisConcludedEvent e -> e.tenantId();
+            default -> null;
+        };
+    }
 
-        if (logs.isEmpty()) return;
+    /**
+     * Applies an event to the dashboard projection. Events the dashboard does not
+     * count are ignored.
+     */
+    private void project(Object event) {
+        switch (event) {
+            case WorkstreamCreatedEvent e ->
+                projectionService.onWorkstreamCreated(e.tenantId(), e.mode(), e.executionMode());
+            case SpecificationCreatedEvent e -> projectionService.onSpecificationCreated(e.tenantId());
+            case TicketCreatedEvent e -> projectionService.onTicketCreated(e.tenantId(), e.severity());
+            default -> { }
+        }
+    }
 
-        var avgCycleTime = logs.stream()
-            .map(DecisionCycleLog::getCycleTimeHours)
-            .reduce(BigDecimal.ZERO, BigDecimal::add)
-            .divide(BigDecimal.valueOf(logs.size()), 2, RoundingMode.HALF_UP);
+    // ── Decision cycles ──────────────────────────────────────────────
 
-        var escalatedCount = logs.stream().filter(DecisionCycleLog::getWasEscalated).count();
+    private static final String DECISION_RESOLVED = "DECISION_RESOLVED";
 
-        var existing = snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            tenantId, AppConstants.METRIC_DECISION_VELOCITY, date);
+    private static double cycleTimeHours(Instant createdAt, Instant resolvedAt) {
+        return Duration.between(createdAt, resolvedAt).toMinutes() / 60.0;
+    }
 
-        var snapshot = existing.orElse(MetricSnapshot.builder()
+    private static DecisionCycleLog toCycleLog(
+            UUID tenantId, UUID projectId, UUID decisionId, Instant createdAt, Instant resolvedAt,
+            double cycleTimeHours, String priority, String decisionType, boolean wasEscalated, UUID stakeholderId) {
+        return DecisionCycleLog.builder()
             .tenantId(tenantId)
             .projectId(projectId)
-            .metricType(AppConstants.METRIC_DECISION_VELOCITY)
-            .metricDate(date)
-            .build());
-
-        snapshot.setValue(avgCycleTime);
-        snapshot.setDimensions(Map.of(
-            "decisionsResolved", logs.size(),
-            "escalatedCount", escalatedCount,
-            "escalationRate", logs.isEmpty() ? 0 : (double) escalatedCount / logs.size()
-        ));
-
-        snapshotRepository.save(snapshot);
+            .decisionId(decisionId)
+            .createdAt(createdAt)
+            .resolvedAt(resolvedAt)
+            .cycleTimeHours(BigDecimal.valueOf(cycleTimeHours).setScale(2, RoundingMode.HALF_UP))
+            .priority(priority)
+            .decisionType(decisionType)
+            .wasEscalated(wasEscalated)
+            .stakeholderId(stakeholderId)
+            .build();
+    }
+
+    private static Map<String, String> decisionDimensions(String priority, String decisionType) {
+        return LatencySketchService.dimensions("priority", priority, "decisionType", decisionType);
+    }
+
+    // ── Snapshot counters ────────────────────────────────────────────
+
+    private static Delta outcomeValidatedDelta(UUID projectId) {
+        return new Delta(projectId, 1, 0, 0);
+    }
+
+    private static Delta outcomeInvalidatedDelta(UUID projectId) {
+        return new Delta(projectId, 0, 0, 1);
+    }
+
+    private static Delta hypothesisDelta(UUID projectId, String result) {
+        return "VALIDATED".equals(result) ? new Delta(projectId, 1, 1, 0) : new Delta(projectId, 1, 0, 1);
+    }
+
+    private static final String OUTCOME_VALIDATED_EVENT = "OUTCOME_VALIDATED";
+    private static final String OUTCOME_INVALIDATED_EVENT = "OUTCOME_INVALIDATED";
+    private static final String HYPOTHESIS_CONCLUDED_EVENT = "HYPOTHESIS_CONCLUDED";
+
+    /**
+     * Natural key of an event that only moves a snapshot counter, or {@code null} for
+     * events deduplicated by their analytics row or cycle log.
+     */
+    private static SnapshotEvent toSnapshotEvent(Object event) {
+        return switch (event) {
+            case OutcomeValidatedEvent e -> snapshotEvent(
+                e.tenantId(), OUTCOME_VALIDATED_EVENT, e.outcomeId(), e.validatedAt());
+            case OutcomeInvalidatedEvent e -> snapshotEvent(
+                e.tenantId(), OUTCOME_INVALIDATED_EVENT, e.outcomeId(), e.invalidatedAt());
+            case HypothesisConcludedEvent e -> snapshotEvent(
+                e.tenantId(), HYPOTHESIS_CONCLUDED_EVENT, e.hypothesisId(), e.concludedAt());
+            default -> null;
+        };
+    }
+
+    private static SnapshotEvent snapshotEvent(UUID tenantId, String eventType, UUID entityId, Instant at) {
+        if (tenantId == null || entityId == null || at == null) {
+            throw new IllegalArgumentException(eventType + " event is missing its tenant, id or timestamp");
+        }
+        return new SnapshotEvent(tenantId, eventType, entityId, at);
+    }
+
+    private static SnapshotKey snapshotKey(UUID tenantId, String metricType, Instant at) {
+        return new SnapshotKey(tenantId, metricType, at.atZone(ZoneOffset.UTC).toLocalDate());
     }
 }
@@ -0,0 +1,282 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.repository.BulkEventWriter;
+import ai.zevaro.analytics.repository.BulkEventWriter.SnapshotEvent;
+import ai.zevaro.analytics.repository.MetricSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind aggregator for additive daily snapshot counters (outcome velocity,
+ * hypothesis throughput).
+ *
+ * Consumer threads add deltas to striped in-memory counters; {@link #flush()} runs
+ * every analytics.snapshots.flush-interval-ms, or as soon as flush-max-events deltas
+ * are pending, and writes one atomic upsert per snapshot key. Kafka acknowledgments
+ * registered via {@link #acknowledgeAfterFlush} are only released once the deltas
+ * recorded before them are committed, so offsets never run ahead of the database.
+ *
+ * Each delta comes with the natural key of its event. The flush inserts the keys into
+ * snapshot_event_keys in the same transaction as the upserts and takes back out the
+ * deltas of events whose key was already there, so a redelivered event is not counted
+ * twice and a key never commits without its counter.
+ *
+ * On shutdown this bean stops before the listener containers: it flushes, then
+ * writes through for whatever the containers still deliver while draining.
+ */
+@Component
+@Slf4j
+public class SnapshotCounterAggregator implements SmartLifecycle {
+
+    private final MetricSnapshotRepository snapshotRepository;
+    private final BulkEventWriter bulkEventWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPendingEvents;
+
+    // Writers share the read lock; flush takes the write lock only to swap generations
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // A lock rather than synchronized: flush writes to the database, which would pin a virtual thread
+    private final Lock flushLock = new ReentrantLock();
+    private ConcurrentHashMap<SnapshotKey, Counters> pending = new ConcurrentHashMap<>();
+    private Queue<Claim> pendingClaims = new ConcurrentLinkedQueue<>();
+    private Queue<Acknowledgment> pendingAcks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+
+    private volatile boolean running;
+
+    public SnapshotCounterAggregator(
+            MetricSnapshotRepository snapshotRepository,
+            BulkEventWriter bulkEventWriter,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.snapshots.flush-max-events:500}") int maxPendingEvents) {
+        this.snapshotRepository = snapshotRepository;
+        this.bulkEventWriter = bulkEventWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPendingEvents = maxPendingEvents;
+    }
+
+    /**
+     * Adds the delta of an event to the given snapshot. Returns immediately unless the
+     * pending threshold is reached (or the aggregator is draining), in which case the
+     * calling thread performs the flush.
+     */
+    public void record(SnapshotKey key, Delta delta, SnapshotEvent event) {
+        swapLock.readLock().lock();
+        try {
+            pending.computeIfAbsent(key, k -> new Counters(delta.projectId())).add(delta);
+            pendingClaims.add(new Claim(event, key, delta));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (pendingEvents.incrementAndGet() >= maxPendingEvents || !running) {
+            flush();
+        }
+    }
+
+    /**
+     * Releases the acknowledgment once every delta recorded so far has been flushed.
+     * Acknowledgments are released in registration order.
+     */
+    public void acknowledgeAfterFlush(Acknowledgment ack) {
+        if (ack == null) return;
+        swapLock.readLock().lock();
+        try {
+            pendingAcks.add(ack);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (!running) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes deltas straight through in the caller's transaction. Used by the
+     * bulk ingestion path, which already groups a whole poll into one commit.
+     */
+    public void write(Map<SnapshotKey, Delta> deltas) {
+        deltas.forEach((key, delta) -> snapshotRepository.addCounters(
+            key.tenantId(), delta.projectId(), key.metricType(), key.metricDate(),
+            delta.value(), delta.validated(), delta.invalidated()));
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.snapshots.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushGeneration();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushGeneration() {
+        ConcurrentHashMap<SnapshotKey, Counters> batch;
+        Queue<Claim> claims;
+        Queue<Acknowledgment> acks;
+
+        swapLock.writeLock().lock();
+        try {
+            batch = pending;
+            claims = pendingClaims;
+            acks = pendingAcks;
+            pending = new ConcurrentHashMap<>();
+            pendingClaims = new ConcurrentLinkedQueue<>();
+            pendingAcks = new ConcurrentLinkedQueue<>();
+            pendingEvents.set(0);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        if (batch.isEmpty() && acks.isEmpty()) return;
+
+        var deltas = new HashMap<SnapshotKey, Delta>(batch.size());
+        batch.forEach((key, counters) -> deltas.put(key, counters.sum()));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(withoutDuplicates(deltas, claims)));
+        } catch (RuntimeException e) {
+            log.error("Snapshot counter flush failed for {} keys; will retry on next flush", deltas.size(), e);
+            restore(deltas, claims, acks);
+            return;
+        }
+
+        acks.forEach(Acknowledgment::acknowledge);
+        log.debug("Flushed {} snapshot counter keys, released {} acknowledgments", deltas.size(), acks.size());
+    }
+
+    /**
+     * Claims the keys of the generation's events and subtracts the deltas of the events
+     * that were counted before. Runs in the flush transaction.
+     */
+    private Map<SnapshotKey, Delta> withoutDuplicates(Map<SnapshotKey, Delta> deltas, Queue<Claim> claims) {
+        var events = claims.stream().map(Claim::event).toList();
+        var claimed = Collections.newSetFromMap(new IdentityHashMap<SnapshotEvent, Boolean>());
+        claimed.addAll(bulkEventWriter.insertSnapshotEvents(events));
+        if (claimed.size() == events.size()) return deltas;
+
+        var counted = new HashMap<>(deltas);
+        for (var claim : claims) {
+            if (!claimed.contains(claim.event())) {
+                counted.merge(claim.key(), claim.delta().negate(), Delta::plus);
+            }
+        }
+        counted.values().removeIf(Delta::isZero);
+        log.debug("Dropped {} redelivered snapshot events", events.size() - claimed.size());
+        return counted;
+    }
+
+    /**
+     * Puts a failed generation back in front of anything recorded since, keeping
+     * acknowledgments in their original order.
+     */
+    private void restore(Map<SnapshotKey, Delta> deltas, Queue<Claim> claims, Queue<Acknowledgment> acks) {
+        swapLock.writeLock().lock();
+        try {
+            deltas.forEach((key, delta) ->
+                pending.computeIfAbsent(key, k -> new Counters(delta.projectId())).add(delta));
+            claims.addAll(pendingClaims);
+            pendingClaims = claims;
+            acks.addAll(pendingAcks);
+            pendingAcks = acks;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    // ── Lifecycle ────────────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Above the Kafka listener container phase, so the aggregator stops (and flushes)
+     * first and its acknowledgments are committed while the consumers are still open.
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 50;
+    }
+
+    // ── Types ────────────────────────────────────────────────────────
+
+    /** The grain of a metric_snapshots row, matching its uk_metric_snapshot unique key. */
+    public record SnapshotKey(UUID tenantId, String metricType, LocalDate metricDate) {}
+
+    /**
+     * Counter increments for one snapshot. projectId is not part of the row's key: it is
+     * only stamped on the row when the upsert creates it, so summed deltas keep the first.
+     */
+    public record Delta(UUID projectId, long value, long validated, long invalidated) {
+        public Delta plus(Delta other) {
+            return new Delta(projectId != null ? projectId : other.projectId,
+                value + other.value, validated + other.validated, invalidated + other.invalidated);
+        }
+
+        Delta negate() {
+            return new Delta(projectId, -value, -validated, -invalidated);
+        }
+
+        boolean isZero() {
+            return value == 0 && validated == 0 && invalidated == 0;
+        }
+    }
+
+    private record Claim(SnapshotEvent event, SnapshotKey key, Delta delta) {}
+
+    private static final class Counters {
+        private final UUID projectId;
+        private final LongAdder value = new LongAdder();
+        private final LongAdder validated = new LongAdder();
+        private final LongAdder invalidated = new LongAdder();
+
+        Counters(UUID projectId) {
+            this.projectId = projectId;
+        }
+
+        void add(Delta delta) {
+            value.add(delta.value());
+            validated.add(delta.validated());
+            invalidated.add(delta.invalidated());
+        }
+
+        Delta sum() {
+            return new Delta(projectId, value.sum(), validated.sum(), invalidated.sum());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ai.zevaro.analytics.metrics.dto;
+
+import java.time.LocalDate;
+
+public record CycleTimePercentiles(
+    String metric,
+    String dimension,
+    String dimensionValue,
+    LocalDate periodStart,
+    LocalDate periodEnd,
+    long count,
+    double p50Hours,
+    double p90Hours,
+    double p99Hours
+) {}
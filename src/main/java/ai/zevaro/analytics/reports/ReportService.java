@@ -1,6 +1,7 @@
 package ai.zevaro.analytics.reports;
 
 import ai.zevaro.analytics.client.CoreServiceClient;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.config.AppConstants;
 import ai.zevaro.analytics.dashboard.dto.DataPoint;
 import ai.zevaro.analytics.reports.dto.*;
@@ -26,6 +27,7 @@ public class ReportService {
     private final DecisionCycleLogRepository cycleLogRepository;
     private final ReportRepository reportRepository;
     private final CoreServiceClient coreServiceClient;
+    private final StakeholderDirectory stakeholderDirectory;
     private final ObjectMapper objectMapper;
 
     @Cacheable(value = AppConstants.CACHE_REPORTS, key = "'weekly:' + #tenantId + ':' + #weekStart")
@@ -90,12 +92,14 @@ public class ReportService {
 
         // Top stakeholders by response time
         var stakeholderData = cycleLogRepository.findAvgCycleTimeByStakeholder(tenantId, startInstant);
-        var topStakeholders = stakeholderData.stream()
-            .limit(5)
+        var topRows = stakeholderData.stream().limit(5).toList();
+        var stakeholders = stakeholderDirectory.lookup(tenantId,
+            topRows.stream().map(row -> (UUID) row[0]).toList());
+        var topStakeholders = topRows.stream()
             .map(row -> {
                 var stakeholderId = (UUID) row[0];
                 var avgTime = ((Number) row[1]).doubleValue();
-                var info = coreServiceClient.getStakeholder(tenantId, stakeholderId);
+                var info = stakeholders.get(stakeholderId);
                 var name = info != null ? info.name() : stakeholderId.toString().substring(0, 8);
                 return String.format("%s (%.1fh avg)", name, avgTime);
             })
@@ -9,13 +9,17 @@ import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
+/**
+ * One ingested domain event. Fields that reads filter or group on are typed columns
+ * (null for event types that do not carry them); everything else goes to metadata.
+ */
 @Entity
 @Table(name = "analytics_events", schema = "analytics",
     indexes = {
         @Index(name = "idx_ae_tenant_type_time",
                columnList = "tenant_id, event_type, event_timestamp"),
-        @Index(name = "idx_ae_entity_type",
-               columnList = "entity_id, event_type")
+        @Index(name = "uk_ae_event_key",
+               columnList = "entity_id, event_type, event_timestamp, tenant_id", unique = true)
     })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
@@ -38,6 +42,27 @@ public class AnalyticsEvent {
     @Column(name = "parent_id")
     private UUID parentId;
 
+    @Column(name = "workstream_id")
+    private UUID workstreamId;
+
+    @Column(name = "mode", length = 50)
+    private String mode;
+
+    @Column(name = "execution_mode", length = 50)
+    private String executionMode;
+
+    @Column(name = "ticket_type", length = 50)
+    private String ticketType;
+
+    @Column(name = "severity", length = 50)
+    private String severity;
+
+    @Column(name = "new_status", length = 50)
+    private String newStatus;
+
+    @Column(name = "resolution", length = 50)
+    private String resolution;
+
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "metadata", columnDefinition = "jsonb")
     private Map<String, Object> metadata;
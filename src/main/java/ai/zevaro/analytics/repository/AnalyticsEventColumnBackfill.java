@@ -0,0 +1,89 @@
+package ai.zevaro.analytics.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Moves the hot metadata keys of existing analytics events into the typed columns added
+ * by migration V9, and strips them from the JSONB so the rows shrink.
+ *
+ * Runs one monthly partition at a time, each in its own transaction, so a backfill over
+ * the full history never holds locks or a snapshot across the whole table. Rows already
+ * migrated carry none of the keys and are skipped, which makes the job safe to re-run.
+ */
+@Component
+@Slf4j
+public class AnalyticsEventColumnBackfill {
+
+    static final String MIGRATE_MONTH = "UPDATE " + AnalyticsEventPartitionManager.TABLE + " SET "
+        + "workstream_id = COALESCE(workstream_id, (metadata->>'workstreamId')::uuid), "
+        + "mode = COALESCE(mode, metadata->>'mode'), "
+        + "execution_mode = COALESCE(execution_mode, metadata->>'executionMode'), "
+        + "ticket_type = COALESCE(ticket_type, metadata->>'type'), "
+        + "severity = COALESCE(severity, metadata->>'severity'), "
+        + "new_status = COALESCE(new_status, metadata->>'newStatus'), "
+        + "resolution = COALESCE(resolution, metadata->>'resolution'), "
+        + "metadata = metadata - 'workstreamId' - 'mode' - 'executionMode' - 'type' - 'severity' "
+        + "- 'newStatus' - 'resolution' "
+        + "WHERE event_timestamp >= ? AND event_timestamp < ? "
+        // jsonb_exists_any is the function behind ?|, which JDBC would read as a placeholder
+        + "AND jsonb_exists_any(metadata, array['workstreamId', 'mode', 'executionMode', 'type', "
+        + "'severity', 'newStatus', 'resolution'])";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public AnalyticsEventColumnBackfill(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, transactionManager, Clock.systemUTC());
+    }
+
+    AnalyticsEventColumnBackfill(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    /**
+     * Migrates every month from the oldest event up to the current one.
+     *
+     * @return the number of rows rewritten
+     */
+    public int run() {
+        var oldest = jdbcTemplate.queryForObject(
+            "SELECT min(event_timestamp) FROM " + AnalyticsEventPartitionManager.TABLE, Timestamp.class);
+        if (oldest == null) {
+            return 0;
+        }
+
+        int total = 0;
+        var current = YearMonth.now(clock);
+        for (var month = YearMonth.from(oldest.toInstant().atOffset(ZoneOffset.UTC));
+             !month.isAfter(current); month = month.plusMonths(1)) {
+            var from = startOf(month);
+            var to = startOf(month.plusMonths(1));
+            Integer rows = transactionTemplate.execute(status ->
+                jdbcTemplate.update(MIGRATE_MONTH, Timestamp.from(from), Timestamp.from(to)));
+            if (rows != null && rows > 0) {
+                log.info("Moved metadata into typed columns for {} analytics events in {}", rows, month);
+                total += rows;
+            }
+        }
+        return total;
+    }
+
+    private static Instant startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,138 @@
+package ai.zevaro.analytics.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of analytics.analytics_events (partitioned on
+ * event_timestamp by migration V2).
+ *
+ * On startup and daily, creates partitions premake-months ahead and detaches and drops
+ * monthly partitions older than retention-months, instead of deleting rows.
+ */
+@Component
+@DependsOn("flywayInitializer")
+@Slf4j
+public class AnalyticsEventPartitionManager {
+
+    static final String TABLE = "analytics.analytics_events";
+    private static final String PARTITION_PREFIX = "analytics_events_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARTITION_PREFIX + "(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final Clock clock;
+
+    @Autowired
+    public AnalyticsEventPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.events.partitions.premake-months:3}") int premakeMonths,
+            @Value("${analytics.events.retention-months:24}") int retentionMonths) {
+        this(jdbcTemplate, transactionManager, premakeMonths, retentionMonths, Clock.systemUTC());
+    }
+
+    AnalyticsEventPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            int premakeMonths,
+            int retentionMonths,
+            Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void initialize() {
+        var kind = tableKind();
+        if (kind == null) {
+            log.warn("Table {} does not exist; skipping partition management", TABLE);
+            return;
+        }
+        if (!"p".equals(kind)) {
+            // Converted by migration V2; nothing to maintain on a plain table
+            log.warn("Table {} is not partitioned; skipping partition management", TABLE);
+            return;
+        }
+        maintain();
+    }
+
+    /**
+     * Creates upcoming monthly partitions and drops those past the retention horizon.
+     */
+    @Scheduled(cron = "${analytics.events.partitions.maintenance-cron:0 15 3 * * *}", zone = "UTC")
+    public void maintain() {
+        var current = YearMonth.now(clock);
+        for (int i = 0; i <= premakeMonths; i++) {
+            try {
+                createPartition(current.plusMonths(i));
+            } catch (RuntimeException e) {
+                // Typically rows for that month already landed in the default partition
+                log.warn("Could not create analytics_events partition for {}: {}", current.plusMonths(i), e.getMessage());
+            }
+        }
+        dropExpiredPartitions(current.minusMonths(retentionMonths));
+    }
+
+    private String tableKind() {
+        var kinds = jdbcTemplate.queryForList(
+            "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                + "WHERE n.nspname = 'analytics' AND c.relname = 'analytics_events'",
+            String.class);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private void createPartition(YearMonth month) {
+        var from = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        var to = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS analytics." + partitionName(month)
+            + " PARTITION OF " + TABLE + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+
+    private void dropExpiredPartitions(YearMonth oldestRetained) {
+        for (var name : partitionNames()) {
+            var matcher = PARTITION_NAME.matcher(name);
+            if (!matcher.matches()) continue;
+            var month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestRetained)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION analytics." + name);
+                    jdbcTemplate.execute("DROP TABLE analytics." + name);
+                });
+                log.info("Dropped analytics_events partition {} (retention {} months)", name, retentionMonths);
+            }
+        }
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = '" + TABLE + "'::regclass",
+            String.class);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+}
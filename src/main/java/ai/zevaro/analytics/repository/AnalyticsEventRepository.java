@@ -1,6 +1,8 @@
 package ai.zevaro.analytics.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
@@ -9,12 +11,20 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * analytics_events is range-partitioned by month on event_timestamp (see
+ * AnalyticsEventPartitionManager); queries bounded on event_timestamp only touch the
+ * partitions in range.
+ */
 @Repository
 public interface AnalyticsEventRepository extends JpaRepository<AnalyticsEvent, UUID> {
 
     List<AnalyticsEvent> findByTenantIdAndEventTypeAndEventTimestampAfter(
         UUID tenantId, String eventType, Instant since);
 
+    long countByTenantIdAndEventTypeAndEventTimestampAfter(
+        UUID tenantId, String eventType, Instant since);
+
     List<AnalyticsEvent> findByTenantIdAndEventTypeAndParentIdAndEventTimestampAfter(
         UUID tenantId, String eventType, UUID parentId, Instant since);
 
@@ -23,4 +33,32 @@ public interface AnalyticsEventRepository extends JpaRepository<AnalyticsEvent,
 
     Optional<AnalyticsEvent> findFirstByEntityIdAndEventType(
         UUID entityId, String eventType);
+
+    List<AnalyticsEvent> findByTenantIdAndEventTypeAndNewStatus(
+        UUID tenantId, String eventType, String newStatus);
+
+
+    /**
+     * Returns [mode, count] rows for the tenant's events of one type.
+     */
+    @Query("SELECT e.mode, count(e) FROM AnalyticsEvent e " +
+           "WHERE e.tenantId = :tenantId AND e.eventType = :eventType AND e.mode IS NOT NULL " +
+           "GROUP BY e.mode")
+    List<Object[]> countByMode(@Param("tenantId") UUID tenantId, @Param("eventType") String eventType);
+
+    /**
+     * Returns [executionMode, count] rows for the tenant's events of one type.
+     */
+    @Query("SELECT e.executionMode, count(e) FROM AnalyticsEvent e " +
+           "WHERE e.tenantId = :tenantId AND e.eventType = :eventType AND e.executionMode IS NOT NULL " +
+           "GROUP BY e.executionMode")
+    List<Object[]> countByExecutionMode(@Param("tenantId") UUID tenantId, @Param("eventType") String eventType);
+
+    /**
+     * Returns [severity, count] rows for the tenant's events of one type.
+     */
+    @Query("SELECT e.severity, count(e) FROM AnalyticsEvent e " +
+           "WHERE e.tenantId = :tenantId AND e.eventType = :eventType AND e.severity IS NOT NULL " +
+           "GROUP BY e.severity")
+    List<Object[]> countBySeverity(@Param("tenantId") UUID tenantId, @Param("eventType") String eventType);
 }
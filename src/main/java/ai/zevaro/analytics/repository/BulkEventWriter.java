@@ -0,0 +1,345 @@
+package ai.zevaro.analytics.repository;
+
+import ai.zevaro.analytics.config.AppConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static ai.zevaro.analytics.repository.MetricSnapshotRepository.PREV_CYCLE_TIME_SUM;
+import static ai.zevaro.analytics.repository.MetricSnapshotRepository.PREV_DECISIONS;
+import static ai.zevaro.analytics.repository.MetricSnapshotRepository.PREV_ESCALATED;
+
+/**
+ * JDBC write paths for analytics events, decision cycles and the keys of snapshot-only
+ * events. Every write is idempotent: rows whose natural key already exists are skipped
+ * with ON CONFLICT DO NOTHING. The keys are uk_ae_event_key and uk_cycle_decision from
+ * migration V10 and the primary key of snapshot_event_keys from V12. Each method returns
+ * only the rows it actually inserted, so callers apply downstream counters for new rows
+ * only.
+ *
+ * The insert methods send one JDBC batch per call. The write methods serve replays: rows
+ * are streamed with COPY into session-local staging tables and moved into the real tables
+ * with one set-wise statement per table.
+ *
+ * Ids are generated by the database. All methods must run inside the caller's
+ * transaction; the staging tables are emptied by the merge itself and, as a safety net,
+ * on commit. Timestamps are stored at PostgreSQL's microsecond precision.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkEventWriter {
+
+    static final String EVENT_COLUMNS = "tenant_id, event_type, entity_id, parent_id, workstream_id, mode, "
+        + "execution_mode, ticket_type, severity, new_status, resolution, metadata, event_timestamp, recorded_at";
+
+    static final String CYCLE_COLUMNS = "tenant_id, project_id, decision_id, created_at, resolved_at, "
+        + "cycle_time_hours, priority, decision_type, was_escalated, stakeholder_id";
+
+    // Per-row count is 0 for a duplicate. Relies on the driver reporting per-statement
+    // counts, i.e. reWriteBatchedInserts left off.
+    static final String INSERT_EVENT = "INSERT INTO analytics.analytics_events (id, " + EVENT_COLUMNS + ") "
+        + "VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?) "
+        + "ON CONFLICT DO NOTHING";
+
+    static final String INSERT_CYCLE = "INSERT INTO analytics.decision_cycle_log (id, " + CYCLE_COLUMNS + ") "
+        + "VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+        + "ON CONFLICT DO NOTHING";
+
+    static final String INSERT_SNAPSHOT_EVENT = "INSERT INTO analytics.snapshot_event_keys "
+        + "(tenant_id, event_type, entity_id, occurred_at) VALUES (?, ?, ?, ?) "
+        + "ON CONFLICT DO NOTHING";
+
+    private static final String CREATE_EVENT_STAGE = "CREATE TEMP TABLE IF NOT EXISTS analytics_events_stage ("
+        + "tenant_id uuid, event_type varchar(50), entity_id uuid, parent_id uuid, workstream_id uuid, "
+        + "mode varchar(50), execution_mode varchar(50), ticket_type varchar(50), severity varchar(50), "
+        + "new_status varchar(50), resolution varchar(50), metadata jsonb, "
+        + "event_timestamp timestamptz, recorded_at timestamptz) ON COMMIT DELETE ROWS";
+
+    private static final String CREATE_CYCLE_STAGE = "CREATE TEMP TABLE IF NOT EXISTS decision_cycle_log_stage ("
+        + "tenant_id uuid, project_id uuid, decision_id uuid, created_at timestamptz, resolved_at timestamptz, "
+        + "cycle_time_hours numeric(10, 2), priority varchar(20), decision_type varchar(50), "
+        + "was_escalated boolean, stakeholder_id uuid) ON COMMIT DELETE ROWS";
+
+    static final String MERGE_EVENTS = "WITH staged AS (DELETE FROM analytics_events_stage RETURNING *) "
+        + "INSERT INTO analytics.analytics_events (id, " + EVENT_COLUMNS + ") "
+        + "SELECT gen_random_uuid(), " + EVENT_COLUMNS + " FROM staged "
+        + "ON CONFLICT DO NOTHING "
+        + "RETURNING tenant_id, event_type, entity_id, event_timestamp";
+
+    // Per-day sums of this batch, for use inside ON CONFLICT DO UPDATE
+    private static final String NEW_CYCLE_TIME_SUM = "CAST(EXCLUDED.dimensions ->> 'cycleTimeSum' AS numeric)";
+    private static final String NEW_DECISIONS = "CAST(EXCLUDED.dimensions ->> 'decisionsResolved' AS bigint)";
+    private static final String NEW_ESCALATED = "CAST(EXCLUDED.dimensions ->> 'escalatedCount' AS bigint)";
+
+    /**
+     * Moves staged decisions into the cycle log and folds the newly logged ones into the
+     * day's DECISION_VELOCITY snapshot, one upsert per tenant and day rather than per
+     * decision. Keeps the running totals in the same shape as
+     * {@link MetricSnapshotRepository#addDecisionResolved}.
+     */
+    static final String MERGE_CYCLES = "WITH staged AS (DELETE FROM decision_cycle_log_stage RETURNING *), "
+        + "logged AS (INSERT INTO analytics.decision_cycle_log (id, " + CYCLE_COLUMNS + ") "
+        + "SELECT gen_random_uuid(), " + CYCLE_COLUMNS + " FROM staged ON CONFLICT DO NOTHING "
+        + "RETURNING tenant_id, project_id, decision_id, resolved_at, cycle_time_hours, was_escalated), "
+        + "snapshots AS (INSERT INTO analytics.metric_snapshots "
+        + "(id, tenant_id, project_id, metric_type, metric_date, value, dimensions, created_at) "
+        + "SELECT gen_random_uuid(), tenant_id, (array_agg(project_id))[1], "
+        + "'" + AppConstants.METRIC_DECISION_VELOCITY + "', CAST(resolved_at AT TIME ZONE 'UTC' AS date), "
+        + "ROUND(sum(cycle_time_hours) / count(*), 2), jsonb_build_object('cycleTimeSum', sum(cycle_time_hours), "
+        + "'decisionsResolved', count(*), 'escalatedCount', count(*) FILTER (WHERE was_escalated), "
+        + "'escalationRate', CAST(count(*) FILTER (WHERE was_escalated) AS double precision) / count(*)), now() "
+        + "FROM logged GROUP BY tenant_id, CAST(resolved_at AT TIME ZONE 'UTC' AS date) "
+        + "ON CONFLICT (tenant_id, metric_type, metric_date) DO UPDATE SET "
+        + "value = ROUND((" + PREV_CYCLE_TIME_SUM + " + " + NEW_CYCLE_TIME_SUM + ") / ("
+        + PREV_DECISIONS + " + " + NEW_DECISIONS + "), 2), "
+        + "dimensions = COALESCE(metric_snapshots.dimensions, CAST('{}' AS jsonb)) || jsonb_build_object("
+        + "'cycleTimeSum', " + PREV_CYCLE_TIME_SUM + " + " + NEW_CYCLE_TIME_SUM + ", "
+        + "'decisionsResolved', " + PREV_DECISIONS + " + " + NEW_DECISIONS + ", "
+        + "'escalatedCount', " + PREV_ESCALATED + " + " + NEW_ESCALATED + ", "
+        + "'escalationRate', CAST(" + PREV_ESCALATED + " + " + NEW_ESCALATED + " AS double precision) / ("
+        + PREV_DECISIONS + " + " + NEW_DECISIONS + "))) "
+        + "SELECT tenant_id, decision_id FROM logged";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Inserts the events into analytics_events in one JDBC batch.
+     *
+     * @return the events that were new, in input order
+     */
+    public List<AnalyticsEvent> insertEvents(List<AnalyticsEvent> events) {
+        if (events.isEmpty()) return List.of();
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_EVENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var e = events.get(i);
+                ps.setObject(1, e.getTenantId());
+                ps.setString(2, e.getEventType());
+                ps.setObject(3, e.getEntityId());
+                ps.setObject(4, e.getParentId());
+                ps.setObject(5, e.getWorkstreamId());
+                ps.setString(6, e.getMode());
+                ps.setString(7, e.getExecutionMode());
+                ps.setString(8, e.getTicketType());
+                ps.setString(9, e.getSeverity());
+                ps.setString(10, e.getNewStatus());
+                ps.setString(11, e.getResolution());
+                ps.setString(12, json(e.getMetadata()));
+                ps.setObject(13, timestamp(e.getEventTimestamp()));
+                ps.setObject(14, timestamp(e.getRecordedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+        return inserted(events, counts);
+    }
+
+    /**
+     * Inserts the decisions into decision_cycle_log in one JDBC batch.
+     *
+     * @return the decisions that were new, in input order
+     */
+    public List<DecisionCycleLog> insertDecisionCycles(List<DecisionCycleLog> cycles) {
+        if (cycles.isEmpty()) return List.of();
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_CYCLE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var c = cycles.get(i);
+                ps.setObject(1, c.getTenantId());
+                ps.setObject(2, c.getProjectId());
+                ps.setObject(3, c.getDecisionId());
+                ps.setObject(4, timestamp(c.getCreatedAt()));
+                ps.setObject(5, timestamp(c.getResolvedAt()));
+                ps.setBigDecimal(6, c.getCycleTimeHours());
+                ps.setString(7, c.getPriority());
+                ps.setString(8, c.getDecisionType());
+                ps.setBoolean(9, Boolean.TRUE.equals(c.getWasEscalated()));
+                ps.setObject(10, c.getStakeholderId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cycles.size();
+            }
+        });
+        return inserted(cycles, counts);
+    }
+
+    /**
+     * Inserts the keys of events that only feed snapshot counters in one JDBC batch.
+     *
+     * @return the keys that were new, in input order
+     */
+    public List<SnapshotEvent> insertSnapshotEvents(List<SnapshotEvent> events) {
+        if (events.isEmpty()) return List.of();
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_EVENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var e = events.get(i);
+                ps.setObject(1, e.tenantId());
+                ps.setString(2, e.eventType());
+                ps.setObject(3, e.entityId());
+                ps.setObject(4, timestamp(e.occurredAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+        return inserted(events, counts);
+    }
+
+    /**
+     * Loads the events into analytics_events with COPY.
+     *
+     * @return the events that were new, in input order
+     */
+    public List<AnalyticsEvent> writeEvents(List<AnalyticsEvent> events) {
+        if (events.isEmpty()) return List.of();
+
+        var csv = new StringBuilder(events.size() * 256);
+        for (var e : events) {
+            csv.append(e.getTenantId()).append(',')
+                .append(quote(e.getEventType())).append(',')
+                .append(e.getEntityId()).append(',')
+                .append(uuid(e.getParentId())).append(',')
+                .append(uuid(e.getWorkstreamId())).append(',')
+                .append(quote(e.getMode())).append(',')
+                .append(quote(e.getExecutionMode())).append(',')
+                .append(quote(e.getTicketType())).append(',')
+                .append(quote(e.getSeverity())).append(',')
+                .append(quote(e.getNewStatus())).append(',')
+                .append(quote(e.getResolution())).append(',')
+                .append(quote(json(e.getMetadata()))).append(',')
+                .append(micros(e.getEventTimestamp())).append(',')
+                .append(e.getRecordedAt() != null ? micros(e.getRecordedAt()) : "").append('\n');
+        }
+
+        jdbcTemplate.execute(CREATE_EVENT_STAGE);
+        copy("COPY analytics_events_stage (" + EVENT_COLUMNS + ") FROM STDIN WITH (FORMAT csv)", csv);
+        var written = new HashSet<>(jdbcTemplate.query(MERGE_EVENTS, (rs, n) -> new EventKey(
+            rs.getObject(1, UUID.class), rs.getString(2), rs.getObject(3, UUID.class),
+            rs.getObject(4, OffsetDateTime.class).toInstant())));
+        // A key is claimed by the first of several identical rows in the batch
+        return events.stream().filter(e -> written.remove(EventKey.of(e))).toList();
+    }
+
+    /**
+     * Loads the decisions into decision_cycle_log with COPY and adds the new ones to the
+     * daily DECISION_VELOCITY snapshots. Cycle times are expected to be rounded to two
+     * decimals, as {@link DecisionCycleLog} stores them.
+     *
+     * @return the decisions that were new, in input order
+     */
+    public List<DecisionCycleLog> writeDecisionCycles(List<DecisionCycleLog> cycles) {
+        if (cycles.isEmpty()) return List.of();
+
+        var csv = new StringBuilder(cycles.size() * 192);
+        for (var c : cycles) {
+            csv.append(c.getTenantId()).append(',')
+                .append(uuid(c.getProjectId())).append(',')
+                .append(c.getDecisionId()).append(',')
+                .append(micros(c.getCreatedAt())).append(',')
+                .append(micros(c.getResolvedAt())).append(',')
+                .append(c.getCycleTimeHours().toPlainString()).append(',')
+                .append(quote(c.getPriority())).append(',')
+                .append(quote(c.getDecisionType())).append(',')
+                .append(Boolean.TRUE.equals(c.getWasEscalated())).append(',')
+                .append(uuid(c.getStakeholderId())).append('\n');
+        }
+
+        jdbcTemplate.execute(CREATE_CYCLE_STAGE);
+        copy("COPY decision_cycle_log_stage (" + CYCLE_COLUMNS + ") FROM STDIN WITH (FORMAT csv)", csv);
+        var written = new HashSet<>(jdbcTemplate.query(MERGE_CYCLES, (rs, n) ->
+            new DecisionKey(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class))));
+        return cycles.stream()
+            .filter(c -> written.remove(new DecisionKey(c.getTenantId(), c.getDecisionId())))
+            .toList();
+    }
+
+    private void copy(String sql, StringBuilder csv) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(sql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY failed: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private String json(Map<String, Object> metadata) {
+        if (metadata == null) return null;
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable event metadata: " + e.getMessage(), e);
+        }
+    }
+
+    private static <T> List<T> inserted(List<T> rows, int[] counts) {
+        var inserted = new ArrayList<T>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[i] > 0) inserted.add(rows.get(i));
+        }
+        return inserted;
+    }
+
+    /** CSV field: unquoted empty for NULL, otherwise quoted with embedded quotes doubled. */
+    static String quote(String value) {
+        if (value == null) return "";
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String uuid(UUID value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private static Instant micros(Instant value) {
+        return value.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static OffsetDateTime timestamp(Instant value) {
+        return value != null ? micros(value).atOffset(ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Natural key of an event that has no analytics_events row and only moves a snapshot counter.
+     */
+    public record SnapshotEvent(UUID tenantId, String eventType, UUID entityId, Instant occurredAt) {}
+
+    private record EventKey(UUID tenantId, String eventType, UUID entityId, Instant eventTimestamp) {
+        static EventKey of(AnalyticsEvent e) {
+            return new EventKey(e.getTenantId(), e.getEventType(), e.getEntityId(), micros(e.getEventTimestamp()));
+        }
+    }
+
+    private record DecisionKey(UUID tenantId, UUID decisionId) {}
+}
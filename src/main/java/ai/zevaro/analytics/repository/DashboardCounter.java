@@ -0,0 +1,45 @@
+package ai.zevaro.analytics.repository;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One per-tenant counter of the dashboard projection.
+ * Scalar counters use an empty bucket; breakdowns (by mode, by severity, ...)
+ * store one row per bucket value.
+ */
+@Entity
+@Table(name = "dashboard_counters", schema = "analytics",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_dashboard_counter",
+        columnNames = {"tenant_id", "counter_name", "bucket"}
+    ))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class DashboardCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "counter_name", nullable = false, length = 50)
+    private String counterName;
+
+    @Column(name = "bucket", nullable = false, length = 50)
+    @Builder.Default
+    private String bucket = "";
+
+    @Column(name = "value", nullable = false)
+    private long value;
+
+    @Column(name = "updated_at")
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
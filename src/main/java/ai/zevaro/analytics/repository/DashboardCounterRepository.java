@@ -0,0 +1,36 @@
+package ai.zevaro.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, UUID> {
+
+    List<DashboardCounter> findByTenantId(UUID tenantId);
+
+    /**
+     * Atomically creates or bumps a counter. Concurrent consumers never lose
+     * updates because the increment happens inside the upsert.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO analytics.dashboard_counters (id, tenant_id, counter_name, bucket, value, updated_at) " +
+                   "VALUES (gen_random_uuid(), :tenantId, :counterName, :bucket, :delta, now()) " +
+                   "ON CONFLICT (tenant_id, counter_name, bucket) " +
+                   "DO UPDATE SET value = dashboard_counters.value + EXCLUDED.value, updated_at = now()",
+           nativeQuery = true)
+    int increment(
+        @Param("tenantId") UUID tenantId,
+        @Param("counterName") String counterName,
+        @Param("bucket") String bucket,
+        @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM DashboardCounter c WHERE c.tenantId = :tenantId")
+    int deleteByTenantId(@Param("tenantId") UUID tenantId);
+}
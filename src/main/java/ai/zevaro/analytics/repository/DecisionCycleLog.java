@@ -7,11 +7,17 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * One resolved decision. The table is hash-partitioned by tenant_id and its indexes
+ * cover the aggregate columns (migration V3); the indexes listed here name the key
+ * columns only.
+ */
 @Entity
 @Table(name = "decision_cycle_log", schema = "analytics",
     indexes = {
         @Index(name = "idx_cycle_tenant_resolved", columnList = "tenant_id, resolved_at"),
-        @Index(name = "idx_cycle_stakeholder", columnList = "stakeholder_id")
+        @Index(name = "idx_cycle_tenant_project_resolved", columnList = "tenant_id, project_id, resolved_at"),
+        @Index(name = "uk_cycle_decision", columnList = "tenant_id, decision_id", unique = true)
     })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
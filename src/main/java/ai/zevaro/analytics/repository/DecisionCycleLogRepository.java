@@ -49,4 +49,26 @@ public interface DecisionCycleLogRepository extends JpaRepository<DecisionCycleL
         @Param("tenantId") UUID tenantId,
         @Param("projectId") UUID projectId,
         @Param("since") Instant since);
+
+    /**
+     * Per tenant and UTC day since the given instant:
+     * [tenantId, day, decisionsResolved, cycleTimeSum, escalatedCount].
+     */
+    @Query(value = "SELECT tenant_id, CAST(resolved_at AT TIME ZONE 'UTC' AS date) AS day, " +
+                   "COUNT(*), SUM(cycle_time_hours), COUNT(*) FILTER (WHERE was_escalated) " +
+                   "FROM analytics.decision_cycle_log WHERE resolved_at >= :since " +
+                   "GROUP BY tenant_id, day",
+           nativeQuery = true)
+    List<Object[]> aggregateDailyCycleTimesSince(@Param("since") Instant since);
+
+    /**
+     * Single row [decisionsResolved, cycleTimeSum, escalatedCount] for a tenant between
+     * start (inclusive) and end (exclusive). Sums are null when there are no logs.
+     */
+    @Query("SELECT COUNT(d), SUM(d.cycleTimeHours), SUM(CASE WHEN d.wasEscalated = true THEN 1 ELSE 0 END) " +
+           "FROM DecisionCycleLog d WHERE d.tenantId = :tenantId AND d.resolvedAt >= :start AND d.resolvedAt < :end")
+    List<Object[]> aggregateCycleTimesBetween(
+        @Param("tenantId") UUID tenantId,
+        @Param("start") Instant start,
+        @Param("end") Instant end);
 }
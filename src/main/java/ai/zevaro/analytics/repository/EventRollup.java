@@ -0,0 +1,69 @@
+package ai.zevaro.analytics.repository;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One hourly or daily bucket of a rolled-up event metric for a tenant, program or
+ * workstream scope. Totals use an empty dimension; breakdowns (by severity,
+ * resolution, ...) store one row per dimension value. Durations are kept as a sum
+ * and a count so buckets can be added together before averaging.
+ */
+@Entity
+@Table(name = "event_rollups", schema = "analytics",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_event_rollup",
+        columnNames = {"tenant_id", "scope_type", "scope_id", "granularity", "metric",
+                       "bucket_start", "dimension", "dimension_value"}
+    ))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class EventRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "scope_type", nullable = false, length = 10)
+    private String scopeType;
+
+    @Column(name = "scope_id", nullable = false)
+    private UUID scopeId;
+
+    @Column(name = "granularity", nullable = false, length = 5)
+    private String granularity;
+
+    @Column(name = "metric", nullable = false, length = 50)
+    private String metric;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "dimension", nullable = false, length = 30)
+    @Builder.Default
+    private String dimension = "";
+
+    @Column(name = "dimension_value", nullable = false, length = 50)
+    @Builder.Default
+    private String dimensionValue = "";
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    @Column(name = "duration_hours_sum", nullable = false)
+    private double durationHoursSum;
+
+    @Column(name = "duration_count", nullable = false)
+    private long durationCount;
+
+    @Column(name = "updated_at")
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,60 @@
+package ai.zevaro.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventRollupRepository extends JpaRepository<EventRollup, UUID> {
+
+    /**
+     * Atomically creates or adds to a rollup bucket, so concurrent consumers folding
+     * events into the same bucket never lose updates.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO analytics.event_rollups (id, tenant_id, scope_type, scope_id, granularity, metric, " +
+                   "bucket_start, dimension, dimension_value, event_count, duration_hours_sum, duration_count, updated_at) " +
+                   "VALUES (gen_random_uuid(), :tenantId, :scopeType, :scopeId, :granularity, :metric, " +
+                   ":bucketStart, :dimension, :dimensionValue, :count, :hoursSum, :hoursCount, now()) " +
+                   "ON CONFLICT (tenant_id, scope_type, scope_id, granularity, metric, bucket_start, dimension, dimension_value) " +
+                   "DO UPDATE SET event_count = event_rollups.event_count + EXCLUDED.event_count, " +
+                   "duration_hours_sum = event_rollups.duration_hours_sum + EXCLUDED.duration_hours_sum, " +
+                   "duration_count = event_rollups.duration_count + EXCLUDED.duration_count, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int add(
+        @Param("tenantId") UUID tenantId,
+        @Param("scopeType") String scopeType,
+        @Param("scopeId") UUID scopeId,
+        @Param("granularity") String granularity,
+        @Param("metric") String metric,
+        @Param("bucketStart") Instant bucketStart,
+        @Param("dimension") String dimension,
+        @Param("dimensionValue") String dimensionValue,
+        @Param("count") long count,
+        @Param("hoursSum") double hoursSum,
+        @Param("hoursCount") long hoursCount);
+
+    @Query("SELECT r FROM EventRollup r WHERE r.tenantId = :tenantId AND r.scopeType = :scopeType " +
+           "AND r.scopeId = :scopeId AND r.granularity = :granularity AND r.metric IN :metrics " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<EventRollup> findBuckets(
+        @Param("tenantId") UUID tenantId,
+        @Param("scopeType") String scopeType,
+        @Param("scopeId") UUID scopeId,
+        @Param("granularity") String granularity,
+        @Param("metrics") Collection<String> metrics,
+        @Param("from") Instant from,
+        @Param("to") Instant to);
+
+    @Modifying
+    @Query("DELETE FROM EventRollup r WHERE r.tenantId = :tenantId")
+    int deleteByTenantId(@Param("tenantId") UUID tenantId);
+}
@@ -0,0 +1,130 @@
+package ai.zevaro.analytics.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Kafka records that failed after retries, parked from their dead-letter topics with the
+ * payload and the error (migration V11). Parking is keyed by the original topic, partition
+ * and offset, so a dead letter delivered twice is stored once.
+ *
+ * Replays mark records instead of deleting them: replayed rows stay as an audit trail and
+ * are skipped by {@link #pending}.
+ */
+@Component
+public class KafkaParkingLot {
+
+    static final String TABLE = "analytics.kafka_parking_lot";
+
+    static final String PARK = "INSERT INTO " + TABLE + " (id, topic, partition_id, record_offset, record_key, "
+        + "payload, error_class, error_message, error_trace, parked_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+        + "ON CONFLICT (topic, partition_id, record_offset) DO NOTHING";
+
+    private static final String PENDING_COLUMNS = "SELECT id, topic, partition_id, record_offset, record_key, "
+        + "payload, error_class, error_message, parked_at, replay_attempts FROM " + TABLE + " ";
+
+    static final String PENDING = PENDING_COLUMNS
+        + "WHERE replayed_at IS NULL ORDER BY parked_at, partition_id, record_offset LIMIT ?";
+
+    static final String PENDING_FOR_TOPIC = PENDING_COLUMNS
+        + "WHERE replayed_at IS NULL AND topic = ? ORDER BY parked_at, partition_id, record_offset LIMIT ?";
+
+    static final String PENDING_COUNTS = "SELECT topic, count(*) FROM " + TABLE + " "
+        + "WHERE replayed_at IS NULL GROUP BY topic ORDER BY topic";
+
+    static final String MARK_REPLAYED = "UPDATE " + TABLE + " SET replayed_at = ?, "
+        + "replay_attempts = replay_attempts + 1, last_replay_error = NULL WHERE id = ?";
+
+    static final String MARK_FAILED = "UPDATE " + TABLE + " SET replay_attempts = replay_attempts + 1, "
+        + "last_replay_error = ? WHERE id = ?";
+
+    private static final RowMapper<ParkedRecord> PARKED_RECORD = (rs, rowNum) -> new ParkedRecord(
+        rs.getObject("id", UUID.class),
+        rs.getString("topic"),
+        rs.getInt("partition_id"),
+        rs.getLong("record_offset"),
+        rs.getString("record_key"),
+        rs.getBytes("payload"),
+        rs.getString("error_class"),
+        rs.getString("error_message"),
+        rs.getTimestamp("parked_at").toInstant(),
+        rs.getInt("replay_attempts"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    @Autowired
+    public KafkaParkingLot(JdbcTemplate jdbcTemplate) {
+        this(jdbcTemplate, Clock.systemUTC());
+    }
+
+    KafkaParkingLot(JdbcTemplate jdbcTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Parks a failed record. Returns false if it was already parked.
+     */
+    public boolean park(String topic, int partition, long offset, String key, byte[] payload,
+                        String errorClass, String errorMessage, String errorTrace) {
+        return jdbcTemplate.update(PARK, UUID.randomUUID(), topic, partition, offset, key, payload,
+            errorClass, errorMessage, errorTrace, Timestamp.from(clock.instant())) > 0;
+    }
+
+    /**
+     * Records not replayed yet, oldest first, optionally for one topic.
+     */
+    public List<ParkedRecord> pending(String topic, int limit) {
+        return topic == null
+            ? jdbcTemplate.query(PENDING, PARKED_RECORD, limit)
+            : jdbcTemplate.query(PENDING_FOR_TOPIC, PARKED_RECORD, topic, limit);
+    }
+
+    /**
+     * Number of records waiting for a replay, by topic.
+     */
+    public Map<String, Long> pendingCounts() {
+        var counts = new LinkedHashMap<String, Long>();
+        jdbcTemplate.query(PENDING_COUNTS, rs -> {
+            counts.put(rs.getString(1), rs.getLong(2));
+        });
+        return counts;
+    }
+
+    public void markReplayed(List<UUID> ids) {
+        if (ids.isEmpty()) return;
+        var replayedAt = Timestamp.from(clock.instant());
+        jdbcTemplate.batchUpdate(MARK_REPLAYED, ids.stream()
+            .map(id -> new Object[] {replayedAt, id})
+            .toList());
+    }
+
+    public void markFailed(UUID id, String error) {
+        jdbcTemplate.update(MARK_FAILED, error, id);
+    }
+
+    public record ParkedRecord(
+        UUID id,
+        String topic,
+        int partition,
+        long offset,
+        String key,
+        byte[] payload,
+        String errorClass,
+        String errorMessage,
+        Instant parkedAt,
+        int replayAttempts
+    ) {}
+}
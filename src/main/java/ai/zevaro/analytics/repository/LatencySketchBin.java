@@ -0,0 +1,56 @@
+package ai.zevaro.analytics.repository;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One bin of a daily cycle-time sketch (see ai.zevaro.analytics.metrics.LatencySketch).
+ * The sketch for the whole tenant uses an empty dimension; per-dimension sketches
+ * (by priority, severity, ...) store one set of bins per dimension value.
+ */
+@Entity
+@Table(name = "latency_sketch_bins", schema = "analytics",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_latency_sketch_bin",
+        columnNames = {"tenant_id", "metric", "dimension", "dimension_value", "sketch_date", "bin_index"}
+    ))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class LatencySketchBin {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "metric", nullable = false, length = 50)
+    private String metric;
+
+    @Column(name = "dimension", nullable = false, length = 30)
+    @Builder.Default
+    private String dimension = "";
+
+    @Column(name = "dimension_value", nullable = false, length = 50)
+    @Builder.Default
+    private String dimensionValue = "";
+
+    @Column(name = "sketch_date", nullable = false)
+    private LocalDate sketchDate;
+
+    @Column(name = "bin_index", nullable = false)
+    private int binIndex;
+
+    @Column(name = "bin_count", nullable = false)
+    private long binCount;
+
+    @Column(name = "updated_at")
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,54 @@
+package ai.zevaro.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LatencySketchBinRepository extends JpaRepository<LatencySketchBin, UUID> {
+
+    /**
+     * Atomically creates or bumps a sketch bin.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO analytics.latency_sketch_bins (id, tenant_id, metric, dimension, dimension_value, " +
+                   "sketch_date, bin_index, bin_count, updated_at) " +
+                   "VALUES (gen_random_uuid(), :tenantId, :metric, :dimension, :dimensionValue, " +
+                   ":sketchDate, :binIndex, :delta, now()) " +
+                   "ON CONFLICT (tenant_id, metric, dimension, dimension_value, sketch_date, bin_index) " +
+                   "DO UPDATE SET bin_count = latency_sketch_bins.bin_count + EXCLUDED.bin_count, updated_at = now()",
+           nativeQuery = true)
+    int increment(
+        @Param("tenantId") UUID tenantId,
+        @Param("metric") String metric,
+        @Param("dimension") String dimension,
+        @Param("dimensionValue") String dimensionValue,
+        @Param("sketchDate") LocalDate sketchDate,
+        @Param("binIndex") int binIndex,
+        @Param("delta") long delta);
+
+    /**
+     * Merged sketch over a date range: [binIndex, binCount] per bin.
+     */
+    @Query("SELECT b.binIndex, SUM(b.binCount) FROM LatencySketchBin b " +
+           "WHERE b.tenantId = :tenantId AND b.metric = :metric AND b.dimension = :dimension " +
+           "AND b.dimensionValue = :dimensionValue AND b.sketchDate BETWEEN :from AND :to " +
+           "GROUP BY b.binIndex")
+    List<Object[]> sumBins(
+        @Param("tenantId") UUID tenantId,
+        @Param("metric") String metric,
+        @Param("dimension") String dimension,
+        @Param("dimensionValue") String dimensionValue,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM LatencySketchBin b WHERE b.tenantId = :tenantId AND b.metric = :metric")
+    int deleteByTenantIdAndMetric(@Param("tenantId") UUID tenantId, @Param("metric") String metric);
+}
@@ -1,10 +1,15 @@
 package ai.zevaro.analytics.repository;
 
+import ai.zevaro.analytics.config.AppConstants;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -39,4 +44,77 @@ public interface MetricSnapshotRepository extends JpaRepository<MetricSnapshot,
         @Param("projectId") UUID projectId,
         @Param("metricType") String metricType,
         @Param("limit") int limit);
+
+    /**
+     * Atomically adds counter deltas to a daily snapshot, creating it if needed.
+     * The value and the validated/invalidated dimensions are incremented in place,
+     * so concurrent writers never read-modify-write the same row.
+     * projectId is cast through text so a null binds cleanly whatever type the driver infers.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO analytics.metric_snapshots " +
+                   "(id, tenant_id, project_id, metric_type, metric_date, value, dimensions, created_at) " +
+                   "VALUES (gen_random_uuid(), :tenantId, CAST(CAST(:projectId AS text) AS uuid), :metricType, :metricDate, " +
+                   ":value, jsonb_build_object('validated', :validated, 'invalidated', :invalidated), now()) " +
+                   "ON CONFLICT (tenant_id, metric_type, metric_date) DO UPDATE SET " +
+                   "value = metric_snapshots.value + EXCLUDED.value, " +
+                   "dimensions = COALESCE(metric_snapshots.dimensions, CAST('{}' AS jsonb)) || jsonb_build_object(" +
+                   "'validated', COALESCE(CAST(metric_snapshots.dimensions ->> 'validated' AS bigint), 0) + :validated, " +
+                   "'invalidated', COALESCE(CAST(metric_snapshots.dimensions ->> 'invalidated' AS bigint), 0) + :invalidated)",
+           nativeQuery = true)
+    int addCounters(
+        @Param("tenantId") UUID tenantId,
+        @Param("projectId") UUID projectId,
+        @Param("metricType") String metricType,
+        @Param("metricDate") LocalDate metricDate,
+        @Param("value") long value,
+        @Param("validated") long validated,
+        @Param("invalidated") long invalidated);
+
+    // Previous running totals of a DECISION_VELOCITY row, for use inside ON CONFLICT DO UPDATE
+    String PREV_DECISIONS =
+        "COALESCE(CAST(metric_snapshots.dimensions ->> 'decisionsResolved' AS bigint), 0)";
+    String PREV_ESCALATED =
+        "COALESCE(CAST(metric_snapshots.dimensions ->> 'escalatedCount' AS bigint), 0)";
+    String PREV_CYCLE_TIME_SUM =
+        "COALESCE(CAST(metric_snapshots.dimensions ->> 'cycleTimeSum' AS numeric), metric_snapshots.value * " + PREV_DECISIONS + ")";
+
+    /**
+     * Folds one resolved decision into the day's DECISION_VELOCITY snapshot in O(1).
+     * Dimensions carry the running cycleTimeSum, decisionsResolved and escalatedCount;
+     * value is their average. Rows written before cycleTimeSum existed fall back to
+     * value * decisionsResolved.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO analytics.metric_snapshots " +
+                   "(id, tenant_id, project_id, metric_type, metric_date, value, dimensions, created_at) " +
+                   "VALUES (gen_random_uuid(), :tenantId, CAST(CAST(:projectId AS text) AS uuid), " +
+                   "'" + AppConstants.METRIC_DECISION_VELOCITY + "', :metricDate, " +
+                   ":cycleTimeHours, jsonb_build_object('cycleTimeSum', :cycleTimeHours, 'decisionsResolved', 1, " +
+                   "'escalatedCount', :escalated, 'escalationRate', CAST(:escalated AS double precision)), now()) " +
+                   "ON CONFLICT (tenant_id, metric_type, metric_date) DO UPDATE SET " +
+                   "value = ROUND((" + PREV_CYCLE_TIME_SUM + " + :cycleTimeHours) / (" + PREV_DECISIONS + " + 1), 2), " +
+                   "dimensions = COALESCE(metric_snapshots.dimensions, CAST('{}' AS jsonb)) || jsonb_build_object(" +
+                   "'cycleTimeSum', " + PREV_CYCLE_TIME_SUM + " + :cycleTimeHours, " +
+                   "'decisionsResolved', " + PREV_DECISIONS + " + 1, " +
+                   "'escalatedCount', " + PREV_ESCALATED + " + :escalated, " +
+                   "'escalationRate', CAST(" + PREV_ESCALATED + " + :escalated AS double precision) / (" + PREV_DECISIONS + " + 1))",
+           nativeQuery = true)
+    int addDecisionResolved(
+        @Param("tenantId") UUID tenantId,
+        @Param("projectId") UUID projectId,
+        @Param("metricDate") LocalDate metricDate,
+        @Param("cycleTimeHours") BigDecimal cycleTimeHours,
+        @Param("escalated") long escalated);
+
+    List<MetricSnapshot> findByMetricTypeAndMetricDateBetween(
+        String metricType, LocalDate startDate, LocalDate endDate);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MetricSnapshot m WHERE m.tenantId = :tenantId " +
+           "AND m.metricType = :metricType AND m.metricDate = :metricDate")
+    Optional<MetricSnapshot> lockByTenantIdAndMetricTypeAndMetricDate(
+        @Param("tenantId") UUID tenantId,
+        @Param("metricType") String metricType,
+        @Param("metricDate") LocalDate metricDate);
 }
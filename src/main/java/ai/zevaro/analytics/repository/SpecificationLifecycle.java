@@ -0,0 +1,52 @@
+package ai.zevaro.analytics.repository;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Current state of one specification, so pending and approved counts and approval
+ * cycle times come from indexed aggregates instead of set algebra over the event
+ * history. Columns stay null until the corresponding event has been ingested.
+ */
+@Entity
+@Table(name = "specification_lifecycle", schema = "analytics",
+    indexes = {
+        @Index(name = "idx_specification_lifecycle_pending", columnList = "tenant_id, created_at"),
+        @Index(name = "idx_specification_lifecycle_approved", columnList = "tenant_id, approved_at")
+    })
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SpecificationLifecycle {
+
+    @Id
+    @Column(name = "specification_id")
+    private UUID specificationId;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "program_id")
+    private UUID programId;
+
+    @Column(name = "workstream_id")
+    private UUID workstreamId;
+
+    @Column(name = "status", length = 50)
+    private String status;
+
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "approved_at")
+    private Instant approvedAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
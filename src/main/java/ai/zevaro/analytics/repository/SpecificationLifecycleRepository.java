@@ -0,0 +1,78 @@
+package ai.zevaro.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Upserts keyed by specification id. A new specification starts as DRAFT; status
+ * changes and approvals only apply when they are at least as recent as the stored
+ * status, so redelivered or out-of-order events never regress it.
+ */
+@Repository
+public interface SpecificationLifecycleRepository extends JpaRepository<SpecificationLifecycle, UUID> {
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.specification_lifecycle (specification_id, tenant_id, program_id, " +
+                   "workstream_id, status, created_at, updated_at) " +
+                   "VALUES (:specificationId, :tenantId, :programId, :workstreamId, 'DRAFT', :createdAt, now()) " +
+                   "ON CONFLICT (specification_id) DO UPDATE SET program_id = EXCLUDED.program_id, " +
+                   "workstream_id = EXCLUDED.workstream_id, created_at = EXCLUDED.created_at, " +
+                   "status = COALESCE(specification_lifecycle.status, EXCLUDED.status), updated_at = now()",
+           nativeQuery = true)
+    int recordCreated(
+        @Param("tenantId") UUID tenantId,
+        @Param("specificationId") UUID specificationId,
+        @Param("programId") UUID programId,
+        @Param("workstreamId") UUID workstreamId,
+        @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.specification_lifecycle (specification_id, tenant_id, status, " +
+                   "status_changed_at, updated_at) " +
+                   "VALUES (:specificationId, :tenantId, :status, :changedAt, now()) " +
+                   "ON CONFLICT (specification_id) DO UPDATE SET status = EXCLUDED.status, " +
+                   "status_changed_at = EXCLUDED.status_changed_at, updated_at = now() " +
+                   "WHERE specification_lifecycle.status_changed_at IS NULL " +
+                   "OR specification_lifecycle.status_changed_at <= EXCLUDED.status_changed_at",
+           nativeQuery = true)
+    int recordStatusChanged(
+        @Param("tenantId") UUID tenantId,
+        @Param("specificationId") UUID specificationId,
+        @Param("status") String status,
+        @Param("changedAt") Instant changedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.specification_lifecycle (specification_id, tenant_id, status, " +
+                   "status_changed_at, approved_at, updated_at) " +
+                   "VALUES (:specificationId, :tenantId, 'APPROVED', :approvedAt, :approvedAt, now()) " +
+                   "ON CONFLICT (specification_id) DO UPDATE SET approved_at = EXCLUDED.approved_at, " +
+                   "status = CASE WHEN specification_lifecycle.status_changed_at IS NULL " +
+                   "OR specification_lifecycle.status_changed_at <= EXCLUDED.status_changed_at " +
+                   "THEN EXCLUDED.status ELSE specification_lifecycle.status END, " +
+                   "status_changed_at = GREATEST(specification_lifecycle.status_changed_at, " +
+                   "EXCLUDED.status_changed_at), updated_at = now() " +
+                   "WHERE specification_lifecycle.approved_at IS NULL " +
+                   "OR specification_lifecycle.approved_at <= EXCLUDED.approved_at",
+           nativeQuery = true)
+    int recordApproved(
+        @Param("tenantId") UUID tenantId,
+        @Param("specificationId") UUID specificationId,
+        @Param("approvedAt") Instant approvedAt);
+
+    @Query(value = "SELECT count(*) FROM analytics.specification_lifecycle " +
+                   "WHERE tenant_id = :tenantId AND created_at IS NOT NULL " +
+                   "AND status NOT IN ('APPROVED', 'REJECTED')",
+           nativeQuery = true)
+    long countPendingReview(@Param("tenantId") UUID tenantId);
+
+    @Query(value = "SELECT count(*) FROM analytics.specification_lifecycle " +
+                   "WHERE tenant_id = :tenantId AND approved_at >= :since",
+           nativeQuery = true)
+    long countApprovedSince(@Param("tenantId") UUID tenantId, @Param("since") Instant since);
+}
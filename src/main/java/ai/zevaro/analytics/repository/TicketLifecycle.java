@@ -0,0 +1,61 @@
+package ai.zevaro.analytics.repository;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Current lifecycle of one ticket, so resolution times come from a single row instead
+ * of re-joining the ticket's created and resolved events. Columns stay null until the
+ * corresponding event has been ingested.
+ */
+@Entity
+@Table(name = "ticket_lifecycle", schema = "analytics",
+    indexes = {
+        @Index(name = "idx_ticket_lifecycle_resolved", columnList = "tenant_id, resolved_at"),
+        @Index(name = "idx_ticket_lifecycle_open", columnList = "tenant_id, created_at")
+    })
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TicketLifecycle {
+
+    @Id
+    @Column(name = "ticket_id")
+    private UUID ticketId;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "workstream_id")
+    private UUID workstreamId;
+
+    @Column(name = "type", length = 50)
+    private String type;
+
+    @Column(name = "severity", length = 50)
+    private String severity;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "assignee_id")
+    private UUID assigneeId;
+
+    @Column(name = "assigned_at")
+    private Instant assignedAt;
+
+    @Column(name = "resolved_at")
+    private Instant resolvedAt;
+
+    @Column(name = "resolution", length = 50)
+    private String resolution;
+
+    @Column(name = "resolved_by_id")
+    private UUID resolvedById;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
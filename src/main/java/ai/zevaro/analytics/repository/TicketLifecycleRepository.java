@@ -0,0 +1,67 @@
+package ai.zevaro.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Upserts keyed by ticket id: whichever ticket event arrives first creates the row,
+ * and redelivered or out-of-order events never overwrite newer state.
+ */
+@Repository
+public interface TicketLifecycleRepository extends JpaRepository<TicketLifecycle, UUID> {
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.ticket_lifecycle (ticket_id, tenant_id, workstream_id, type, severity, " +
+                   "created_at, updated_at) " +
+                   "VALUES (:ticketId, :tenantId, :workstreamId, :type, :severity, :createdAt, now()) " +
+                   "ON CONFLICT (ticket_id) DO UPDATE SET workstream_id = EXCLUDED.workstream_id, " +
+                   "type = EXCLUDED.type, severity = EXCLUDED.severity, created_at = EXCLUDED.created_at, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int recordCreated(
+        @Param("tenantId") UUID tenantId,
+        @Param("ticketId") UUID ticketId,
+        @Param("workstreamId") UUID workstreamId,
+        @Param("type") String type,
+        @Param("severity") String severity,
+        @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.ticket_lifecycle (ticket_id, tenant_id, assignee_id, assigned_at, updated_at) " +
+                   "VALUES (:ticketId, :tenantId, :assigneeId, :assignedAt, now()) " +
+                   "ON CONFLICT (ticket_id) DO UPDATE SET assignee_id = EXCLUDED.assignee_id, " +
+                   "assigned_at = EXCLUDED.assigned_at, updated_at = now() " +
+                   "WHERE ticket_lifecycle.assigned_at IS NULL OR ticket_lifecycle.assigned_at <= EXCLUDED.assigned_at",
+           nativeQuery = true)
+    int recordAssigned(
+        @Param("tenantId") UUID tenantId,
+        @Param("ticketId") UUID ticketId,
+        @Param("assigneeId") UUID assigneeId,
+        @Param("assignedAt") Instant assignedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.ticket_lifecycle (ticket_id, tenant_id, resolved_at, resolution, " +
+                   "resolved_by_id, updated_at) " +
+                   "VALUES (:ticketId, :tenantId, :resolvedAt, :resolution, :resolvedById, now()) " +
+                   "ON CONFLICT (ticket_id) DO UPDATE SET resolved_at = EXCLUDED.resolved_at, " +
+                   "resolution = EXCLUDED.resolution, resolved_by_id = EXCLUDED.resolved_by_id, updated_at = now() " +
+                   "WHERE ticket_lifecycle.resolved_at IS NULL OR ticket_lifecycle.resolved_at <= EXCLUDED.resolved_at",
+           nativeQuery = true)
+    int recordResolved(
+        @Param("tenantId") UUID tenantId,
+        @Param("ticketId") UUID ticketId,
+        @Param("resolution") String resolution,
+        @Param("resolvedById") UUID resolvedById,
+        @Param("resolvedAt") Instant resolvedAt);
+
+    @Query(value = "SELECT count(*) FROM analytics.ticket_lifecycle " +
+                   "WHERE tenant_id = :tenantId AND resolved_at IS NOT NULL AND created_at IS NOT NULL",
+           nativeQuery = true)
+    long countResolved(@Param("tenantId") UUID tenantId);
+}
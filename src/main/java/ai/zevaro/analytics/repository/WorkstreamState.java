@@ -0,0 +1,52 @@
+package ai.zevaro.analytics.repository;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Current state of one workstream, so per-status counts and the workstream's program
+ * and execution mode come from a single row instead of replaying its events. Columns
+ * stay null until the corresponding event has been ingested.
+ */
+@Entity
+@Table(name = "workstream_state", schema = "analytics",
+    indexes = {
+        @Index(name = "idx_workstream_state_status", columnList = "tenant_id, status"),
+        @Index(name = "idx_workstream_state_program_status", columnList = "tenant_id, program_id, status")
+    })
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class WorkstreamState {
+
+    @Id
+    @Column(name = "workstream_id")
+    private UUID workstreamId;
+
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "program_id")
+    private UUID programId;
+
+    @Column(name = "mode", length = 50)
+    private String mode;
+
+    @Column(name = "execution_mode", length = 50)
+    private String executionMode;
+
+    @Column(name = "status", length = 50)
+    private String status;
+
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,70 @@
+package ai.zevaro.analytics.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Upserts keyed by workstream id. A new workstream starts as NEW; a status change only
+ * applies when it is at least as recent as the stored status, so redelivered or
+ * out-of-order events never regress it.
+ */
+@Repository
+public interface WorkstreamStateRepository extends JpaRepository<WorkstreamState, UUID> {
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.workstream_state (workstream_id, tenant_id, program_id, mode, " +
+                   "execution_mode, status, created_at, updated_at) " +
+                   "VALUES (:workstreamId, :tenantId, :programId, :mode, :executionMode, 'NEW', :createdAt, now()) " +
+                   "ON CONFLICT (workstream_id) DO UPDATE SET program_id = EXCLUDED.program_id, " +
+                   "mode = EXCLUDED.mode, execution_mode = EXCLUDED.execution_mode, " +
+                   "created_at = EXCLUDED.created_at, " +
+                   "status = COALESCE(workstream_state.status, EXCLUDED.status), updated_at = now()",
+           nativeQuery = true)
+    int recordCreated(
+        @Param("tenantId") UUID tenantId,
+        @Param("workstreamId") UUID workstreamId,
+        @Param("programId") UUID programId,
+        @Param("mode") String mode,
+        @Param("executionMode") String executionMode,
+        @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO analytics.workstream_state (workstream_id, tenant_id, status, status_changed_at, " +
+                   "updated_at) " +
+                   "VALUES (:workstreamId, :tenantId, :status, :changedAt, now()) " +
+                   "ON CONFLICT (workstream_id) DO UPDATE SET status = EXCLUDED.status, " +
+                   "status_changed_at = EXCLUDED.status_changed_at, updated_at = now() " +
+                   "WHERE workstream_state.status_changed_at IS NULL " +
+                   "OR workstream_state.status_changed_at <= EXCLUDED.status_changed_at",
+           nativeQuery = true)
+    int recordStatusChanged(
+        @Param("tenantId") UUID tenantId,
+        @Param("workstreamId") UUID workstreamId,
+        @Param("status") String status,
+        @Param("changedAt") Instant changedAt);
+
+    /**
+     * Returns [status, count] rows for the tenant's workstreams.
+     */
+    @Query(value = "SELECT status, count(*) FROM analytics.workstream_state " +
+                   "WHERE tenant_id = :tenantId AND created_at IS NOT NULL " +
+                   "GROUP BY status",
+           nativeQuery = true)
+    List<Object[]> countByStatus(@Param("tenantId") UUID tenantId);
+
+    /**
+     * Returns [status, count] rows for the workstreams of one program.
+     */
+    @Query(value = "SELECT status, count(*) FROM analytics.workstream_state " +
+                   "WHERE tenant_id = :tenantId AND program_id = :programId AND created_at IS NOT NULL " +
+                   "GROUP BY status",
+           nativeQuery = true)
+    List<Object[]> countByStatusForProgram(@Param("tenantId") UUID tenantId, @Param("programId") UUID programId);
+}
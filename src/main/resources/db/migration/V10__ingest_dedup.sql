@@ -0,0 +1,27 @@
+-- Natural keys for idempotent ingestion. A redelivered Core event carries the same
+-- entity, type and timestamp (a decision resolves once), so inserts skip it with
+-- ON CONFLICT DO NOTHING instead of double counting. Both keys include the table's
+-- partition key, as unique indexes on partitioned tables require.
+
+-- Keep one copy of rows duplicated by earlier replays. Projections fed by the removed
+-- copies are repaired with the rebuild endpoints.
+DELETE FROM analytics.analytics_events a
+USING analytics.analytics_events b
+WHERE a.entity_id = b.entity_id
+  AND a.event_type = b.event_type
+  AND a.event_timestamp = b.event_timestamp
+  AND a.tenant_id = b.tenant_id
+  AND a.id > b.id;
+
+DELETE FROM analytics.decision_cycle_log a
+USING analytics.decision_cycle_log b
+WHERE a.tenant_id = b.tenant_id
+  AND a.decision_id = b.decision_id
+  AND a.id > b.id;
+
+-- Leads with (entity_id, event_type), so it replaces idx_ae_entity_type for entity lookups
+CREATE UNIQUE INDEX uk_ae_event_key
+    ON analytics.analytics_events (entity_id, event_type, event_timestamp, tenant_id);
+DROP INDEX IF EXISTS analytics.idx_ae_entity_type;
+
+CREATE UNIQUE INDEX uk_cycle_decision ON analytics.decision_cycle_log (tenant_id, decision_id);
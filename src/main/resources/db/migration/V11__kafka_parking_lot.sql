@@ -0,0 +1,27 @@
+-- Kafka records that failed after retries. The error handler publishes them to the
+-- topic's dead-letter topic (<topic>.DLT); the dead-letter listener parks them here with
+-- the payload and the error, so they can be inspected and replayed in bulk instead of
+-- re-consuming whole topics from earliest. Keyed by the original record position, so a
+-- redelivered dead letter is parked once.
+
+CREATE TABLE analytics.kafka_parking_lot (
+    id              uuid                        NOT NULL,
+    topic           varchar(255)                NOT NULL,
+    partition_id    integer                     NOT NULL,
+    record_offset   bigint                      NOT NULL,
+    record_key      varchar(255),
+    payload         bytea,
+    error_class     varchar(255),
+    error_message   text,
+    error_trace     text,
+    parked_at       timestamp(6) with time zone NOT NULL,
+    replay_attempts integer                     NOT NULL DEFAULT 0,
+    last_replay_error text,
+    replayed_at     timestamp(6) with time zone,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_parking_lot_record UNIQUE (topic, partition_id, record_offset)
+);
+
+-- Records still waiting for a replay, oldest first per topic
+CREATE INDEX idx_parking_lot_pending ON analytics.kafka_parking_lot (topic, parked_at)
+    WHERE replayed_at IS NULL;
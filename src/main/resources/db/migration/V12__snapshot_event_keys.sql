@@ -0,0 +1,13 @@
+-- Natural keys of the events that only feed snapshot counters (outcome validated or
+-- invalidated, hypothesis concluded). They have no analytics_events row to conflict on,
+-- so without this table a redelivered event was counted again. Batch ingestion inserts
+-- the key with ON CONFLICT DO NOTHING in the counting transaction and only counts
+-- events whose key is new. One small row per outcome or hypothesis transition.
+
+CREATE TABLE analytics.snapshot_event_keys (
+    tenant_id   uuid                        NOT NULL,
+    event_type  varchar(50)                 NOT NULL,
+    entity_id   uuid                        NOT NULL,
+    occurred_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (entity_id, event_type, occurred_at, tenant_id)
+);
@@ -0,0 +1,70 @@
+-- Schema as previously generated by hibernate.ddl-auto: update.
+-- Existing databases are baselined at this version and skip it.
+
+CREATE TABLE analytics.analytics_events (
+    id              uuid                        NOT NULL,
+    tenant_id       uuid                        NOT NULL,
+    event_type      varchar(50)                 NOT NULL,
+    entity_id       uuid                        NOT NULL,
+    parent_id       uuid,
+    metadata        jsonb,
+    event_timestamp timestamp(6) with time zone NOT NULL,
+    recorded_at     timestamp(6) with time zone,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_ae_tenant_type_time ON analytics.analytics_events (tenant_id, event_type, event_timestamp);
+CREATE INDEX idx_ae_entity_type ON analytics.analytics_events (entity_id, event_type);
+
+CREATE TABLE analytics.dashboard_counters (
+    id           uuid                        NOT NULL,
+    tenant_id    uuid                        NOT NULL,
+    counter_name varchar(50)                 NOT NULL,
+    bucket       varchar(50)                 NOT NULL,
+    value        bigint                      NOT NULL,
+    updated_at   timestamp(6) with time zone,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_dashboard_counter UNIQUE (tenant_id, counter_name, bucket)
+);
+
+CREATE TABLE analytics.decision_cycle_log (
+    id               uuid                        NOT NULL,
+    tenant_id        uuid                        NOT NULL,
+    project_id       uuid,
+    decision_id      uuid                        NOT NULL,
+    created_at       timestamp(6) with time zone NOT NULL,
+    resolved_at      timestamp(6) with time zone NOT NULL,
+    cycle_time_hours numeric(10, 2)              NOT NULL,
+    priority         varchar(20),
+    decision_type    varchar(50),
+    was_escalated    boolean,
+    stakeholder_id   uuid,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_cycle_tenant_resolved ON analytics.decision_cycle_log (tenant_id, resolved_at);
+CREATE INDEX idx_cycle_stakeholder ON analytics.decision_cycle_log (stakeholder_id);
+
+CREATE TABLE analytics.metric_snapshots (
+    id          uuid                        NOT NULL,
+    tenant_id   uuid                        NOT NULL,
+    project_id  uuid,
+    metric_type varchar(50)                 NOT NULL,
+    metric_date date                        NOT NULL,
+    value       numeric(15, 4)              NOT NULL,
+    dimensions  jsonb,
+    created_at  timestamp(6) with time zone,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_metric_snapshot UNIQUE (tenant_id, metric_type, metric_date)
+);
+CREATE INDEX idx_metric_tenant_type_date ON analytics.metric_snapshots (tenant_id, metric_type, metric_date);
+
+CREATE TABLE analytics.reports (
+    id           uuid                        NOT NULL,
+    tenant_id    uuid                        NOT NULL,
+    report_type  varchar(50)                 NOT NULL,
+    period_start date                        NOT NULL,
+    period_end   date                        NOT NULL,
+    data         jsonb                       NOT NULL,
+    generated_at timestamp(6) with time zone,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_reports_tenant_type ON analytics.reports (tenant_id, report_type, period_start, period_end);
@@ -0,0 +1,39 @@
+-- Range-partition analytics_events by month on event_timestamp.
+-- AnalyticsEventPartitionManager creates future partitions and drops expired ones.
+-- Skipped when an earlier release already converted the table at startup.
+
+DO $$
+DECLARE
+    oldest date;
+    month  date;
+BEGIN
+    IF (SELECT c.relkind FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'analytics' AND c.relname = 'analytics_events') = 'p' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE analytics.analytics_events RENAME TO analytics_events_unpartitioned;
+    CREATE TABLE analytics.analytics_events
+        (LIKE analytics.analytics_events_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+        PARTITION BY RANGE (event_timestamp);
+    CREATE TABLE analytics.analytics_events_pdefault PARTITION OF analytics.analytics_events DEFAULT;
+
+    SELECT min(event_timestamp AT TIME ZONE 'UTC')::date INTO oldest FROM analytics.analytics_events_unpartitioned;
+    month := date_trunc('month', coalesce(oldest, (now() AT TIME ZONE 'UTC')::date))::date;
+    WHILE month <= (now() AT TIME ZONE 'UTC')::date LOOP
+        EXECUTE format(
+            'CREATE TABLE analytics.%I PARTITION OF analytics.analytics_events FOR VALUES FROM (%L) TO (%L)',
+            'analytics_events_p' || to_char(month, 'YYYY_MM'),
+            month::timestamp AT TIME ZONE 'UTC',
+            (month + interval '1 month')::timestamp AT TIME ZONE 'UTC');
+        month := (month + interval '1 month')::date;
+    END LOOP;
+
+    INSERT INTO analytics.analytics_events SELECT * FROM analytics.analytics_events_unpartitioned;
+    DROP TABLE analytics.analytics_events_unpartitioned;
+
+    -- The partition key has to be part of the primary key
+    ALTER TABLE analytics.analytics_events ADD PRIMARY KEY (id, event_timestamp);
+    CREATE INDEX idx_ae_tenant_type_time ON analytics.analytics_events (tenant_id, event_type, event_timestamp);
+    CREATE INDEX idx_ae_entity_type ON analytics.analytics_events (entity_id, event_type);
+END $$;
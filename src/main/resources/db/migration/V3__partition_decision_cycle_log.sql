@@ -0,0 +1,34 @@
+-- Hash-partition decision_cycle_log by tenant and replace its indexes with covering
+-- indexes, so the per-tenant cycle-time aggregates (dashboard, insights, weekly digest
+-- leaderboard) are answered by index-only scans within a single partition.
+
+ALTER TABLE analytics.decision_cycle_log RENAME TO decision_cycle_log_unpartitioned;
+
+CREATE TABLE analytics.decision_cycle_log
+    (LIKE analytics.decision_cycle_log_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY HASH (tenant_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE analytics.%I PARTITION OF analytics.decision_cycle_log FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            'decision_cycle_log_h' || lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+INSERT INTO analytics.decision_cycle_log SELECT * FROM analytics.decision_cycle_log_unpartitioned;
+DROP TABLE analytics.decision_cycle_log_unpartitioned;
+
+-- The partition key has to be part of the primary key
+ALTER TABLE analytics.decision_cycle_log ADD PRIMARY KEY (id, tenant_id);
+
+-- Averages, escalation counts and the stakeholder leaderboard over resolved_at ranges
+CREATE INDEX idx_cycle_tenant_resolved ON analytics.decision_cycle_log (tenant_id, resolved_at)
+    INCLUDE (stakeholder_id, cycle_time_hours, was_escalated, project_id);
+
+-- The same aggregates filtered by project
+CREATE INDEX idx_cycle_tenant_project_resolved ON analytics.decision_cycle_log (tenant_id, project_id, resolved_at)
+    INCLUDE (cycle_time_hours, was_escalated);
+
+ANALYZE analytics.decision_cycle_log;
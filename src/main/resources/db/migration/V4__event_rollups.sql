@@ -0,0 +1,23 @@
+-- Hourly and daily pre-aggregates of analytics_events, maintained at ingest by
+-- EventRollupService. One row per (scope, granularity, bucket, metric, dimension value);
+-- scope is the tenant itself, a program or a workstream. The unique key doubles as the
+-- read index: metrics endpoints scan one scope and granularity over a bucket range.
+
+CREATE TABLE analytics.event_rollups (
+    id                 uuid                        NOT NULL,
+    tenant_id          uuid                        NOT NULL,
+    scope_type         varchar(10)                 NOT NULL,
+    scope_id           uuid                        NOT NULL,
+    granularity        varchar(5)                  NOT NULL,
+    metric             varchar(50)                 NOT NULL,
+    bucket_start       timestamp(6) with time zone NOT NULL,
+    dimension          varchar(30)                 NOT NULL,
+    dimension_value    varchar(50)                 NOT NULL,
+    event_count        bigint                      NOT NULL,
+    duration_hours_sum double precision            NOT NULL,
+    duration_count     bigint                      NOT NULL,
+    updated_at         timestamp(6) with time zone,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_event_rollup UNIQUE (tenant_id, scope_type, scope_id, granularity, metric,
+                                       bucket_start, dimension, dimension_value)
+);
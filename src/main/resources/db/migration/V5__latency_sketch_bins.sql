@@ -0,0 +1,18 @@
+-- Cycle-time quantile sketches (see LatencySketch): one counter per tenant, metric,
+-- UTC day, dimension value and logarithmic bin. Summing bin counts over a date range
+-- merges the daily sketches, so percentiles never scan the underlying logs.
+
+CREATE TABLE analytics.latency_sketch_bins (
+    id              uuid                        NOT NULL,
+    tenant_id       uuid                        NOT NULL,
+    metric          varchar(50)                 NOT NULL,
+    dimension       varchar(30)                 NOT NULL,
+    dimension_value varchar(50)                 NOT NULL,
+    sketch_date     date                        NOT NULL,
+    bin_index       integer                     NOT NULL,
+    bin_count       bigint                      NOT NULL,
+    updated_at      timestamp(6) with time zone,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_latency_sketch_bin UNIQUE (tenant_id, metric, dimension, dimension_value,
+                                             sketch_date, bin_index)
+);
@@ -0,0 +1,52 @@
+-- Current lifecycle of each ticket, maintained at ingest from the ticket created,
+-- assigned and resolved events. Events may arrive in any order: each upsert fills in
+-- its own columns only, and later assignments and resolutions win over earlier ones.
+
+CREATE TABLE analytics.ticket_lifecycle (
+    ticket_id      uuid                        NOT NULL,
+    tenant_id      uuid                        NOT NULL,
+    workstream_id  uuid,
+    type           varchar(50),
+    severity       varchar(50),
+    created_at     timestamp(6) with time zone,
+    assignee_id    uuid,
+    assigned_at    timestamp(6) with time zone,
+    resolved_at    timestamp(6) with time zone,
+    resolution     varchar(50),
+    resolved_by_id uuid,
+    updated_at     timestamp(6) with time zone,
+    PRIMARY KEY (ticket_id)
+);
+
+-- Resolution times over a period
+CREATE INDEX idx_ticket_lifecycle_resolved ON analytics.ticket_lifecycle (tenant_id, resolved_at)
+    INCLUDE (created_at, severity, workstream_id)
+    WHERE resolved_at IS NOT NULL;
+
+-- Open tickets by age
+CREATE INDEX idx_ticket_lifecycle_open ON analytics.ticket_lifecycle (tenant_id, created_at)
+    WHERE resolved_at IS NULL;
+
+-- Backfill from the retained event history
+INSERT INTO analytics.ticket_lifecycle (ticket_id, tenant_id, workstream_id, type, severity, created_at, updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, (metadata ->> 'workstreamId')::uuid,
+       metadata ->> 'type', metadata ->> 'severity', event_timestamp, now()
+FROM analytics.analytics_events
+WHERE event_type = 'TICKET_CREATED'
+ORDER BY entity_id, event_timestamp DESC;
+
+INSERT INTO analytics.ticket_lifecycle (ticket_id, tenant_id, assignee_id, assigned_at, updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, (metadata ->> 'assignedToId')::uuid, event_timestamp, now()
+FROM analytics.analytics_events
+WHERE event_type = 'TICKET_ASSIGNED'
+ORDER BY entity_id, event_timestamp DESC
+ON CONFLICT (ticket_id) DO UPDATE SET assignee_id = EXCLUDED.assignee_id, assigned_at = EXCLUDED.assigned_at;
+
+INSERT INTO analytics.ticket_lifecycle (ticket_id, tenant_id, resolved_at, resolution, resolved_by_id, updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, event_timestamp, metadata ->> 'resolution',
+       (metadata ->> 'resolvedById')::uuid, now()
+FROM analytics.analytics_events
+WHERE event_type = 'TICKET_RESOLVED'
+ORDER BY entity_id, event_timestamp DESC
+ON CONFLICT (ticket_id) DO UPDATE SET resolved_at = EXCLUDED.resolved_at, resolution = EXCLUDED.resolution,
+    resolved_by_id = EXCLUDED.resolved_by_id;
@@ -0,0 +1,54 @@
+-- Current state of each specification, maintained at ingest from the specification
+-- created, status changed and approved events. Status transitions are versioned by
+-- status_changed_at so a late event never overwrites a newer status.
+
+CREATE TABLE analytics.specification_lifecycle (
+    specification_id  uuid                        NOT NULL,
+    tenant_id         uuid                        NOT NULL,
+    program_id        uuid,
+    workstream_id     uuid,
+    status            varchar(50),
+    status_changed_at timestamp(6) with time zone,
+    created_at        timestamp(6) with time zone,
+    approved_at       timestamp(6) with time zone,
+    updated_at        timestamp(6) with time zone,
+    PRIMARY KEY (specification_id)
+);
+
+-- Specifications still awaiting a decision
+CREATE INDEX idx_specification_lifecycle_pending ON analytics.specification_lifecycle (tenant_id, created_at)
+    WHERE status NOT IN ('APPROVED', 'REJECTED');
+
+-- Approvals over a period, with what is needed for approval cycle times
+CREATE INDEX idx_specification_lifecycle_approved ON analytics.specification_lifecycle (tenant_id, approved_at)
+    INCLUDE (created_at)
+    WHERE approved_at IS NOT NULL;
+
+-- Backfill from the retained event history
+INSERT INTO analytics.specification_lifecycle (specification_id, tenant_id, program_id, workstream_id, status,
+                                               created_at, updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, parent_id, (metadata ->> 'workstreamId')::uuid, 'DRAFT',
+       event_timestamp, now()
+FROM analytics.analytics_events
+WHERE event_type = 'SPEC_CREATED'
+ORDER BY entity_id, event_timestamp DESC;
+
+INSERT INTO analytics.specification_lifecycle (specification_id, tenant_id, status, status_changed_at, updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, metadata ->> 'newStatus', event_timestamp, now()
+FROM analytics.analytics_events
+WHERE event_type = 'SPEC_STATUS_CHANGED'
+ORDER BY entity_id, event_timestamp DESC
+ON CONFLICT (specification_id) DO UPDATE SET status = EXCLUDED.status,
+    status_changed_at = EXCLUDED.status_changed_at;
+
+INSERT INTO analytics.specification_lifecycle (specification_id, tenant_id, status, status_changed_at, approved_at,
+                                               updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, 'APPROVED', event_timestamp, event_timestamp, now()
+FROM analytics.analytics_events
+WHERE event_type = 'SPEC_APPROVED'
+ORDER BY entity_id, event_timestamp DESC
+ON CONFLICT (specification_id) DO UPDATE SET approved_at = EXCLUDED.approved_at,
+    status = CASE WHEN specification_lifecycle.status_changed_at IS NULL
+                    OR specification_lifecycle.status_changed_at <= EXCLUDED.status_changed_at
+                  THEN EXCLUDED.status ELSE specification_lifecycle.status END,
+    status_changed_at = GREATEST(specification_lifecycle.status_changed_at, EXCLUDED.status_changed_at);
@@ -0,0 +1,39 @@
+-- Current state of each workstream, maintained at ingest from the workstream created
+-- and status changed events. Status transitions are versioned by status_changed_at so
+-- events applied out of order converge on the latest status.
+
+CREATE TABLE analytics.workstream_state (
+    workstream_id     uuid                        NOT NULL,
+    tenant_id         uuid                        NOT NULL,
+    program_id        uuid,
+    mode              varchar(50),
+    execution_mode    varchar(50),
+    status            varchar(50),
+    status_changed_at timestamp(6) with time zone,
+    created_at        timestamp(6) with time zone,
+    updated_at        timestamp(6) with time zone,
+    PRIMARY KEY (workstream_id)
+);
+
+-- Per-status counts per tenant and per program
+CREATE INDEX idx_workstream_state_status ON analytics.workstream_state (tenant_id, status)
+    WHERE created_at IS NOT NULL;
+CREATE INDEX idx_workstream_state_program_status ON analytics.workstream_state (tenant_id, program_id, status)
+    WHERE created_at IS NOT NULL;
+
+-- Backfill from the retained event history
+INSERT INTO analytics.workstream_state (workstream_id, tenant_id, program_id, mode, execution_mode, status,
+                                        created_at, updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, parent_id, metadata ->> 'mode',
+       metadata ->> 'executionMode', 'NEW', event_timestamp, now()
+FROM analytics.analytics_events
+WHERE event_type = 'WORKSTREAM_CREATED'
+ORDER BY entity_id, event_timestamp DESC;
+
+INSERT INTO analytics.workstream_state (workstream_id, tenant_id, status, status_changed_at, updated_at)
+SELECT DISTINCT ON (entity_id) entity_id, tenant_id, metadata ->> 'newStatus', event_timestamp, now()
+FROM analytics.analytics_events
+WHERE event_type = 'WORKSTREAM_STATUS_CHANGED'
+ORDER BY entity_id, event_timestamp DESC
+ON CONFLICT (workstream_id) DO UPDATE SET status = EXCLUDED.status,
+    status_changed_at = EXCLUDED.status_changed_at;
@@ -0,0 +1,14 @@
+-- Promote the metadata fields that reads filter and group on to typed columns.
+-- New events are written with these columns set and the keys left out of metadata.
+-- Existing rows are moved over by AnalyticsEventColumnBackfill, one month at a time,
+-- rather than in this migration. Adding nullable columns without a default is a
+-- catalog-only change, even on the partitioned table.
+
+ALTER TABLE analytics.analytics_events
+    ADD COLUMN workstream_id  uuid,
+    ADD COLUMN mode           varchar(50),
+    ADD COLUMN execution_mode varchar(50),
+    ADD COLUMN ticket_type    varchar(50),
+    ADD COLUMN severity       varchar(50),
+    ADD COLUMN new_status     varchar(50),
+    ADD COLUMN resolution     varchar(50);
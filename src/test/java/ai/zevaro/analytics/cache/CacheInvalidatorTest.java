@@ -0,0 +1,117 @@
+package ai.zevaro.analytics.cache;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.DecisionResolvedEvent;
+import ai.zevaro.analytics.consumer.events.ProgramCreatedEvent;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheInvalidator Unit Tests")
+class CacheInvalidatorTest {
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+    private static final UUID OTHER_TENANT_ID = UUID.randomUUID();
+    private static final UUID TEST_PROJECT_ID = UUID.randomUUID();
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheInvalidator invalidator;
+    private Cache dashboard;
+    private Cache metrics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(
+            AppConstants.CACHE_DASHBOARD, AppConstants.CACHE_METRICS, AppConstants.CACHE_REPORTS);
+        invalidator = new CacheInvalidator(cacheManager);
+        dashboard = cacheManager.getCache(AppConstants.CACHE_DASHBOARD);
+        metrics = cacheManager.getCache(AppConstants.CACHE_METRICS);
+
+        dashboard.put(TEST_TENANT_ID + ":null", "dashboard");
+        dashboard.put(TEST_TENANT_ID + ":" + TEST_PROJECT_ID, "project dashboard");
+        dashboard.put("summary:" + TEST_TENANT_ID + ":null", "summary");
+        dashboard.put(OTHER_TENANT_ID + ":null", "other dashboard");
+        metrics.put("tv:" + TEST_TENANT_ID + ":null:30", "ticket velocity");
+        metrics.put("dv:" + TEST_TENANT_ID + ":null:30", "decision velocity");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("flush should evict only the tenant's keys in the scopes the event feeds")
+    void testFlush_EvictsMappedScopesOnly() {
+        invalidator.invalidate(TEST_TENANT_ID, TicketCreatedEvent.class);
+
+        assertThat(dashboard.get(TEST_TENANT_ID + ":null")).isNotNull();
+
+        invalidator.flush();
+
+        assertThat(dashboard.get(TEST_TENANT_ID + ":null")).isNull();
+        assertThat(dashboard.get(TEST_TENANT_ID + ":" + TEST_PROJECT_ID)).isNull();
+        assertThat(metrics.get("tv:" + TEST_TENANT_ID + ":null:30")).isNull();
+        assertThat(dashboard.get("summary:" + TEST_TENANT_ID + ":null")).isNotNull();
+        assertThat(metrics.get("dv:" + TEST_TENANT_ID + ":null:30")).isNotNull();
+        assertThat(dashboard.get(OTHER_TENANT_ID + ":null")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("invalidate inside a transaction should only evict after commit")
+    void testInvalidate_WaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.invalidate(TEST_TENANT_ID, DecisionResolvedEvent.class);
+        invalidator.invalidate(TEST_TENANT_ID, DecisionResolvedEvent.class);
+        invalidator.flush();
+
+        assertThat(dashboard.get("summary:" + TEST_TENANT_ID + ":null")).isNotNull();
+
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        invalidator.flush();
+
+        assertThat(dashboard.get("summary:" + TEST_TENANT_ID + ":null")).isNull();
+        assertThat(metrics.get("dv:" + TEST_TENANT_ID + ":null:30")).isNull();
+        assertThat(TransactionSynchronizationManager.getResource(invalidator)).isNull();
+    }
+
+    @Test
+    @DisplayName("rolled back transactions should evict nothing")
+    void testInvalidate_RollbackEvictsNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.invalidate(TEST_TENANT_ID, TicketCreatedEvent.class);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        invalidator.flush();
+
+        assertThat(dashboard.get(TEST_TENANT_ID + ":null")).isNotNull();
+        assertThat(TransactionSynchronizationManager.getResource(invalidator)).isNull();
+    }
+
+    @Test
+    @DisplayName("events no cached view depends on should not evict anything")
+    void testInvalidate_UnmappedEventIsIgnored() {
+        invalidator.invalidate(TEST_TENANT_ID, ProgramCreatedEvent.class);
+        invalidator.flush();
+
+        assertThat(dashboard.get(TEST_TENANT_ID + ":null")).isNotNull();
+        assertThat(metrics.get("tv:" + TEST_TENANT_ID + ":null:30")).isNotNull();
+    }
+}
@@ -0,0 +1,143 @@
+package ai.zevaro.analytics.cache;
+
+import ai.zevaro.analytics.cache.RefreshAheadCache.Stamped;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshAheadCache Unit Tests")
+class RefreshAheadCacheTest {
+
+    private static final String CACHE_NAME = "dashboard";
+    private static final String KEY = "tenant:null";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private Cache cache;
+    private RefreshAheadCache refreshAheadCache;
+
+    @BeforeEach
+    void setUp() {
+        var cacheManager = new ConcurrentMapCacheManager(CACHE_NAME);
+        cache = cacheManager.getCache(CACHE_NAME);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        refreshAheadCache = new RefreshAheadCache(
+            cacheManager, redisTemplate, Duration.ofMinutes(1), Duration.ofSeconds(30), Duration.ofSeconds(1), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshAheadCache.destroy();
+    }
+
+    @Test
+    @DisplayName("get should compute a miss once and serve the stamped value afterwards")
+    void testGet_ComputesMissOnce() {
+        var loads = new AtomicInteger();
+
+        assertThat(refreshAheadCache.get(CACHE_NAME, KEY, () -> "value-" + loads.incrementAndGet())).isEqualTo("value-1");
+        assertThat(refreshAheadCache.get(CACHE_NAME, KEY, () -> "value-" + loads.incrementAndGet())).isEqualTo("value-1");
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get(KEY).get()).isInstanceOf(Stamped.class);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), anyString());
+    }
+
+    @Test
+    @DisplayName("get should return values rejected as not cacheable without storing them")
+    void testGet_SkipsNonCacheableValues() {
+        var loads = new AtomicInteger();
+
+        assertThat(refreshAheadCache.get(CACHE_NAME, KEY, () -> "partial-" + loads.incrementAndGet(),
+            value -> !value.startsWith("partial"))).isEqualTo("partial-1");
+        assertThat(refreshAheadCache.get(CACHE_NAME, KEY, () -> "partial-" + loads.incrementAndGet(),
+            value -> !value.startsWith("partial"))).isEqualTo("partial-2");
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get(KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("concurrent misses for one key should share a single computation")
+    void testGet_SingleFlight() throws Exception {
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> refreshAheadCache.get(CACHE_NAME, KEY, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(2, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (var result : results) {
+                assertThat(result.get(2, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("stale entries should be served immediately and refreshed in the background")
+    void testGet_RefreshAhead() throws Exception {
+        cache.put(KEY, new Stamped("old", System.currentTimeMillis() - Duration.ofMinutes(2).toMillis()));
+
+        assertThat(refreshAheadCache.get(CACHE_NAME, KEY, () -> "new")).isEqualTo("old");
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (((Stamped) cache.get(KEY).get()).value().equals("old") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(((Stamped) cache.get(KEY).get()).value()).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("a node that loses the load lock should wait for the winner's value")
+    void testGet_WaitsForOtherNode() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            cache.put(KEY, new Stamped("from-other-node", System.currentTimeMillis()));
+            return false;
+        });
+
+        assertThat(refreshAheadCache.get(CACHE_NAME, KEY, () -> "local")).isEqualTo("from-other-node");
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyString());
+    }
+}
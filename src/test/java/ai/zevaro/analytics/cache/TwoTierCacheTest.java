@@ -0,0 +1,113 @@
+package ai.zevaro.analytics.cache;
+
+import ai.zevaro.analytics.cache.TwoTierCache.Invalidation;
+import ai.zevaro.analytics.cache.TwoTierCache.Publisher;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoTierCache Unit Tests")
+class TwoTierCacheTest {
+
+    private static final String CACHE_NAME = "dashboard";
+
+    @Mock
+    private Publisher publisher;
+
+    private ConcurrentMapCache remote;
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache(CACHE_NAME);
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoTierCache(CACHE_NAME, remote, local, publisher, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("get should fill the local tier from the remote tier and serve later reads locally")
+    void testGet_FillsLocalTier() {
+        remote.put("tenant:null", "value");
+
+        assertThat(cache.get("tenant:null").get()).isEqualTo("value");
+        remote.evict("tenant:null");
+        assertThat(cache.get("tenant:null").get()).isEqualTo("value");
+
+        assertThat(count("local", "hit")).isEqualTo(1);
+        assertThat(count("local", "miss")).isEqualTo(1);
+        assertThat(count("remote", "hit")).isEqualTo(1);
+        assertThat(count("remote", "miss")).isZero();
+    }
+
+    @Test
+    @DisplayName("get should cache null values locally without confusing them with misses")
+    void testGet_NullValue() {
+        cache.put("tenant:null", null);
+
+        var wrapper = cache.get("tenant:null");
+
+        assertThat(wrapper).isNotNull();
+        assertThat(wrapper.get()).isNull();
+        assertThat(count("local", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put and evict should write both tiers and notify other nodes")
+    void testPutAndEvict_PublishInvalidations() {
+        cache.put("tenant:null", "value");
+
+        assertThat(remote.get("tenant:null").get()).isEqualTo("value");
+        assertThat(local.getIfPresent("tenant:null")).isEqualTo("value");
+
+        cache.evict("tenant:null");
+
+        assertThat(remote.get("tenant:null")).isNull();
+        assertThat(local.getIfPresent("tenant:null")).isNull();
+        verify(publisher, times(2)).publish(CACHE_NAME, Invalidation.EVICT, "tenant:null");
+    }
+
+    @Test
+    @DisplayName("evictByPrefix should clean both tiers and broadcast the prefix")
+    void testEvictByPrefix() {
+        cache.put("a:1", "one");
+        cache.put("a:2", "two");
+        cache.put("b:1", "other");
+
+        cache.evictByPrefix("a:");
+
+        assertThat(cache.get("a:1")).isNull();
+        assertThat(cache.get("a:2")).isNull();
+        assertThat(cache.get("b:1").get()).isEqualTo("other");
+        verify(publisher).publish(CACHE_NAME, Invalidation.PREFIX, "a:");
+    }
+
+    @Test
+    @DisplayName("evictLocal should only touch the local tier")
+    void testEvictLocal_LeavesRemoteTier() {
+        cache.put("a:1", "one");
+
+        cache.evictLocal(Invalidation.PREFIX, "a:");
+
+        assertThat(local.getIfPresent("a:1")).isNull();
+        assertThat(remote.get("a:1").get()).isEqualTo("one");
+    }
+
+    private long count(String tier, String result) {
+        return meterRegistry.get("analytics.cache.gets")
+            .tag("cache", CACHE_NAME).tag("tier", tier).tag("result", result)
+            .timer().count();
+    }
+}
@@ -0,0 +1,163 @@
+package ai.zevaro.analytics.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CoreCallGuard Unit Tests")
+class CoreCallGuardTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private CoreCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        guard = new CoreCallGuard(meterRegistry, 2, 3, Duration.ofSeconds(30),
+            Executors.newVirtualThreadPerTaskExecutor(), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.destroy();
+    }
+
+    @Test
+    @DisplayName("call should complete with the result and record a success timing")
+    void testCall_Success() {
+        assertThat(guard.call("getOutcome", () -> "outcome", "fallback")).succeedsWithin(WAIT).isEqualTo("outcome");
+
+        assertThat(count("getOutcome", "success")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("call should complete with the fallback when the request fails")
+    void testCall_FailureReturnsFallback() {
+        var result = guard.call("getOutcome", () -> {
+            throw new IllegalStateException("core down");
+        }, "fallback");
+
+        assertThat(result).succeedsWithin(WAIT).isEqualTo("fallback");
+        assertThat(count("getOutcome", "failure")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the breaker should open after consecutive failures and short-circuit further calls")
+    void testCircuitBreaker_OpensAndShortCircuits() {
+        failTimes(3);
+        assertThat(guard.state()).isEqualTo(CoreCallGuard.State.OPEN);
+
+        var calls = new AtomicInteger();
+        var result = guard.call("getOutcome", calls::incrementAndGet, -1);
+
+        assertThat(result).isCompletedWithValue(-1);
+        assertThat(calls).hasValue(0);
+        assertThat(count("getOutcome", "short_circuited")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a successful trial after the open duration should close the breaker")
+    void testCircuitBreaker_HalfOpenTrialCloses() {
+        failTimes(3);
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(guard.state()).isEqualTo(CoreCallGuard.State.HALF_OPEN);
+
+        assertThat(guard.call("getOutcome", () -> 1, -1)).succeedsWithin(WAIT).isEqualTo(1);
+
+        assertThat(guard.state()).isEqualTo(CoreCallGuard.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("a failed trial should re-open the breaker")
+    void testCircuitBreaker_HalfOpenTrialFails() {
+        failTimes(3);
+        clock.advance(Duration.ofSeconds(31));
+
+        failTimes(1);
+
+        assertThat(guard.state()).isEqualTo(CoreCallGuard.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("the bulkhead should reject calls beyond the per-endpoint limit without tripping the breaker")
+    void testBulkhead_RejectsExcessCalls() throws Exception {
+        var release = new CountDownLatch(1);
+        var blocking = guard.call("getStakeholders", () -> await(release), -1);
+        var blocking2 = guard.call("getStakeholders", () -> await(release), -1);
+
+        var rejected = guard.call("getStakeholders", () -> 3, -1);
+        var otherEndpoint = guard.call("getOutcome", () -> 4, -1);
+
+        assertThat(rejected).isCompletedWithValue(-1);
+        assertThat(otherEndpoint).succeedsWithin(WAIT).isEqualTo(4);
+        release.countDown();
+        assertThat(blocking).succeedsWithin(WAIT).isEqualTo(1);
+        assertThat(blocking2).succeedsWithin(WAIT).isEqualTo(1);
+        assertThat(count("getStakeholders", "rejected")).isEqualTo(1);
+        assertThat(guard.state()).isEqualTo(CoreCallGuard.State.CLOSED);
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            guard.call("getOutcome", () -> {
+                throw new IllegalStateException("core down");
+            }, "fallback").join();
+        }
+    }
+
+    private static int await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 1;
+    }
+
+    private long count(String endpoint, String outcome) {
+        return meterRegistry.get(CoreCallGuard.TIMER_NAME)
+            .tag("endpoint", endpoint).tag("outcome", outcome)
+            .timer().count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-05T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
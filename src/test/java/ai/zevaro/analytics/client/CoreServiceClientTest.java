@@ -0,0 +1,87 @@
+package ai.zevaro.analytics.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+@DisplayName("CoreServiceClient Unit Tests")
+class CoreServiceClientTest {
+
+    private static final String CORE_URL = "http://core.test";
+    private static final UUID TENANT_ID = UUID.randomUUID();
+
+    private MockRestServiceServer core;
+    private CoreServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        var restTemplate = new RestTemplate();
+        core = MockRestServiceServer.bindTo(restTemplate).build();
+        var callGuard = new CoreCallGuard(new SimpleMeterRegistry(), 20, 5, Duration.ofSeconds(30),
+            Executors.newVirtualThreadPerTaskExecutor(), Clock.systemUTC());
+        client = new CoreServiceClient(restTemplate, CORE_URL, callGuard);
+    }
+
+    @Test
+    @DisplayName("getStakeholders should resolve all ids with a single bulk request")
+    void testGetStakeholders_SingleBulkRequest() {
+        var alice = UUID.randomUUID();
+        var bob = UUID.randomUUID();
+        core.expect(requestTo(CORE_URL + "/api/v1/stakeholders?ids=" + alice + "," + bob + "&size=2"))
+            .andExpect(method(HttpMethod.GET))
+            .andExpect(header("X-Tenant-Id", TENANT_ID.toString()))
+            .andRespond(withSuccess("""
+                {"content": [
+                  {"id": "%s", "name": "Alice", "decisionsPending": 1, "decisionsCompleted": 4},
+                  {"id": "%s", "name": "Bob", "decisionsPending": 0, "decisionsCompleted": 2}
+                ], "totalElements": 2}
+                """.formatted(alice, bob), MediaType.APPLICATION_JSON));
+
+        var stakeholders = client.getStakeholders(TENANT_ID, List.of(alice, bob));
+
+        assertThat(stakeholders).extracting("name").containsExactly("Alice", "Bob");
+        core.verify();
+    }
+
+    @Test
+    @DisplayName("getStakeholders should return an empty list when Core is unavailable")
+    void testGetStakeholders_CoreUnavailable() {
+        core.expect(requestTo(startsWith(CORE_URL + "/api/v1/stakeholders")))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThat(client.getStakeholders(TENANT_ID, List.of(UUID.randomUUID()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("async calls should complete with the Core response")
+    void testGetPendingDecisionCountAsync() {
+        core.expect(requestTo(CORE_URL + "/api/v1/decisions?status=NEEDS_INPUT,UNDER_DISCUSSION&size=0"))
+            .andRespond(withSuccess("{\"totalElements\": 7}", MediaType.APPLICATION_JSON));
+
+        assertThat(client.getPendingDecisionCountAsync(TENANT_ID)).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("getStakeholders should not call Core for an empty id list")
+    void testGetStakeholders_EmptyIds() {
+        assertThat(client.getStakeholders(TENANT_ID, List.of())).isEmpty();
+        core.verify();
+    }
+}
@@ -0,0 +1,110 @@
+package ai.zevaro.analytics.client;
+
+import ai.zevaro.analytics.client.dto.CoreStakeholderInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StakeholderDirectory Unit Tests")
+class StakeholderDirectoryTest {
+
+    private static final UUID TENANT_ID = UUID.randomUUID();
+    private static final UUID ALICE_ID = UUID.randomUUID();
+    private static final UUID BOB_ID = UUID.randomUUID();
+
+    @Mock
+    private CoreServiceClient coreServiceClient;
+
+    private StakeholderDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new StakeholderDirectory(coreServiceClient, Duration.ofMinutes(30), 1000, 100);
+    }
+
+    @Test
+    @DisplayName("lookup should fetch all misses in one bulk request and serve them from cache afterwards")
+    void testLookup_BulkFetchesMissesOnce() {
+        when(coreServiceClient.getStakeholders(TENANT_ID, List.of(ALICE_ID, BOB_ID)))
+            .thenReturn(List.of(stakeholder(ALICE_ID, "Alice"), stakeholder(BOB_ID, "Bob")));
+
+        var first = directory.lookup(TENANT_ID, List.of(ALICE_ID, BOB_ID));
+        var second = directory.lookup(TENANT_ID, List.of(ALICE_ID, BOB_ID));
+
+        assertThat(first).containsOnlyKeys(ALICE_ID, BOB_ID);
+        assertThat(second.get(BOB_ID).name()).isEqualTo("Bob");
+        verify(coreServiceClient, times(1)).getStakeholders(eq(TENANT_ID), anyCollection());
+        verify(coreServiceClient, never()).getStakeholder(any(), any());
+    }
+
+    @Test
+    @DisplayName("lookup should only request stakeholders that are not cached")
+    void testLookup_FetchesOnlyMissing() {
+        when(coreServiceClient.getStakeholders(TENANT_ID, List.of(ALICE_ID)))
+            .thenReturn(List.of(stakeholder(ALICE_ID, "Alice")));
+        when(coreServiceClient.getStakeholders(TENANT_ID, List.of(BOB_ID)))
+            .thenReturn(List.of(stakeholder(BOB_ID, "Bob")));
+        directory.lookup(TENANT_ID, List.of(ALICE_ID));
+
+        var result = directory.lookup(TENANT_ID, List.of(ALICE_ID, BOB_ID));
+
+        assertThat(result).containsOnlyKeys(ALICE_ID, BOB_ID);
+        verify(coreServiceClient).getStakeholders(TENANT_ID, List.of(BOB_ID));
+    }
+
+    @Test
+    @DisplayName("lookup should split large misses into batches")
+    void testLookup_Batches() {
+        directory = new StakeholderDirectory(coreServiceClient, Duration.ofMinutes(30), 1000, 1);
+        when(coreServiceClient.getStakeholders(eq(TENANT_ID), anyCollection())).thenReturn(List.of());
+
+        var result = directory.lookup(TENANT_ID, List.of(ALICE_ID, BOB_ID));
+
+        assertThat(result).isEmpty();
+        verify(coreServiceClient, times(2)).getStakeholders(eq(TENANT_ID), anyCollection());
+    }
+
+    @Test
+    @DisplayName("warm should load the stakeholder on the next refresh without calling Core inline")
+    void testWarm_LoadsOnRefresh() {
+        directory.warm(TENANT_ID, ALICE_ID);
+        verifyNoInteractions(coreServiceClient);
+
+        when(coreServiceClient.getStakeholders(eq(TENANT_ID), anyCollection()))
+            .thenReturn(List.of(stakeholder(ALICE_ID, "Alice")));
+        directory.refresh();
+        var result = directory.lookup(TENANT_ID, List.of(ALICE_ID));
+
+        assertThat(result.get(ALICE_ID).name()).isEqualTo("Alice");
+        verify(coreServiceClient, times(1)).getStakeholders(eq(TENANT_ID), anyCollection());
+    }
+
+    @Test
+    @DisplayName("refresh should re-fetch cached stakeholders so renamed entries are picked up")
+    void testRefresh_RenewsCachedEntries() {
+        when(coreServiceClient.getStakeholders(eq(TENANT_ID), anyCollection()))
+            .thenReturn(List.of(stakeholder(ALICE_ID, "Alice")))
+            .thenReturn(List.of(stakeholder(ALICE_ID, "Alice Smith")));
+        directory.lookup(TENANT_ID, List.of(ALICE_ID));
+
+        directory.refresh();
+
+        assertThat(directory.lookup(TENANT_ID, List.of(ALICE_ID)).get(ALICE_ID).name()).isEqualTo("Alice Smith");
+    }
+
+    private static CoreStakeholderInfo stakeholder(UUID id, String name) {
+        return new CoreStakeholderInfo(id, name, name.toLowerCase() + "@example.com", "Manager", 1, 5);
+    }
+}
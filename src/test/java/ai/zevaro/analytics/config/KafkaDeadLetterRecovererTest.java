@@ -0,0 +1,133 @@
+package ai.zevaro.analytics.config;
+
+import ai.zevaro.analytics.consumer.CoreEventDeserializer;
+import ai.zevaro.analytics.consumer.DeadLetterConsumer;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import ai.zevaro.analytics.repository.KafkaParkingLot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the dead-letter recoverer against an embedded broker, then parks what it
+ * published through {@link DeadLetterConsumer}.
+ */
+@ExtendWith(MockitoExtension.class)
+@EmbeddedKafka(partitions = 1, topics = {
+    KafkaDeadLetterRecovererTest.CREATED_DLT,
+    KafkaDeadLetterRecovererTest.RESOLVED_DLT
+})
+@DisplayName("Kafka Dead-Letter Recoverer Tests")
+class KafkaDeadLetterRecovererTest {
+
+    static final String CREATED_DLT = AppConstants.TOPIC_TICKET_CREATED + AppConstants.DLT_SUFFIX;
+    static final String RESOLVED_DLT = AppConstants.TOPIC_TICKET_RESOLVED + AppConstants.DLT_SUFFIX;
+
+    @Mock
+    private KafkaParkingLot parkingLot;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private EmbeddedKafkaBroker broker;
+    private KafkaTemplate<String, Object> template;
+    private Consumer<String, byte[]> consumer;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        this.broker = broker;
+        template = KafkaConsumerConfig.deadLetterTemplate(broker.getBrokersAsString(), objectMapper);
+        consumer = new DefaultKafkaConsumerFactory<>(
+            KafkaTestUtils.consumerProps("dead-letter-test-" + UUID.randomUUID(), "false", broker),
+            new StringDeserializer(), new ByteArrayDeserializer()).createConsumer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.close();
+        template.getProducerFactory().reset();
+    }
+
+    @Test
+    @DisplayName("recoverer should publish a failed event to its DLT as JSON with the original position")
+    void testRecoverer_PublishesFailedEvent() {
+        var event = new TicketCreatedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            "BUG", "HIGH", UUID.randomUUID(), Instant.parse("2026-01-15T10:00:00Z"));
+        var record = new ConsumerRecord<String, Object>(AppConstants.TOPIC_TICKET_CREATED, 0, 42L,
+            event.ticketId().toString(), event);
+
+        KafkaConsumerConfig.deadLetterRecoverer(template).accept(record,
+            new ListenerExecutionFailedException("Listener failed", new QueryTimeoutException("timeout")));
+
+        broker.consumeFromAnEmbeddedTopic(consumer, CREATED_DLT);
+        var deadLetter = KafkaTestUtils.getSingleRecord(consumer, CREATED_DLT);
+        assertThat(deadLetter.key()).isEqualTo(event.ticketId().toString());
+        assertThat(new CoreEventDeserializer(objectMapper).deserialize(AppConstants.TOPIC_TICKET_CREATED,
+            deadLetter.value())).isEqualTo(event);
+        assertThat(text(deadLetter, KafkaHeaders.DLT_ORIGINAL_TOPIC)).isEqualTo(AppConstants.TOPIC_TICKET_CREATED);
+
+        new DeadLetterConsumer(parkingLot).onDeadLetter(deadLetter);
+
+        verify(parkingLot).park(eq(AppConstants.TOPIC_TICKET_CREATED), eq(0), eq(42L),
+            eq(event.ticketId().toString()), eq(deadLetter.value()), eq(QueryTimeoutException.class.getName()),
+            any(), contains("timeout"));
+    }
+
+    @Test
+    @DisplayName("recoverer should publish the original bytes of a payload that could not be deserialized")
+    void testRecoverer_PublishesRawPayloadOfUnreadableRecord() {
+        var raw = "{\"ticketId\": not json".getBytes(StandardCharsets.UTF_8);
+        var headers = new RecordHeaders();
+        var failure = new DeserializationException("Can't deserialize", raw, false,
+            new SerializationException("Unexpected character"));
+        SerializationUtils.deserializationException(headers, raw, failure, false);
+        var record = new ConsumerRecord<String, Object>(AppConstants.TOPIC_TICKET_RESOLVED, 0, 7L,
+            ConsumerRecord.NO_TIMESTAMP, TimestampType.NO_TIMESTAMP_TYPE, ConsumerRecord.NULL_SIZE,
+            ConsumerRecord.NULL_SIZE, "key-7", null, headers, Optional.empty());
+
+        KafkaConsumerConfig.deadLetterRecoverer(template).accept(record, failure);
+
+        broker.consumeFromAnEmbeddedTopic(consumer, RESOLVED_DLT);
+        var deadLetter = KafkaTestUtils.getSingleRecord(consumer, RESOLVED_DLT);
+        assertThat(deadLetter.value()).isEqualTo(raw);
+
+        new DeadLetterConsumer(parkingLot).onDeadLetter(deadLetter);
+
+        verify(parkingLot).park(eq(AppConstants.TOPIC_TICKET_RESOLVED), eq(0), eq(7L), eq("key-7"), eq(raw),
+            any(), any(), any());
+    }
+
+    private static String text(ConsumerRecord<?, ?> record, String header) {
+        return new String(record.headers().lastHeader(header).value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,47 @@
+package ai.zevaro.analytics.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("VirtualThreadPinningMonitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    @DisplayName("site should skip JDK frames and return the first application or library frame")
+    void testSite_SkipsJdkFrames() {
+        var frames = List.of(
+            "java.lang.VirtualThread.parkOnCarrierThread:675",
+            "jdk.internal.misc.Unsafe.park:-1",
+            "org.postgresql.core.PGStream.receiveChar:467",
+            "ai.zevaro.analytics.metrics.SnapshotCounterAggregator.flush:120");
+
+        assertThat(VirtualThreadPinningMonitor.site(frames)).isEqualTo("org.postgresql.core.PGStream.receiveChar:467");
+    }
+
+    @Test
+    @DisplayName("site should fall back to the top frame when every frame is in the JDK")
+    void testSite_OnlyJdkFrames() {
+        assertThat(VirtualThreadPinningMonitor.site(List.of("java.lang.Object.wait0:-2"))).isEqualTo("java.lang.Object.wait0:-2");
+        assertThat(VirtualThreadPinningMonitor.site(List.of())).isEqualTo("unknown");
+    }
+
+    @Test
+    @DisplayName("record should count every pinning event per site")
+    void testRecord_CountsPerSite() {
+        var registry = new SimpleMeterRegistry();
+        var monitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(20));
+        var frames = List.of("java.lang.VirtualThread.park:1", "com.example.Legacy.call:42");
+
+        monitor.record(frames, Duration.ofMillis(35));
+        monitor.record(frames, Duration.ofMillis(50));
+
+        assertThat(registry.counter(VirtualThreadPinningMonitor.COUNTER_NAME, "site", "com.example.Legacy.call:42").count())
+            .isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,270 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import ai.zevaro.analytics.consumer.events.TicketResolvedEvent;
+import ai.zevaro.analytics.metrics.MetricsService;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchEventConsumer Tests")
+class BatchEventConsumerTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    private BatchEventConsumer eventConsumer;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        eventConsumer = new BatchEventConsumer(
+            metricsService, new ObjectMapper().findAndRegisterModules(), false, Duration.ofSeconds(10), 1);
+    }
+
+    @Test
+    @DisplayName("onBatch should convert every record and record them in one bulk call")
+    @SuppressWarnings("unchecked")
+    void testOnBatch_RecordsWholePollInOneCall() {
+        when(metricsService.recordBatch(anyList())).thenReturn(new MetricsService.BatchResult(2, Map.of()));
+
+        eventConsumer.onBatch(List.of(
+            record(AppConstants.TOPIC_TICKET_CREATED, 0, ticketCreatedPayload()),
+            record(AppConstants.TOPIC_TICKET_RESOLVED, 1, ticketResolvedPayload())));
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(metricsService, times(1)).recordBatch(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue().get(0)).isInstanceOf(TicketCreatedEvent.class);
+        assertThat(captor.getValue().get(1)).isInstanceOf(TicketResolvedEvent.class);
+    }
+
+    @Test
+    @DisplayName("onBatch should apply the records before an unreadable one, then report it for dead-lettering")
+    @SuppressWarnings("unchecked")
+    void testOnBatch_ReportsPoisonRecord() {
+        when(metricsService.recordBatch(anyList())).thenReturn(new MetricsService.BatchResult(1, Map.of()));
+
+        assertThatThrownBy(() -> eventConsumer.onBatch(List.of(
+            record(AppConstants.TOPIC_TICKET_RESOLVED, 0, ticketResolvedPayload()),
+            record(AppConstants.TOPIC_TICKET_CREATED, 1, Map.of("tenantId", "not-a-uuid")),
+            record(AppConstants.TOPIC_TICKET_RESOLVED, 2, ticketResolvedPayload()))))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1))
+            .hasRootCauseInstanceOf(JsonMappingException.class);
+
+        // Only the record before it is applied; the rest is redelivered after the dead letter
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(metricsService).recordBatch(captor.capture());
+        assertThat(captor.getValue()).singleElement().isInstanceOf(TicketResolvedEvent.class);
+    }
+
+    @Test
+    @DisplayName("onBatch should report a payload that failed deserialization with the deserializer's error")
+    void testOnBatch_ReportsDeserializationFailure() {
+        var raw = "{not json".getBytes(StandardCharsets.UTF_8);
+        var unreadable = record(AppConstants.TOPIC_TICKET_CREATED, 0, null);
+        SerializationUtils.deserializationException(unreadable.headers(), raw,
+            new DeserializationException("Can't deserialize", raw, false, new IllegalStateException("bad")), false);
+
+        assertThatThrownBy(() -> eventConsumer.onBatch(List.of(unreadable)))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isZero())
+            .satisfies(e -> assertThat(e.getCause()).hasCauseInstanceOf(DeserializationException.class));
+
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    @DisplayName("onBatch should report the first event the mapping rejects")
+    void testOnBatch_ReportsRejectedEvent() {
+        var rejected = new LinkedHashMap<Integer, RuntimeException>();
+        rejected.put(1, new IllegalArgumentException("Missing reporter"));
+        when(metricsService.recordBatch(anyList())).thenReturn(new MetricsService.BatchResult(1, rejected));
+
+        assertThatThrownBy(() -> eventConsumer.onBatch(List.of(
+            record(AppConstants.TOPIC_TICKET_RESOLVED, 0, ticketResolvedPayload()),
+            record(AppConstants.TOPIC_TICKET_CREATED, 1, ticketCreatedPayload()))))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1))
+            .hasRootCauseMessage("Missing reporter");
+    }
+
+    @Test
+    @DisplayName("onBatch should report a constraint violation in the per-event fallback instead of ignoring it")
+    void testOnBatch_ReportsConstraintViolationInFallback() {
+        when(metricsService.recordBatch(argThat(l -> l != null && l.size() == 2)))
+            .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(metricsService.recordBatch(argThat(l -> l != null && l.size() == 1 && l.get(0) instanceof TicketCreatedEvent)))
+            .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThatThrownBy(() -> eventConsumer.onBatch(List.of(
+            record(AppConstants.TOPIC_TICKET_CREATED, 0, ticketCreatedPayload()),
+            record(AppConstants.TOPIC_TICKET_RESOLVED, 1, ticketResolvedPayload()))))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .hasCauseInstanceOf(DataIntegrityViolationException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(0));
+
+        verify(metricsService, times(2)).recordBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("onBatch should report the failing record index when per-event fallback still fails")
+    void testOnBatch_ReportsFailedRecordIndex() {
+        when(metricsService.recordBatch(argThat(l -> l != null && l.size() == 2)))
+            .thenThrow(new QueryTimeoutException("timeout"));
+        when(metricsService.recordBatch(argThat(l -> l != null && l.size() == 1 && l.get(0) instanceof TicketCreatedEvent)))
+            .thenReturn(new MetricsService.BatchResult(1, Map.of()));
+        when(metricsService.recordBatch(argThat(l -> l != null && l.size() == 1 && l.get(0) instanceof TicketResolvedEvent)))
+            .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatThrownBy(() -> eventConsumer.onBatch(List.of(
+            record(AppConstants.TOPIC_TICKET_CREATED, 0, ticketCreatedPayload()),
+            record(AppConstants.TOPIC_TICKET_RESOLVED, 1, ticketResolvedPayload()))))
+            .isInstanceOf(BatchListenerFailedException.class)
+            .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("onBatch should load the poll through the bulk path in bulk-load mode")
+    void testOnBatch_BulkLoadMode() {
+        var bulkConsumer = new BatchEventConsumer(
+            metricsService, new ObjectMapper().findAndRegisterModules(), true, Duration.ofSeconds(10), 1);
+        when(metricsService.loadBatch(anyList())).thenReturn(new MetricsService.BatchResult(2, Map.of()));
+
+        bulkConsumer.onBatch(List.of(
+            record(AppConstants.TOPIC_TICKET_CREATED, 0, ticketCreatedPayload()),
+            record(AppConstants.TOPIC_TICKET_RESOLVED, 1, ticketResolvedPayload())));
+
+        verify(metricsService).loadBatch(argThat(l -> l.size() == 2));
+        verify(metricsService, never()).recordBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("onBatch with lanes should record each tenant's events in poll order, in its own lane")
+    @SuppressWarnings("unchecked")
+    void testOnBatch_LanesKeepTenantOrder() {
+        var laneConsumer = new BatchEventConsumer(
+            metricsService, new ObjectMapper().findAndRegisterModules(), false, Duration.ofSeconds(10), 2);
+        var otherTenantId = tenantInOtherLane();
+        when(metricsService.recordBatch(anyList())).thenReturn(new MetricsService.BatchResult(2, Map.of()));
+
+        try {
+            laneConsumer.onBatch(List.of(
+                record(AppConstants.TOPIC_TICKET_CREATED, 0, ticketCreatedPayload(tenantId)),
+                record(AppConstants.TOPIC_TICKET_CREATED, 1, ticketCreatedPayload(otherTenantId)),
+                record(AppConstants.TOPIC_TICKET_RESOLVED, 2, ticketResolvedPayload(tenantId)),
+                record(AppConstants.TOPIC_TICKET_RESOLVED, 3, ticketResolvedPayload(otherTenantId))));
+        } finally {
+            laneConsumer.destroy();
+        }
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(metricsService, times(2)).recordBatch(captor.capture());
+        assertThat(captor.getAllValues()).allSatisfy(lane -> {
+            assertThat(lane).hasSize(2);
+            assertThat(lane.get(0)).isInstanceOf(TicketCreatedEvent.class);
+            assertThat(lane.get(1)).isInstanceOf(TicketResolvedEvent.class);
+            assertThat(((TicketCreatedEvent) lane.get(0)).tenantId())
+                .isEqualTo(((TicketResolvedEvent) lane.get(1)).tenantId());
+        });
+    }
+
+    @Test
+    @DisplayName("onBatch with lanes should report the earliest record of a failed lane after the others finish")
+    void testOnBatch_LaneFailureReportsEarliestIndex() {
+        var laneConsumer = new BatchEventConsumer(
+            metricsService, new ObjectMapper().findAndRegisterModules(), false, Duration.ofSeconds(10), 2);
+        var otherTenantId = tenantInOtherLane();
+        when(metricsService.recordBatch(argThat(firstOfTenant(tenantId))))
+            .thenReturn(new MetricsService.BatchResult(1, Map.of()));
+        when(metricsService.recordBatch(argThat(firstOfTenant(otherTenantId))))
+            .thenThrow(new QueryTimeoutException("timeout"));
+
+        try {
+            assertThatThrownBy(() -> laneConsumer.onBatch(List.of(
+                record(AppConstants.TOPIC_TICKET_CREATED, 0, ticketCreatedPayload(tenantId)),
+                record(AppConstants.TOPIC_TICKET_CREATED, 1, ticketCreatedPayload(otherTenantId)))))
+                .isInstanceOf(BatchListenerFailedException.class)
+                .satisfies(e -> assertThat(((BatchListenerFailedException) e).getIndex()).isEqualTo(1));
+        } finally {
+            laneConsumer.destroy();
+        }
+
+        // The healthy lane is still applied; the failed one is retried from index 1
+        verify(metricsService).recordBatch(argThat(firstOfTenant(tenantId)));
+    }
+
+    private ArgumentMatcher<List<?>> firstOfTenant(UUID tenantId) {
+        return l -> l != null && ((TicketCreatedEvent) l.get(0)).tenantId().equals(tenantId);
+    }
+
+    private UUID tenantInOtherLane() {
+        UUID other;
+        do {
+            other = UUID.randomUUID();
+        } while (Math.floorMod(other.hashCode(), 2) == Math.floorMod(tenantId.hashCode(), 2));
+        return other;
+    }
+
+    private ConsumerRecord<String, Object> record(String topic, long offset, Object value) {
+        return new ConsumerRecord<>(topic, 0, offset, null, value);
+    }
+
+    private Map<String, Object> ticketCreatedPayload() {
+        return ticketCreatedPayload(tenantId);
+    }
+
+    private Map<String, Object> ticketCreatedPayload(UUID tenantId) {
+        var payload = new LinkedHashMap<String, Object>();
+        payload.put("tenantId", tenantId.toString());
+        payload.put("ticketId", UUID.randomUUID().toString());
+        payload.put("workstreamId", UUID.randomUUID().toString());
+        payload.put("type", "BUG");
+        payload.put("severity", "HIGH");
+        payload.put("reportedById", UUID.randomUUID().toString());
+        payload.put("timestamp", "2026-01-15T10:00:00Z");
+        return payload;
+    }
+
+    private Map<String, Object> ticketResolvedPayload() {
+        return ticketResolvedPayload(tenantId);
+    }
+
+    private Map<String, Object> ticketResolvedPayload(UUID tenantId) {
+        var payload = new LinkedHashMap<String, Object>();
+        payload.put("tenantId", tenantId.toString());
+        payload.put("ticketId", UUID.randomUUID().toString());
+        payload.put("resolution", "FIXED");
+        payload.put("resolvedById", UUID.randomUUID().toString());
+        payload.put("timestamp", "2026-01-15T11:00:00Z");
+        return payload;
+    }
+}
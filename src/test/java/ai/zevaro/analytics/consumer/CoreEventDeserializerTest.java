@@ -0,0 +1,60 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CoreEventDeserializer Tests")
+class CoreEventDeserializerTest {
+
+    private final CoreEventDeserializer deserializer = new CoreEventDeserializer(new ObjectMapper().findAndRegisterModules());
+
+    @Test
+    @DisplayName("deserialize should read a registered topic straight into its event record")
+    void testDeserialize_TypedTopic() {
+        var tenantId = UUID.randomUUID();
+        var ticketId = UUID.randomUUID();
+        var json = """
+            {"tenantId":"%s","ticketId":"%s","workstreamId":null,"type":"BUG","severity":"HIGH",
+             "reportedById":"%s","timestamp":"2026-01-15T10:00:00Z","unknownField":1}
+            """.formatted(tenantId, ticketId, UUID.randomUUID());
+
+        var event = deserializer.deserialize(AppConstants.TOPIC_TICKET_CREATED, json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(event).isInstanceOf(TicketCreatedEvent.class);
+        var ticketCreated = (TicketCreatedEvent) event;
+        assertThat(ticketCreated.tenantId()).isEqualTo(tenantId);
+        assertThat(ticketCreated.ticketId()).isEqualTo(ticketId);
+        assertThat(ticketCreated.severity()).isEqualTo("HIGH");
+        assertThat(ticketCreated.timestamp()).isEqualTo(Instant.parse("2026-01-15T10:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("deserialize should read topics without a registered type as a map")
+    void testDeserialize_UntypedTopic() {
+        var event = deserializer.deserialize(AppConstants.TOPIC_COMMENT_CREATED,
+            "{\"commentId\":\"c-1\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(event).isEqualTo(Map.of("commentId", "c-1"));
+    }
+
+    @Test
+    @DisplayName("deserialize should pass tombstones through and reject malformed payloads")
+    void testDeserialize_NullAndMalformed() {
+        assertThat(deserializer.deserialize(AppConstants.TOPIC_TICKET_CREATED, null)).isNull();
+        assertThatThrownBy(() -> deserializer.deserialize(AppConstants.TOPIC_TICKET_CREATED,
+            "{\"tenantId\":\"not-a-uuid\"}".getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(SerializationException.class)
+            .hasMessageContaining(AppConstants.TOPIC_TICKET_CREATED);
+    }
+}
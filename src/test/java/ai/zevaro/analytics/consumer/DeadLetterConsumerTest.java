@@ -0,0 +1,72 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.repository.KafkaParkingLot;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadLetterConsumer Tests")
+class DeadLetterConsumerTest {
+
+    private static final String DLT = AppConstants.TOPIC_TICKET_CREATED + AppConstants.DLT_SUFFIX;
+
+    @Mock
+    private KafkaParkingLot parkingLot;
+
+    private DeadLetterConsumer eventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        eventConsumer = new DeadLetterConsumer(parkingLot);
+    }
+
+    @Test
+    @DisplayName("onDeadLetter should park the payload at its original position with the root error")
+    void testOnDeadLetter_ParksWithOriginalPosition() {
+        var payload = "{\"ticketId\":\"t-1\"}".getBytes(StandardCharsets.UTF_8);
+        var record = new ConsumerRecord<String, byte[]>(DLT, 2, 5L, "key-1", payload);
+        record.headers()
+            .add(KafkaHeaders.DLT_ORIGINAL_TOPIC, AppConstants.TOPIC_TICKET_CREATED.getBytes(StandardCharsets.UTF_8))
+            .add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(3).array())
+            .add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(1234L).array())
+            .add(KafkaHeaders.DLT_EXCEPTION_FQCN, text(ListenerExecutionFailedException.class.getName()))
+            .add(KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN, text(QueryTimeoutException.class.getName()))
+            .add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, text("Listener failed"))
+            .add(KafkaHeaders.DLT_EXCEPTION_STACKTRACE, text("QueryTimeoutException: timeout"));
+
+        eventConsumer.onDeadLetter(record);
+
+        verify(parkingLot).park(AppConstants.TOPIC_TICKET_CREATED, 3, 1234L, "key-1", payload,
+            QueryTimeoutException.class.getName(), "Listener failed", "QueryTimeoutException: timeout");
+    }
+
+    @Test
+    @DisplayName("onDeadLetter should fall back to the dead-letter record's position when headers are missing")
+    void testOnDeadLetter_WithoutHeaders() {
+        var record = new ConsumerRecord<String, byte[]>(DLT, 1, 9L, null, null);
+
+        eventConsumer.onDeadLetter(record);
+
+        verify(parkingLot).park(eq(AppConstants.TOPIC_TICKET_CREATED), eq(1), eq(9L), isNull(), isNull(),
+            isNull(), isNull(), isNull());
+    }
+
+    private static byte[] text(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,156 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.OutcomeValidatedEvent;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MultiplexedEventConsumer Tests")
+class MultiplexedEventConsumerTest {
+
+    @Mock
+    private DecisionEventConsumer decisions;
+
+    @Mock
+    private OutcomeEventConsumer outcomes;
+
+    @Mock
+    private OutcomeInvalidatedEventConsumer outcomeInvalidations;
+
+    @Mock
+    private HypothesisEventConsumer hypotheses;
+
+    @Mock
+    private ProgramEventConsumer programs;
+
+    @Mock
+    private WorkstreamEventConsumer workstreams;
+
+    @Mock
+    private SpecificationEventConsumer specifications;
+
+    @Mock
+    private TicketEventConsumer tickets;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MultiplexedEventConsumer eventConsumer;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventConsumer = new MultiplexedEventConsumer(new ObjectMapper().findAndRegisterModules(), meterRegistry,
+            decisions, outcomes, outcomeInvalidations, hypotheses, programs, workstreams, specifications, tickets);
+    }
+
+    @Test
+    @DisplayName("onEvent should convert the record to the topic's type, dispatch it and acknowledge")
+    void testOnEvent_DispatchesByTopic() {
+        eventConsumer.onEvent(record(AppConstants.TOPIC_TICKET_CREATED, ticketCreatedPayload()), ack);
+
+        var captor = ArgumentCaptor.forClass(TicketCreatedEvent.class);
+        verify(tickets).onTicketCreated(captor.capture());
+        assertThat(captor.getValue().tenantId()).isEqualTo(tenantId);
+        verify(ack).acknowledge();
+        assertThat(timerCount(AppConstants.TOPIC_TICKET_CREATED, "success")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onEvent should leave acknowledgment to write-behind handlers")
+    void testOnEvent_WriteBehindHandlerOwnsAck() {
+        var payload = new LinkedHashMap<String, Object>();
+        payload.put("tenantId", tenantId.toString());
+        payload.put("projectId", UUID.randomUUID().toString());
+        payload.put("outcomeId", UUID.randomUUID().toString());
+        payload.put("createdAt", "2026-01-10T10:00:00Z");
+        payload.put("validatedAt", "2026-01-15T10:00:00Z");
+
+        eventConsumer.onEvent(record(AppConstants.TOPIC_OUTCOME_VALIDATED, payload), ack);
+
+        verify(outcomes).onOutcomeValidated(any(OutcomeValidatedEvent.class), eq(ack));
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("onEvent should acknowledge and count records on matching topics without a handler")
+    void testOnEvent_SkipsUnhandledTopics() {
+        eventConsumer.onEvent(record(AppConstants.TOPIC_COMMENT_CREATED, Map.of("tenantId", tenantId.toString())), ack);
+
+        verify(ack).acknowledge();
+        verifyNoInteractions(tickets, outcomes, decisions);
+        assertThat(timerCount(AppConstants.TOPIC_COMMENT_CREATED, "unhandled")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onEvent should rethrow records that cannot be converted unacknowledged so they are dead-lettered")
+    void testOnEvent_RethrowsPoisonRecords() {
+        assertThatThrownBy(() -> eventConsumer.onEvent(
+            record(AppConstants.TOPIC_TICKET_CREATED, Map.of("tenantId", "not-a-uuid")), ack))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasCauseInstanceOf(JsonMappingException.class);
+
+        verify(ack, never()).acknowledge();
+        verifyNoInteractions(tickets);
+        assertThat(timerCount(AppConstants.TOPIC_TICKET_CREATED, "rejected")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onEvent should rethrow handler failures unacknowledged so the error handler retries")
+    void testOnEvent_RethrowsHandlerFailure() {
+        doThrow(new QueryTimeoutException("timeout")).when(tickets).onTicketCreated(any());
+
+        assertThatThrownBy(() -> eventConsumer.onEvent(record(AppConstants.TOPIC_TICKET_CREATED, ticketCreatedPayload()), ack))
+            .isInstanceOf(QueryTimeoutException.class);
+
+        verify(ack, never()).acknowledge();
+        assertThat(timerCount(AppConstants.TOPIC_TICKET_CREATED, "failure")).isEqualTo(1);
+    }
+
+    private long timerCount(String topic, String outcome) {
+        var timer = meterRegistry.find(MultiplexedEventConsumer.TIMER_NAME)
+            .tags("topic", topic, "outcome", outcome)
+            .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private ConsumerRecord<String, Object> record(String topic, Object value) {
+        return new ConsumerRecord<>(topic, 0, 0L, null, value);
+    }
+
+    private Map<String, Object> ticketCreatedPayload() {
+        var payload = new LinkedHashMap<String, Object>();
+        payload.put("tenantId", tenantId.toString());
+        payload.put("ticketId", UUID.randomUUID().toString());
+        payload.put("workstreamId", UUID.randomUUID().toString());
+        payload.put("type", "BUG");
+        payload.put("severity", "HIGH");
+        payload.put("reportedById", UUID.randomUUID().toString());
+        payload.put("timestamp", "2026-01-15T10:00:00Z");
+        return payload;
+    }
+}
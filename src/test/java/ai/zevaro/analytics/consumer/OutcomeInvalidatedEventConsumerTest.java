@@ -2,6 +2,7 @@ package ai.zevaro.analytics.consumer;
 
 import ai.zevaro.analytics.consumer.events.OutcomeInvalidatedEvent;
 import ai.zevaro.analytics.metrics.MetricsService;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.support.Acknowledgment;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -20,6 +22,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -30,6 +33,12 @@ class OutcomeInvalidatedEventConsumerTest {
     @Mock
     private MetricsService metricsService;
 
+    @Mock
+    private SnapshotCounterAggregator snapshotAggregator;
+
+    @Mock
+    private Acknowledgment ack;
+
     @InjectMocks
     private OutcomeInvalidatedEventConsumer eventConsumer;
 
@@ -66,7 +75,7 @@ class OutcomeInvalidatedEventConsumerTest {
     void testOnOutcomeInvalidated_ShouldCallMetricsServiceWithCorrectParams() {
         doNothing().when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        eventConsumer.onOutcomeInvalidated(event);
+        eventConsumer.onOutcomeInvalidated(event, ack);
 
         verify(metricsService).recordOutcomeInvalidated(tenantId, projectId, outcomeId, createdAt, invalidatedAt);
     }
@@ -76,7 +85,7 @@ class OutcomeInvalidatedEventConsumerTest {
     void testOnOutcomeInvalidated_ShouldCallMetricsServiceWithAllRequiredParams() {
         doNothing().when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        eventConsumer.onOutcomeInvalidated(event);
+        eventConsumer.onOutcomeInvalidated(event, ack);
 
         verify(metricsService).recordOutcomeInvalidated(
             eq(event.tenantId()),
@@ -88,28 +97,27 @@ class OutcomeInvalidatedEventConsumerTest {
     }
 
     @Test
-    @DisplayName("onOutcomeInvalidated should handle DataIntegrityViolationException silently")
-    void testOnOutcomeInvalidated_ShouldHandleDataIntegrityViolationException() {
+    @DisplayName("onOutcomeInvalidated should rethrow DataIntegrityViolationException to the error handler")
+    void testOnOutcomeInvalidated_ShouldRethrowDataIntegrityViolationException() {
         DataIntegrityViolationException exception = new DataIntegrityViolationException("Duplicate key");
         doThrow(exception).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        // Should not throw exception
-        eventConsumer.onOutcomeInvalidated(event);
+        assertThrows(DataIntegrityViolationException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
 
-        // Verify the service was called
         verify(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
     }
 
     @Test
-    @DisplayName("onOutcomeInvalidated should catch DataIntegrityViolationException without rethrowing")
-    void testOnOutcomeInvalidated_ShouldCatchDataIntegrityViolationWithoutRethrowing() {
+    @DisplayName("onOutcomeInvalidated should not acknowledge on DataIntegrityViolationException")
+    void testOnOutcomeInvalidated_ShouldNotAcknowledgeOnDataIntegrityViolation() {
         DataIntegrityViolationException exception = new DataIntegrityViolationException("Duplicate outcome invalidation");
         doThrow(exception).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        // Should complete without exception
-        eventConsumer.onOutcomeInvalidated(event);
+        assertThrows(DataIntegrityViolationException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
 
         verify(metricsService).recordOutcomeInvalidated(tenantId, projectId, outcomeId, createdAt, invalidatedAt);
+        verify(snapshotAggregator, never()).acknowledgeAfterFlush(any());
+        verify(ack, never()).acknowledge();
     }
 
     @Test
@@ -120,7 +128,7 @@ class OutcomeInvalidatedEventConsumerTest {
         };
         doThrow(exception).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        assertThrows(DataAccessException.class, () -> eventConsumer.onOutcomeInvalidated(event));
+        assertThrows(DataAccessException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
 
         verify(metricsService).recordOutcomeInvalidated(tenantId, projectId, outcomeId, createdAt, invalidatedAt);
     }
@@ -132,7 +140,7 @@ class OutcomeInvalidatedEventConsumerTest {
         };
         doThrow(databaseException).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        assertThrows(DataAccessException.class, () -> eventConsumer.onOutcomeInvalidated(event));
+        assertThrows(DataAccessException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
     }
 
     @Test
@@ -141,7 +149,7 @@ class OutcomeInvalidatedEventConsumerTest {
         Exception unexpectedException = new IllegalStateException("Unexpected state");
         doThrow(unexpectedException).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        assertThrows(RuntimeException.class, () -> eventConsumer.onOutcomeInvalidated(event));
+        assertThrows(RuntimeException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
 
         verify(metricsService).recordOutcomeInvalidated(tenantId, projectId, outcomeId, createdAt, invalidatedAt);
     }
@@ -152,7 +160,7 @@ class OutcomeInvalidatedEventConsumerTest {
         Exception unexpectedException = new NullPointerException("Value was null");
         doThrow(unexpectedException).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        RuntimeException thrownException = assertThrows(RuntimeException.class, () -> eventConsumer.onOutcomeInvalidated(event));
+        RuntimeException thrownException = assertThrows(RuntimeException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
 
         // Verify it's wrapped in RuntimeException
         org.junit.jupiter.api.Assertions.assertTrue(thrownException.getCause() instanceof NullPointerException);
@@ -173,7 +181,7 @@ class OutcomeInvalidatedEventConsumerTest {
         );
         doNothing().when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        eventConsumer.onOutcomeInvalidated(anotherTenantEvent);
+        eventConsumer.onOutcomeInvalidated(anotherTenantEvent, ack);
 
         verify(metricsService).recordOutcomeInvalidated(eq(anotherTenantId), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
     }
@@ -183,7 +191,7 @@ class OutcomeInvalidatedEventConsumerTest {
     void testOnOutcomeInvalidated_ShouldCallMetricsServiceExactlyOnce() {
         doNothing().when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        eventConsumer.onOutcomeInvalidated(event);
+        eventConsumer.onOutcomeInvalidated(event, ack);
 
         verify(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
     }
@@ -194,7 +202,7 @@ class OutcomeInvalidatedEventConsumerTest {
         doNothing().when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
         // Should complete without exception
-        eventConsumer.onOutcomeInvalidated(event);
+        eventConsumer.onOutcomeInvalidated(event, ack);
 
         verify(metricsService).recordOutcomeInvalidated(tenantId, projectId, outcomeId, createdAt, invalidatedAt);
     }
@@ -205,10 +213,9 @@ class OutcomeInvalidatedEventConsumerTest {
         DataIntegrityViolationException exception = new DataIntegrityViolationException("Duplicate");
         doThrow(exception).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        // Process the event
-        eventConsumer.onOutcomeInvalidated(event);
+        assertThrows(DataIntegrityViolationException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
 
-        // Verify the exception was caught but event data was available
+        // Verify the event data reached the service before the exception
         verify(metricsService).recordOutcomeInvalidated(
             eq(event.tenantId()),
             eq(event.projectId()),
@@ -224,7 +231,7 @@ class OutcomeInvalidatedEventConsumerTest {
         doNothing().when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
         // Create a normal event and process it
-        eventConsumer.onOutcomeInvalidated(event);
+        eventConsumer.onOutcomeInvalidated(event, ack);
 
         // Verify service was called
         verify(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
@@ -234,12 +241,10 @@ class OutcomeInvalidatedEventConsumerTest {
     @DisplayName("onOutcomeInvalidated with subtypes of DataAccessException should rethrow")
     void testOnOutcomeInvalidated_WithSubtypesOfDataAccessExceptionShouldRethrow() {
         // DataIntegrityViolationException is a subtype of DataAccessException
-        // but should be caught separately
         DataIntegrityViolationException viedException = new DataIntegrityViolationException("Duplicate");
         doThrow(viedException).when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
 
-        // Should not rethrow DataIntegrityViolationException
-        eventConsumer.onOutcomeInvalidated(event);
+        assertThrows(DataAccessException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
 
         verify(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
     }
@@ -248,6 +253,28 @@ class OutcomeInvalidatedEventConsumerTest {
     @DisplayName("onOutcomeInvalidated should handle null event gracefully by throwing exception")
     void testOnOutcomeInvalidated_ShouldHandleNullEventGracefully() {
         // Attempting to process null should throw an exception
-        assertThrows(Exception.class, () -> eventConsumer.onOutcomeInvalidated(null));
+        assertThrows(Exception.class, () -> eventConsumer.onOutcomeInvalidated(null, ack));
+    }
+
+    @Test
+    @DisplayName("onOutcomeInvalidated should hand the acknowledgment to the aggregator after recording")
+    void testOnOutcomeInvalidated_ShouldAcknowledgeAfterFlush() {
+        eventConsumer.onOutcomeInvalidated(event, ack);
+
+        var order = inOrder(metricsService, snapshotAggregator);
+        order.verify(metricsService).recordOutcomeInvalidated(tenantId, projectId, outcomeId, createdAt, invalidatedAt);
+        order.verify(snapshotAggregator).acknowledgeAfterFlush(ack);
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("onOutcomeInvalidated should not release the acknowledgment on database errors")
+    void testOnOutcomeInvalidated_ShouldNotAcknowledgeOnDatabaseError() {
+        doThrow(new DataAccessException("Database down") {})
+            .when(metricsService).recordOutcomeInvalidated(any(UUID.class), any(UUID.class), any(UUID.class), any(Instant.class), any(Instant.class));
+
+        assertThrows(DataAccessException.class, () -> eventConsumer.onOutcomeInvalidated(event, ack));
+
+        verify(snapshotAggregator, never()).acknowledgeAfterFlush(any());
     }
 }
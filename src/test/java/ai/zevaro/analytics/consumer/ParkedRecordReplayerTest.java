@@ -0,0 +1,138 @@
+package ai.zevaro.analytics.consumer;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import ai.zevaro.analytics.metrics.MetricsService;
+import ai.zevaro.analytics.repository.KafkaParkingLot;
+import ai.zevaro.analytics.repository.KafkaParkingLot.ParkedRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParkedRecordReplayer Tests")
+class ParkedRecordReplayerTest {
+
+    @Mock
+    private KafkaParkingLot parkingLot;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParkedRecordReplayer replayer;
+
+    private final UUID tenantId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        replayer = new ParkedRecordReplayer(
+            parkingLot, metricsService, new ObjectMapper().findAndRegisterModules(), transactionManager);
+    }
+
+    @Test
+    @DisplayName("replay should re-ingest parked records in one batch and mark them replayed in the same transaction")
+    @SuppressWarnings("unchecked")
+    void testReplay_RecordsAndMarksReplayed() {
+        var first = parked(ticketCreatedPayload());
+        var second = parked(ticketCreatedPayload());
+        when(parkingLot.pending(AppConstants.TOPIC_TICKET_CREATED, 100)).thenReturn(List.of(first, second));
+        when(metricsService.recordBatch(anyList())).thenReturn(new MetricsService.BatchResult(2, Map.of()));
+
+        var result = replayer.replay(AppConstants.TOPIC_TICKET_CREATED, 100);
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(metricsService).recordBatch(captor.capture());
+        assertThat(captor.getValue()).hasSize(2).allMatch(TicketCreatedEvent.class::isInstance);
+        var inOrder = inOrder(transactionManager, metricsService, parkingLot);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(metricsService).recordBatch(anyList());
+        inOrder.verify(parkingLot).markReplayed(List.of(first.id(), second.id()));
+        inOrder.verify(transactionManager).commit(any());
+        verify(parkingLot, never()).markFailed(any(), any());
+        assertThat(result).isEqualTo(new ParkedRecordReplayer.ReplayResult(2, 0));
+    }
+
+    @Test
+    @DisplayName("replay should keep unreadable and rejected records parked with the replay error")
+    void testReplay_KeepsFailingRecordsParked() {
+        var unreadable = parked("{\"tenantId\":\"not-a-uuid\"}");
+        var rejected = parked(ticketCreatedPayload());
+        var accepted = parked(ticketCreatedPayload());
+        when(parkingLot.pending(null, 1000)).thenReturn(List.of(unreadable, rejected, accepted));
+        when(metricsService.recordBatch(anyList())).thenReturn(new MetricsService.BatchResult(1,
+            Map.of(0, new IllegalArgumentException("Missing ticket id"))));
+
+        var result = replayer.replay(null, 1000);
+
+        verify(parkingLot).markFailed(eq(unreadable.id()), contains(AppConstants.TOPIC_TICKET_CREATED));
+        verify(parkingLot).markFailed(rejected.id(), "Missing ticket id");
+        verify(parkingLot).markReplayed(List.of(accepted.id()));
+        assertThat(result).isEqualTo(new ParkedRecordReplayer.ReplayResult(1, 2));
+    }
+
+    @Test
+    @DisplayName("replay should fall back to one record per call when the batch fails at the database")
+    void testReplay_FallsBackPerRecordOnDatabaseFailure() {
+        var failing = parked(ticketCreatedPayload());
+        var healthy = parked(ticketCreatedPayload());
+        when(parkingLot.pending(null, 1000)).thenReturn(List.of(failing, healthy));
+        when(metricsService.recordBatch(anyList()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(new MetricsService.BatchResult(1, Map.of()));
+
+        var result = replayer.replay(null, 1000);
+
+        verify(metricsService, times(3)).recordBatch(anyList());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+        verify(parkingLot).markFailed(failing.id(), "timeout");
+        verify(parkingLot).markReplayed(List.of(healthy.id()));
+        verify(parkingLot, never()).markReplayed(List.of(failing.id(), healthy.id()));
+        assertThat(result).isEqualTo(new ParkedRecordReplayer.ReplayResult(1, 1));
+    }
+
+    @Test
+    @DisplayName("replay should do nothing when no records are parked")
+    void testReplay_NothingParked() {
+        when(parkingLot.pending(null, 1000)).thenReturn(List.of());
+
+        var result = replayer.replay(null, 1000);
+
+        verifyNoInteractions(metricsService);
+        assertThat(result).isEqualTo(new ParkedRecordReplayer.ReplayResult(0, 0));
+    }
+
+    private ParkedRecord parked(String payload) {
+        return new ParkedRecord(UUID.randomUUID(), AppConstants.TOPIC_TICKET_CREATED, 0, 0L, null,
+            payload.getBytes(StandardCharsets.UTF_8), QueryTimeoutException.class.getName(), "timeout",
+            Instant.parse("2026-01-15T10:00:00Z"), 0);
+    }
+
+    private String ticketCreatedPayload() {
+        return """
+            {"tenantId":"%s","ticketId":"%s","workstreamId":"%s","type":"BUG","severity":"HIGH",
+             "reportedById":"%s","timestamp":"2026-01-15T10:00:00Z"}
+            """.formatted(tenantId, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    }
+}
@@ -0,0 +1,35 @@
+package ai.zevaro.analytics.consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ThroughputLog Unit Tests")
+class ThroughputLogTest {
+
+    @Test
+    @DisplayName("record should log the rate once per interval and keep a running total")
+    void testRecord_LogsOncePerInterval() {
+        var nanos = new AtomicLong();
+        var logger = mock(Logger.class);
+        var throughput = new ThroughputLog(Duration.ofSeconds(10), nanos::get);
+
+        throughput.record(logger, "Bulk load", 30_000);
+        nanos.set(Duration.ofSeconds(5).toNanos());
+        throughput.record(logger, "Bulk load", 20_000);
+        verifyNoInteractions(logger);
+
+        nanos.set(Duration.ofSeconds(10).toNanos());
+        throughput.record(logger, "Bulk load", 50_000);
+
+        verify(logger).info(anyString(), eq("Bulk load"), eq(10_000L), eq(10L), eq(100_000L));
+        assertThat(throughput.total()).isEqualTo(100_000);
+    }
+}
@@ -83,7 +83,8 @@ class DashboardControllerTest {
             Map.of("OPEN", 8, "RESOLVED", 17),  // ticketsByStatus
             Map.of("HIGH", 5, "MEDIUM", 12, "LOW", 8),  // ticketsBySeverity
             0,    // totalDocuments
-            0     // publishedDocuments
+            0,    // publishedDocuments
+            false // degraded
         );
     }
 
@@ -185,4 +186,19 @@ class DashboardControllerTest {
             .andExpect(jsonPath("$.lastDeployment", notNullValue()))
             .andExpect(jsonPath("$.idleTimeMinutes", notNullValue()));
     }
+
+    @Test
+    @DisplayName("GET /api/v1/dashboard/workstreams/status should return counts per status for a program")
+    void testGetWorkstreamStatusCounts_ShouldReturnCounts() throws Exception {
+        var programId = UUID.randomUUID();
+        when(dashboardService.getWorkstreamStatusCounts(tenantId, programId))
+            .thenReturn(Map.of("ACTIVE", 3, "COMPLETED", 1));
+
+        mockMvc.perform(get("/api/v1/dashboard/workstreams/status")
+                .header("X-Tenant-Id", tenantId.toString())
+                .param("programId", programId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ACTIVE", is(3)))
+            .andExpect(jsonPath("$.COMPLETED", is(1)));
+    }
 }
@@ -0,0 +1,145 @@
+package ai.zevaro.analytics.dashboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DashboardFanOut Unit Tests")
+class DashboardFanOutTest {
+
+    private final DashboardFanOut fanOut = new DashboardFanOut(Duration.ofMillis(200), 1);
+
+    @AfterEach
+    void tearDown() {
+        fanOut.destroy();
+    }
+
+    @Test
+    @DisplayName("branches should run concurrently and return their results")
+    void testJoin_RunsBranchesConcurrently() {
+        var started = new CountDownLatch(2);
+        var scope = fanOut.open();
+
+        var first = scope.fork("first", () -> awaitBoth(started, "a"), "fallback");
+        var second = scope.fork("second", () -> awaitBoth(started, "b"), "fallback");
+
+        assertThat(first.join()).isEqualTo("a");
+        assertThat(second.join()).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("a failing branch should return its fallback")
+    void testJoin_FailureReturnsFallback() {
+        var scope = fanOut.open();
+
+        var branch = scope.fork("failing", () -> {
+            throw new IllegalStateException("boom");
+        }, 0);
+
+        assertThat(branch.join()).isZero();
+        assertThat(branch.degraded()).isTrue();
+        assertThat(scope.degraded()).isTrue();
+    }
+
+    @Test
+    @DisplayName("a branch returning null should use its fallback without degrading the scope")
+    void testJoin_NullResultIsNotDegraded() {
+        var scope = fanOut.open();
+
+        var branch = scope.fork("empty", () -> (Double) null, 0.0);
+
+        assertThat(branch.join()).isZero();
+        assertThat(branch.degraded()).isFalse();
+        assertThat(scope.degraded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("query branches should not run more queries at once than there are permits")
+    void testForkQuery_BoundedByPermits() {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var scope = fanOut.open();
+
+        var first = scope.forkQuery("first", () -> track(running, maxRunning), 0);
+        var second = scope.forkQuery("second", () -> track(running, maxRunning), 0);
+
+        assertThat(first.join()).isEqualTo(1);
+        assertThat(second.join()).isEqualTo(1);
+        assertThat(maxRunning).hasValue(1);
+        assertThat(scope.degraded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("a query branch that gets no permit before the deadline should fall back")
+    void testForkQuery_NoPermitReturnsFallback() {
+        var release = new CountDownLatch(1);
+        var scope = fanOut.open();
+
+        var holder = scope.forkQuery("holder", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }, -1);
+        var waiting = scope.forkQuery("waiting", () -> 2, -1);
+
+        assertThat(waiting.join()).isEqualTo(-1);
+        assertThat(waiting.degraded()).isTrue();
+        release.countDown();
+        holder.join();
+    }
+
+    @Test
+    @DisplayName("branches still running at the deadline should return their fallback")
+    void testJoin_DeadlineReturnsFallback() {
+        var scope = fanOut.open();
+
+        var slow = scope.fork("slow", () -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42;
+        }, -1);
+        var fast = scope.fork("fast", () -> 7, -1);
+
+        long start = System.nanoTime();
+        assertThat(slow.join()).isEqualTo(-1);
+        assertThat(fast.join()).isEqualTo(7);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    private static int track(AtomicInteger running, AtomicInteger maxRunning) {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        return 1;
+    }
+
+    private static String awaitBoth(CountDownLatch started, String result) {
+        started.countDown();
+        try {
+            // Only completes if the other branch is running at the same time
+            if (!started.await(1, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("branches ran sequentially");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package ai.zevaro.analytics.dashboard;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.repository.AnalyticsEventRepository;
+import ai.zevaro.analytics.repository.DashboardCounter;
+import ai.zevaro.analytics.repository.DashboardCounterRepository;
+import ai.zevaro.analytics.repository.SpecificationLifecycleRepository;
+import ai.zevaro.analytics.repository.TicketLifecycleRepository;
+import ai.zevaro.analytics.repository.WorkstreamStateRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardProjectionService Unit Tests")
+class DashboardProjectionServiceTest {
+
+    @Mock
+    private DashboardCounterRepository counterRepository;
+
+    @Mock
+    private AnalyticsEventRepository analyticsEventRepository;
+
+    @Mock
+    private SpecificationLifecycleRepository specificationLifecycleRepository;
+
+    @Mock
+    private TicketLifecycleRepository ticketLifecycleRepository;
+
+    @Mock
+    private WorkstreamStateRepository workstreamStateRepository;
+
+    @InjectMocks
+    private DashboardProjectionService projectionService;
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+
+    @Test
+    @DisplayName("onWorkstreamCreated should bump mode buckets")
+    void testOnWorkstreamCreated_IncrementsBuckets() {
+        projectionService.onWorkstreamCreated(TEST_TENANT_ID, "AGILE", "AI_FIRST");
+
+        verify(counterRepository).increment(TEST_TENANT_ID, DashboardProjectionService.WORKSTREAMS_BY_MODE, "AGILE", 1);
+        verify(counterRepository).increment(
+            TEST_TENANT_ID, DashboardProjectionService.WORKSTREAMS_BY_EXECUTION_MODE, "AI_FIRST", 1);
+    }
+
+    @Test
+    @DisplayName("load should derive open tickets from counters and workstreams, pending specs and resolved tickets from state tables")
+    void testLoad_DerivesCounts() {
+        when(workstreamStateRepository.countByStatus(TEST_TENANT_ID)).thenReturn(List.of(
+            new Object[] {"ACTIVE", 2L},
+            new Object[] {"PAUSED", 1L},
+            new Object[] {"COMPLETED", 1L},
+            new Object[] {"ARCHIVED", 1L}));
+        when(counterRepository.findByTenantId(TEST_TENANT_ID)).thenReturn(List.of(
+            counter(DashboardProjectionService.WORKSTREAMS_BY_MODE, "AGILE", 5),
+            counter(DashboardProjectionService.SPECS_TOTAL, "", 9),
+            counter(DashboardProjectionService.TICKETS_TOTAL, "", 8),
+            counter(DashboardProjectionService.TICKETS_BY_SEVERITY, "HIGH", 6),
+            counter(DashboardProjectionService.TICKETS_BY_SEVERITY, "LOW", 0)
+        ));
+        when(specificationLifecycleRepository.countPendingReview(TEST_TENANT_ID)).thenReturn(4L);
+        when(ticketLifecycleRepository.countResolved(TEST_TENANT_ID)).thenReturn(3L);
+
+        var counts = projectionService.load(TEST_TENANT_ID);
+
+        assertThat(counts.totalWorkstreams()).isEqualTo(5);
+        assertThat(counts.activeWorkstreams()).isEqualTo(3);
+        assertThat(counts.workstreamsByMode()).containsExactly(Map.entry("AGILE", 5));
+        assertThat(counts.totalSpecifications()).isEqualTo(9);
+        assertThat(counts.specificationsPendingReview()).isEqualTo(4);
+        assertThat(counts.totalTickets()).isEqualTo(8);
+        assertThat(counts.openTickets()).isEqualTo(5);
+        assertThat(counts.resolvedTickets()).isEqualTo(3);
+        assertThat(counts.ticketsBySeverity()).containsExactly(Map.entry("HIGH", 6));
+    }
+
+    @Test
+    @DisplayName("load should return zeros for a tenant without counters")
+    void testLoad_EmptyTenant() {
+        when(counterRepository.findByTenantId(TEST_TENANT_ID)).thenReturn(List.of());
+
+        var counts = projectionService.load(TEST_TENANT_ID);
+
+        assertThat(counts.totalWorkstreams()).isZero();
+        assertThat(counts.openTickets()).isZero();
+        assertThat(counts.workstreamsByMode()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("workstreamsByStatus should count a program's workstreams from the state table")
+    void testWorkstreamsByStatus_ForProgram() {
+        var programId = UUID.randomUUID();
+        when(workstreamStateRepository.countByStatusForProgram(TEST_TENANT_ID, programId)).thenReturn(List.of(
+            new Object[] {"ACTIVE", 4L},
+            new Object[] {"COMPLETED", 2L}));
+
+        var byStatus = projectionService.workstreamsByStatus(TEST_TENANT_ID, programId);
+
+        assertThat(byStatus).containsExactly(Map.entry("ACTIVE", 4), Map.entry("COMPLETED", 2));
+        verify(workstreamStateRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    @DisplayName("rebuild should reset counters and recount creation events in SQL")
+    void testRebuild_AggregatesInRepository() {
+        when(analyticsEventRepository.countByMode(TEST_TENANT_ID, AppConstants.EVENT_WORKSTREAM_CREATED))
+            .thenReturn(List.<Object[]>of(new Object[] {"AGILE", 2L}));
+        when(analyticsEventRepository.countByExecutionMode(TEST_TENANT_ID, AppConstants.EVENT_WORKSTREAM_CREATED))
+            .thenReturn(List.of());
+        when(analyticsEventRepository.countBySeverity(TEST_TENANT_ID, AppConstants.EVENT_TICKET_CREATED))
+            .thenReturn(List.<Object[]>of(new Object[] {"HIGH", 3L}));
+        when(analyticsEventRepository.countByTenantIdAndEventTypeAndEventTimestampAfter(
+            TEST_TENANT_ID, AppConstants.EVENT_SPEC_CREATED, Instant.EPOCH)).thenReturn(0L);
+        when(analyticsEventRepository.countByTenantIdAndEventTypeAndEventTimestampAfter(
+            TEST_TENANT_ID, AppConstants.EVENT_TICKET_CREATED, Instant.EPOCH)).thenReturn(5L);
+        when(counterRepository.findByTenantId(TEST_TENANT_ID)).thenReturn(List.of());
+
+        projectionService.rebuild(TEST_TENANT_ID);
+
+        verify(counterRepository).deleteByTenantId(TEST_TENANT_ID);
+        verify(counterRepository).increment(TEST_TENANT_ID, DashboardProjectionService.WORKSTREAMS_BY_MODE, "AGILE", 2);
+        verify(counterRepository).increment(TEST_TENANT_ID, DashboardProjectionService.TICKETS_TOTAL, "", 5);
+        verify(counterRepository).increment(TEST_TENANT_ID, DashboardProjectionService.TICKETS_BY_SEVERITY, "HIGH", 3);
+        verify(counterRepository, never()).increment(
+            eq(TEST_TENANT_ID), eq(DashboardProjectionService.SPECS_TOTAL), anyString(), anyLong());
+        verify(analyticsEventRepository, never()).findByTenantIdAndEventTypeAndEventTimestampAfter(
+            any(), anyString(), any());
+    }
+
+    private DashboardCounter counter(String name, String bucket, long value) {
+        return DashboardCounter.builder()
+            .tenantId(TEST_TENANT_ID)
+            .counterName(name)
+            .bucket(bucket)
+            .value(value)
+            .build();
+    }
+}
@@ -1,28 +1,38 @@
 package ai.zevaro.analytics.dashboard;
 
+import ai.zevaro.analytics.cache.RefreshAheadCache;
 import ai.zevaro.analytics.client.CoreServiceClient;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.client.dto.CoreDecisionSummary;
 import ai.zevaro.analytics.client.dto.CoreStakeholderInfo;
 import ai.zevaro.analytics.config.AppConstants;
 import ai.zevaro.analytics.dashboard.dto.DashboardData;
-import ai.zevaro.analytics.repository.AnalyticsEventRepository;
 import ai.zevaro.analytics.repository.DecisionCycleLog;
 import ai.zevaro.analytics.repository.DecisionCycleLogRepository;
 import ai.zevaro.analytics.repository.MetricSnapshot;
 import ai.zevaro.analytics.repository.MetricSnapshotRepository;
+import ai.zevaro.analytics.repository.SpecificationLifecycleRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,7 +52,19 @@ class DashboardServiceTest {
     private CoreServiceClient coreServiceClient;
 
     @Mock
-    private AnalyticsEventRepository analyticsEventRepository;
+    private StakeholderDirectory stakeholderDirectory;
+
+    @Mock
+    private SpecificationLifecycleRepository specificationLifecycleRepository;
+
+    @Mock
+    private DashboardProjectionService projectionService;
+
+    @Mock
+    private RefreshAheadCache dashboardCache;
+
+    @Spy
+    private DashboardFanOut fanOut = new DashboardFanOut(Duration.ofSeconds(5), 4);
 
     @InjectMocks
     private DashboardService dashboardService;
@@ -51,12 +73,23 @@ class DashboardServiceTest {
     private static final UUID TEST_STAKEHOLDER_ID_1 = UUID.randomUUID();
     private static final UUID TEST_STAKEHOLDER_ID_2 = UUID.randomUUID();
 
+    @AfterEach
+    void tearDown() {
+        fanOut.destroy();
+    }
+
     @BeforeEach
     void setUp() {
-        // Default stub for analytics event queries — returns empty lists
-        lenient().when(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
-            any(UUID.class), anyString(), any(Instant.class)))
-            .thenReturn(List.of());
+        // Default stub for the dashboard projection — a tenant with no v2 entities yet
+        lenient().when(projectionService.load(any(UUID.class)))
+            .thenReturn(new DashboardProjectionService.DashboardCounts(
+                0, 0, Map.of(), Map.of(), 0, 0, 0, 0, 0, Map.of()));
+
+        // Pass-through cache: always compute
+        lenient().when(dashboardCache.get(anyString(), anyString(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(dashboardCache.get(anyString(), anyString(), any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
     }
 
     @Test
@@ -119,24 +152,24 @@ class DashboardServiceTest {
                 )
             ));
 
-        when(coreServiceClient.getStakeholder(TEST_TENANT_ID, TEST_STAKEHOLDER_ID_1))
-            .thenReturn(new CoreStakeholderInfo(
-                TEST_STAKEHOLDER_ID_1,
-                "Alice Smith",
-                "alice@example.com",
-                "Manager",
-                2,
-                15
-            ));
-
-        when(coreServiceClient.getStakeholder(TEST_TENANT_ID, TEST_STAKEHOLDER_ID_2))
-            .thenReturn(new CoreStakeholderInfo(
-                TEST_STAKEHOLDER_ID_2,
-                "Bob Johnson",
-                "bob@example.com",
-                "Analyst",
-                1,
-                10
+        when(stakeholderDirectory.lookup(eq(TEST_TENANT_ID), anyCollection()))
+            .thenReturn(Map.of(
+                TEST_STAKEHOLDER_ID_1, new CoreStakeholderInfo(
+                    TEST_STAKEHOLDER_ID_1,
+                    "Alice Smith",
+                    "alice@example.com",
+                    "Manager",
+                    2,
+                    15
+                ),
+                TEST_STAKEHOLDER_ID_2, new CoreStakeholderInfo(
+                    TEST_STAKEHOLDER_ID_2,
+                    "Bob Johnson",
+                    "bob@example.com",
+                    "Analyst",
+                    1,
+                    10
+                )
             ));
 
         // Act
@@ -151,6 +184,7 @@ class DashboardServiceTest {
         assertThat(dashboard.experimentsRunning()).isEqualTo(2);
         assertThat(dashboard.decisionHealthStatus()).isEqualTo("GREEN");
         assertThat(dashboard.urgentDecisions()).hasSize(1);
+        assertThat(dashboard.degraded()).isFalse();
         assertThat(dashboard.stakeholderLeaderboard()).hasSize(2);
         assertThat(dashboard.pipelineStatus()).isEqualTo("IDLE");
     }
@@ -309,6 +343,27 @@ class DashboardServiceTest {
         assertThat(dashboard.avgDecisionWaitHours()).isZero();
     }
 
+    @Test
+    @DisplayName("getDashboard should fall back for a failing branch and keep the others")
+    void testGetDashboard_DegradesFailingBranch() {
+        // Arrange
+        when(cycleLogRepository.findAvgCycleTimeSince(eq(TEST_TENANT_ID), any(Instant.class)))
+            .thenReturn(30.0);
+        when(coreServiceClient.getPendingDecisionCount(TEST_TENANT_ID))
+            .thenThrow(new IllegalStateException("core unavailable"));
+        when(coreServiceClient.getActiveHypothesisCount(TEST_TENANT_ID))
+            .thenReturn(2);
+
+        // Act
+        var dashboard = dashboardService.getDashboard(TEST_TENANT_ID, null);
+
+        // Assert
+        assertThat(dashboard.decisionsPendingCount()).isZero();
+        assertThat(dashboard.avgDecisionWaitHours()).isEqualTo(30.0);
+        assertThat(dashboard.experimentsRunning()).isEqualTo(2);
+        assertThat(dashboard.urgentDecisions()).isEmpty();
+    }
+
     @Test
     @DisplayName("getDashboard should populate urgent decisions list")
     void testGetDashboard_PopulatesUrgentDecisions() {
@@ -417,4 +472,66 @@ class DashboardServiceTest {
         // Assert
         assertThat(dashboard.outcomesValidatedThisWeek()).isEqualTo(10); // 5 + 3 + 2
     }
+
+    @Test
+    @DisplayName("getDashboard should read v2 counts from the projection instead of scanning event history")
+    void testGetDashboard_ReadsCountsFromProjection() {
+        // Arrange
+        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDateBetweenOrderByMetricDateAsc(
+            any(UUID.class), anyString(), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(List.of());
+        when(cycleLogRepository.findAvgCycleTimeByStakeholder(eq(TEST_TENANT_ID), any(Instant.class)))
+            .thenReturn(List.of());
+        when(coreServiceClient.getUrgentDecisions(TEST_TENANT_ID))
+            .thenReturn(List.of());
+
+        when(projectionService.load(TEST_TENANT_ID))
+            .thenReturn(new DashboardProjectionService.DashboardCounts(
+                4, 3, Map.of("AGILE", 4), Map.of("AI_FIRST", 1),
+                10, 6,
+                7, 5, 2, Map.of("HIGH", 3, "LOW", 4)));
+        when(specificationLifecycleRepository.countApprovedSince(eq(TEST_TENANT_ID), any(Instant.class)))
+            .thenReturn(2L);
+
+        // Act
+        var dashboard = dashboardService.getDashboard(TEST_TENANT_ID, null);
+
+        // Assert
+        assertThat(dashboard.totalWorkstreams()).isEqualTo(4);
+        assertThat(dashboard.activeWorkstreams()).isEqualTo(3);
+        assertThat(dashboard.workstreamsByMode()).containsEntry("AGILE", 4);
+        assertThat(dashboard.totalSpecifications()).isEqualTo(10);
+        assertThat(dashboard.specificationsPendingReview()).isEqualTo(6);
+        assertThat(dashboard.specificationsApprovedThisWeek()).isEqualTo(2);
+        assertThat(dashboard.totalTickets()).isEqualTo(7);
+        assertThat(dashboard.openTickets()).isEqualTo(5);
+        assertThat(dashboard.ticketsByStatus()).containsEntry("OPEN", 5).containsEntry("RESOLVED", 2);
+        assertThat(dashboard.ticketsBySeverity()).containsEntry("HIGH", 3);
+    }
+
+    @Test
+    @DisplayName("getDashboard should flag a result with failed branches as degraded and keep it out of the cache")
+    @SuppressWarnings("unchecked")
+    void testGetDashboard_DegradedResultIsNotCached() {
+        // Arrange
+        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDateBetweenOrderByMetricDateAsc(
+            any(UUID.class), anyString(), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(List.of());
+        when(cycleLogRepository.findAvgCycleTimeSince(eq(TEST_TENANT_ID), any(Instant.class)))
+            .thenThrow(new QueryTimeoutException("timeout"));
+        when(cycleLogRepository.findAvgCycleTimeByStakeholder(eq(TEST_TENANT_ID), any(Instant.class)))
+            .thenReturn(List.of());
+        when(coreServiceClient.getUrgentDecisions(TEST_TENANT_ID))
+            .thenReturn(List.of());
+
+        // Act
+        var dashboard = dashboardService.getDashboard(TEST_TENANT_ID, null);
+
+        // Assert
+        assertThat(dashboard.degraded()).isTrue();
+        assertThat(dashboard.decisionHealthStatus()).isEqualTo("UNKNOWN");
+        var cacheable = ArgumentCaptor.forClass(Predicate.class);
+        verify(dashboardCache).get(eq(AppConstants.CACHE_DASHBOARD), anyString(), any(), cacheable.capture());
+        assertThat(cacheable.getValue().test(dashboard)).isFalse();
+    }
 }
@@ -0,0 +1,153 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.repository.DecisionCycleLogRepository;
+import ai.zevaro.analytics.repository.MetricSnapshot;
+import ai.zevaro.analytics.repository.MetricSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DecisionVelocityReconciler Unit Tests")
+class DecisionVelocityReconcilerTest {
+
+    @Mock
+    private MetricSnapshotRepository snapshotRepository;
+
+    @Mock
+    private DecisionCycleLogRepository cycleLogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DecisionVelocityReconciler reconciler;
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2026-03-10T12:00:00Z");
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new DecisionVelocityReconciler(
+            snapshotRepository, cycleLogRepository, transactionManager, 2, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("reconcile should leave snapshots alone when running totals match the logs")
+    void testReconcile_NoDrift() {
+        when(cycleLogRepository.aggregateDailyCycleTimesSince(any(Instant.class)))
+            .thenReturn(List.<Object[]>of(logRow(TODAY, 2, "6.00", 1)));
+        when(snapshotRepository.findByMetricTypeAndMetricDateBetween(
+                AppConstants.METRIC_DECISION_VELOCITY, TODAY.minusDays(2), TODAY))
+            .thenReturn(List.of(snapshot(TODAY, "3.00", 2, "6.00", 1)));
+
+        assertThat(reconciler.reconcile()).isZero();
+
+        verify(snapshotRepository, never()).lockByTenantIdAndMetricTypeAndMetricDate(any(), any(), any());
+        verify(snapshotRepository, never()).save(any(MetricSnapshot.class));
+    }
+
+    @Test
+    @DisplayName("reconcile should recompute a drifted day from the logs under a row lock")
+    void testReconcile_RepairsDrift() {
+        var drifted = snapshot(TODAY, "2.00", 1, "2.00", 0);
+        drifted.getDimensions().put("note", "kept");
+
+        when(cycleLogRepository.aggregateDailyCycleTimesSince(any(Instant.class)))
+            .thenReturn(List.<Object[]>of(logRow(TODAY, 3, "7.50", 1)));
+        when(snapshotRepository.findByMetricTypeAndMetricDateBetween(any(), any(), any()))
+            .thenReturn(List.of(drifted));
+        when(snapshotRepository.lockByTenantIdAndMetricTypeAndMetricDate(
+                TEST_TENANT_ID, AppConstants.METRIC_DECISION_VELOCITY, TODAY))
+            .thenReturn(Optional.of(drifted));
+        when(cycleLogRepository.aggregateCycleTimesBetween(eq(TEST_TENANT_ID), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.<Object[]>of(new Object[]{3L, new BigDecimal("7.50"), 1L}));
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+
+        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
+        verify(snapshotRepository).save(captor.capture());
+        var repaired = captor.getValue();
+        assertThat(repaired.getValue()).isEqualByComparingTo("2.50");
+        assertThat(repaired.getDimensions())
+            .containsEntry("decisionsResolved", 3L)
+            .containsEntry("escalatedCount", 1L)
+            .containsEntry("note", "kept");
+        assertThat((BigDecimal) repaired.getDimensions().get("cycleTimeSum")).isEqualByComparingTo("7.50");
+    }
+
+    @Test
+    @DisplayName("reconcile should create a missing snapshot for a day that has logs")
+    void testReconcile_CreatesMissingSnapshot() {
+        var yesterday = TODAY.minusDays(1);
+        when(cycleLogRepository.aggregateDailyCycleTimesSince(any(Instant.class)))
+            .thenReturn(List.<Object[]>of(logRow(yesterday, 1, "4.00", 0)));
+        when(snapshotRepository.findByMetricTypeAndMetricDateBetween(any(), any(), any()))
+            .thenReturn(List.of());
+        when(snapshotRepository.lockByTenantIdAndMetricTypeAndMetricDate(any(), any(), any()))
+            .thenReturn(Optional.empty());
+        when(cycleLogRepository.aggregateCycleTimesBetween(eq(TEST_TENANT_ID), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("4.00"), 0L}));
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+
+        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
+        verify(snapshotRepository).save(captor.capture());
+        assertThat(captor.getValue().getTenantId()).isEqualTo(TEST_TENANT_ID);
+        assertThat(captor.getValue().getMetricDate()).isEqualTo(yesterday);
+        assertThat(captor.getValue().getValue()).isEqualByComparingTo("4.00");
+    }
+
+    @Test
+    @DisplayName("reconcile should treat snapshots without cycleTimeSum as value * decisionsResolved")
+    void testReconcile_LegacySnapshotWithoutSum() {
+        var legacy = snapshot(TODAY, "3.00", 2, null, 0);
+
+        when(cycleLogRepository.aggregateDailyCycleTimesSince(any(Instant.class)))
+            .thenReturn(List.<Object[]>of(logRow(TODAY, 2, "6.00", 0)));
+        when(snapshotRepository.findByMetricTypeAndMetricDateBetween(any(), any(), any()))
+            .thenReturn(List.of(legacy));
+
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    private static Object[] logRow(LocalDate day, long decisions, String sum, long escalated) {
+        return new Object[]{TEST_TENANT_ID, Date.valueOf(day), decisions, new BigDecimal(sum), escalated};
+    }
+
+    private static MetricSnapshot snapshot(LocalDate day, String value, int decisions, String sum, int escalated) {
+        var dimensions = new HashMap<String, Object>(Map.of(
+            "decisionsResolved", decisions,
+            "escalatedCount", escalated));
+        if (sum != null) dimensions.put("cycleTimeSum", Double.parseDouble(sum));
+        return MetricSnapshot.builder()
+            .tenantId(TEST_TENANT_ID)
+            .metricType(AppConstants.METRIC_DECISION_VELOCITY)
+            .metricDate(day)
+            .value(new BigDecimal(value))
+            .dimensions(dimensions)
+            .build();
+    }
+}
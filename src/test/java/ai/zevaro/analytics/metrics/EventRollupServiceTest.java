@@ -0,0 +1,334 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.metrics.EventRollupService.RollupKey;
+import ai.zevaro.analytics.metrics.EventRollupService.Totals;
+import ai.zevaro.analytics.repository.AnalyticsEvent;
+import ai.zevaro.analytics.repository.AnalyticsEventRepository;
+import ai.zevaro.analytics.repository.EventRollup;
+import ai.zevaro.analytics.repository.EventRollupRepository;
+import ai.zevaro.analytics.repository.SpecificationLifecycle;
+import ai.zevaro.analytics.repository.SpecificationLifecycleRepository;
+import ai.zevaro.analytics.repository.TicketLifecycle;
+import ai.zevaro.analytics.repository.TicketLifecycleRepository;
+import ai.zevaro.analytics.repository.WorkstreamState;
+import ai.zevaro.analytics.repository.WorkstreamStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventRollupService Unit Tests")
+class EventRollupServiceTest {
+
+    @Mock
+    private EventRollupRepository rollupRepository;
+
+    @Mock
+    private AnalyticsEventRepository analyticsEventRepository;
+
+    @Mock
+    private TicketLifecycleRepository ticketLifecycleRepository;
+
+    @Mock
+    private SpecificationLifecycleRepository specificationLifecycleRepository;
+
+    @Mock
+    private WorkstreamStateRepository workstreamStateRepository;
+
+    @Mock
+    private LatencySketchService latencySketches;
+
+    private EventRollupService rollupService;
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+    private static final UUID TEST_PROGRAM_ID = UUID.randomUUID();
+    private static final UUID TEST_WORKSTREAM_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2026-03-10T14:25:00Z");
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new EventRollupService(
+            rollupRepository, analyticsEventRepository, ticketLifecycleRepository,
+            specificationLifecycleRepository, workstreamStateRepository, latencySketches,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("collect should open a ticket in hourly and daily buckets of every known scope")
+    void testCollect_TicketCreated_OpensInAllScopes() {
+        when(workstreamStateRepository.findById(TEST_WORKSTREAM_ID))
+            .thenReturn(Optional.of(workstreamState("AI_FIRST")));
+        var deltas = new EventRollupService.Deltas();
+
+        rollupService.collect(ticketCreated(UUID.randomUUID(), NOW), deltas);
+
+        assertThat(deltas.buckets()).hasSize(6);
+        assertThat(deltas.buckets().get(key("PROGRAM", TEST_PROGRAM_ID, "HOUR", EventRollupService.TICKETS_OPEN,
+            Instant.parse("2026-03-10T14:00:00Z"), "", ""))).isEqualTo(Totals.ONE);
+        assertThat(deltas.buckets().get(key("WORKSTREAM", TEST_WORKSTREAM_ID, "DAY", EventRollupService.TICKETS_OPEN,
+            Instant.parse("2026-03-10T00:00:00Z"), "", ""))).isEqualTo(Totals.ONE);
+    }
+
+    @Test
+    @DisplayName("collect should pair a resolution with its ticket lifecycle and close the ticket where it opened")
+    void testCollect_TicketResolved_PairsWithLifecycle() {
+        var ticketId = UUID.randomUUID();
+        var createdAt = Instant.parse("2026-03-09T08:00:00Z");
+        when(ticketLifecycleRepository.findById(ticketId))
+            .thenReturn(Optional.of(ticketLifecycle(ticketId, createdAt)));
+        when(workstreamStateRepository.findById(TEST_WORKSTREAM_ID))
+            .thenReturn(Optional.of(workstreamState("AI_FIRST")));
+        var deltas = new EventRollupService.Deltas();
+
+        rollupService.collect(ticketResolved(ticketId, Instant.parse("2026-03-09T20:00:00Z")), deltas);
+
+        var day = Instant.parse("2026-03-09T00:00:00Z");
+        var timed = new Totals(1, 12.0, 1);
+        assertThat(deltas.buckets().get(key("TENANT", TEST_TENANT_ID, "DAY", EventRollupService.TICKETS_RESOLVED,
+            day, "", ""))).isEqualTo(timed);
+        assertThat(deltas.buckets().get(key("PROGRAM", TEST_PROGRAM_ID, "DAY", EventRollupService.TICKETS_RESOLVED,
+            day, "severity", "HIGH"))).isEqualTo(timed);
+        assertThat(deltas.buckets().get(key("TENANT", TEST_TENANT_ID, "DAY", EventRollupService.TICKETS_RESOLVED,
+            day, "executionMode", "AI_FIRST"))).isEqualTo(timed);
+        assertThat(deltas.buckets().get(key("TENANT", TEST_TENANT_ID, "DAY", EventRollupService.TICKETS_RESOLVED,
+            day, "resolution", "FIXED"))).isEqualTo(Totals.ONE);
+        assertThat(deltas.buckets().get(key("WORKSTREAM", TEST_WORKSTREAM_ID, "HOUR", EventRollupService.TICKETS_OPEN,
+            Instant.parse("2026-03-09T08:00:00Z"), "", ""))).isEqualTo(Totals.ONE.negate());
+        verify(latencySketches).collect(TEST_TENANT_ID, AppConstants.METRIC_TICKET_RESOLUTION_TIME,
+            Instant.parse("2026-03-09T20:00:00Z"), 12.0,
+            Map.of("type", "BUG", "severity", "HIGH", "executionMode", "AI_FIRST"), deltas.sketchBins());
+        verify(analyticsEventRepository, never()).findFirstByEntityIdAndEventType(any(), any());
+    }
+
+    @Test
+    @DisplayName("collect should count a resolution without a known creation at tenant scope only")
+    void testCollect_TicketResolvedWithoutCreation_CountsOnly() {
+        var ticketId = UUID.randomUUID();
+        when(ticketLifecycleRepository.findById(ticketId))
+            .thenReturn(Optional.of(TicketLifecycle.builder()
+                .ticketId(ticketId)
+                .tenantId(TEST_TENANT_ID)
+                .resolvedAt(NOW)
+                .resolution("FIXED")
+                .build()));
+        var deltas = new EventRollupService.Deltas();
+
+        rollupService.collect(ticketResolved(ticketId, NOW), deltas);
+
+        assertThat(deltas.buckets()).hasSize(4);
+        assertThat(deltas.buckets().keySet()).allMatch(k -> k.scopeType().equals("TENANT"));
+        assertThat(deltas.buckets().values()).containsOnly(Totals.ONE);
+        verifyNoInteractions(latencySketches);
+    }
+
+    @Test
+    @DisplayName("collect should time an approval from the specification lifecycle's creation")
+    void testCollect_SpecificationApproved_PairsWithLifecycle() {
+        var specificationId = UUID.randomUUID();
+        when(specificationLifecycleRepository.findById(specificationId))
+            .thenReturn(Optional.of(SpecificationLifecycle.builder()
+                .specificationId(specificationId)
+                .tenantId(TEST_TENANT_ID)
+                .programId(TEST_PROGRAM_ID)
+                .workstreamId(TEST_WORKSTREAM_ID)
+                .status("IN_REVIEW")
+                .createdAt(NOW.minus(Duration.ofHours(30)))
+                .build()));
+        var deltas = new EventRollupService.Deltas();
+
+        rollupService.collect(event(AppConstants.EVENT_SPEC_APPROVED, specificationId, null, NOW)
+            .metadata(Map.of("approvedById", UUID.randomUUID().toString()))
+            .build(), deltas);
+
+        assertThat(deltas.buckets()).hasSize(6);
+        assertThat(deltas.buckets().get(key("PROGRAM", TEST_PROGRAM_ID, "DAY", EventRollupService.SPECS_APPROVED,
+            Instant.parse("2026-03-10T00:00:00Z"), "", ""))).isEqualTo(new Totals(1, 30.0, 1));
+        verifyNoInteractions(analyticsEventRepository);
+    }
+
+    @Test
+    @DisplayName("collect should ignore specification status changes other than rejection")
+    void testCollect_SpecificationStatusChanged_OnlyCountsRejections() {
+        var deltas = new EventRollupService.Deltas();
+
+        rollupService.collect(event(AppConstants.EVENT_SPEC_STATUS_CHANGED, UUID.randomUUID(), null, NOW)
+            .newStatus("IN_REVIEW")
+            .metadata(Map.of("oldStatus", "DRAFT"))
+            .build(), deltas);
+
+        assertThat(deltas.buckets()).isEmpty();
+        verifyNoInteractions(analyticsEventRepository);
+    }
+
+    @Test
+    @DisplayName("write should upsert each non-zero bucket delta")
+    void testWrite_UpsertsNonZeroDeltas() {
+        var bucket = Instant.parse("2026-03-10T00:00:00Z");
+        var deltas = new EventRollupService.Deltas();
+        deltas.buckets().put(
+            key("TENANT", TEST_TENANT_ID, "DAY", EventRollupService.TICKETS_RESOLVED, bucket, "", ""),
+            new Totals(2, 5.0, 2));
+        deltas.buckets().put(
+            key("TENANT", TEST_TENANT_ID, "DAY", EventRollupService.TICKETS_OPEN, bucket, "", ""),
+            Totals.ZERO);
+
+        rollupService.write(deltas);
+
+        verify(rollupRepository).add(TEST_TENANT_ID, "TENANT", TEST_TENANT_ID, "DAY",
+            EventRollupService.TICKETS_RESOLVED, bucket, "", "", 2, 5.0, 2);
+        verifyNoMoreInteractions(rollupRepository);
+        verify(latencySketches).write(deltas.sketchBins());
+    }
+
+    @Test
+    @DisplayName("read should use hourly buckets for the leading partial day and daily buckets after it")
+    void testRead_SplitsWindowIntoHourlyAndDailyBuckets() {
+        rollupService.read(TEST_TENANT_ID, TEST_PROGRAM_ID, Duration.ofDays(2), EventRollupService.TICKETS_RESOLVED);
+
+        verify(rollupRepository).findBuckets(TEST_TENANT_ID, "PROGRAM", TEST_PROGRAM_ID, "HOUR",
+            List.of(EventRollupService.TICKETS_RESOLVED),
+            Instant.parse("2026-03-08T14:00:00Z"), Instant.parse("2026-03-09T00:00:00Z"));
+        verify(rollupRepository).findBuckets(TEST_TENANT_ID, "PROGRAM", TEST_PROGRAM_ID, "DAY",
+            List.of(EventRollupService.TICKETS_RESOLVED),
+            Instant.parse("2026-03-09T00:00:00Z"), Instant.parse("2026-03-11T00:00:00Z"));
+        verifyNoInteractions(analyticsEventRepository);
+    }
+
+    @Test
+    @DisplayName("rebuild should replace the tenant's rollups using preloaded creation events")
+    void testRebuild_ReplaysHistoryWithoutPerEventLookups() {
+        var ticketId = UUID.randomUUID();
+        when(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
+                eq(TEST_TENANT_ID), anyString(), eq(Instant.EPOCH)))
+            .thenReturn(List.of());
+        when(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
+                TEST_TENANT_ID, AppConstants.EVENT_TICKET_CREATED, Instant.EPOCH))
+            .thenReturn(List.of(ticketCreated(ticketId, NOW.minus(Duration.ofHours(3)))));
+        when(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
+                TEST_TENANT_ID, AppConstants.EVENT_TICKET_RESOLVED, Instant.EPOCH))
+            .thenReturn(List.of(ticketResolved(ticketId, NOW)));
+        when(analyticsEventRepository.findByTenantIdAndEventTypeAndEventTimestampAfter(
+                TEST_TENANT_ID, AppConstants.EVENT_WORKSTREAM_CREATED, Instant.EPOCH))
+            .thenReturn(List.of(workstreamCreated("AI_FIRST")));
+
+        int buckets = rollupService.rebuild(TEST_TENANT_ID);
+
+        assertThat(buckets).isPositive();
+        verify(rollupRepository).deleteByTenantId(TEST_TENANT_ID);
+        verify(latencySketches).delete(TEST_TENANT_ID, AppConstants.METRIC_TICKET_RESOLUTION_TIME);
+        verify(rollupRepository).add(TEST_TENANT_ID, "TENANT", TEST_TENANT_ID, "DAY",
+            EventRollupService.TICKETS_RESOLVED, Instant.parse("2026-03-10T00:00:00Z"), "", "", 1, 3.0, 1);
+        verify(rollupRepository).add(TEST_TENANT_ID, "PROGRAM", TEST_PROGRAM_ID, "DAY",
+            EventRollupService.TICKETS_RESOLVED, Instant.parse("2026-03-10T00:00:00Z"),
+            "executionMode", "AI_FIRST", 1, 3.0, 1);
+        verify(analyticsEventRepository, never()).findFirstByEntityIdAndEventType(any(), any());
+        verifyNoInteractions(ticketLifecycleRepository, specificationLifecycleRepository, workstreamStateRepository);
+    }
+
+    @Test
+    @DisplayName("Rollups should sum buckets per dimension value and average durations")
+    void testRollups_SumsBuckets() {
+        var rollups = new EventRollupService.Rollups(List.of(
+            bucket("severity", "HIGH", 2, 6.0, 2),
+            bucket("severity", "HIGH", 1, 6.0, 1),
+            bucket("severity", "LOW", 1, 0.0, 0),
+            bucket("", "", 4, 12.0, 3)));
+
+        assertThat(rollups.totals(EventRollupService.TICKETS_RESOLVED)).isEqualTo(new Totals(4, 12.0, 3));
+        assertThat(rollups.by(EventRollupService.TICKETS_RESOLVED, "severity").get("HIGH").averageHours())
+            .isEqualTo(4.0);
+        assertThat(rollups.by(EventRollupService.TICKETS_RESOLVED, "severity").get("LOW").averageHours())
+            .isZero();
+        assertThat(rollups.totals(EventRollupService.SPECS_APPROVED)).isEqualTo(Totals.ZERO);
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────
+
+    private static RollupKey key(String scopeType, UUID scopeId, String granularity, String metric,
+                                 Instant bucketStart, String dimension, String dimensionValue) {
+        return new RollupKey(TEST_TENANT_ID, scopeType, scopeId, granularity, metric,
+            bucketStart, dimension, dimensionValue);
+    }
+
+    private static AnalyticsEvent ticketCreated(UUID ticketId, Instant at) {
+        return event(AppConstants.EVENT_TICKET_CREATED, ticketId, null, at)
+            .workstreamId(TEST_WORKSTREAM_ID)
+            .ticketType("BUG")
+            .severity("HIGH")
+            .build();
+    }
+
+    private static TicketLifecycle ticketLifecycle(UUID ticketId, Instant createdAt) {
+        return TicketLifecycle.builder()
+            .ticketId(ticketId)
+            .tenantId(TEST_TENANT_ID)
+            .workstreamId(TEST_WORKSTREAM_ID)
+            .type("BUG")
+            .severity("HIGH")
+            .createdAt(createdAt)
+            .build();
+    }
+
+    private static AnalyticsEvent ticketResolved(UUID ticketId, Instant at) {
+        return event(AppConstants.EVENT_TICKET_RESOLVED, ticketId, null, at)
+            .resolution("FIXED")
+            .build();
+    }
+
+    private static WorkstreamState workstreamState(String executionMode) {
+        return WorkstreamState.builder()
+            .workstreamId(TEST_WORKSTREAM_ID)
+            .tenantId(TEST_TENANT_ID)
+            .programId(TEST_PROGRAM_ID)
+            .executionMode(executionMode)
+            .status("ACTIVE")
+            .createdAt(NOW.minus(Duration.ofDays(30)))
+            .build();
+    }
+
+    private static AnalyticsEvent workstreamCreated(String executionMode) {
+        return event(AppConstants.EVENT_WORKSTREAM_CREATED, TEST_WORKSTREAM_ID, TEST_PROGRAM_ID,
+            NOW.minus(Duration.ofDays(30)))
+            .executionMode(executionMode)
+            .build();
+    }
+
+    private static AnalyticsEvent.AnalyticsEventBuilder event(String type, UUID entityId, UUID parentId, Instant at) {
+        return AnalyticsEvent.builder()
+            .tenantId(TEST_TENANT_ID)
+            .eventType(type)
+            .entityId(entityId)
+            .parentId(parentId)
+            .eventTimestamp(at);
+    }
+
+    private static EventRollup bucket(
+            String dimension, String value, long count, double hoursSum, long hoursCount) {
+        return EventRollup.builder()
+            .metric(EventRollupService.TICKETS_RESOLVED)
+            .bucketStart(NOW)
+            .dimension(dimension)
+            .dimensionValue(value)
+            .eventCount(count)
+            .durationHoursSum(hoursSum)
+            .durationCount(hoursCount)
+            .build();
+    }
+}
@@ -0,0 +1,77 @@
+package ai.zevaro.analytics.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IngestDeduplicator Unit Tests")
+class IngestDeduplicatorTest {
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+
+    private final IngestDeduplicator deduplicator = new IngestDeduplicator(100, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("remember outside a transaction should mark keys as seen immediately")
+    void testRemember_NoTransaction() {
+        var key = IngestDeduplicator.Key.of(TEST_TENANT_ID, "TICKET_CREATED", UUID.randomUUID(), Instant.now());
+
+        deduplicator.remember(List.of(key));
+
+        assertThat(deduplicator.seen(key)).isTrue();
+    }
+
+    @Test
+    @DisplayName("remember inside a transaction should only mark keys as seen after commit")
+    void testRemember_WaitsForCommit() {
+        var key = IngestDeduplicator.Key.of(TEST_TENANT_ID, "TICKET_CREATED", UUID.randomUUID(), Instant.now());
+        TransactionSynchronizationManager.initSynchronization();
+
+        deduplicator.remember(List.of(key));
+
+        assertThat(deduplicator.seen(key)).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(deduplicator.seen(key)).isTrue();
+    }
+
+    @Test
+    @DisplayName("rolled back transactions should remember nothing")
+    void testRemember_RollbackRemembersNothing() {
+        var key = IngestDeduplicator.Key.of(TEST_TENANT_ID, "TICKET_CREATED", UUID.randomUUID(), Instant.now());
+        TransactionSynchronizationManager.initSynchronization();
+
+        deduplicator.remember(List.of(key));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(deduplicator.seen(key)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Key.of should compare timestamps at the database's microsecond precision")
+    void testKey_TruncatesToMicros() {
+        var entityId = UUID.randomUUID();
+        var at = Instant.parse("2026-10-16T12:00:00.123456Z");
+
+        deduplicator.remember(List.of(IngestDeduplicator.Key.of(TEST_TENANT_ID, "TICKET_CREATED", entityId, at)));
+
+        assertThat(deduplicator.seen(IngestDeduplicator.Key.of(
+            TEST_TENANT_ID, "TICKET_CREATED", entityId, at.plusNanos(789)))).isTrue();
+    }
+}
@@ -0,0 +1,78 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.metrics.LatencySketchService.BinKey;
+import ai.zevaro.analytics.repository.LatencySketchBinRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LatencySketchService Unit Tests")
+class LatencySketchServiceTest {
+
+    @Mock
+    private LatencySketchBinRepository binRepository;
+
+    @InjectMocks
+    private LatencySketchService latencySketches;
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+    private static final String METRIC = "DECISION_CYCLE_TIME";
+
+    @Test
+    @DisplayName("record should bump the tenant-wide bin and one bin per dimension for the UTC day")
+    void testRecord_IncrementsTotalAndDimensionBins() {
+        var at = Instant.parse("2026-03-10T23:30:00Z");
+        int bin = LatencySketch.binOf(6.0);
+
+        latencySketches.record(TEST_TENANT_ID, METRIC, at, 6.0,
+            LatencySketchService.dimensions("priority", "HIGH", "decisionType", null));
+
+        var day = LocalDate.of(2026, 3, 10);
+        verify(binRepository).increment(TEST_TENANT_ID, METRIC, "", "", day, bin, 1);
+        verify(binRepository).increment(TEST_TENANT_ID, METRIC, "priority", "HIGH", day, bin, 1);
+        verifyNoMoreInteractions(binRepository);
+    }
+
+    @Test
+    @DisplayName("collect should sum durations landing in the same bin")
+    void testCollect_SumsSameBin() {
+        var deltas = new HashMap<BinKey, Long>();
+        var at = Instant.parse("2026-03-10T10:00:00Z");
+
+        latencySketches.collect(TEST_TENANT_ID, METRIC, at, 6.0, LatencySketchService.dimensions(), deltas);
+        latencySketches.collect(TEST_TENANT_ID, METRIC, at, 6.01, LatencySketchService.dimensions(), deltas);
+
+        assertThat(deltas).containsExactlyEntriesOf(Map.of(
+            new BinKey(TEST_TENANT_ID, METRIC, "", "", LocalDate.of(2026, 3, 10), LatencySketch.binOf(6.0)), 2L));
+    }
+
+    @Test
+    @DisplayName("load should merge the summed bins of the date range into one sketch")
+    void testLoad_MergesBins() {
+        var from = LocalDate.of(2026, 3, 1);
+        var to = LocalDate.of(2026, 3, 10);
+        when(binRepository.sumBins(TEST_TENANT_ID, METRIC, "", "", from, to)).thenReturn(List.of(
+            new Object[] {LatencySketch.binOf(1.0), 90L},
+            new Object[] {LatencySketch.binOf(100.0), 10L}));
+
+        var sketch = latencySketches.load(TEST_TENANT_ID, METRIC, "", "", from, to);
+
+        assertThat(sketch.count()).isEqualTo(100);
+        assertThat(sketch.quantile(0.5)).isCloseTo(1.0, withinPercentage(1.5));
+        assertThat(sketch.quantile(0.99)).isCloseTo(100.0, withinPercentage(1.5));
+    }
+}
@@ -0,0 +1,62 @@
+package ai.zevaro.analytics.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LatencySketch Unit Tests")
+class LatencySketchTest {
+
+    @Test
+    @DisplayName("quantile should stay within the relative accuracy of the exact value")
+    void testQuantile_WithinRelativeAccuracy() {
+        var sketch = new LatencySketch();
+        for (int i = 1; i <= 1000; i++) {
+            sketch.add(i / 10.0);
+        }
+
+        assertThat(sketch.count()).isEqualTo(1000);
+        assertThat(sketch.quantile(0.50)).isCloseTo(50.0, withinPercentage(1.5));
+        assertThat(sketch.quantile(0.90)).isCloseTo(90.0, withinPercentage(1.5));
+        assertThat(sketch.quantile(0.99)).isCloseTo(99.0, withinPercentage(1.5));
+    }
+
+    @Test
+    @DisplayName("merge should give the same quantiles as one sketch over all values")
+    void testMerge_EqualsSketchOfUnion() {
+        var random = new Random(42);
+        var whole = new LatencySketch();
+        var first = new LatencySketch();
+        var second = new LatencySketch();
+        for (int i = 0; i < 5000; i++) {
+            var hours = Math.exp(random.nextGaussian() * 2);
+            whole.add(hours);
+            (i % 2 == 0 ? first : second).add(hours);
+        }
+
+        var merged = first.merge(second);
+
+        assertThat(merged.count()).isEqualTo(whole.count());
+        for (var q : new double[] {0.5, 0.9, 0.99}) {
+            assertThat(merged.quantile(q)).isEqualTo(whole.quantile(q));
+        }
+    }
+
+    @Test
+    @DisplayName("binOf should put sub-second durations in the zero bin")
+    void testBinOf_ZeroBin() {
+        assertThat(LatencySketch.binOf(0.0)).isEqualTo(LatencySketch.ZERO_BIN);
+        assertThat(LatencySketch.binOf(-1.0)).isEqualTo(LatencySketch.ZERO_BIN);
+        assertThat(LatencySketch.valueOf(LatencySketch.ZERO_BIN)).isZero();
+        assertThat(new LatencySketch().add(0.0).quantile(0.5)).isZero();
+    }
+
+    @Test
+    @DisplayName("quantile of an empty sketch should be zero")
+    void testQuantile_EmptySketch() {
+        assertThat(new LatencySketch().quantile(0.99)).isZero();
+    }
+}
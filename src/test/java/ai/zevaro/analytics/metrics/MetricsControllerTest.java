@@ -1,11 +1,12 @@
 package ai.zevaro.analytics.metrics;
 
 import ai.zevaro.analytics.client.CoreServiceClient;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.metrics.dto.DecisionVelocityMetric;
 import ai.zevaro.analytics.metrics.dto.HypothesisThroughputMetric;
 import ai.zevaro.analytics.metrics.dto.StakeholderResponseMetric;
-import ai.zevaro.analytics.repository.AnalyticsEventRepository;
 import ai.zevaro.analytics.repository.DecisionCycleLogRepository;
+import ai.zevaro.analytics.repository.EventRollup;
 import ai.zevaro.analytics.repository.MetricSnapshotRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,17 +17,21 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -47,11 +52,17 @@ class MetricsControllerTest {
     private DecisionCycleLogRepository decisionCycleLogRepository;
 
     @MockBean
-    private AnalyticsEventRepository analyticsEventRepository;
+    private EventRollupService rollupService;
+
+    @MockBean
+    private LatencySketchService latencySketches;
 
     @MockBean
     private CoreServiceClient coreServiceClient;
 
+    @MockBean
+    private StakeholderDirectory stakeholderDirectory;
+
     private UUID tenantId;
     private LocalDate startDate;
     private LocalDate endDate;
@@ -299,6 +310,89 @@ class MetricsControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/metrics/ticket-velocity should be computed from rollups")
+    void testGetTicketVelocity_ShouldReadRollups() throws Exception {
+        var programId = UUID.randomUUID();
+        when(rollupService.read(eq(tenantId), eq(programId), eq(Duration.ofDays(14)), any(String[].class)))
+            .thenReturn(new EventRollupService.Rollups(List.of(
+                bucket(EventRollupService.TICKETS_RESOLVED, "", "", 3, 30.0, 3),
+                bucket(EventRollupService.TICKETS_RESOLVED, "severity", "HIGH", 2, 8.0, 2),
+                bucket(EventRollupService.TICKETS_OPEN, "", "", 4, 0.0, 0),
+                bucket(EventRollupService.TICKETS_OPEN, "", "", -1, 0.0, 0))));
+
+        mockMvc.perform(get("/api/v1/metrics/ticket-velocity")
+                .header("X-Tenant-Id", tenantId.toString())
+                .param("programId", programId.toString())
+                .param("days", "14"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.avgResolutionHours", is(10.0)))
+            .andExpect(jsonPath("$.totalResolved", is(3)))
+            .andExpect(jsonPath("$.totalOpen", is(3)))
+            .andExpect(jsonPath("$.avgResolutionBySeverity.HIGH", is(4.0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/metrics/ai-vs-human-resolution should compare execution modes from rollups")
+    void testGetAiVsHumanResolution_ShouldReadRollups() throws Exception {
+        when(rollupService.read(eq(tenantId), isNull(), eq(Duration.ofDays(30)), any(String[].class)))
+            .thenReturn(new EventRollupService.Rollups(List.of(
+                bucket(EventRollupService.TICKETS_RESOLVED, "executionMode", "AI_FIRST", 2, 4.0, 2),
+                bucket(EventRollupService.TICKETS_RESOLVED, "executionMode", "TRADITIONAL", 1, 8.0, 1))));
+
+        mockMvc.perform(get("/api/v1/metrics/ai-vs-human-resolution")
+                .header("X-Tenant-Id", tenantId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.aiFirstAvgResolutionHours", is(2.0)))
+            .andExpect(jsonPath("$.traditionalAvgResolutionHours", is(8.0)))
+            .andExpect(jsonPath("$.aiFirstCount", is(2)))
+            .andExpect(jsonPath("$.hybridCount", is(0)))
+            .andExpect(jsonPath("$.speedupFactor", is(4.0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/metrics/specification-velocity should group daily rollups into weeks")
+    void testGetSpecificationVelocity_ShouldReadRollups() throws Exception {
+        var today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        when(rollupService.read(eq(tenantId), isNull(), any(Duration.class), any(String[].class)))
+            .thenReturn(new EventRollupService.Rollups(List.of(
+                bucket(EventRollupService.SPECS_APPROVED, today, 2, 10.0, 2),
+                bucket(EventRollupService.SPECS_REJECTED, today, 1, 0.0, 0))));
+
+        mockMvc.perform(get("/api/v1/metrics/specification-velocity")
+                .header("X-Tenant-Id", tenantId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.avgApprovalCycleHours", is(5.0)))
+            .andExpect(jsonPath("$.totalApproved", is(2)))
+            .andExpect(jsonPath("$.totalRejected", is(1)))
+            .andExpect(jsonPath("$.approvedThisWeek", is(2)))
+            .andExpect(jsonPath("$.weeklyTrend", hasSize(1)))
+            .andExpect(jsonPath("$.weeklyTrend[0].count", is(2)));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/metrics/cycle-time-percentiles should return percentiles of the merged sketch")
+    void testGetCycleTimePercentiles_ShouldMergeSketches() throws Exception {
+        var sketch = new LatencySketch();
+        for (int i = 1; i <= 100; i++) {
+            sketch.add(i);
+        }
+        when(latencySketches.load(eq(tenantId), eq("TICKET_RESOLUTION_TIME"), eq("severity"), eq("HIGH"),
+                any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(sketch);
+
+        mockMvc.perform(get("/api/v1/metrics/cycle-time-percentiles")
+                .header("X-Tenant-Id", tenantId.toString())
+                .param("metric", "TICKET_RESOLUTION_TIME")
+                .param("dimension", "severity")
+                .param("value", "HIGH"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count", is(100)))
+            .andExpect(jsonPath("$.dimensionValue", is("HIGH")))
+            .andExpect(jsonPath("$.p50Hours", closeTo(50.0, 1.0)))
+            .andExpect(jsonPath("$.p99Hours", closeTo(99.0, 1.5)));
+    }
+
     @Test
     @DisplayName("All metrics endpoints should require X-Tenant-Id header")
     void testMetricsEndpoints_ShouldRequireTenantIdHeader() throws Exception {
@@ -309,4 +403,24 @@ class MetricsControllerTest {
         mockMvc.perform(get("/api/v1/metrics/decision-velocity"))
             .andExpect(status().isBadRequest());
     }
+
+    private static EventRollup bucket(String metric, String dimension, String value,
+                                      long count, double hoursSum, long hoursCount) {
+        return EventRollup.builder()
+            .metric(metric)
+            .bucketStart(Instant.now().truncatedTo(ChronoUnit.DAYS))
+            .dimension(dimension)
+            .dimensionValue(value)
+            .eventCount(count)
+            .durationHoursSum(hoursSum)
+            .durationCount(hoursCount)
+            .build();
+    }
+
+    private static EventRollup bucket(String metric, Instant bucketStart,
+                                      long count, double hoursSum, long hoursCount) {
+        var bucket = bucket(metric, "", "", count, hoursSum, hoursCount);
+        bucket.setBucketStart(bucketStart);
+        return bucket;
+    }
 }
@@ -1,11 +1,30 @@
 package ai.zevaro.analytics.metrics;
 
+import ai.zevaro.analytics.cache.CacheInvalidator;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.config.AppConstants;
-import ai.zevaro.analytics.repository.AnalyticsEventRepository;
+import ai.zevaro.analytics.consumer.events.DecisionResolvedEvent;
+import ai.zevaro.analytics.consumer.events.HypothesisConcludedEvent;
+import ai.zevaro.analytics.consumer.events.OutcomeInvalidatedEvent;
+import ai.zevaro.analytics.consumer.events.OutcomeValidatedEvent;
+import ai.zevaro.analytics.consumer.events.SpecificationApprovedEvent;
+import ai.zevaro.analytics.consumer.events.SpecificationStatusChangedEvent;
+import ai.zevaro.analytics.consumer.events.TicketAssignedEvent;
+import ai.zevaro.analytics.consumer.events.TicketCreatedEvent;
+import ai.zevaro.analytics.consumer.events.TicketResolvedEvent;
+import ai.zevaro.analytics.consumer.events.WorkstreamStatusChangedEvent;
+import ai.zevaro.analytics.dashboard.DashboardProjectionService;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator.Delta;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator.SnapshotKey;
+import ai.zevaro.analytics.repository.AnalyticsEvent;
+import ai.zevaro.analytics.repository.BulkEventWriter;
 import ai.zevaro.analytics.repository.DecisionCycleLog;
-import ai.zevaro.analytics.repository.DecisionCycleLogRepository;
 import ai.zevaro.analytics.repository.MetricSnapshot;
 import ai.zevaro.analytics.repository.MetricSnapshotRepository;
+import ai.zevaro.analytics.repository.SpecificationLifecycleRepository;
+import ai.zevaro.analytics.repository.TicketLifecycleRepository;
+import ai.zevaro.analytics.repository.WorkstreamStateRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,10 +39,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -38,10 +55,37 @@ class MetricsServiceTest {
     private MetricSnapshotRepository snapshotRepository;
 
     @Mock
-    private DecisionCycleLogRepository cycleLogRepository;
+    private DashboardProjectionService projectionService;
 
     @Mock
-    private AnalyticsEventRepository analyticsEventRepository;
+    private SnapshotCounterAggregator snapshotAggregator;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private StakeholderDirectory stakeholderDirectory;
+
+    @Mock
+    private TicketLifecycleRepository ticketLifecycleRepository;
+
+    @Mock
+    private SpecificationLifecycleRepository specificationLifecycleRepository;
+
+    @Mock
+    private WorkstreamStateRepository workstreamStateRepository;
+
+    @Mock
+    private EventRollupService rollupService;
+
+    @Mock
+    private LatencySketchService latencySketches;
+
+    @Mock
+    private BulkEventWriter bulkEventWriter;
+
+    @Mock
+    private IngestDeduplicator deduplicator;
 
     @InjectMocks
     private MetricsService metricsService;
@@ -53,6 +97,19 @@ class MetricsServiceTest {
     private static final UUID TEST_HYPOTHESIS_ID = UUID.randomUUID();
     private static final UUID TEST_STAKEHOLDER_ID = UUID.randomUUID();
 
+    @BeforeEach
+    void setUp() {
+        // Every row is new unless a test says otherwise
+        lenient().when(bulkEventWriter.insertEvents(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(bulkEventWriter.writeEvents(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(bulkEventWriter.insertDecisionCycles(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(bulkEventWriter.writeDecisionCycles(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(bulkEventWriter.insertSnapshotEvents(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
     @Test
     @DisplayName("recordDecisionResolved should save DecisionCycleLog with correct cycle time")
     void testRecordDecisionResolved_SavesCycleLog() {
@@ -67,9 +124,6 @@ class MetricsServiceTest {
         var expectedBigDecimal = BigDecimal.valueOf(expectedCycleTimeHours)
             .setScale(2, RoundingMode.HALF_UP);
 
-        when(cycleLogRepository.findByTenantIdAndResolvedAtBetween(any(UUID.class), any(Instant.class), any(Instant.class)))
-            .thenReturn(List.of());
-
         // Act
         metricsService.recordDecisionResolved(
             TEST_TENANT_ID,
@@ -84,9 +138,9 @@ class MetricsServiceTest {
         );
 
         // Assert
-        var captor = ArgumentCaptor.forClass(DecisionCycleLog.class);
-        verify(cycleLogRepository).save(captor.capture());
-        var savedLog = captor.getValue();
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkEventWriter).insertDecisionCycles(captor.capture());
+        var savedLog = (DecisionCycleLog) captor.getValue().get(0);
 
         assertThat(savedLog.getTenantId()).isEqualTo(TEST_TENANT_ID);
         assertThat(savedLog.getDecisionId()).isEqualTo(TEST_DECISION_ID);
@@ -100,27 +154,13 @@ class MetricsServiceTest {
     }
 
     @Test
-    @DisplayName("recordDecisionResolved should update daily snapshot with correct metrics")
-    void testRecordDecisionResolved_UpdatesDailySnapshot() {
+    @DisplayName("recordDecisionResolved should fold the decision into the daily snapshot without reloading the day")
+    void testRecordDecisionResolved_UpdatesDailySnapshotIncrementally() {
         // Arrange
-        var createdAt = Instant.now().minusSeconds(3600);
+        var createdAt = Instant.now().minusSeconds(9000); // 2.5 hours
         var resolvedAt = Instant.now();
         var today = resolvedAt.atZone(ZoneOffset.UTC).toLocalDate();
 
-        var existingLog1 = DecisionCycleLog.builder()
-            .cycleTimeHours(BigDecimal.valueOf(2.50))
-            .wasEscalated(false)
-            .build();
-        var existingLog2 = DecisionCycleLog.builder()
-            .cycleTimeHours(BigDecimal.valueOf(3.50))
-            .wasEscalated(true)
-            .build();
-
-        when(cycleLogRepository.findByTenantIdAndResolvedAtBetween(any(UUID.class), any(Instant.class), any(Instant.class)))
-            .thenReturn(List.of(existingLog1, existingLog2));
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(any(UUID.class), anyString(), any(LocalDate.class)))
-            .thenReturn(Optional.empty());
-
         // Act
         metricsService.recordDecisionResolved(
             TEST_TENANT_ID,
@@ -130,320 +170,468 @@ class MetricsServiceTest {
             resolvedAt,
             "MEDIUM",
             "OPERATIONAL",
-            true,
+            false,
             TEST_STAKEHOLDER_ID
         );
 
         // Assert
-        var snapshotCaptor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository, times(1)).save(snapshotCaptor.capture());
-
-        var allSnapshots = snapshotCaptor.getAllValues();
-        var dailySnapshot = allSnapshots.stream()
-            .filter(s -> AppConstants.METRIC_DECISION_VELOCITY.equals(s.getMetricType()))
-            .findFirst()
-            .orElse(null);
-
-        assertThat(dailySnapshot).isNotNull();
-        assertThat(dailySnapshot.getTenantId()).isEqualTo(TEST_TENANT_ID);
-        assertThat(dailySnapshot.getMetricType()).isEqualTo(AppConstants.METRIC_DECISION_VELOCITY);
-        assertThat(dailySnapshot.getMetricDate()).isEqualTo(today);
-        assertThat(dailySnapshot.getValue()).isEqualByComparingTo(BigDecimal.valueOf(3.00));
-        assertThat(dailySnapshot.getDimensions()).containsEntry("escalatedCount", 1L);
-        assertThat(dailySnapshot.getDimensions()).containsEntry("decisionsResolved", 2);
+        verify(snapshotRepository).addDecisionResolved(
+            eq(TEST_TENANT_ID), eq(TEST_PROJECT_ID), eq(today),
+            argThat(hours -> hours.compareTo(new BigDecimal("2.50")) == 0), eq(0L));
+        verify(snapshotRepository, never()).save(any(MetricSnapshot.class));
     }
 
     @Test
-    @DisplayName("recordOutcomeValidated should create new MetricSnapshot for OUTCOME_VELOCITY")
-    void testRecordOutcomeValidated_CreatesNewSnapshot() {
+    @DisplayName("recordOutcomeValidated should add one to the day's OUTCOME_VELOCITY counter")
+    void testRecordOutcomeValidated_RecordsOutcomeVelocityDelta() {
         // Arrange
         var createdAt = Instant.now().minusSeconds(86400);
         var validatedAt = Instant.now();
         var today = validatedAt.atZone(ZoneOffset.UTC).toLocalDate();
 
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, today))
-            .thenReturn(Optional.empty());
-
         // Act
         metricsService.recordOutcomeValidated(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, createdAt, validatedAt);
 
         // Assert
-        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository).save(captor.capture());
-        var savedSnapshot = captor.getValue();
-
-        assertThat(savedSnapshot.getTenantId()).isEqualTo(TEST_TENANT_ID);
-        assertThat(savedSnapshot.getMetricType()).isEqualTo(AppConstants.METRIC_OUTCOME_VELOCITY);
-        assertThat(savedSnapshot.getMetricDate()).isEqualTo(today);
-        assertThat(savedSnapshot.getValue()).isEqualByComparingTo(BigDecimal.ONE);
-        assertThat(savedSnapshot.getDimensions()).isEmpty();
+        verify(snapshotAggregator).record(
+            new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, today),
+            new Delta(TEST_PROJECT_ID, 1, 0, 0),
+            new BulkEventWriter.SnapshotEvent(TEST_TENANT_ID, "OUTCOME_VALIDATED", TEST_OUTCOME_ID, validatedAt));
+        verify(snapshotRepository, never()).save(any(MetricSnapshot.class));
     }
 
     @Test
-    @DisplayName("recordOutcomeValidated should increment existing OUTCOME_VELOCITY snapshot")
-    void testRecordOutcomeValidated_IncrementsExistingSnapshot() {
+    @DisplayName("recordOutcomeInvalidated should only count the invalidation dimension")
+    void testRecordOutcomeInvalidated_RecordsInvalidationDelta() {
         // Arrange
         var createdAt = Instant.now().minusSeconds(86400);
-        var validatedAt = Instant.now();
-        var today = validatedAt.atZone(ZoneOffset.UTC).toLocalDate();
+        var invalidatedAt = Instant.now();
+        var today = invalidatedAt.atZone(ZoneOffset.UTC).toLocalDate();
 
-        var existingSnapshot = MetricSnapshot.builder()
-            .id(UUID.randomUUID())
-            .tenantId(TEST_TENANT_ID)
-            .metricType(AppConstants.METRIC_OUTCOME_VELOCITY)
-            .metricDate(today)
-            .value(BigDecimal.valueOf(5))
-            .dimensions(Map.of())
-            .build();
+        // Act
+        metricsService.recordOutcomeInvalidated(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, createdAt, invalidatedAt);
 
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, today))
-            .thenReturn(Optional.of(existingSnapshot));
+        // Assert
+        verify(snapshotAggregator).record(
+            new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, today),
+            new Delta(TEST_PROJECT_ID, 0, 0, 1),
+            new BulkEventWriter.SnapshotEvent(TEST_TENANT_ID, "OUTCOME_INVALIDATED", TEST_OUTCOME_ID, invalidatedAt));
+        verify(snapshotRepository, never()).save(any(MetricSnapshot.class));
+    }
+
+    @Test
+    @DisplayName("recordHypothesisConcluded should count VALIDATED results in throughput and validated dimension")
+    void testRecordHypothesisConcluded_RecordsValidatedDelta() {
+        // Arrange
+        var createdAt = Instant.now().minusSeconds(172800);
+        var concludedAt = Instant.now();
+        var today = concludedAt.atZone(ZoneOffset.UTC).toLocalDate();
 
         // Act
-        metricsService.recordOutcomeValidated(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, createdAt, validatedAt);
+        metricsService.recordHypothesisConcluded(
+            TEST_TENANT_ID, TEST_PROJECT_ID, TEST_HYPOTHESIS_ID, TEST_OUTCOME_ID, "VALIDATED", createdAt, concludedAt);
 
         // Assert
-        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository).save(captor.capture());
-        var savedSnapshot = captor.getValue();
-
-        assertThat(savedSnapshot.getValue()).isEqualByComparingTo(BigDecimal.valueOf(6));
-        assertThat(savedSnapshot.getTenantId()).isEqualTo(TEST_TENANT_ID);
+        verify(snapshotAggregator).record(
+            new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, today),
+            new Delta(TEST_PROJECT_ID, 1, 1, 0),
+            new BulkEventWriter.SnapshotEvent(TEST_TENANT_ID, "HYPOTHESIS_CONCLUDED", TEST_HYPOTHESIS_ID, concludedAt));
     }
 
     @Test
-    @DisplayName("recordOutcomeInvalidated should track invalidation in dimensions")
-    void testRecordOutcomeInvalidated_TracksInvalidationInDimensions() {
+    @DisplayName("recordHypothesisConcluded should count INVALIDATED results in throughput and invalidated dimension")
+    void testRecordHypothesisConcluded_RecordsInvalidatedDelta() {
         // Arrange
-        var createdAt = Instant.now().minusSeconds(86400);
-        var invalidatedAt = Instant.now();
-        var today = invalidatedAt.atZone(ZoneOffset.UTC).toLocalDate();
+        var createdAt = Instant.now().minusSeconds(172800);
+        var concludedAt = Instant.now();
+        var today = concludedAt.atZone(ZoneOffset.UTC).toLocalDate();
 
-        var existingSnapshot = MetricSnapshot.builder()
-            .id(UUID.randomUUID())
-            .tenantId(TEST_TENANT_ID)
-            .metricType(AppConstants.METRIC_OUTCOME_VELOCITY)
-            .metricDate(today)
-            .value(BigDecimal.valueOf(3))
-            .dimensions(Map.of("invalidated", 1, "validated", 2))
-            .build();
+        // Act
+        metricsService.recordHypothesisConcluded(
+            TEST_TENANT_ID, TEST_PROJECT_ID, TEST_HYPOTHESIS_ID, TEST_OUTCOME_ID, "INVALIDATED", createdAt, concludedAt);
 
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, today))
-            .thenReturn(Optional.of(existingSnapshot));
+        // Assert
+        verify(snapshotAggregator).record(
+            new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, today),
+            new Delta(TEST_PROJECT_ID, 1, 0, 1),
+            new BulkEventWriter.SnapshotEvent(TEST_TENANT_ID, "HYPOTHESIS_CONCLUDED", TEST_HYPOTHESIS_ID, concludedAt));
+    }
+
+    @Test
+    @DisplayName("recordDecisionResolved should handle escalated decisions")
+    void testRecordDecisionResolved_HandlesEscalatedDecisions() {
+        // Arrange
+        var createdAt = Instant.now().minusSeconds(7200);
+        var resolvedAt = Instant.now();
+        var wasEscalated = true;
 
         // Act
-        metricsService.recordOutcomeInvalidated(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, createdAt, invalidatedAt);
+        metricsService.recordDecisionResolved(
+            TEST_TENANT_ID,
+            TEST_PROJECT_ID,
+            TEST_DECISION_ID,
+            createdAt,
+            resolvedAt,
+            "CRITICAL",
+            "ESCALATED",
+            wasEscalated,
+            TEST_STAKEHOLDER_ID
+        );
 
         // Assert
-        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository).save(captor.capture());
-        var savedSnapshot = captor.getValue();
+        var cycleLogCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bulkEventWriter).insertDecisionCycles(cycleLogCaptor.capture());
+        var savedLog = (DecisionCycleLog) cycleLogCaptor.getValue().get(0);
+
+        assertThat(savedLog.getWasEscalated()).isTrue();
 
-        assertThat(savedSnapshot.getDimensions()).containsEntry("invalidated", 2);
-        assertThat(savedSnapshot.getDimensions()).containsEntry("validated", 2);
-        assertThat(savedSnapshot.getTenantId()).isEqualTo(TEST_TENANT_ID);
+        verify(snapshotRepository).addDecisionResolved(
+            eq(TEST_TENANT_ID), eq(TEST_PROJECT_ID), any(LocalDate.class), any(BigDecimal.class), eq(1L));
     }
 
     @Test
-    @DisplayName("recordOutcomeInvalidated should create new snapshot when none exists")
-    void testRecordOutcomeInvalidated_CreatesNewSnapshot() {
+    @DisplayName("recordDecisionResolved should add the cycle time to the latency sketches")
+    void testRecordDecisionResolved_RecordsCycleTimeSketch() {
         // Arrange
-        var createdAt = Instant.now().minusSeconds(86400);
-        var invalidatedAt = Instant.now();
-        var today = invalidatedAt.atZone(ZoneOffset.UTC).toLocalDate();
+        var resolvedAt = Instant.now();
+        var createdAt = resolvedAt.minus(Duration.ofHours(6));
+
+        // Act
+        metricsService.recordDecisionResolved(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_DECISION_ID,
+            createdAt, resolvedAt, "HIGH", null, false, TEST_STAKEHOLDER_ID);
+
+        // Assert
+        verify(latencySketches).record(TEST_TENANT_ID, AppConstants.METRIC_DECISION_CYCLE_TIME,
+            resolvedAt, 6.0, Map.of("priority", "HIGH"));
+    }
 
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, today))
-            .thenReturn(Optional.empty());
+    @Test
+    @DisplayName("recordTicketCreated should save the event and update the dashboard projection")
+    void testRecordTicketCreated_UpdatesProjection() {
+        // Arrange
+        var ticketId = UUID.randomUUID();
+        var event = new TicketCreatedEvent(
+            TEST_TENANT_ID, ticketId, UUID.randomUUID(), "BUG", "HIGH", UUID.randomUUID(), Instant.now());
 
         // Act
-        metricsService.recordOutcomeInvalidated(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, createdAt, invalidatedAt);
+        metricsService.recordTicketCreated(event);
 
         // Assert
-        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository).save(captor.capture());
-        var savedSnapshot = captor.getValue();
-
-        assertThat(savedSnapshot.getTenantId()).isEqualTo(TEST_TENANT_ID);
-        assertThat(savedSnapshot.getMetricType()).isEqualTo(AppConstants.METRIC_OUTCOME_VELOCITY);
-        assertThat(savedSnapshot.getValue()).isEqualByComparingTo(BigDecimal.ZERO);
-        assertThat(savedSnapshot.getDimensions()).containsEntry("invalidated", 1);
-        assertThat(savedSnapshot.getDimensions()).containsEntry("validated", 0);
+        var eventCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bulkEventWriter).insertEvents(eventCaptor.capture());
+        var row = (AnalyticsEvent) eventCaptor.getValue().get(0);
+        assertThat(row.getEntityId()).isEqualTo(ticketId);
+        verify(projectionService).onTicketCreated(TEST_TENANT_ID, "HIGH");
+        var inOrder = inOrder(ticketLifecycleRepository, rollupService);
+        inOrder.verify(ticketLifecycleRepository).recordCreated(
+            TEST_TENANT_ID, ticketId, event.workstreamId(), "BUG", "HIGH", event.timestamp());
+        inOrder.verify(rollupService).record(row);
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, TicketCreatedEvent.class);
     }
 
     @Test
-    @DisplayName("recordHypothesisConcluded should create new HYPOTHESIS_THROUGHPUT snapshot")
-    void testRecordHypothesisConcluded_CreatesNewSnapshot() {
+    @DisplayName("recordTicketAssigned should update the ticket lifecycle")
+    void testRecordTicketAssigned_UpdatesLifecycle() {
         // Arrange
-        var createdAt = Instant.now().minusSeconds(172800);
-        var concludedAt = Instant.now();
-        var today = concludedAt.atZone(ZoneOffset.UTC).toLocalDate();
-        var result = "VALIDATED";
+        var ticketId = UUID.randomUUID();
+        var assigneeId = UUID.randomUUID();
+        var event = new TicketAssignedEvent(TEST_TENANT_ID, ticketId, assigneeId, UUID.randomUUID(), Instant.now());
 
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, today))
-            .thenReturn(Optional.empty());
+        // Act
+        metricsService.recordTicketAssigned(event);
+
+        // Assert
+        verify(bulkEventWriter).insertEvents(anyList());
+        verify(ticketLifecycleRepository).recordAssigned(TEST_TENANT_ID, ticketId, assigneeId, event.timestamp());
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, TicketAssignedEvent.class);
+    }
+
+    @Test
+    @DisplayName("recordSpecificationApproved should update the specification lifecycle before the rollups")
+    void testRecordSpecificationApproved_UpdatesLifecycle() {
+        // Arrange
+        var specificationId = UUID.randomUUID();
+        var event = new SpecificationApprovedEvent(TEST_TENANT_ID, specificationId, UUID.randomUUID(), Instant.now());
 
         // Act
-        metricsService.recordHypothesisConcluded(
-            TEST_TENANT_ID,
-            TEST_PROJECT_ID,
-            TEST_HYPOTHESIS_ID,
-            TEST_OUTCOME_ID,
-            result,
-            createdAt,
-            concludedAt
-        );
+        metricsService.recordSpecificationApproved(event);
 
         // Assert
-        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository).save(captor.capture());
-        var savedSnapshot = captor.getValue();
-
-        assertThat(savedSnapshot.getTenantId()).isEqualTo(TEST_TENANT_ID);
-        assertThat(savedSnapshot.getMetricType()).isEqualTo(AppConstants.METRIC_HYPOTHESIS_THROUGHPUT);
-        assertThat(savedSnapshot.getMetricDate()).isEqualTo(today);
-        assertThat(savedSnapshot.getValue()).isEqualByComparingTo(BigDecimal.ONE);
-        assertThat(savedSnapshot.getDimensions()).containsEntry("validated", 1);
-        assertThat(savedSnapshot.getDimensions()).containsEntry("invalidated", 0);
+        var inOrder = inOrder(specificationLifecycleRepository, rollupService);
+        inOrder.verify(specificationLifecycleRepository)
+            .recordApproved(TEST_TENANT_ID, specificationId, event.timestamp());
+        inOrder.verify(rollupService).record(any(AnalyticsEvent.class));
+        verifyNoInteractions(projectionService);
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, SpecificationApprovedEvent.class);
     }
 
     @Test
-    @DisplayName("recordHypothesisConcluded should increment and update dimensions for VALIDATED")
-    void testRecordHypothesisConcluded_IncrementsAndUpdatesDimensionsValidated() {
+    @DisplayName("recordSpecificationStatusChanged should store the new status in the specification lifecycle")
+    void testRecordSpecificationStatusChanged_UpdatesLifecycle() {
         // Arrange
-        var createdAt = Instant.now().minusSeconds(172800);
-        var concludedAt = Instant.now();
-        var today = concludedAt.atZone(ZoneOffset.UTC).toLocalDate();
-        var result = "VALIDATED";
+        var specificationId = UUID.randomUUID();
+        var event = new SpecificationStatusChangedEvent(
+            TEST_TENANT_ID, specificationId, "IN_REVIEW", "REJECTED", UUID.randomUUID(), Instant.now());
 
-        var existingSnapshot = MetricSnapshot.builder()
-            .id(UUID.randomUUID())
-            .tenantId(TEST_TENANT_ID)
-            .metricType(AppConstants.METRIC_HYPOTHESIS_THROUGHPUT)
-            .metricDate(today)
-            .value(BigDecimal.valueOf(3))
-            .dimensions(new HashMap<>(Map.of("validated", 2, "invalidated", 1)))
-            .build();
+        // Act
+        metricsService.recordSpecificationStatusChanged(event);
+
+        // Assert
+        verify(specificationLifecycleRepository).recordStatusChanged(
+            TEST_TENANT_ID, specificationId, "REJECTED", event.timestamp());
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, SpecificationStatusChangedEvent.class);
+    }
 
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, today))
-            .thenReturn(Optional.of(existingSnapshot));
+    @Test
+    @DisplayName("recordWorkstreamStatusChanged should version the new status into the workstream state")
+    void testRecordWorkstreamStatusChanged_UpdatesState() {
+        // Arrange
+        var workstreamId = UUID.randomUUID();
+        var event = new WorkstreamStatusChangedEvent(
+            TEST_TENANT_ID, workstreamId, "ACTIVE", "COMPLETED", UUID.randomUUID(), Instant.now());
 
         // Act
-        metricsService.recordHypothesisConcluded(
-            TEST_TENANT_ID,
-            TEST_PROJECT_ID,
-            TEST_HYPOTHESIS_ID,
-            TEST_OUTCOME_ID,
-            result,
-            createdAt,
-            concludedAt
-        );
+        metricsService.recordWorkstreamStatusChanged(event);
 
         // Assert
-        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository).save(captor.capture());
-        var savedSnapshot = captor.getValue();
+        verify(bulkEventWriter).insertEvents(anyList());
+        verify(workstreamStateRepository).recordStatusChanged(
+            TEST_TENANT_ID, workstreamId, "COMPLETED", event.timestamp());
+        verifyNoInteractions(projectionService);
+    }
+
+    @Test
+    @DisplayName("recordBatch should save all analytics rows together and isolate unmappable events")
+    @SuppressWarnings("unchecked")
+    void testRecordBatch_SavesAllRowsAndRejectsBadEvents() {
+        // Arrange
+        var created = new TicketCreatedEvent(
+            TEST_TENANT_ID, UUID.randomUUID(), UUID.randomUUID(), "BUG", "LOW", UUID.randomUUID(), Instant.now());
+        var resolved = new TicketResolvedEvent(
+            TEST_TENANT_ID, created.ticketId(), "FIXED", UUID.randomUUID(), Instant.now());
+        var missingReporter = new TicketCreatedEvent(
+            TEST_TENANT_ID, UUID.randomUUID(), UUID.randomUUID(), "BUG", "LOW", null, Instant.now());
+        var validated = new OutcomeValidatedEvent(
+            TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, "Outcome", UUID.randomUUID(),
+            Instant.now().minusSeconds(60), Instant.now());
+
+        // Act
+        var result = metricsService.recordBatch(List.of(created, missingReporter, resolved, validated));
 
-        assertThat(savedSnapshot.getValue()).isEqualByComparingTo(BigDecimal.valueOf(4));
-        assertThat(savedSnapshot.getDimensions()).containsEntry("validated", 3);
-        assertThat(savedSnapshot.getDimensions()).containsEntry("invalidated", 1);
+        // Assert
+        var rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bulkEventWriter).insertEvents(rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue()).hasSize(2);
+
+        assertThat(result.recorded()).isEqualTo(3);
+        assertThat(result.rejected()).containsOnlyKeys(1);
+
+        verify(projectionService).onTicketCreated(TEST_TENANT_ID, "LOW");
+        verify(ticketLifecycleRepository).recordCreated(
+            TEST_TENANT_ID, created.ticketId(), created.workstreamId(), "BUG", "LOW", created.timestamp());
+        verify(ticketLifecycleRepository).recordResolved(
+            TEST_TENANT_ID, created.ticketId(), "FIXED", resolved.resolvedById(), resolved.timestamp());
+        verify(rollupService, times(2)).collect(any(AnalyticsEvent.class), any(EventRollupService.Deltas.class));
+        verify(rollupService).write(any(EventRollupService.Deltas.class));
+        verify(rollupService, never()).record(any());
+        verify(snapshotAggregator).write(Map.of(
+            new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY,
+                validated.validatedAt().atZone(ZoneOffset.UTC).toLocalDate()),
+            new Delta(TEST_PROJECT_ID, 1, 0, 0)));
+        verify(snapshotAggregator, never()).record(any(), any(), any());
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, TicketCreatedEvent.class);
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, TicketResolvedEvent.class);
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, OutcomeValidatedEvent.class);
     }
 
     @Test
-    @DisplayName("recordHypothesisConcluded should increment and update dimensions for INVALIDATED")
-    void testRecordHypothesisConcluded_IncrementsAndUpdatesDimensionsInvalidated() {
+    @DisplayName("loadBatch should copy analytics rows and decisions in bulk instead of saving them per row")
+    @SuppressWarnings("unchecked")
+    void testLoadBatch_WritesThroughBulkWriter() {
         // Arrange
-        var createdAt = Instant.now().minusSeconds(172800);
-        var concludedAt = Instant.now();
-        var today = concludedAt.atZone(ZoneOffset.UTC).toLocalDate();
-        var result = "INVALIDATED";
+        var created = new TicketCreatedEvent(
+            TEST_TENANT_ID, UUID.randomUUID(), UUID.randomUUID(), "BUG", "LOW", UUID.randomUUID(), Instant.now());
+        var resolvedAt = Instant.now();
+        var decision = new DecisionResolvedEvent(
+            TEST_TENANT_ID, TEST_PROJECT_ID, TEST_DECISION_ID, "Decision", "HIGH", null, UUID.randomUUID(),
+            TEST_STAKEHOLDER_ID, true, resolvedAt.minus(Duration.ofHours(3)), resolvedAt);
 
-        var existingSnapshot = MetricSnapshot.builder()
-            .id(UUID.randomUUID())
-            .tenantId(TEST_TENANT_ID)
-            .metricType(AppConstants.METRIC_HYPOTHESIS_THROUGHPUT)
-            .metricDate(today)
-            .value(BigDecimal.valueOf(2))
-            .dimensions(new HashMap<>(Map.of("validated", 1, "invalidated", 1)))
-            .build();
+        // Act
+        var result = metricsService.loadBatch(List.of(created, decision));
+
+        // Assert
+        assertThat(result.recorded()).isEqualTo(2);
+        var rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bulkEventWriter).writeEvents(rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue()).hasSize(1);
+
+        var cyclesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(bulkEventWriter).writeDecisionCycles(cyclesCaptor.capture());
+        var cycleLog = (DecisionCycleLog) cyclesCaptor.getValue().get(0);
+        assertThat(cycleLog.getCycleTimeHours()).isEqualByComparingTo("3.00");
+        assertThat(cycleLog.getWasEscalated()).isTrue();
+
+        // The sketch service is mocked, so check the decision is collected into the map that gets written
+        var sketchDeltas = ArgumentCaptor.forClass(Map.class);
+        verify(latencySketches).collect(eq(TEST_TENANT_ID), eq(AppConstants.METRIC_DECISION_CYCLE_TIME),
+            eq(resolvedAt), eq(3.0), anyMap(), sketchDeltas.capture());
+        verify(latencySketches).write(same(sketchDeltas.getValue()));
+        verify(stakeholderDirectory).warm(TEST_TENANT_ID, TEST_STAKEHOLDER_ID);
+        verify(ticketLifecycleRepository).recordCreated(
+            TEST_TENANT_ID, created.ticketId(), created.workstreamId(), "BUG", "LOW", created.timestamp());
+        verify(cacheInvalidator).invalidate(TEST_TENANT_ID, DecisionResolvedEvent.class);
+        verify(bulkEventWriter, never()).insertEvents(anyList());
+        verify(bulkEventWriter, never()).insertDecisionCycles(anyList());
+        verifyNoInteractions(snapshotRepository);
+    }
 
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(
-            TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, today))
-            .thenReturn(Optional.of(existingSnapshot));
+    @Test
+    @DisplayName("recordTicketCreated should not touch state or counters when the event was already ingested")
+    void testRecordTicketCreated_SkipsDuplicate() {
+        // Arrange
+        var event = new TicketCreatedEvent(
+            TEST_TENANT_ID, UUID.randomUUID(), UUID.randomUUID(), "BUG", "HIGH", UUID.randomUUID(), Instant.now());
+        when(bulkEventWriter.insertEvents(anyList())).thenReturn(List.of());
 
         // Act
-        metricsService.recordHypothesisConcluded(
-            TEST_TENANT_ID,
-            TEST_PROJECT_ID,
-            TEST_HYPOTHESIS_ID,
-            TEST_OUTCOME_ID,
-            result,
-            createdAt,
-            concludedAt
-        );
+        metricsService.recordTicketCreated(event);
 
         // Assert
-        var captor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository).save(captor.capture());
-        var savedSnapshot = captor.getValue();
+        verifyNoInteractions(projectionService, ticketLifecycleRepository, rollupService, cacheInvalidator);
+        verify(deduplicator).remember(List.of(IngestDeduplicator.Key.of(
+            TEST_TENANT_ID, AppConstants.EVENT_TICKET_CREATED, event.ticketId(), event.timestamp())));
+    }
+
+    @Test
+    @DisplayName("recordDecisionResolved should not update the snapshot or sketches for a decision already logged")
+    void testRecordDecisionResolved_SkipsDuplicate() {
+        // Arrange
+        when(deduplicator.seen(IngestDeduplicator.Key.of(
+            TEST_TENANT_ID, "DECISION_RESOLVED", TEST_DECISION_ID, null))).thenReturn(true);
+
+        // Act
+        metricsService.recordDecisionResolved(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_DECISION_ID,
+            Instant.now().minusSeconds(3600), Instant.now(), "HIGH", null, false, TEST_STAKEHOLDER_ID);
 
-        assertThat(savedSnapshot.getValue()).isEqualByComparingTo(BigDecimal.valueOf(3));
-        assertThat(savedSnapshot.getDimensions()).containsEntry("validated", 1);
-        assertThat(savedSnapshot.getDimensions()).containsEntry("invalidated", 2);
+        // Assert
+        verify(bulkEventWriter).insertDecisionCycles(List.of());
+        verifyNoInteractions(snapshotRepository, latencySketches, cacheInvalidator);
     }
 
     @Test
-    @DisplayName("recordDecisionResolved should handle escalated decisions")
-    void testRecordDecisionResolved_HandlesEscalatedDecisions() {
+    @DisplayName("recordBatch should only apply events whose rows were new")
+    void testRecordBatch_DropsDuplicates() {
         // Arrange
-        var createdAt = Instant.now().minusSeconds(7200);
-        var resolvedAt = Instant.now();
-        var wasEscalated = true;
+        var seenBefore = new TicketCreatedEvent(
+            TEST_TENANT_ID, UUID.randomUUID(), UUID.randomUUID(), "BUG", "LOW", UUID.randomUUID(), Instant.now());
+        var inDatabase = new TicketCreatedEvent(
+            TEST_TENANT_ID, UUID.randomUUID(), UUID.randomUUID(), "BUG", "HIGH", UUID.randomUUID(), Instant.now());
+        var fresh = new TicketResolvedEvent(
+            TEST_TENANT_ID, UUID.randomUUID(), "FIXED", UUID.randomUUID(), Instant.now());
+        when(deduplicator.seen(IngestDeduplicator.Key.of(
+            TEST_TENANT_ID, AppConstants.EVENT_TICKET_CREATED, seenBefore.ticketId(), seenBefore.timestamp())))
+            .thenReturn(true);
+        when(bulkEventWriter.insertEvents(anyList())).thenAnswer(invocation -> {
+            List<AnalyticsEvent> rows = invocation.getArgument(0);
+            assertThat(rows).hasSize(2);
+            return List.of(rows.get(1));
+        });
 
-        var existingLog = DecisionCycleLog.builder()
-            .cycleTimeHours(BigDecimal.valueOf(1.50))
-            .wasEscalated(true)
-            .build();
+        // Act
+        var result = metricsService.recordBatch(List.of(seenBefore, inDatabase, fresh));
 
-        when(cycleLogRepository.findByTenantIdAndResolvedAtBetween(any(UUID.class), any(Instant.class), any(Instant.class)))
-            .thenReturn(List.of(existingLog));
-        when(snapshotRepository.findByTenantIdAndMetricTypeAndMetricDate(any(UUID.class), anyString(), any(LocalDate.class)))
-            .thenReturn(Optional.empty());
+        // Assert
+        assertThat(result.recorded()).isEqualTo(1);
+        assertThat(result.rejected()).isEmpty();
+        verify(projectionService, never()).onTicketCreated(any(), any());
+        verify(ticketLifecycleRepository).recordResolved(
+            TEST_TENANT_ID, fresh.ticketId(), "FIXED", fresh.resolvedById(), fresh.timestamp());
+        verify(ticketLifecycleRepository, never()).recordCreated(any(), any(), any(), any(), any(), any());
+        verify(rollupService, times(1)).collect(any(AnalyticsEvent.class), any(EventRollupService.Deltas.class));
+    }
+
+    @Test
+    @DisplayName("recordBatch should not count an outcome or hypothesis event whose key was already recorded")
+    void testRecordBatch_DropsRedeliveredSnapshotEvents() {
+        // Arrange
+        var validatedAt = Instant.now();
+        var redelivered = new OutcomeValidatedEvent(
+            TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, "Outcome", UUID.randomUUID(),
+            validatedAt.minusSeconds(60), validatedAt);
+        var concluded = new HypothesisConcludedEvent(
+            TEST_TENANT_ID, TEST_PROJECT_ID, TEST_HYPOTHESIS_ID, TEST_OUTCOME_ID, "VALIDATED",
+            validatedAt.minusSeconds(60), validatedAt);
+        when(bulkEventWriter.insertSnapshotEvents(anyList())).thenAnswer(invocation -> {
+            List<BulkEventWriter.SnapshotEvent> keys = invocation.getArgument(0);
+            assertThat(keys).containsExactly(
+                new BulkEventWriter.SnapshotEvent(TEST_TENANT_ID, "OUTCOME_VALIDATED", TEST_OUTCOME_ID, validatedAt),
+                new BulkEventWriter.SnapshotEvent(
+                    TEST_TENANT_ID, "HYPOTHESIS_CONCLUDED", TEST_HYPOTHESIS_ID, validatedAt));
+            return List.of(keys.get(1));
+        });
 
         // Act
-        metricsService.recordDecisionResolved(
-            TEST_TENANT_ID,
-            TEST_PROJECT_ID,
-            TEST_DECISION_ID,
-            createdAt,
-            resolvedAt,
-            "CRITICAL",
-            "ESCALATED",
-            wasEscalated,
-            TEST_STAKEHOLDER_ID
-        );
+        var result = metricsService.recordBatch(List.of(redelivered, concluded));
 
         // Assert
-        var cycleLogCaptor = ArgumentCaptor.forClass(DecisionCycleLog.class);
-        verify(cycleLogRepository).save(cycleLogCaptor.capture());
-        var savedLog = cycleLogCaptor.getValue();
+        assertThat(result.recorded()).isEqualTo(1);
+        verify(snapshotAggregator).write(Map.of(
+            new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT,
+                validatedAt.atZone(ZoneOffset.UTC).toLocalDate()),
+            new Delta(TEST_PROJECT_ID, 1, 1, 0)));
+        verify(cacheInvalidator, never()).invalidate(TEST_TENANT_ID, OutcomeValidatedEvent.class);
+    }
 
-        assertThat(savedLog.getWasEscalated()).isTrue();
+    @Test
+    @DisplayName("recordBatch should reject an outcome event without a timestamp instead of failing the batch")
+    void testRecordBatch_RejectsSnapshotEventWithoutTimestamp() {
+        // Arrange
+        var missingTimestamp = new OutcomeInvalidatedEvent(
+            TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, "Outcome", UUID.randomUUID(), Instant.now(), null);
 
-        var snapshotCaptor = ArgumentCaptor.forClass(MetricSnapshot.class);
-        verify(snapshotRepository, times(1)).save(snapshotCaptor.capture());
+        // Act
+        var result = metricsService.recordBatch(List.of(missingTimestamp));
 
-        var dailySnapshot = snapshotCaptor.getAllValues().stream()
-            .filter(s -> AppConstants.METRIC_DECISION_VELOCITY.equals(s.getMetricType()))
-            .findFirst()
-            .orElse(null);
+        // Assert
+        assertThat(result.recorded()).isZero();
+        assertThat(result.rejected()).containsOnlyKeys(0);
+        verify(snapshotAggregator).write(Map.of());
+    }
 
-        assertThat(dailySnapshot).isNotNull();
-        assertThat(dailySnapshot.getDimensions()).containsEntry("escalatedCount", 1L);
+    @Test
+    @DisplayName("per-event outcome and hypothesis methods should count a redelivered event once")
+    void testRecordSnapshotEvents_SkipRedelivery() {
+        // Arrange
+        var validatedAt = Instant.now();
+        var createdAt = validatedAt.minusSeconds(3600);
+        when(deduplicator.seen(any(IngestDeduplicator.Key.class))).thenReturn(false, true, false, true, false, true);
+
+        // Act
+        for (int delivery = 0; delivery < 2; delivery++) {
+            metricsService.recordOutcomeValidated(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, createdAt, validatedAt);
+        }
+        for (int delivery = 0; delivery < 2; delivery++) {
+            metricsService.recordOutcomeInvalidated(
+                TEST_TENANT_ID, TEST_PROJECT_ID, TEST_OUTCOME_ID, createdAt, validatedAt);
+        }
+        for (int delivery = 0; delivery < 2; delivery++) {
+            metricsService.recordHypothesisConcluded(TEST_TENANT_ID, TEST_PROJECT_ID, TEST_HYPOTHESIS_ID,
+                TEST_OUTCOME_ID, "VALIDATED", createdAt, validatedAt);
+        }
+
+        // Assert
+        var today = validatedAt.atZone(ZoneOffset.UTC).toLocalDate();
+        var outcomes = new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, today);
+        verify(snapshotAggregator).record(outcomes, new Delta(TEST_PROJECT_ID, 1, 0, 0), new BulkEventWriter.SnapshotEvent(
+            TEST_TENANT_ID, "OUTCOME_VALIDATED", TEST_OUTCOME_ID, validatedAt));
+        verify(snapshotAggregator).record(outcomes, new Delta(TEST_PROJECT_ID, 0, 0, 1), new BulkEventWriter.SnapshotEvent(
+            TEST_TENANT_ID, "OUTCOME_INVALIDATED", TEST_OUTCOME_ID, validatedAt));
+        verify(snapshotAggregator).record(
+            new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, today),
+            new Delta(TEST_PROJECT_ID, 1, 1, 0),
+            new BulkEventWriter.SnapshotEvent(TEST_TENANT_ID, "HYPOTHESIS_CONCLUDED", TEST_HYPOTHESIS_ID, validatedAt));
+        verifyNoMoreInteractions(snapshotAggregator);
+        verify(deduplicator, times(3)).remember(anyList());
+        verify(cacheInvalidator, times(3)).invalidate(eq(TEST_TENANT_ID), any());
     }
 }
@@ -0,0 +1,234 @@
+package ai.zevaro.analytics.metrics;
+
+import ai.zevaro.analytics.config.AppConstants;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator.Delta;
+import ai.zevaro.analytics.metrics.SnapshotCounterAggregator.SnapshotKey;
+import ai.zevaro.analytics.repository.BulkEventWriter;
+import ai.zevaro.analytics.repository.BulkEventWriter.SnapshotEvent;
+import ai.zevaro.analytics.repository.MetricSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SnapshotCounterAggregator Unit Tests")
+class SnapshotCounterAggregatorTest {
+
+    @Mock
+    private MetricSnapshotRepository snapshotRepository;
+
+    @Mock
+    private BulkEventWriter bulkEventWriter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SnapshotCounterAggregator aggregator;
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+    private static final UUID TEST_PROJECT_ID = UUID.randomUUID();
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final SnapshotKey OUTCOMES =
+        new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY);
+    private static final SnapshotKey HYPOTHESES =
+        new SnapshotKey(TEST_TENANT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, TODAY);
+
+    @BeforeEach
+    void setUp() {
+        // Every event key is new unless a test says otherwise
+        lenient().when(bulkEventWriter.insertSnapshotEvents(anyList()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        aggregator = new SnapshotCounterAggregator(snapshotRepository, bulkEventWriter, transactionManager, 1000);
+        aggregator.start();
+    }
+
+    @Test
+    @DisplayName("flush should write one upsert per key with the summed deltas")
+    void testFlush_WritesOneUpsertPerKey() {
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 0, 0, 1), event());
+        aggregator.record(HYPOTHESES, new Delta(TEST_PROJECT_ID, 1, 1, 0), event());
+
+        verifyNoInteractions(snapshotRepository);
+
+        aggregator.flush();
+
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY, 2, 0, 1);
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, TODAY, 1, 1, 0);
+        verifyNoMoreInteractions(snapshotRepository);
+    }
+
+    @Test
+    @DisplayName("flush should sum deltas of different projects into the tenant's daily row")
+    void testFlush_SumsProjectsIntoOneRow() {
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.record(OUTCOMES, new Delta(UUID.randomUUID(), 1, 0, 0), event());
+
+        aggregator.flush();
+
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY, 2, 0, 0);
+        verifyNoMoreInteractions(snapshotRepository);
+    }
+
+    @Test
+    @DisplayName("acknowledgments should only be released after a successful flush, in order")
+    void testAcknowledgeAfterFlush_ReleasedAfterWrite() {
+        var first = mock(Acknowledgment.class);
+        var second = mock(Acknowledgment.class);
+
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.acknowledgeAfterFlush(first);
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.acknowledgeAfterFlush(second);
+
+        verify(first, never()).acknowledge();
+
+        aggregator.flush();
+
+        InOrder order = inOrder(snapshotRepository, first, second);
+        order.verify(snapshotRepository).addCounters(any(), any(), anyString(), any(), anyLong(), anyLong(), anyLong());
+        order.verify(first).acknowledge();
+        order.verify(second).acknowledge();
+    }
+
+    @Test
+    @DisplayName("a failed flush should keep deltas and acknowledgments for the next attempt")
+    void testFlush_RetainsStateOnFailure() {
+        var ack = mock(Acknowledgment.class);
+        when(snapshotRepository.addCounters(any(), any(), anyString(), any(), anyLong(), anyLong(), anyLong()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(1);
+
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.acknowledgeAfterFlush(ack);
+        aggregator.flush();
+
+        verify(ack, never()).acknowledge();
+
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.flush();
+
+        // The failed delta is merged with the one recorded since
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY, 1, 0, 0);
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY, 2, 0, 0);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("reaching the pending threshold should flush on the recording thread")
+    void testRecord_FlushesAtThreshold() {
+        aggregator = new SnapshotCounterAggregator(snapshotRepository, bulkEventWriter, transactionManager, 3);
+        aggregator.start();
+
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        verifyNoInteractions(snapshotRepository);
+
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY, 3, 0, 0);
+    }
+
+    @Test
+    @DisplayName("stop should flush and switch to write-through for late records")
+    void testStop_FlushesAndWritesThrough() {
+        var ack = mock(Acknowledgment.class);
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+
+        aggregator.stop();
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY, 1, 0, 0);
+
+        aggregator.record(HYPOTHESES, new Delta(TEST_PROJECT_ID, 1, 0, 1), event());
+        aggregator.acknowledgeAfterFlush(ack);
+
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_HYPOTHESIS_THROUGHPUT, TODAY, 1, 0, 1);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("concurrent writers should not lose updates across flushes")
+    void testRecord_ConcurrentWritersDoNotLoseUpdates() throws Exception {
+        var totals = new long[1];
+        when(snapshotRepository.addCounters(any(), any(), anyString(), any(), anyLong(), anyLong(), anyLong()))
+            .thenAnswer(inv -> {
+                synchronized (totals) {
+                    totals[0] += inv.<Long>getArgument(4);
+                }
+                return 1;
+            });
+
+        int threads = 4;
+        int perThread = 5_000;
+        var pool = Executors.newFixedThreadPool(threads + 1);
+        var done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), event());
+                }
+                done.countDown();
+            });
+        }
+        pool.submit(() -> {
+            while (done.getCount() > 0) aggregator.flush();
+        });
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        aggregator.flush();
+
+        assertThat(totals[0]).isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    @DisplayName("flush should claim the event keys and drop the deltas of events counted before")
+    void testFlush_DropsRedeliveredEvents() {
+        var counted = event();
+        var redelivered = event();
+        when(bulkEventWriter.insertSnapshotEvents(anyList())).thenAnswer(invocation -> {
+            List<SnapshotEvent> events = invocation.getArgument(0);
+            assertThat(events).hasSize(3);
+            return List.of(events.get(0));
+        });
+
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 1, 0, 0), counted);
+        aggregator.record(OUTCOMES, new Delta(TEST_PROJECT_ID, 0, 0, 1), redelivered);
+        aggregator.record(HYPOTHESES, new Delta(TEST_PROJECT_ID, 1, 1, 0), redelivered);
+        aggregator.flush();
+
+        verify(snapshotRepository).addCounters(
+            TEST_TENANT_ID, TEST_PROJECT_ID, AppConstants.METRIC_OUTCOME_VELOCITY, TODAY, 1, 0, 0);
+        verifyNoMoreInteractions(snapshotRepository);
+    }
+
+    private static SnapshotEvent event() {
+        return new SnapshotEvent(TEST_TENANT_ID, "OUTCOME_VALIDATED", UUID.randomUUID(), Instant.now());
+    }
+}
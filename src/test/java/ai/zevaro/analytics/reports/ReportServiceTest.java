@@ -1,6 +1,7 @@
 package ai.zevaro.analytics.reports;
 
 import ai.zevaro.analytics.client.CoreServiceClient;
+import ai.zevaro.analytics.client.StakeholderDirectory;
 import ai.zevaro.analytics.client.dto.CoreOutcomeInfo;
 import ai.zevaro.analytics.client.dto.CoreStakeholderInfo;
 import ai.zevaro.analytics.config.AppConstants;
@@ -50,6 +51,9 @@ class ReportServiceTest {
     @Mock
     private CoreServiceClient coreServiceClient;
 
+    @Mock
+    private StakeholderDirectory stakeholderDirectory;
+
     @Mock
     private ObjectMapper objectMapper;
 
@@ -137,24 +141,24 @@ class ReportServiceTest {
         when(coreServiceClient.getDecisionsCreatedCount(TEST_TENANT_ID))
             .thenReturn(2);
 
-        when(coreServiceClient.getStakeholder(TEST_TENANT_ID, TEST_STAKEHOLDER_ID_1))
-            .thenReturn(new CoreStakeholderInfo(
-                TEST_STAKEHOLDER_ID_1,
-                "Alice Smith",
-                "alice@example.com",
-                "Manager",
-                2,
-                10
-            ));
-
-        when(coreServiceClient.getStakeholder(TEST_TENANT_ID, TEST_STAKEHOLDER_ID_2))
-            .thenReturn(new CoreStakeholderInfo(
-                TEST_STAKEHOLDER_ID_2,
-                "Bob Johnson",
-                "bob@example.com",
-                "Analyst",
-                1,
-                8
+        when(stakeholderDirectory.lookup(eq(TEST_TENANT_ID), anyCollection()))
+            .thenReturn(Map.of(
+                TEST_STAKEHOLDER_ID_1, new CoreStakeholderInfo(
+                    TEST_STAKEHOLDER_ID_1,
+                    "Alice Smith",
+                    "alice@example.com",
+                    "Manager",
+                    2,
+                    10
+                ),
+                TEST_STAKEHOLDER_ID_2, new CoreStakeholderInfo(
+                    TEST_STAKEHOLDER_ID_2,
+                    "Bob Johnson",
+                    "bob@example.com",
+                    "Analyst",
+                    1,
+                    8
+                )
             ));
 
         when(reportRepository.findByTenantIdAndReportTypeAndPeriodStartAndPeriodEnd(
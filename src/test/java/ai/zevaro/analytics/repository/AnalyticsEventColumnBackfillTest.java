@@ -0,0 +1,67 @@
+package ai.zevaro.analytics.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalyticsEventColumnBackfill Unit Tests")
+class AnalyticsEventColumnBackfillTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-16T12:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnalyticsEventColumnBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new AnalyticsEventColumnBackfill(jdbcTemplate, transactionManager, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("run should migrate one month per transaction from the oldest event to the current month")
+    void testRun_MigratesMonthByMonth() {
+        when(jdbcTemplate.queryForObject(contains("min(event_timestamp)"), eq(Timestamp.class)))
+            .thenReturn(Timestamp.from(Instant.parse("2026-08-20T09:30:00Z")));
+        when(jdbcTemplate.update(eq(AnalyticsEventColumnBackfill.MIGRATE_MONTH), any(Timestamp.class), any(Timestamp.class)))
+            .thenReturn(4, 0, 2);
+
+        int rows = backfill.run();
+
+        assertThat(rows).isEqualTo(6);
+        verify(jdbcTemplate).update(AnalyticsEventColumnBackfill.MIGRATE_MONTH,
+            Timestamp.from(Instant.parse("2026-08-01T00:00:00Z")), Timestamp.from(Instant.parse("2026-09-01T00:00:00Z")));
+        verify(jdbcTemplate).update(AnalyticsEventColumnBackfill.MIGRATE_MONTH,
+            Timestamp.from(Instant.parse("2026-10-01T00:00:00Z")), Timestamp.from(Instant.parse("2026-11-01T00:00:00Z")));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("run should do nothing when there are no events")
+    void testRun_EmptyTable() {
+        when(jdbcTemplate.queryForObject(contains("min(event_timestamp)"), eq(Timestamp.class))).thenReturn(null);
+
+        assertThat(backfill.run()).isZero();
+        verify(jdbcTemplate, never()).update(anyString(), any(Timestamp.class), any(Timestamp.class));
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,91 @@
+package ai.zevaro.analytics.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalyticsEventPartitionManager Unit Tests")
+class AnalyticsEventPartitionManagerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-16T12:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnalyticsEventPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new AnalyticsEventPartitionManager(
+            jdbcTemplate, transactionManager, 2, 12, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("initialize should premake monthly partitions for a partitioned table")
+    void testInitialize_PremakesPartitions() {
+        stubTableKind("p");
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class))).thenReturn(List.of());
+
+        manager.initialize();
+
+        verify(jdbcTemplate).execute(contains("analytics.analytics_events_p2026_10 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("analytics.analytics_events_p2026_11 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("analytics.analytics_events_p2026_12 PARTITION OF"));
+        verify(jdbcTemplate).execute(contains("FROM ('2026-12-01T00:00:00Z') TO ('2027-01-01T00:00:00Z')"));
+    }
+
+    @Test
+    @DisplayName("maintain should detach and drop partitions past the retention horizon only")
+    void testMaintain_DropsExpiredPartitions() {
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class))).thenReturn(List.of(
+            "analytics_events_p2025_09", "analytics_events_p2025_10", "analytics_events_pdefault"));
+
+        manager.maintain();
+
+        verify(jdbcTemplate).execute(contains("DETACH PARTITION analytics.analytics_events_p2025_09"));
+        verify(jdbcTemplate).execute("DROP TABLE analytics.analytics_events_p2025_09");
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION analytics.analytics_events_p2025_10"));
+        verify(jdbcTemplate, never()).execute(contains("analytics_events_pdefault"));
+    }
+
+    @Test
+    @DisplayName("initialize should leave a plain table alone")
+    void testInitialize_PlainTable() {
+        stubTableKind("r");
+
+        manager.initialize();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("initialize should do nothing when the table does not exist")
+    void testInitialize_MissingTable() {
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class))).thenReturn(List.of());
+
+        manager.initialize();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private void stubTableKind(String kind) {
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class))).thenReturn(List.of(kind));
+    }
+}
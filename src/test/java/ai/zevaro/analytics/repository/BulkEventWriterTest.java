@@ -0,0 +1,162 @@
+package ai.zevaro.analytics.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.Reader;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkEventWriter Unit Tests")
+class BulkEventWriterTest {
+
+    private static final UUID TEST_TENANT_ID = UUID.randomUUID();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BulkEventWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new BulkEventWriter(jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("writeEvents should COPY the rows as CSV into staging and merge them in one statement")
+    @SuppressWarnings("unchecked")
+    void testWriteEvents_CopiesThenMerges() throws Exception {
+        var entityId = UUID.randomUUID();
+        var event = AnalyticsEvent.builder()
+            .tenantId(TEST_TENANT_ID)
+            .eventType("TICKET_CREATED")
+            .entityId(entityId)
+            .severity("HIGH")
+            .metadata(Map.of("reportedById", "say \"hi\""))
+            .eventTimestamp(Instant.parse("2026-10-16T12:00:00Z"))
+            .recordedAt(null)
+            .build();
+        var duplicate = AnalyticsEvent.builder()
+            .tenantId(TEST_TENANT_ID)
+            .eventType("TICKET_CREATED")
+            .entityId(entityId)
+            .severity("HIGH")
+            .metadata(Map.of("reportedById", "say \"hi\""))
+            .eventTimestamp(Instant.parse("2026-10-16T12:00:00Z"))
+            .recordedAt(null)
+            .build();
+        var merged = mock(ResultSet.class);
+        when(merged.getObject(1, UUID.class)).thenReturn(TEST_TENANT_ID);
+        when(merged.getString(2)).thenReturn("TICKET_CREATED");
+        when(merged.getObject(3, UUID.class)).thenReturn(entityId);
+        when(merged.getObject(4, OffsetDateTime.class)).thenReturn(OffsetDateTime.parse("2026-10-16T12:00:00Z"));
+        when(jdbcTemplate.query(eq(BulkEventWriter.MERGE_EVENTS), any(RowMapper.class)))
+            .thenAnswer(invocation -> List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(merged, 0)));
+
+        var written = writer.writeEvents(List.of(event, duplicate));
+
+        assertThat(written).hasSize(1).first().isSameAs(event);
+        var callback = ArgumentCaptor.forClass(ConnectionCallback.class);
+        verify(jdbcTemplate).execute(callback.capture());
+        var copied = runCopy(callback.getValue());
+        var line = TEST_TENANT_ID + ",\"TICKET_CREATED\"," + entityId + ",,,,,,\"HIGH\",,,"
+            + "\"{\"\"reportedById\"\":\"\"say \\\"\"hi\\\"\"\"\"}\",2026-10-16T12:00:00Z,\n";
+        assertThat(copied).isEqualTo(line + line);
+        var inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(startsWith("CREATE TEMP TABLE IF NOT EXISTS analytics_events_stage"));
+        inOrder.verify(jdbcTemplate).query(eq(BulkEventWriter.MERGE_EVENTS), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("insertEvents should return only the events whose insert was not skipped by the natural key")
+    void testInsertEvents_ReturnsInsertedRows() {
+        var fresh = AnalyticsEvent.builder()
+            .tenantId(TEST_TENANT_ID)
+            .eventType("TICKET_CREATED")
+            .entityId(UUID.randomUUID())
+            .eventTimestamp(Instant.now())
+            .build();
+        var duplicate = AnalyticsEvent.builder()
+            .tenantId(TEST_TENANT_ID)
+            .eventType("TICKET_CREATED")
+            .entityId(UUID.randomUUID())
+            .eventTimestamp(Instant.now())
+            .build();
+        when(jdbcTemplate.batchUpdate(eq(BulkEventWriter.INSERT_EVENT), any(BatchPreparedStatementSetter.class)))
+            .thenReturn(new int[] {1, 0});
+
+        assertThat(writer.insertEvents(List.of(fresh, duplicate))).containsExactly(fresh);
+    }
+
+    @Test
+    @DisplayName("insertSnapshotEvents should return only the keys that were not recorded before")
+    void testInsertSnapshotEvents_ReturnsNewKeys() {
+        var fresh = new BulkEventWriter.SnapshotEvent(
+            TEST_TENANT_ID, "OUTCOME_VALIDATED", UUID.randomUUID(), Instant.now());
+        var redelivered = new BulkEventWriter.SnapshotEvent(
+            TEST_TENANT_ID, "HYPOTHESIS_CONCLUDED", UUID.randomUUID(), Instant.now());
+        when(jdbcTemplate.batchUpdate(eq(BulkEventWriter.INSERT_SNAPSHOT_EVENT), any(BatchPreparedStatementSetter.class)))
+            .thenReturn(new int[] {0, 1});
+
+        assertThat(writer.insertSnapshotEvents(List.of(redelivered, fresh))).containsExactly(fresh);
+    }
+
+    @Test
+    @DisplayName("writeEvents and writeDecisionCycles should not touch the database for an empty batch")
+    void testWrite_EmptyBatch() {
+        assertThat(writer.writeEvents(List.of())).isEmpty();
+        assertThat(writer.writeDecisionCycles(List.of())).isEmpty();
+        assertThat(writer.insertEvents(List.of())).isEmpty();
+        assertThat(writer.insertDecisionCycles(List.of())).isEmpty();
+        assertThat(writer.insertSnapshotEvents(List.of())).isEmpty();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("quote should mark nulls as unquoted empty fields and double embedded quotes")
+    void testQuote() {
+        assertThat(BulkEventWriter.quote(null)).isEmpty();
+        assertThat(BulkEventWriter.quote("")).isEqualTo("\"\"");
+        assertThat(BulkEventWriter.quote("a\"b,c")).isEqualTo("\"a\"\"b,c\"");
+    }
+
+    private String runCopy(ConnectionCallback<Long> callback) throws Exception {
+        var copyManager = mock(CopyManager.class);
+        var copied = new StringWriter();
+        when(copyManager.copyIn(startsWith("COPY analytics_events_stage"), any(Reader.class))).thenAnswer(invocation -> {
+            invocation.<Reader>getArgument(1).transferTo(copied);
+            return 1L;
+        });
+        var pgConnection = mock(PGConnection.class);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        var connection = mock(Connection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+
+        callback.doInConnection(connection);
+        return copied.toString();
+    }
+}